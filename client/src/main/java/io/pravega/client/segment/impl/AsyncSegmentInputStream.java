@@ -37,7 +37,23 @@ abstract class AsyncSegmentInputStream implements AutoCloseable {
      * * {@link io.pravega.client.stream.impl.ConnectionClosedException} If the connection is closed due an exception while performing the read.
      * * {@link io.pravega.common.util.RetriesExhaustedException} If the configured number of retry attempts to read failed.
      */
-    public abstract CompletableFuture<SegmentRead> read(long offset, int length);
+    public CompletableFuture<SegmentRead> read(long offset, int length) {
+        return read(offset, length, 0, 0);
+    }
+
+    /**
+     * Reads from the Segment at the specified offset asynchronously. If the read is at the tail of the Segment, the server
+     * will wait until at least minBytes have been appended (or until maxWaitMillis have elapsed) before responding.
+     *
+     * @param offset        The offset in the segment to read from
+     * @param length        The suggested number of bytes to read. (Note the result may contain either more or less than
+     *                      this value.)
+     * @param minBytes      The minimum number of bytes to accumulate at the tail of the Segment before responding. If 0,
+     *                      the server will respond as soon as any data is available.
+     * @param maxWaitMillis The maximum amount of time the server may wait for minBytes to accumulate.
+     * @return A future for the result of the read call. See {@link #read(long, int)} for notable exceptions.
+     */
+    public abstract CompletableFuture<SegmentRead> read(long offset, int length, int minBytes, long maxWaitMillis);
 
     @Override
     public abstract void close();
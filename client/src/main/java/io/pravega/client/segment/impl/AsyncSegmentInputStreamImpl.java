@@ -11,6 +11,7 @@ package io.pravega.client.segment.impl;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import io.netty.buffer.Unpooled;
 import io.pravega.auth.AuthenticationException;
 import io.pravega.client.netty.impl.Flow;
 import io.pravega.client.netty.impl.ClientConnection;
@@ -19,7 +20,6 @@ import io.pravega.client.stream.impl.ConnectionClosedException;
 import io.pravega.client.stream.impl.Controller;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
-import io.pravega.common.util.ByteBufferUtils;
 import io.pravega.common.util.Retry;
 import io.pravega.common.util.Retry.RetryWithBackoff;
 import io.pravega.shared.protocol.netty.ConnectionFailedException;
@@ -98,7 +98,7 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
                         segmentIsSealed.getOffset(),
                         true,
                         true,
-                        ByteBufferUtils.EMPTY,
+                        Unpooled.EMPTY_BUFFER,
                         segmentIsSealed.getRequestId()));
             }
         }
@@ -164,10 +164,10 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
     }
 
     @Override
-    public CompletableFuture<SegmentRead> read(long offset, int length) {
+    public CompletableFuture<SegmentRead> read(long offset, int length, int minBytes, long maxWaitMillis) {
         Exceptions.checkNotClosed(closed.get(), this);
         WireCommands.ReadSegment request = new WireCommands.ReadSegment(segmentId.getScopedName(), offset, length,
-                                                                        this.delegationToken, requestId);
+                                                                        this.delegationToken, requestId, minBytes, maxWaitMillis);
 
         return backoffSchedule.retryWhen(t -> {
             Throwable ex = Exceptions.unwrap(t);
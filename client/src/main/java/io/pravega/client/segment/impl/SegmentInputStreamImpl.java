@@ -11,6 +11,7 @@ package io.pravega.client.segment.impl;
 
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.Runnables;
+import io.netty.buffer.ByteBuf;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.util.CircularBuffer;
@@ -37,6 +38,13 @@ class SegmentInputStreamImpl implements SegmentInputStream {
     static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
     private static final int DEFAULT_READ_LENGTH = 256 * 1024;
     private static final long UNBOUNDED_END_OFFSET = Long.MAX_VALUE;
+    /**
+     * When prefetching (there is still data in the buffer), the server is asked to batch tail data until it has at least
+     * this many bytes (or for at most PREFETCH_MAX_WAIT_MILLIS) before responding. Reads issued with an empty buffer
+     * are answered as soon as any data is available.
+     */
+    private static final int PREFETCH_MIN_READ_BYTES = 32 * 1024;
+    private static final long PREFETCH_MAX_WAIT_MILLIS = 10;
 
     private final AsyncSegmentInputStream asyncInput;
     private final int minReadLength;
@@ -144,20 +152,21 @@ class SegmentInputStreamImpl implements SegmentInputStream {
             throw e;
         }
         verifyIsAtCorrectOffset(segmentRead);
-        if (segmentRead.getData().hasRemaining()) {
-            buffer.fill(segmentRead.getData());
+        ByteBuf data = segmentRead.getData();
+        if (data.isReadable()) {
+            data.skipBytes(buffer.fill(data.nioBuffer()));
         }
         if (segmentRead.isEndOfSegment()) {
             receivedEndOfSegment = true;
         }
-        if (!segmentRead.getData().hasRemaining()) {
+        if (!data.isReadable()) {
             outstandingRequest = null;
             issueRequestIfNeeded();
         }
     }
 
     private void verifyIsAtCorrectOffset(WireCommands.SegmentRead segmentRead) {
-        long offsetRead = segmentRead.getOffset() + segmentRead.getData().position();
+        long offsetRead = segmentRead.getOffset() + segmentRead.getData().readerIndex();
         long expectedOffset = offset + buffer.dataAvailable();
         checkState(offsetRead == expectedOffset, "ReadSegment returned data for the wrong offset %s vs %s", offsetRead,
                    expectedOffset);
@@ -173,7 +182,13 @@ class SegmentInputStreamImpl implements SegmentInputStream {
         int updatedReadLength = computeReadLength(offset + buffer.dataAvailable());
         if (!receivedEndOfSegment && !receivedTruncated && updatedReadLength > 0 && outstandingRequest == null) {
             log.trace("Issuing read request for segment {} of {} bytes", getSegmentId(), updatedReadLength);
-            outstandingRequest = asyncInput.read(offset + buffer.dataAvailable(), updatedReadLength);
+            if (buffer.dataAvailable() > 0) {
+                // The caller has data to consume in the meantime, so let the server batch up small tail appends.
+                outstandingRequest = asyncInput.read(offset + buffer.dataAvailable(), updatedReadLength,
+                                                     Math.min(PREFETCH_MIN_READ_BYTES, updatedReadLength), PREFETCH_MAX_WAIT_MILLIS);
+            } else {
+                outstandingRequest = asyncInput.read(offset + buffer.dataAvailable(), updatedReadLength);
+            }
         }
     }
 
@@ -226,7 +241,7 @@ class SegmentInputStreamImpl implements SegmentInputStream {
         boolean atEnd = receivedEndOfSegment || receivedTruncated || (outstandingRequest != null && outstandingRequest.isCompletedExceptionally());
         if (outstandingRequest != null && Futures.isSuccessful(outstandingRequest)) {
             SegmentRead request = outstandingRequest.join();
-            result += request.getData().remaining();
+            result += request.getData().readableBytes();
             atEnd |= request.isEndOfSegment();
         }
         if (result <= 0 && atEnd) {
@@ -10,6 +10,7 @@
 package io.pravega.client.segment.impl;
 
 import com.google.common.collect.ImmutableList;
+import io.netty.buffer.Unpooled;
 import io.pravega.client.stream.impl.Orderer;
 import io.pravega.common.ObjectClosedException;
 import io.pravega.common.util.ByteBufferUtils;
@@ -58,7 +59,7 @@ public class SegmentInputStreamTest {
         }
 
         @Override
-        public CompletableFuture<SegmentRead> read(long offset, int length) {
+        public CompletableFuture<SegmentRead> read(long offset, int length, int minBytes, long maxWaitMillis) {
             int i = readIndex.incrementAndGet();
             return readResults.get(i);
         }
@@ -99,11 +100,11 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         ByteBuffer read = assertBlocks(() -> stream.read(),
-                () -> fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId)));
+                () -> fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
         assertEquals(ByteBuffer.wrap(data), read);
         read = assertBlocks(() -> stream
                 .read(), () -> fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.capacity(), false,
-                                                                                    false, wireData.slice(), requestId)));
+                                                                                    false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
         assertEquals(ByteBuffer.wrap(data), read);
     }
 
@@ -114,10 +115,10 @@ public class SegmentInputStreamTest {
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 5);
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId));
-        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, ByteBufferUtils.slice(wireData, 2, 7), requestId));
-        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, ByteBufferUtils.slice(wireData, 9, 2), requestId));
-        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId));
+        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 2, 7)), requestId));
+        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 9, 2)), requestId));
+        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11)), requestId));
         ByteBuffer read = stream.read();
         assertEquals(ByteBuffer.wrap(data), read);
     }
@@ -135,7 +136,7 @@ public class SegmentInputStreamTest {
         }
         wireData.flip();
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 3);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId));
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         for (int i = 0; i < numEntries; i++) {
@@ -143,7 +144,7 @@ public class SegmentInputStreamTest {
         }
         ByteBuffer read = assertBlocks(() -> stream.read(), () -> {
             fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.capacity(), false, false,
-                                                                 createEventFromData(data), requestId));
+                                                                 Unpooled.wrappedBuffer(createEventFromData(data)), requestId));
         });
         assertEquals(ByteBuffer.wrap(data), read);
     }
@@ -158,7 +159,7 @@ public class SegmentInputStreamTest {
 
         assertBlocks(() -> stream.read(),
                      () -> fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false,
-                                                                                wireData.slice(), requestId)));
+                                                                                Unpooled.wrappedBuffer(wireData.slice()), requestId)));
         ByteBuffer read = stream.read(10);
         assertNull(read);
         fakeNetwork.completeExceptionally(1, new ConnectionFailedException());
@@ -177,12 +178,12 @@ public class SegmentInputStreamTest {
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 7);
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId));
         fakeNetwork.completeExceptionally(1, new ConnectionFailedException());
-        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId));
-        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, ByteBufferUtils.slice(wireData, 2, 7), requestId));
-        fakeNetwork.complete(4, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, ByteBufferUtils.slice(wireData, 9, 2), requestId));
-        fakeNetwork.complete(5, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11), requestId));
+        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId));
+        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 2, 7)), requestId));
+        fakeNetwork.complete(4, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 9, 2)), requestId));
+        fakeNetwork.complete(5, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11)), requestId));
         AssertExtensions.assertThrows(ConnectionFailedException.class, () -> stream.read());
         ByteBuffer read = stream.read();
         assertEquals(ByteBuffer.wrap(data), read);
@@ -195,11 +196,11 @@ public class SegmentInputStreamTest {
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 6);
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId));
         fakeNetwork.completeExceptionally(1, new SegmentTruncatedException());
-        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, ByteBufferUtils.slice(wireData, 2, 7), requestId));
-        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, ByteBufferUtils.slice(wireData, 9, 2), requestId));
-        fakeNetwork.complete(4, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11), requestId));
+        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 2, 7)), requestId));
+        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 9, 2)), requestId));
+        fakeNetwork.complete(4, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11)), requestId));
         AssertExtensions.assertThrows(SegmentTruncatedException.class, () -> stream.read());
         AssertExtensions.assertThrows(SegmentTruncatedException.class, () -> stream.read());
     }
@@ -210,7 +211,7 @@ public class SegmentInputStreamTest {
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 1);
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, trailingData.slice(), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(trailingData.slice()), requestId));
         AssertExtensions.assertThrows(EndOfSegmentException.class, () -> stream.read());
     }
     
@@ -230,14 +231,14 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, true, false, wireData.slice(), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, true, false, Unpooled.wrappedBuffer(wireData.slice()), requestId));
         for (int i = 0; i < numEntries; i++) {
             assertTrue(stream.isSegmentReady());
             assertEquals(ByteBuffer.wrap(data), stream.read());
         }
         assertFalse(stream.isSegmentReady());
         assertBlocks(() -> stream.read(), () -> {
-            fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.capacity(), false, false, createEventFromData(data), requestId));
+            fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.capacity(), false, false, Unpooled.wrappedBuffer(createEventFromData(data)), requestId));
         });
         assertFalse(stream.isSegmentReady());
     }
@@ -251,7 +252,7 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream1 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream1.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, ByteBufferUtils.slice(wireData, 0, 0), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 0)), requestId));
         assertTrue(stream1.isSegmentReady());
         AssertExtensions.assertThrows(EndOfSegmentException.class, () -> stream1.read());
         
@@ -259,7 +260,7 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream2 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream2.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, wireData.slice(), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(wireData.slice()), requestId));
         assertTrue(stream2.isSegmentReady());
         assertEquals(ByteBuffer.wrap(data), stream2.read());
         assertTrue(stream2.isSegmentReady());
@@ -269,8 +270,8 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream3 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream3.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId));
-        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.remaining(), false, true, ByteBufferUtils.slice(wireData, 0, 0), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId));
+        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.remaining(), false, true, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 0)), requestId));
         assertTrue(stream3.isSegmentReady());
         assertEquals(ByteBuffer.wrap(data), stream3.read());
         assertTrue(stream3.isSegmentReady());
@@ -280,8 +281,8 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream4 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream4.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 0), requestId));
-        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, wireData.slice(), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 0)), requestId));
+        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(wireData.slice()), requestId));
         assertEquals(ByteBuffer.wrap(data), stream4.read());
         assertTrue(stream4.isSegmentReady());
         AssertExtensions.assertThrows(EndOfSegmentException.class, () -> stream4.read());
@@ -290,9 +291,9 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream5 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream5.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId));
-        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, ByteBufferUtils.slice(wireData, 2, 2), requestId));
-        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 4, false, true, ByteBufferUtils.slice(wireData, 4,  wireData.capacity() - 4), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId));
+        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 2, 2)), requestId));
+        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 4, false, true, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 4,  wireData.capacity() - 4)), requestId));
         assertEquals(ByteBuffer.wrap(data), stream5.read());
         assertTrue(stream5.isSegmentReady());
         AssertExtensions.assertThrows(EndOfSegmentException.class, () -> stream5.read());
@@ -309,8 +310,8 @@ public class SegmentInputStreamTest {
         assertBlocks(() -> {
             assertEquals(ByteBuffer.wrap(data), stream.read());
         }, () -> {
-            fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 0), requestId));
-            fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, wireData.slice(), requestId));
+            fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 0)), requestId));
+            fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(wireData.slice()), requestId));
         });
     }
 
@@ -323,11 +324,11 @@ public class SegmentInputStreamTest {
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 5);
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData1, 0, wireData1.remaining()), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData1, 0, wireData1.remaining())), requestId));
         ByteBuffer read = stream.read();
         assertEquals(ByteBuffer.wrap(data1), read);
-        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData1, 0, wireData1.remaining()), requestId));
-        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), wireData1.remaining(), false, false, ByteBufferUtils.slice(wireData2, 0, wireData2.remaining()), requestId));
+        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData1, 0, wireData1.remaining())), requestId));
+        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), wireData1.remaining(), false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData2, 0, wireData2.remaining())), requestId));
         stream.setOffset(0);
         read = stream.read();
         assertEquals(ByteBuffer.wrap(data1), read);
@@ -340,7 +341,7 @@ public class SegmentInputStreamTest {
         byte[] data = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
         ByteBuffer wireData = createEventFromData(data);
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 2);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, wireData.remaining()), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, wireData.remaining())), requestId));
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         stream.close();
         AssertExtensions.assertThrows(ObjectClosedException.class, () -> stream.read());
@@ -355,7 +356,7 @@ public class SegmentInputStreamTest {
         AsyncSegmentInputStream mockAsyncInputStream = mock(AsyncSegmentInputStream.class);
         when(mockAsyncInputStream.read(0, wireDataSize))
                 .thenReturn(CompletableFuture.completedFuture(new WireCommands.SegmentRead(segment.getScopedName(),
-                        0, false, false, wireData.slice(), requestId)));
+                        0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(mockAsyncInputStream, 0, wireDataSize,
                 SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE);
@@ -375,10 +376,10 @@ public class SegmentInputStreamTest {
         AsyncSegmentInputStream mockAsyncInputStream = mock(AsyncSegmentInputStream.class);
         when(mockAsyncInputStream.read(0, wireDataSize))
                 .thenReturn(CompletableFuture.completedFuture(new WireCommands.SegmentRead(segment.getScopedName(),
-                        0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId)));
+                        0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId)));
         when(mockAsyncInputStream.read(2, 16))
                 .thenReturn(CompletableFuture.completedFuture(new WireCommands.SegmentRead(segment.getScopedName(),
-                        2, false, false, ByteBufferUtils.slice(wireData, 2, wireDataSize - 2), requestId)));
+                        2, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 2, wireDataSize - 2)), requestId)));
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(mockAsyncInputStream, 0, wireDataSize,
                 SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE);
@@ -399,10 +400,10 @@ public class SegmentInputStreamTest {
         AsyncSegmentInputStream mockAsyncInputStream = mock(AsyncSegmentInputStream.class);
         when(mockAsyncInputStream.read(0, bufferSize))
                 .thenReturn(CompletableFuture.completedFuture(new WireCommands.SegmentRead(segment.getScopedName(),
-                        0, false, false, ByteBufferUtils.slice(wireData, 0, bufferSize), requestId)));
+                        0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, bufferSize)), requestId)));
         when(mockAsyncInputStream.read(bufferSize, wireDataSize - bufferSize))
                 .thenReturn(CompletableFuture.completedFuture(new WireCommands.SegmentRead(segment.getScopedName(),
-                        bufferSize, false, false, ByteBufferUtils.slice(wireData, bufferSize, wireDataSize - bufferSize), requestId)));
+                        bufferSize, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, bufferSize, wireDataSize - bufferSize)), requestId)));
 
         //Create a SegmentInputStream where the Buffer can hold only part of the data.
         @Cleanup
@@ -453,9 +454,9 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream5 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork5, 0);
 
-        fakeNetwork2.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId));
-        fakeNetwork3.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, wireData.slice(), requestId));
-        fakeNetwork4.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, ByteBufferUtils.EMPTY, requestId));
+        fakeNetwork2.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId));
+        fakeNetwork3.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(wireData.slice()), requestId));
+        fakeNetwork4.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.EMPTY_BUFFER, requestId));
         fakeNetwork5.completeExceptionally(0, new SegmentTruncatedException());
         
         Orderer o = new Orderer();
@@ -489,12 +490,12 @@ public class SegmentInputStreamTest {
 
         AsyncSegmentInputStream mockAsyncInputStream = mock(AsyncSegmentInputStream.class);
         when(mockAsyncInputStream.read(0, bufferSize)).thenReturn(
-            completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId)));
+            completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
 
         int expectedReadSize = bufferSize - wireDataSize;
 
         when(mockAsyncInputStream.read(wireDataSize, expectedReadSize)).thenReturn(
-            completedFuture(new SegmentRead(segment.getScopedName(), wireDataSize, false, false, wireData.slice(), requestId)));
+            completedFuture(new SegmentRead(segment.getScopedName(), wireDataSize, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
 
         // Verify that it requests enough data to fill the buffer.
         @Cleanup
@@ -506,7 +507,7 @@ public class SegmentInputStreamTest {
         verify(mockAsyncInputStream, times(1)).read(wireDataSize, expectedReadSize);
 
         when(mockAsyncInputStream.read(0, wireDataSize)).thenReturn(
-            completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId)));
+            completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
 
         // Verify it won't read beyond it's limit.
         @Cleanup
@@ -518,7 +519,7 @@ public class SegmentInputStreamTest {
 
         // Verify it works with a small buffer.
         when(mockAsyncInputStream.read(0, 100)).thenReturn(
-                                                           completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId)));
+                                                           completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
         @Cleanup
         EventSegmentReaderImpl stream3 = SegmentInputStreamFactoryImpl.getEventSegmentReader(mockAsyncInputStream, 0, Long.MAX_VALUE, 100);
 
@@ -22,7 +22,6 @@ import lombok.val;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -322,15 +321,14 @@ public abstract class VersionedSerializer<T> {
          * @throws IOException If an IO Exception occurred.
          */
         void serializeContents(OutputStream stream, TargetType o) throws IOException {
-            DataOutputStream dataOutput = stream instanceof DataOutputStream ? (DataOutputStream) stream : new DataOutputStream(stream);
-
+            // These are single bytes, so we write them directly to the stream (no need to wrap it in a DataOutputStream).
             val writeVersion = this.versions[getWriteVersion()];
-            dataOutput.writeByte(writeVersion.getVersion());
-            dataOutput.writeByte(writeVersion.getRevisions().size());
+            stream.write(writeVersion.getVersion());
+            stream.write(writeVersion.getRevisions().size());
 
             // Write each Revision for this Version, in turn.
             for (val r : writeVersion.getRevisions()) {
-                dataOutput.writeByte(r.getRevision());
+                stream.write(r.getRevision());
                 try (val revisionOutput = RevisionDataOutputStream.wrap(stream)) {
                     r.getWriter().accept(o, revisionOutput);
                 }
@@ -0,0 +1,323 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.common.util;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * SortedIndex backed by a list of sorted Chunks, each made up of a primitive array of Keys and a parallel array of items.
+ * <p>
+ * All lookups are binary searches: first among the Chunks (by their first Key), then within the Chunk. Inserting or
+ * removing an item only shifts the contents of its own Chunk, which is split in two when it reaches its maximum size;
+ * Chunk arrays start small and grow on demand. Compared to the tree-based implementations, this has no per-item node
+ * objects and a much better memory locality, and it is most efficient when items are added in (near-)ascending order
+ * and removed from the beginning, which is the typical access pattern for Segment offsets.
+ * <p>
+ * Note: This class is not thread-safe and requires external synchronization when in a multi-threaded environment.
+ *
+ * @param <V> The type of the IndexEntries.
+ */
+@NotThreadSafe
+public class ChunkedArrayIndex<V extends SortedIndex.IndexEntry> implements SortedIndex<V> {
+    //region Members
+
+    /**
+     * The default maximum number of items in a Chunk.
+     */
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 1024;
+    private static final int INITIAL_CHUNK_CAPACITY = 16;
+    private final int maxChunkSize;
+    private final ArrayList<Chunk<V>> chunks;
+    private int size;
+    private int modCount;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the ChunkedArrayIndex class with the default maximum Chunk size.
+     */
+    public ChunkedArrayIndex() {
+        this(DEFAULT_MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new instance of the ChunkedArrayIndex class.
+     *
+     * @param maxChunkSize The maximum number of items in a Chunk. Must be at least 2.
+     */
+    public ChunkedArrayIndex(int maxChunkSize) {
+        Preconditions.checkArgument(maxChunkSize >= 2, "maxChunkSize must be at least 2.");
+        this.maxChunkSize = maxChunkSize;
+        this.chunks = new ArrayList<>();
+    }
+
+    //endregion
+
+    //region SortedIndex Implementation
+
+    @Override
+    public void clear() {
+        this.chunks.clear();
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public V put(V item) {
+        Preconditions.checkNotNull(item, "item");
+        long key = item.key();
+        if (this.chunks.isEmpty()) {
+            this.chunks.add(new Chunk<>(Math.min(INITIAL_CHUNK_CAPACITY, this.maxChunkSize)));
+        }
+
+        int chunkIndex = Math.max(0, findChunk(key));
+        Chunk<V> chunk = this.chunks.get(chunkIndex);
+        int pos = chunk.search(key);
+        if (pos >= 0) {
+            // Key already exists; replace the item.
+            V oldItem = chunk.get(pos);
+            chunk.items[pos] = item;
+            return oldItem;
+        }
+
+        pos = -pos - 1;
+        if (chunk.count == this.maxChunkSize) {
+            // Chunk is full. If we are appending to it (the most common case), start a new Chunk (which keeps this one
+            // full); otherwise split it in half.
+            Chunk<V> newChunk = pos == chunk.count
+                    ? new Chunk<>(Math.min(INITIAL_CHUNK_CAPACITY, this.maxChunkSize))
+                    : chunk.split();
+            this.chunks.add(chunkIndex + 1, newChunk);
+
+            // Figure out which of the two Chunks the item should go into.
+            if (pos > chunk.count || newChunk.count == 0) {
+                pos -= chunk.count;
+                chunk = newChunk;
+            }
+        }
+
+        chunk.insert(pos, key, item, this.maxChunkSize);
+        this.size++;
+        this.modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(long key) {
+        int chunkIndex = findChunk(key);
+        if (chunkIndex < 0) {
+            return null;
+        }
+
+        Chunk<V> chunk = this.chunks.get(chunkIndex);
+        int pos = chunk.search(key);
+        if (pos < 0) {
+            return null;
+        }
+
+        V item = chunk.remove(pos);
+        if (chunk.count == 0) {
+            this.chunks.remove(chunkIndex);
+        }
+
+        this.size--;
+        this.modCount++;
+        return item;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public V get(long key) {
+        int chunkIndex = findChunk(key);
+        if (chunkIndex < 0) {
+            return null;
+        }
+
+        Chunk<V> chunk = this.chunks.get(chunkIndex);
+        int pos = chunk.search(key);
+        return pos >= 0 ? chunk.get(pos) : null;
+    }
+
+    @Override
+    public V getCeiling(long key) {
+        if (this.chunks.isEmpty()) {
+            return null;
+        }
+
+        int chunkIndex = findChunk(key);
+        if (chunkIndex < 0) {
+            // Key is smaller than all the keys in the index.
+            return this.chunks.get(0).get(0);
+        }
+
+        Chunk<V> chunk = this.chunks.get(chunkIndex);
+        int pos = chunk.search(key);
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+
+        if (pos < chunk.count) {
+            return chunk.get(pos);
+        } else if (chunkIndex + 1 < this.chunks.size()) {
+            return this.chunks.get(chunkIndex + 1).get(0);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public V getFloor(long key) {
+        int chunkIndex = findChunk(key);
+        if (chunkIndex < 0) {
+            return null;
+        }
+
+        // The first key in this Chunk is smaller than or equal to the given key, so there is always a result in it.
+        Chunk<V> chunk = this.chunks.get(chunkIndex);
+        int pos = chunk.search(key);
+        return chunk.get(pos >= 0 ? pos : -pos - 2);
+    }
+
+    @Override
+    public V getFirst() {
+        return this.chunks.isEmpty() ? null : this.chunks.get(0).get(0);
+    }
+
+    @Override
+    public V getLast() {
+        if (this.chunks.isEmpty()) {
+            return null;
+        }
+
+        Chunk<V> chunk = this.chunks.get(this.chunks.size() - 1);
+        return chunk.get(chunk.count - 1);
+    }
+
+    @Override
+    public void forEach(Consumer<V> consumer) {
+        Preconditions.checkNotNull(consumer, "consumer");
+        final int originalModCount = this.modCount;
+        for (int chunkIndex = 0; chunkIndex < this.chunks.size(); chunkIndex++) {
+            Chunk<V> chunk = this.chunks.get(chunkIndex);
+            for (int i = 0; i < chunk.count; i++) {
+                if (originalModCount != this.modCount) {
+                    throw new ConcurrentModificationException("ChunkedArrayIndex has been modified; forEach cannot continue.");
+                }
+
+                consumer.accept(chunk.get(i));
+            }
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Finds the index of the last Chunk whose first key is smaller than or equal to the given key.
+     *
+     * @param key The key to search for.
+     * @return The index of the Chunk, or -1 if no such Chunk exists.
+     */
+    private int findChunk(long key) {
+        int low = 0;
+        int high = this.chunks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (this.chunks.get(mid).keys[0] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return high;
+    }
+
+    //endregion
+
+    //region Chunk
+
+    /**
+     * A sorted, contiguous range of items.
+     */
+    private static final class Chunk<V> {
+        private long[] keys;
+        private Object[] items;
+        private int count;
+
+        Chunk(int capacity) {
+            this.keys = new long[capacity];
+            this.items = new Object[capacity];
+        }
+
+        int search(long key) {
+            return Arrays.binarySearch(this.keys, 0, this.count, key);
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(int pos) {
+            return (V) this.items[pos];
+        }
+
+        void insert(int pos, long key, V item, int maxCapacity) {
+            if (this.count == this.keys.length) {
+                int newCapacity = Math.min(maxCapacity, this.keys.length * 2);
+                this.keys = Arrays.copyOf(this.keys, newCapacity);
+                this.items = Arrays.copyOf(this.items, newCapacity);
+            }
+
+            System.arraycopy(this.keys, pos, this.keys, pos + 1, this.count - pos);
+            System.arraycopy(this.items, pos, this.items, pos + 1, this.count - pos);
+            this.keys[pos] = key;
+            this.items[pos] = item;
+            this.count++;
+        }
+
+        V remove(int pos) {
+            V item = get(pos);
+            System.arraycopy(this.keys, pos + 1, this.keys, pos, this.count - pos - 1);
+            System.arraycopy(this.items, pos + 1, this.items, pos, this.count - pos - 1);
+            this.count--;
+            this.items[this.count] = null;
+            return item;
+        }
+
+        /**
+         * Moves the upper half of this Chunk's items into a new Chunk.
+         *
+         * @return The new Chunk.
+         */
+        Chunk<V> split() {
+            int moveCount = this.count / 2;
+            int keepCount = this.count - moveCount;
+            Chunk<V> result = new Chunk<>(this.keys.length);
+            System.arraycopy(this.keys, keepCount, result.keys, 0, moveCount);
+            System.arraycopy(this.items, keepCount, result.items, 0, moveCount);
+            result.count = moveCount;
+            Arrays.fill(this.items, keepCount, this.count, null);
+            this.count = keepCount;
+            return result;
+        }
+    }
+
+    //endregion
+}
@@ -54,6 +54,26 @@ abstract class SortedIndexTestBase {
         }
     }
 
+    /**
+     * Unit tests for the ChunkedArrayIndex class.
+     */
+    public static class ChunkedArrayIndexTests extends SortedIndexTestBase {
+        @Override
+        protected SortedIndex<TestEntry> createIndex() {
+            return new ChunkedArrayIndex<>();
+        }
+    }
+
+    /**
+     * Unit tests for the ChunkedArrayIndex class, using very small Chunks (to exercise Chunk splits and removals).
+     */
+    public static class SmallChunkedArrayIndexTests extends SortedIndexTestBase {
+        @Override
+        protected SortedIndex<TestEntry> createIndex() {
+            return new ChunkedArrayIndex<>(4);
+        }
+    }
+
     //endregion
 
     //region Test Definitions
@@ -377,7 +397,9 @@ abstract class SortedIndexTestBase {
                 PerfResult partialResult = new PerfResult(itemCount);
                 results.add(partialResult);
 
+                long memoryBefore = getUsedMemory();
                 partialResult.insertElapsed = measure(() -> insert(index, itemCount));
+                partialResult.memoryUsed = getUsedMemory() - memoryBefore;
                 partialResult.getElapsed = measure(() -> readExact(index, itemCount));
                 partialResult.ceilingElapsed = measure(() -> readCeiling(index, itemCount));
                 partialResult.lastElapsed = measure(() -> readLast(index, itemCount));
@@ -387,6 +409,8 @@ abstract class SortedIndexTestBase {
             outputStats(indexName, "Get    ", r -> r.getElapsed, results);
             outputStats(indexName, "Ceiling", r -> r.ceilingElapsed, results);
             outputStats(indexName, "Last   ", r -> r.lastElapsed, results);
+            double memory = results.stream().mapToDouble(r -> r.memoryUsed / (double) r.count).average().orElse(-1);
+            System.out.println(String.format("%s.Memory : Avg = %.2f bytes/item", indexName, memory));
         }
 
         private void outputStats(String indexName, String statsName, Function<PerfResult, Long> statsProvider, Collection<PerfResult> results) {
@@ -420,6 +444,12 @@ abstract class SortedIndexTestBase {
             }
         }
 
+        private long getUsedMemory() {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+
         private long measure(Runnable r) {
             System.gc();
             long rbtStart = System.nanoTime();
@@ -434,6 +464,7 @@ abstract class SortedIndexTestBase {
             long getElapsed;
             long ceilingElapsed;
             long lastElapsed;
+            long memoryUsed;
         }
     }
 
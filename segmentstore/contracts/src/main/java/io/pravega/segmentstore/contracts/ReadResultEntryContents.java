@@ -9,6 +9,7 @@
  */
 package io.pravega.segmentstore.contracts;
 
+import io.pravega.common.util.ArrayView;
 import java.io.InputStream;
 
 /**
@@ -17,6 +18,7 @@ import java.io.InputStream;
 public class ReadResultEntryContents {
     private final int length;
     private final InputStream data;
+    private final ArrayView array;
 
     /**
      * Creates a new instance of the ReadResultEntryContents class.
@@ -27,6 +29,19 @@ public class ReadResultEntryContents {
     public ReadResultEntryContents(InputStream data, int length) {
         this.data = data;
         this.length = length;
+        this.array = null;
+    }
+
+    /**
+     * Creates a new instance of the ReadResultEntryContents class, backed by the given ArrayView. Consumers may use
+     * {@link #getArray()} to access the data directly, without going through an InputStream.
+     *
+     * @param array An {@link ArrayView} containing the retrieved data. This should not be modified after this call.
+     */
+    public ReadResultEntryContents(ArrayView array) {
+        this.data = array.getReader();
+        this.length = array.getLength();
+        this.array = array;
     }
 
     /**
@@ -49,6 +64,16 @@ public class ReadResultEntryContents {
         return this.data;
     }
 
+    /**
+     * Gets an {@link ArrayView} representing the Data that was retrieved, if this instance is backed by one. Reading from
+     * this ArrayView does not affect the state of the InputStream returned by {@link #getData()}.
+     *
+     * @return The ArrayView, or null if this instance is backed only by an InputStream. Must not be modified.
+     */
+    public ArrayView getArray() {
+        return this.array;
+    }
+
     @Override
     public String toString() {
         return String.format("Length = %d", getLength());
@@ -244,9 +244,7 @@ public class AppendProcessor extends DelegatingRequestProcessor {
         List<AttributeUpdate> attributes = Arrays.asList(
                 new AttributeUpdate(append.getWriterId(), AttributeUpdateType.ReplaceIfEquals, append.getEventNumber(), lastEventNumber),
                 new AttributeUpdate(EVENT_COUNT, AttributeUpdateType.Accumulate, append.getEventCount()));
-        ByteBuf buf = append.getData().asReadOnly();
-        byte[] bytes = new byte[buf.readableBytes()];
-        buf.readBytes(bytes);
+        byte[] bytes = getBytes(append.getData());
         if (append.isConditional()) {
             return store.append(append.getSegment(), append.getExpectedLength(), bytes, attributes, TIMEOUT);
         } else {
@@ -254,6 +252,17 @@ public class AppendProcessor extends DelegatingRequestProcessor {
         }
     }
 
+    /**
+     * Copies the readable contents of the given ByteBuf into a new byte array, without modifying the ByteBuf. The contents
+     * must always be copied, since the ByteBuf (and its backing array, if any) may be pooled and reused once the append
+     * has been processed, while the Store may still hold on to the array.
+     */
+    private static byte[] getBytes(ByteBuf buf) {
+        byte[] result = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), result);
+        return result;
+    }
+
     private void handleAppendResult(final Append append, Throwable exception, Timer elapsedTimer) {
         boolean success = exception == null;
         try {
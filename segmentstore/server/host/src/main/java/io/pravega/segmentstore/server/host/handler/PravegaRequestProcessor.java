@@ -81,7 +81,6 @@ import io.pravega.shared.protocol.netty.WireCommands.UpdateSegmentAttribute;
 import io.pravega.shared.protocol.netty.WireCommands.UpdateSegmentPolicy;
 import io.pravega.shared.protocol.netty.WireCommands.WrongHost;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -92,6 +91,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -128,7 +131,6 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
     static final Duration TIMEOUT = Duration.ofMinutes(1);
     private static final TagLogger log = new TagLogger(LoggerFactory.getLogger(PravegaRequestProcessor.class));
     private static final int MAX_READ_SIZE = 2 * 1024 * 1024;
-    private static final ByteBuffer EMPTY_BYTE_BUFFER = ByteBuffer.wrap(new byte[0]);
     private static final String EMPTY_STACK_TRACE = "";
     private final StreamSegmentStore segmentStore;
     private final TableStore tableStore;
@@ -137,6 +139,7 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
     private final TableSegmentStatsRecorder tableStatsRecorder;
     private final DelegationTokenVerifier tokenVerifier;
     private final boolean replyWithStackTraceOnError;
+    private final ScheduledExecutorService tailReadExecutor;
 
     //endregion
 
@@ -168,6 +171,27 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
     PravegaRequestProcessor(StreamSegmentStore segmentStore, TableStore tableStore, ServerConnection connection,
                             SegmentStatsRecorder statsRecorder, TableSegmentStatsRecorder tableStatsRecorder,
                             DelegationTokenVerifier tokenVerifier, boolean replyWithStackTraceOnError) {
+        this(segmentStore, tableStore, connection, statsRecorder, tableStatsRecorder, tokenVerifier, replyWithStackTraceOnError, null);
+    }
+
+    /**
+     * Creates a new instance of the PravegaRequestProcessor class.
+     *
+     * @param segmentStore  The StreamSegmentStore to attach to (and issue requests to).
+     * @param tableStore    The TableStore to attach to (and issue requests to).
+     * @param connection    The ServerConnection to attach to (and send responses to).
+     * @param statsRecorder A StatsRecorder for Metrics for Stream Segments.
+     * @param tableStatsRecorder A TableSegmentStatsRecorder for Metrics for Table Segments.
+     * @param tokenVerifier  Verifier class that verifies delegation token.
+     * @param replyWithStackTraceOnError Whether client replies upon failed requests contain server-side stack traces or not.
+     * @param tailReadExecutor An executor to schedule the maximum wait time of long-poll tail reads on. If null, long-poll
+     *                         parameters (see {@link ReadSegment#getMinBytes()}) are ignored and all reads are answered as
+     *                         soon as any data is available.
+     */
+    PravegaRequestProcessor(StreamSegmentStore segmentStore, TableStore tableStore, ServerConnection connection,
+                            SegmentStatsRecorder statsRecorder, TableSegmentStatsRecorder tableStatsRecorder,
+                            DelegationTokenVerifier tokenVerifier, boolean replyWithStackTraceOnError,
+                            ScheduledExecutorService tailReadExecutor) {
         this.segmentStore = Preconditions.checkNotNull(segmentStore, "segmentStore");
         this.tableStore = Preconditions.checkNotNull(tableStore, "tableStore");
         this.connection = Preconditions.checkNotNull(connection, "connection");
@@ -175,6 +199,7 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
         this.statsRecorder = Preconditions.checkNotNull(statsRecorder, "statsRecorder");
         this.tableStatsRecorder = Preconditions.checkNotNull(tableStatsRecorder, "tableStatsRecorder");
         this.replyWithStackTraceOnError = replyWithStackTraceOnError;
+        this.tailReadExecutor = tailReadExecutor;
     }
 
     //endregion
@@ -196,7 +221,7 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
         segmentStore.read(segment, readSegment.getOffset(), readSize, TIMEOUT)
                     .thenAccept(readResult -> {
                         LoggerHelpers.traceLeave(log, operation, trace, readResult);
-                        handleReadResult(readSegment, readResult);
+                        handleReadResult(readSegment, readResult, timer);
                         this.statsRecorder.readComplete(timer.getElapsed());
                     })
                     .exceptionally(ex -> handleException(readSegment.getRequestId(), segment, readSegment.getOffset(), operation,
@@ -218,11 +243,17 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
      * Otherwise the call will request the data and setup a callback to return the data when it is available.
      * If no data is available but it was detected that the Segment had been truncated beyond the current offset,
      * an appropriate message is sent back over the connection.
+     * If the request is a long-poll read (see {@link ReadSegment#getMinBytes()}) and it reached the tail of the Segment,
+     * then the data is only sent back once enough of it has been appended or the request's max wait time has elapsed.
      */
-    private void handleReadResult(ReadSegment request, ReadResult result) {
+    private void handleReadResult(ReadSegment request, ReadResult result, Timer timer) {
+        handleReadResult(request, result, request.getOffset(), new ArrayList<>(), timer);
+    }
+
+    private void handleReadResult(ReadSegment request, ReadResult result, long offset, ArrayList<ReadResultEntryContents> cachedEntries,
+                                  Timer timer) {
         String segment = request.getSegment();
-        ArrayList<ReadResultEntryContents> cachedEntries = new ArrayList<>();
-        ReadResultEntry nonCachedEntry = collectCachedEntries(request.getOffset(), result, cachedEntries);
+        ReadResultEntry nonCachedEntry = collectCachedEntries(offset, result, cachedEntries);
         final String operation = "readSegment";
 
         boolean truncated = nonCachedEntry != null && nonCachedEntry.getType() == Truncated;
@@ -230,11 +261,13 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
         boolean atTail = nonCachedEntry != null && nonCachedEntry.getType() == Future;
 
         if (!cachedEntries.isEmpty() || endOfSegment) {
-            // We managed to collect some data. Send it.
-            ByteBuffer data = copyData(cachedEntries);
-            SegmentRead reply = new SegmentRead(segment, request.getOffset(), atTail, endOfSegment, data, request.getRequestId());
-            connection.send(reply);
-            this.statsRecorder.read(segment, reply.getData().array().length);
+            if (atTail && shouldWaitForTailData(request, cachedEntries, timer)) {
+                // We have some data, but not enough. Wait for more to be appended (up to the request's max wait time).
+                waitForTailData(request, result, nonCachedEntry, cachedEntries, timer);
+            } else {
+                // We managed to collect some data. Send it.
+                sendSegmentRead(request, cachedEntries, atTail, endOfSegment);
+            }
         } else if (truncated) {
             // We didn't collect any data, instead we determined that the current read offset was truncated.
             // Determine the current Start Offset and send that back.
@@ -244,37 +277,99 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
                                                                    info.getStartOffset(), EMPTY_STACK_TRACE, nonCachedEntry.getStreamSegmentOffset())))
                     .exceptionally(e -> handleException(request.getRequestId(), segment, nonCachedEntry.getStreamSegmentOffset(), operation,
                                                         wrapCancellationException(e)));
+        } else if (atTail && isLongPoll(request)) {
+            // We didn't collect any data and we are at the tail. Wait for the first append; after that we may keep
+            // collecting appends until we have enough of them (see above).
+            waitForTailData(request, result, nonCachedEntry, cachedEntries, timer);
         } else {
             Preconditions.checkState(nonCachedEntry != null, "No ReadResultEntries returned from read!?");
             nonCachedEntry.requestContent(TIMEOUT);
             nonCachedEntry.getContent()
                     .thenAccept(contents -> {
-                        ByteBuffer data = copyData(Collections.singletonList(contents));
+                        ByteBuf data = wrapData(Collections.singletonList(contents));
                         SegmentRead reply = new SegmentRead(segment, nonCachedEntry.getStreamSegmentOffset(),
                                                             false, endOfSegment,
                                                             data, request.getRequestId());
+                        int length = data.readableBytes();
                         connection.send(reply);
-                        this.statsRecorder.read(segment, reply.getData().array().length);
-                    })
-                    .exceptionally(e -> {
-                        if (Exceptions.unwrap(e) instanceof StreamSegmentTruncatedException) {
-                            // The Segment may have been truncated in Storage after we got this entry but before we managed
-                            // to make a read. In that case, send the appropriate error back.
-                            final String clientReplyStackTrace = replyWithStackTraceOnError ? e.getMessage() : EMPTY_STACK_TRACE;
-                            connection.send(new SegmentIsTruncated(request.getRequestId(), segment,
-                                                                   nonCachedEntry.getStreamSegmentOffset(), clientReplyStackTrace,
-                                                                   nonCachedEntry.getStreamSegmentOffset()));
-                        } else {
-                            handleException(request.getRequestId(), segment, nonCachedEntry.getStreamSegmentOffset(), operation,
-                                            wrapCancellationException(e));
-                        }
-                        return null;
+                        this.statsRecorder.read(segment, length);
                     })
+                    .exceptionally(e -> handleReadFailure(request, nonCachedEntry, e))
                     .exceptionally(e -> handleException(request.getRequestId(), segment, nonCachedEntry.getStreamSegmentOffset(), operation,
                                                         wrapCancellationException(e)));
         }
     }
 
+    /**
+     * Waits for the given Future ReadResultEntry to be completed (i.e., for data to be appended at the tail of the Segment)
+     * and then continues processing the ReadResult. If some data has already been collected, this waits for at most the
+     * remainder of the request's max wait time, after which it sends that data back.
+     */
+    private void waitForTailData(ReadSegment request, ReadResult result, ReadResultEntry futureEntry,
+                                 ArrayList<ReadResultEntryContents> cachedEntries, Timer timer) {
+        CompletableFuture<ReadResultEntryContents> content = futureEntry.getContent();
+        ScheduledFuture<?> maxWait = null;
+        if (!cachedEntries.isEmpty()) {
+            // Cancelling the entry also unregisters it from the Read Index.
+            long remainingMillis = Math.max(0, request.getMaxWaitMillis() - timer.getElapsedMillis());
+            maxWait = this.tailReadExecutor.schedule(() -> content.cancel(true), remainingMillis, TimeUnit.MILLISECONDS);
+        }
+
+        final ScheduledFuture<?> maxWaitFuture = maxWait;
+        content.handle((contents, ex) -> {
+            if (maxWaitFuture != null) {
+                maxWaitFuture.cancel(false);
+            }
+
+            if (ex == null) {
+                cachedEntries.add(contents);
+                handleReadResult(request, result, futureEntry.getStreamSegmentOffset() + contents.getLength(), cachedEntries, timer);
+            } else if (!cachedEntries.isEmpty()) {
+                // Either we ran out of time, or the Segment was sealed, truncated or deleted while we were waiting. Send
+                // what we have so far; if the latter, it will be reported upon the next read.
+                result.close();
+                sendSegmentRead(request, cachedEntries, true, false);
+            } else {
+                handleReadFailure(request, futureEntry, ex);
+            }
+            return null;
+        }).exceptionally(e -> handleException(request.getRequestId(), request.getSegment(), futureEntry.getStreamSegmentOffset(),
+                                              "readSegment", wrapCancellationException(e)));
+    }
+
+    private boolean isLongPoll(ReadSegment request) {
+        return this.tailReadExecutor != null && request.getMinBytes() > 0 && request.getMaxWaitMillis() > 0;
+    }
+
+    private boolean shouldWaitForTailData(ReadSegment request, List<ReadResultEntryContents> cachedEntries, Timer timer) {
+        return isLongPoll(request)
+                && cachedEntries.stream().mapToInt(ReadResultEntryContents::getLength).sum() < request.getMinBytes()
+                && timer.getElapsedMillis() < request.getMaxWaitMillis();
+    }
+
+    private void sendSegmentRead(ReadSegment request, List<ReadResultEntryContents> cachedEntries, boolean atTail, boolean endOfSegment) {
+        ByteBuf data = wrapData(cachedEntries);
+        SegmentRead reply = new SegmentRead(request.getSegment(), request.getOffset(), atTail, endOfSegment, data, request.getRequestId());
+        int length = data.readableBytes();
+        connection.send(reply);
+        this.statsRecorder.read(request.getSegment(), length);
+    }
+
+    private Void handleReadFailure(ReadSegment request, ReadResultEntry nonCachedEntry, Throwable e) {
+        if (Exceptions.unwrap(e) instanceof StreamSegmentTruncatedException) {
+            // The Segment may have been truncated in Storage after we got this entry but before we managed
+            // to make a read. In that case, send the appropriate error back.
+            final String clientReplyStackTrace = replyWithStackTraceOnError ? e.getMessage() : EMPTY_STACK_TRACE;
+            connection.send(new SegmentIsTruncated(request.getRequestId(), request.getSegment(),
+                                                   nonCachedEntry.getStreamSegmentOffset(), clientReplyStackTrace,
+                                                   nonCachedEntry.getStreamSegmentOffset()));
+        } else {
+            handleException(request.getRequestId(), request.getSegment(), nonCachedEntry.getStreamSegmentOffset(), "readSegment",
+                            wrapCancellationException(e));
+        }
+        return null;
+    }
+
     /**
      * Wrap a {@link CancellationException} to {@link ReadCancellationException}
      */
@@ -312,20 +407,28 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
     }
 
     /**
-     * Copy all of the contents provided into a byteBuffer and return it.
+     * Creates a ByteBuf made up of all the contents provided. Contents that are backed by arrays are wrapped directly
+     * (if there is more than one entry, the result is a composite ByteBuf over them), so the data is not copied into an
+     * intermediate buffer before being written to the connection. Only contents that are not backed by arrays are copied.
      */
     @SneakyThrows(IOException.class)
-    private ByteBuffer copyData(List<ReadResultEntryContents> contents) {
-        int totalSize = contents.stream().mapToInt(ReadResultEntryContents::getLength).sum();
-
-        ByteBuffer data = ByteBuffer.allocate(totalSize);
-        int bytesCopied = 0;
-        for (ReadResultEntryContents content : contents) {
-            int copied = StreamHelpers.readAll(content.getData(), data.array(), bytesCopied, totalSize - bytesCopied);
-            Preconditions.checkState(copied == content.getLength(), "Read fewer bytes than available.");
-            bytesCopied += copied;
+    private ByteBuf wrapData(List<ReadResultEntryContents> contents) {
+        ByteBuf[] components = new ByteBuf[contents.size()];
+        for (int i = 0; i < components.length; i++) {
+            ReadResultEntryContents content = contents.get(i);
+            ArrayView array = content.getArray();
+            if (array != null) {
+                Preconditions.checkState(array.getLength() == content.getLength(), "Read fewer bytes than available.");
+                components[i] = wrappedBuffer(array.array(), array.arrayOffset(), array.getLength());
+            } else {
+                byte[] data = new byte[content.getLength()];
+                int copied = StreamHelpers.readAll(content.getData(), data, 0, data.length);
+                Preconditions.checkState(copied == content.getLength(), "Read fewer bytes than available.");
+                components[i] = wrappedBuffer(data);
+            }
         }
-        return data;
+
+        return wrappedBuffer(components);
     }
 
     @Override
@@ -932,7 +1035,7 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
         } else if (u instanceof ReadCancellationException) {
             log.info(requestId, "Closing connection {} while reading segment {} due to CancellationException.",
                      connection, segment);
-            invokeSafely(connection::send, new SegmentRead(segment, offset, true, false, EMPTY_BYTE_BUFFER, requestId), failureHandler);
+            invokeSafely(connection::send, new SegmentRead(segment, offset, true, false, EMPTY_BUFFER, requestId), failureHandler);
         } else if (u instanceof CancellationException) {
             log.info(requestId, "Closing connection {} while performing {} due to {}.",
                      connection, operation, u.getMessage());
@@ -35,10 +35,13 @@ import java.util.concurrent.ScheduledExecutorService;
 import lombok.Cleanup;
 import lombok.val;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import static io.pravega.segmentstore.contracts.Attributes.EVENT_COUNT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -87,6 +90,37 @@ public class AppendProcessorTest {
         verify(mockedRecorder).recordAppend(eq(streamSegmentName), eq(8L), eq(1), any());
     }
 
+    /**
+     * Verifies that the data passed to the Store is a copy of the append's ByteBuf contents, even if the ByteBuf is backed
+     * by an array that contains exactly that data, since the ByteBuf may be reused once the append has been processed.
+     */
+    @Test
+    public void testAppendCopiesData() throws Exception {
+        String streamSegmentName = "scope/stream/0.#epoch.0";
+        UUID clientId = UUID.randomUUID();
+        byte[] data = new byte[] { 1, 2, 3, 4, 6, 7, 8, 9 };
+        byte[] originalData = data.clone();
+        StreamSegmentStore store = mock(StreamSegmentStore.class);
+        ServerConnection connection = mock(ServerConnection.class);
+        AppendProcessor processor = new AppendProcessor(store, connection, new FailingRequestProcessor(), null);
+
+        setupGetAttributes(streamSegmentName, clientId, store);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        when(store.append(streamSegmentName, data, updateEventNumber(clientId, data.length), AppendProcessor.TIMEOUT))
+                .thenReturn(result);
+
+        processor.setupAppend(new SetupAppend(1, clientId, streamSegmentName, ""));
+        processor.append(new Append(streamSegmentName, clientId, data.length, 1, Unpooled.wrappedBuffer(data), null, requestId));
+        ArgumentCaptor<byte[]> appendedData = ArgumentCaptor.forClass(byte[].class);
+        verify(store).append(eq(streamSegmentName), appendedData.capture(), any(), eq(AppendProcessor.TIMEOUT));
+
+        // Simulate the buffer being reused before the Store has processed the append.
+        Arrays.fill(data, (byte) 0);
+        assertNotSame("Expected the appended data to be copied.", data, appendedData.getValue());
+        assertArrayEquals("Unexpected appended data.", originalData, appendedData.getValue());
+        result.complete(null);
+    }
+
     @Test
     public void testTransactionAppend() throws Exception {
         String streamSegmentName = "scope/stream/transactionSegment#transaction.01234567890123456789012345678901";
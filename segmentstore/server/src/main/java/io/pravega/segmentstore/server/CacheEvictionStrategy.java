@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server;
+
+/**
+ * Defines a strategy that CacheManager Clients consult when assigning generations to their Cache Entries, which in turn
+ * determines the order in which they are evicted.
+ *
+ * The default implementations of all methods yield the plain generational behavior: every entry that is added or used
+ * is assigned the current generation.
+ */
+public interface CacheEvictionStrategy {
+    /**
+     * A strategy that assigns the current generation to every new Cache Entry, regardless of its origin.
+     */
+    CacheEvictionStrategy GENERATIONAL = new CacheEvictionStrategy() {
+        @Override
+        public String toString() {
+            return "Generational";
+        }
+    };
+
+    /**
+     * Records an access (addition or hit) of a Cache Entry.
+     *
+     * @param entryHash A hash of the Cache Entry's Key.
+     */
+    default void recordAccess(int entryHash) {
+        // By default we do not track access frequencies.
+    }
+
+    /**
+     * Determines the generation to assign to a new Cache Entry that is the result of a cache miss (i.e., its data has
+     * been read from Storage), as opposed from one that has been added as part of an append.
+     *
+     * @param entryHash         A hash of the Cache Entry's Key.
+     * @param currentGeneration The current generation.
+     * @param oldestGeneration  The oldest generation that can still exist in the cache. This is smaller than or equal to
+     *                          currentGeneration.
+     * @return The generation to assign. This must be a value between oldestGeneration and currentGeneration (inclusive).
+     */
+    default int getAdmissionGeneration(int entryHash, int currentGeneration, int oldestGeneration) {
+        return currentGeneration;
+    }
+
+    /**
+     * Determines whether a Cache Entry that has just been read from (a cache hit) should be moved to the current generation.
+     *
+     * @param entryHash   A hash of the Cache Entry's Key.
+     * @param isNewAccess True if this read is a new access to the Cache Entry, false if it is the continuation of a
+     *                    previous read (such as a sequential reader that reads the Cache Entry in several smaller chunks).
+     *                    Only new accesses are recorded using recordAccess().
+     * @return True if the Cache Entry should be moved to the current generation, false if it should keep its generation.
+     */
+    default boolean shouldPromote(int entryHash, boolean isNewAccess) {
+        return true;
+    }
+}
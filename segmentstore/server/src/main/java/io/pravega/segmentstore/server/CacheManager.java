@@ -53,6 +53,7 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
     private final AtomicInteger oldestGeneration;
     private final AtomicLong cacheSize;
     private final CachePolicy policy;
+    private final CacheEvictionStrategy evictionStrategy;
     private final AtomicBoolean closed;
     private final SegmentStoreMetrics.CacheManager metrics;
 
@@ -71,6 +72,9 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         Preconditions.checkNotNull(executorService, "executorService");
 
         this.policy = policy;
+        this.evictionStrategy = policy.getEvictionType() == CachePolicy.EvictionType.FREQUENCY_AWARE
+                ? new FrequencyAwareEvictionStrategy()
+                : CacheEvictionStrategy.GENERATIONAL;
         this.clients = new HashSet<>();
         this.oldestGeneration = new AtomicInteger();
         this.currentGeneration = new AtomicInteger();
@@ -146,6 +150,19 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
 
     //endregion
 
+    //region Properties
+
+    /**
+     * Gets the CacheEvictionStrategy that Clients should use when assigning generations to their Cache Entries.
+     *
+     * @return The CacheEvictionStrategy.
+     */
+    public CacheEvictionStrategy getEvictionStrategy() {
+        return this.evictionStrategy;
+    }
+
+    //endregion
+
     //region Client Registration
 
     /**
@@ -21,6 +21,7 @@ public class CachePolicy {
     private final long maxSize;
     private final int maxGenerations;
     private final Duration generationDuration;
+    private final EvictionType evictionType;
 
     //endregion
 
@@ -34,10 +35,23 @@ public class CachePolicy {
      * @param generationDuration The amount of time one Cache generation spans.
      */
     public CachePolicy(long maxSize, Duration maxTime, Duration generationDuration) {
+        this(maxSize, maxTime, generationDuration, EvictionType.GENERATIONAL);
+    }
+
+    /**
+     * Creates a new instance of the CachePolicy class.
+     *
+     * @param maxSize            The maximum size of the cache.
+     * @param maxTime            The maximum amount of time a cache entry can live in the cache.
+     * @param generationDuration The amount of time one Cache generation spans.
+     * @param evictionType       The type of CacheEvictionStrategy to use.
+     */
+    public CachePolicy(long maxSize, Duration maxTime, Duration generationDuration, EvictionType evictionType) {
         Preconditions.checkArgument(maxSize > 0, "maxSize must be a positive integer");
         this.maxSize = maxSize;
         this.generationDuration = generationDuration;
         this.maxGenerations = Math.max(1, (int) ((double) maxTime.toMillis() / generationDuration.toMillis()));
+        this.evictionType = Preconditions.checkNotNull(evictionType, "evictionType");
     }
 
     //endregion
@@ -72,9 +86,40 @@ public class CachePolicy {
         return this.generationDuration;
     }
 
+    /**
+     * Gets a value indicating the type of CacheEvictionStrategy to use.
+     *
+     * @return The value.
+     */
+    public EvictionType getEvictionType() {
+        return this.evictionType;
+    }
+
     @Override
     public String toString() {
-        return String.format("MaxSize = %d, MaxGen = %d, Generation = %s", this.maxSize, this.maxGenerations, this.generationDuration);
+        return String.format("MaxSize = %d, MaxGen = %d, Generation = %s, Eviction = %s",
+                this.maxSize, this.maxGenerations, this.generationDuration, this.evictionType);
+    }
+
+    //endregion
+
+    //region EvictionType
+
+    /**
+     * Defines the ways in which Cache Entries can be assigned to generations (and thus evicted).
+     */
+    public enum EvictionType {
+        /**
+         * Cache entries are evicted based on the generation they were last used in. Every new entry is assigned the
+         * current generation.
+         */
+        GENERATIONAL,
+
+        /**
+         * Same as GENERATIONAL, except that entries resulting from cache misses are assigned the current generation only
+         * if they have been accessed frequently in the recent past. This makes the cache scan-resistant.
+         */
+        FREQUENCY_AWARE
     }
 
     //endregion
@@ -82,6 +82,23 @@ public interface ContainerMetadata {
      */
     Collection<Long> getAllStreamSegmentIds();
 
+    /**
+     * Gets a value that identifies the most recent change to the Storage state (StorageLength, SealedInStorage or
+     * DeletedInStorage) of any Segment in this metadata. This value increases with every such change.
+     *
+     * @return The value identifying the most recent Storage state change.
+     */
+    long getLastStorageStateChange();
+
+    /**
+     * Gets a collection containing the Ids of all the StreamSegments whose Storage state (StorageLength, SealedInStorage
+     * or DeletedInStorage) changed since the last full Metadata Checkpoint has been committed. This may include Segments
+     * that are no longer mapped.
+     *
+     * @return The collection of StreamSegment Ids.
+     */
+    Collection<Long> getStorageStateChangedSegmentIds();
+
     /**
      * Gets a value indicating the maximum number of segments that can be registered in this metadata at any given time.
      *
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A CacheEvictionStrategy that keeps track of approximate access frequencies (using a TinyLFU-style Count-Min Sketch)
+ * and uses them to make the Cache scan-resistant.
+ *
+ * Cache Entries that are the result of cache misses are admitted into the current generation only if they have been
+ * accessed frequently enough in the recent past. Otherwise they are admitted into the oldest generation, which makes them
+ * the first candidates for eviction. As such, a reader scanning through a large amount of cold data will only displace
+ * other such data, and not recently appended (tail) data, unless that data has not been used for a while (which is still
+ * governed by the generations). Similarly, an entry is only moved to the current generation upon a cache hit if it has
+ * been accessed frequently enough; reads that merely continue a previous read of the same entry (i.e., a sequential
+ * reader consuming it in several chunks) do not count as accesses.
+ *
+ * To make sure the frequencies reflect recent history, all counters are halved after a certain number of accesses.
+ */
+@ThreadSafe
+public class FrequencyAwareEvictionStrategy implements CacheEvictionStrategy {
+    //region Members
+
+    private static final int ROW_COUNT = 4;
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_LONG = Long.SIZE / COUNTER_BITS;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long HALVE_MASK = 0x7777_7777_7777_7777L;
+    private static final long[] SEEDS = new long[]{0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final int SAMPLE_SIZE_MULTIPLIER = 10;
+
+    /**
+     * The default number of counters in each row of the sketch.
+     */
+    public static final int DEFAULT_WIDTH = 64 * 1024;
+
+    /**
+     * The default minimum frequency an entry needs to have in order to be admitted into the current generation.
+     */
+    public static final int DEFAULT_ADMISSION_THRESHOLD = 2;
+
+    private final AtomicLongArray table;
+    private final int widthMask;
+    private final int longsPerRow;
+    private final int admissionThreshold;
+    private final int sampleSize;
+    private final AtomicInteger accessCount;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FrequencyAwareEvictionStrategy class, using default settings.
+     */
+    public FrequencyAwareEvictionStrategy() {
+        this(DEFAULT_WIDTH, DEFAULT_ADMISSION_THRESHOLD);
+    }
+
+    /**
+     * Creates a new instance of the FrequencyAwareEvictionStrategy class.
+     *
+     * @param width              The number of counters in each row of the sketch. Must be a power of 2, and at least 16.
+     *                           Larger values reduce the error of the frequency estimation at the expense of using more
+     *                           memory (each counter uses 4 bits).
+     * @param admissionThreshold The minimum frequency (number of recent accesses, including the one that caused the
+     *                           cache miss) an entry needs to have in order to be admitted into the current generation.
+     */
+    public FrequencyAwareEvictionStrategy(int width, int admissionThreshold) {
+        Preconditions.checkArgument(width >= COUNTERS_PER_LONG && Integer.bitCount(width) == 1,
+                "width must be a power of 2 and at least %s.", COUNTERS_PER_LONG);
+        Preconditions.checkArgument(admissionThreshold > 0 && admissionThreshold <= COUNTER_MASK,
+                "admissionThreshold must be a value between 1 and %s.", COUNTER_MASK);
+        this.widthMask = width - 1;
+        this.longsPerRow = width / COUNTERS_PER_LONG;
+        this.table = new AtomicLongArray(ROW_COUNT * this.longsPerRow);
+        this.admissionThreshold = admissionThreshold;
+        this.sampleSize = SAMPLE_SIZE_MULTIPLIER * width;
+        this.accessCount = new AtomicInteger();
+    }
+
+    //endregion
+
+    //region CacheEvictionStrategy Implementation
+
+    @Override
+    public void recordAccess(int entryHash) {
+        for (int row = 0; row < ROW_COUNT; row++) {
+            int counter = getCounterIndex(entryHash, row);
+            int index = row * this.longsPerRow + counter / COUNTERS_PER_LONG;
+            int shift = (counter % COUNTERS_PER_LONG) * COUNTER_BITS;
+            long value;
+            do {
+                value = this.table.get(index);
+                if (((value >>> shift) & COUNTER_MASK) == COUNTER_MASK) {
+                    // Counter is saturated.
+                    break;
+                }
+            } while (!this.table.compareAndSet(index, value, value + (1L << shift)));
+        }
+
+        if (this.accessCount.incrementAndGet() == this.sampleSize) {
+            age();
+        }
+    }
+
+    @Override
+    public int getAdmissionGeneration(int entryHash, int currentGeneration, int oldestGeneration) {
+        return getFrequency(entryHash) >= this.admissionThreshold ? currentGeneration : oldestGeneration;
+    }
+
+    @Override
+    public boolean shouldPromote(int entryHash, boolean isNewAccess) {
+        return isNewAccess && getFrequency(entryHash) >= this.admissionThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FrequencyAware (Width = %d, Threshold = %d)", this.widthMask + 1, this.admissionThreshold);
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Gets the estimated (recent) access frequency of the entry with the given hash.
+     *
+     * @param entryHash A hash of the Cache Entry's Key.
+     * @return The estimated frequency. This is never smaller than the actual frequency (barring aging), but it may be
+     * larger due to hash collisions. The value is capped at 15.
+     */
+    int getFrequency(int entryHash) {
+        long result = COUNTER_MASK;
+        for (int row = 0; row < ROW_COUNT; row++) {
+            int counter = getCounterIndex(entryHash, row);
+            long value = this.table.get(row * this.longsPerRow + counter / COUNTERS_PER_LONG);
+            result = Math.min(result, (value >>> ((counter % COUNTERS_PER_LONG) * COUNTER_BITS)) & COUNTER_MASK);
+        }
+
+        return (int) result;
+    }
+
+    /**
+     * Halves all counters, so that older accesses gradually lose their weight. Increments that execute concurrently with
+     * this may or may not be halved, which is acceptable given that all values are approximate anyway.
+     */
+    private void age() {
+        for (int i = 0; i < this.table.length(); i++) {
+            long value;
+            do {
+                value = this.table.get(i);
+            } while (!this.table.compareAndSet(i, value, (value >>> 1) & HALVE_MASK));
+        }
+
+        this.accessCount.set(0);
+    }
+
+    private int getCounterIndex(int entryHash, int row) {
+        long h = (entryHash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & this.widthMask;
+    }
+
+    //endregion
+}
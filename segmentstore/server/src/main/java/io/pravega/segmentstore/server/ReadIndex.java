@@ -11,9 +11,11 @@ package io.pravega.segmentstore.server;
 
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
 import java.io.InputStream;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Defines a ReadIndex for StreamSegments, that allows adding data only at the end.
@@ -32,6 +34,17 @@ public interface ReadIndex extends AutoCloseable, CacheUtilizationProvider {
      */
     void append(long streamSegmentId, long offset, byte[] data) throws StreamSegmentNotExistsException;
 
+    /**
+     * Appends the given StreamSegmentAppendOperations, in order, at the end of the Read Index. This has the same effect
+     * as invoking append(long, long, byte[]) for each of them, except that all their data is inserted into the Cache in
+     * a single batch. Operations that refer to StreamSegments which are marked as Deleted are skipped.
+     *
+     * @param appends The StreamSegmentAppendOperations to append.
+     * @throws IllegalArgumentException If any of the appends' offsets do not match the expected value (end of StreamSegment
+     *                                  in ReadIndex) or if any of them exceeds the metadata Length of its StreamSegment.
+     */
+    void append(List<StreamSegmentAppendOperation> appends);
+
     /**
      * Executes Step 1 of the 2-Step Merge Process.
      * <ol>
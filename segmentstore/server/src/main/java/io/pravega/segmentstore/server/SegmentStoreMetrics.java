@@ -60,6 +60,47 @@ public final class SegmentStoreMetrics {
 
     //endregion
 
+    //region StorageReadManager
+
+    /**
+     * StorageReadManager metrics.
+     */
+    public final static class StorageReadManager {
+        /**
+         * Number of Requests served by each Storage Read (including Requests that were merged into it or that depended
+         * on its result). Values greater than 1 indicate that Storage Reads are being coalesced.
+         */
+        private static final OpStatsLogger COALESCING_RATIO = STATS_LOGGER.createStats(MetricsNames.STORAGE_READ_COALESCING_RATIO);
+        private final String[] containerTag;
+
+        public StorageReadManager(int containerId) {
+            this.containerTag = containerTag(containerId);
+        }
+
+        /**
+         * Records a Request.
+         *
+         * @param coalesced True if the Request did not require its own Storage Read.
+         */
+        public void request(boolean coalesced) {
+            DYNAMIC_LOGGER.recordMeterEvents(MetricsNames.STORAGE_READ_REQUEST_COUNT, 1, this.containerTag);
+            if (coalesced) {
+                DYNAMIC_LOGGER.recordMeterEvents(MetricsNames.STORAGE_READ_COALESCED_COUNT, 1, this.containerTag);
+            }
+        }
+
+        /**
+         * Records a completed Storage Read.
+         *
+         * @param servedRequestCount The number of Requests served by the Storage Read.
+         */
+        public void storageRead(int servedRequestCount) {
+            COALESCING_RATIO.reportSuccessValue(servedRequestCount);
+        }
+    }
+
+    //endregion
+
     //region ThreadPool
 
     /**
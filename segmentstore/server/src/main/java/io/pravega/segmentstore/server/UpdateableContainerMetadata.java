@@ -30,6 +30,14 @@ public interface UpdateableContainerMetadata extends ContainerMetadata, Recovera
      */
     long nextOperationSequenceNumber();
 
+    /**
+     * Clears all the Storage state changes up to, and including, the given one. Segments whose Storage state changed
+     * again after it will still be returned by {@link #getStorageStateChangedSegmentIds()}.
+     *
+     * @param upToChange A value returned by {@link #getLastStorageStateChange()}.
+     */
+    void clearStorageStateChanges(long upToChange);
+
     /**
      * Gets the StreamSegmentMetadata mapped to the given StreamSegment Id.
      *
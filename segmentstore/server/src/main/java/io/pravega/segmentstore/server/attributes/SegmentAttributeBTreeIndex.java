@@ -539,12 +539,13 @@ public class SegmentAttributeBTreeIndex implements AttributeIndex, CacheManager.
     private void storeInCache(List<Map.Entry<Long, ByteArraySegment>> toAdd, Collection<Long> obsoleteOffsets) {
         synchronized (this.cacheEntries) {
             // Remove obsolete pages.
-            obsoleteOffsets.stream()
-                           .map(this.cacheEntries::get)
-                           .filter(Objects::nonNull)
-                           .forEach(this::removeFromCache);
+            removeFromCache(obsoleteOffsets.stream()
+                                           .map(this.cacheEntries::get)
+                                           .filter(Objects::nonNull)
+                                           .collect(Collectors.toList()));
 
-            // Add new ones.
+            // Add new ones (in a single batch).
+            HashMap<CacheKey, ByteArraySegment> toInsert = new HashMap<>();
             for (val e : toAdd) {
                 long offset = e.getKey();
                 ByteArraySegment data = e.getValue();
@@ -554,21 +555,23 @@ public class SegmentAttributeBTreeIndex implements AttributeIndex, CacheManager.
                     this.cacheEntries.put(offset, entry);
                 }
 
-                this.cache.insert(entry.getKey(), data);
+                toInsert.put(entry.getKey(), data);
             }
+
+            this.cache.insertAll(toInsert);
         }
     }
 
     private void removeFromCache(Collection<CacheEntry> entries) {
         synchronized (this.cacheEntries) {
-            entries.forEach(this::removeFromCache);
-        }
-    }
+            ArrayList<CacheKey> keys = new ArrayList<>(entries.size());
+            for (CacheEntry e : entries) {
+                keys.add(e.getKey());
+                this.cacheEntries.remove(e.getOffset());
+            }
 
-    @GuardedBy("cacheEntries")
-    private void removeFromCache(CacheEntry e) {
-        this.cache.remove(e.getKey());
-        this.cacheEntries.remove(e.getOffset());
+            this.cache.removeAll(keys);
+        }
     }
 
     private void ensureInitialized() {
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -63,6 +64,12 @@ public class StreamSegmentContainerMetadata implements UpdateableContainerMetada
     private final TreeSet<Long> truncationPoints;
     private final Object lock = new Object();
     private final SegmentStoreMetrics.Metadata metrics;
+    /**
+     * Ids of Segments whose Storage state changed since it was last cleared (see {@link #clearStorageStateChanges}),
+     * mapped to the value of lastStorageStateChange at the time of their most recent change.
+     */
+    private final ConcurrentHashMap<Long, Long> storageStateChanges;
+    private final AtomicLong lastStorageStateChange;
 
     //endregion
 
@@ -87,6 +94,8 @@ public class StreamSegmentContainerMetadata implements UpdateableContainerMetada
         this.recoveryMode = new AtomicBoolean();
         this.lastTruncatedSequenceNumber = new AtomicLong();
         this.epoch = new AtomicLong(NO_EPOCH);
+        this.storageStateChanges = new ConcurrentHashMap<>();
+        this.lastStorageStateChange = new AtomicLong();
         this.metrics = new SegmentStoreMetrics.Metadata(this.streamSegmentContainerId);
         this.metrics.segmentCount(0);
     }
@@ -171,7 +180,8 @@ public class StreamSegmentContainerMetadata implements UpdateableContainerMetada
                         streamSegmentName, this.maxActiveSegmentCount);
             }
 
-            segmentMetadata = new StreamSegmentMetadata(streamSegmentName, streamSegmentId, getContainerId());
+            segmentMetadata = new StreamSegmentMetadata(streamSegmentName, streamSegmentId, getContainerId(),
+                    () -> recordStorageStateChange(streamSegmentId));
             this.metadataByName.put(streamSegmentName, segmentMetadata);
             this.metadataById.put(streamSegmentId, segmentMetadata);
             count = this.metadataById.size();
@@ -190,6 +200,26 @@ public class StreamSegmentContainerMetadata implements UpdateableContainerMetada
         }
     }
 
+    @Override
+    public long getLastStorageStateChange() {
+        return this.lastStorageStateChange.get();
+    }
+
+    @Override
+    public Collection<Long> getStorageStateChangedSegmentIds() {
+        return new HashSet<>(this.storageStateChanges.keySet());
+    }
+
+    @Override
+    public void clearStorageStateChanges(long upToChange) {
+        // Segments that changed again after upToChange have a higher value associated with them, so they are kept.
+        this.storageStateChanges.values().removeIf(change -> change <= upToChange);
+    }
+
+    private void recordStorageStateChange(long streamSegmentId) {
+        this.storageStateChanges.merge(streamSegmentId, this.lastStorageStateChange.incrementAndGet(), Math::max);
+    }
+
     @Override
     public long nextOperationSequenceNumber() {
         ensureNonRecoveryMode();
@@ -329,6 +359,8 @@ public class StreamSegmentContainerMetadata implements UpdateableContainerMetada
             this.metadataById.clear();
         }
 
+        this.storageStateChanges.clear();
+
         synchronized (this.truncationMarkers) {
             this.truncationMarkers.clear();
             this.truncationPoints.clear();
@@ -45,6 +45,7 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
     private final String name;
     private final long streamSegmentId;
     private final int containerId;
+    private final Runnable storageStateChangedCallback;
     @GuardedBy("this")
     private final Map<UUID, Long> coreAttributes;
     @GuardedBy("this")
@@ -87,6 +88,20 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
      * @throws IllegalArgumentException If either of the arguments are invalid.
      */
     public StreamSegmentMetadata(String streamSegmentName, long streamSegmentId, int containerId) {
+        this(streamSegmentName, streamSegmentId, containerId, () -> { });
+    }
+
+    /**
+     * Creates a new instance of the StreamSegmentMetadata class for a StreamSegment.
+     *
+     * @param streamSegmentName           The name of the StreamSegment.
+     * @param streamSegmentId             The Id of the StreamSegment.
+     * @param containerId                 The Id of the Container this StreamSegment belongs to.
+     * @param storageStateChangedCallback A callback that will be invoked (synchronously) every time the Storage state
+     *                                    (StorageLength, SealedInStorage or DeletedInStorage) of this StreamSegment changes.
+     * @throws IllegalArgumentException If either of the arguments are invalid.
+     */
+    StreamSegmentMetadata(String streamSegmentName, long streamSegmentId, int containerId, Runnable storageStateChangedCallback) {
         Exceptions.checkNotNullOrEmpty(streamSegmentName, "streamSegmentName");
         Preconditions.checkArgument(streamSegmentId != ContainerMetadata.NO_STREAM_SEGMENT_ID, "streamSegmentId");
         Preconditions.checkArgument(containerId >= 0, "containerId");
@@ -95,6 +110,7 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
         this.name = streamSegmentName;
         this.streamSegmentId = streamSegmentId;
         this.containerId = containerId;
+        this.storageStateChangedCallback = Preconditions.checkNotNull(storageStateChangedCallback, "storageStateChangedCallback");
         this.sealed = false;
         this.sealedInStorage = false;
         this.deleted = false;
@@ -207,7 +223,10 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
         Exceptions.checkArgument(value >= this.storageLength, "value", "New Storage Length cannot be smaller than the previous one.");
 
         log.trace("{}: StorageLength changed from {} to {}.", this.traceObjectId, this.storageLength, value);
-        this.storageLength = value;
+        if (value != this.storageLength) {
+            this.storageLength = value;
+            this.storageStateChangedCallback.run();
+        }
     }
 
     @Override
@@ -243,7 +262,10 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
     public synchronized void markSealedInStorage() {
         Preconditions.checkState(this.sealed, "Cannot mark SealedInStorage if not Sealed in Metadata.");
         log.debug("{}: SealedInStorage = true.", this.traceObjectId);
-        this.sealedInStorage = true;
+        if (!this.sealedInStorage) {
+            this.sealedInStorage = true;
+            this.storageStateChangedCallback.run();
+        }
     }
 
     @Override
@@ -262,7 +284,10 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
     public synchronized void markDeletedInStorage() {
         Preconditions.checkState(this.deleted, "Cannot mark DeletedInStorage if not Deleted in Metadata.");
         log.debug("{}: DeletedInStorage = true.", this.traceObjectId);
-        this.deletedInStorage = true;
+        if (!this.deletedInStorage) {
+            this.deletedInStorage = true;
+            this.storageStateChangedCallback.run();
+        }
     }
 
     @Override
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.common.io.SerializationException;
+import io.pravega.common.util.ArrayView;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Defines the codecs that can be used to compress the contents of DataFrames.
+ * <p>
+ * Each codec is identified by an Id, which is serialized in the DataFrame header of every frame compressed with it. Once
+ * a codec has been used to write frames, its Id must never be changed or reused, otherwise those frames can no longer
+ * be read back.
+ */
+@RequiredArgsConstructor
+public enum CompressionCodec {
+    /**
+     * No compression.
+     */
+    NONE((byte) 0) {
+        @Override
+        int compress(ArrayView source, byte[] target, int targetOffset) {
+            return -1;
+        }
+
+        @Override
+        void decompress(InputStream source, byte[] target) throws IOException {
+            throw new SerializationException("DataFrame is marked as compressed, but it has no compression codec.");
+        }
+    },
+
+    /**
+     * Compression using the DEFLATE algorithm (as implemented by {@link Deflater}), tuned for speed.
+     */
+    DEFLATE((byte) 1) {
+        @Override
+        int compress(ArrayView source, byte[] target, int targetOffset) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(source.array(), source.arrayOffset(), source.getLength());
+                deflater.finish();
+                int length = 0;
+                while (!deflater.finished() && targetOffset + length < target.length) {
+                    length += deflater.deflate(target, targetOffset + length, target.length - targetOffset - length);
+                }
+
+                // If we couldn't fit everything in the target buffer, then compressing would not save anything.
+                return deflater.finished() ? length : -1;
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        void decompress(InputStream source, byte[] target) throws IOException {
+            Inflater inflater = new Inflater();
+            try {
+                // We do not close the InflaterInputStream as that would close the source too.
+                InputStream input = new InflaterInputStream(source, inflater);
+                int length = 0;
+                while (length < target.length) {
+                    int count = input.read(target, length, target.length - length);
+                    if (count < 0) {
+                        throw new SerializationException(String.format(
+                                "Compressed DataFrame is corrupt. Expected %d decompressed bytes, found %d.", target.length, length));
+                    }
+
+                    length += count;
+                }
+            } finally {
+                inflater.end();
+            }
+        }
+    };
+
+    /**
+     * The Id of the codec, as serialized in the DataFrame header.
+     */
+    @Getter
+    private final byte id;
+
+    /**
+     * Compresses the given data.
+     *
+     * @param source       An {@link ArrayView} containing the data to compress.
+     * @param target       The array to write the compressed data into.
+     * @param targetOffset The offset within target to start writing at.
+     * @return The number of bytes written to target, or -1 if the compressed data does not fit in target (in which case
+     * the contents of target is undefined).
+     */
+    abstract int compress(ArrayView source, byte[] target, int targetOffset);
+
+    /**
+     * Decompresses data from the given InputStream.
+     *
+     * @param source The InputStream to read compressed data from. This InputStream will not be closed.
+     * @param target The array to decompress into. This will be filled up entirely.
+     * @throws IOException If the source could not be read or if it contained fewer bytes than expected.
+     */
+    abstract void decompress(InputStream source, byte[] target) throws IOException;
+
+    /**
+     * Gets the CompressionCodec with the given Id.
+     *
+     * @param id The Id of the CompressionCodec.
+     * @return The CompressionCodec.
+     * @throws SerializationException If there is no CompressionCodec with the given Id.
+     */
+    static CompressionCodec get(byte id) throws SerializationException {
+        for (CompressionCodec codec : values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+
+        throw new SerializationException(String.format("Unsupported DataFrame compression codec %d.", id));
+    }
+}
@@ -28,6 +28,7 @@ import io.pravega.segmentstore.server.UpdateableContainerMetadata;
 import io.pravega.segmentstore.server.UpdateableSegmentMetadata;
 import io.pravega.segmentstore.server.containers.StreamSegmentMetadata;
 import io.pravega.segmentstore.server.logs.operations.DeleteSegmentOperation;
+import io.pravega.segmentstore.server.logs.operations.DeltaMetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.MergeSegmentOperation;
 import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.Operation;
@@ -42,6 +43,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import javax.annotation.concurrent.NotThreadSafe;
 import lombok.Getter;
@@ -59,6 +61,8 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
 
     private static final MetadataCheckpointSerializer METADATA_CHECKPOINT_SERIALIZER = new MetadataCheckpointSerializer();
     private static final StorageCheckpointSerializer STORAGE_CHECKPOINT_SERIALIZER = new StorageCheckpointSerializer();
+    private static final DeltaCheckpointSerializer DELTA_CHECKPOINT_SERIALIZER = new DeltaCheckpointSerializer();
+    private static final long NO_STORAGE_STATE_CHANGE = -1;
     /**
      * Pointer to the real (live) ContainerMetadata. Used when needing access to live information (such as Storage Info).
      */
@@ -84,6 +88,18 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
     private final long transactionId;
     private final String traceObjectId;
     private boolean processedCheckpoint;
+    /**
+     * The Sequence Number of the last (full) MetadataCheckpointOperation that was processed, either by this UpdateTransaction
+     * or before it. DeltaMetadataCheckpointOperations include all Segments that changed after this point.
+     */
+    @Getter
+    private long lastFullCheckpointSequenceNumber;
+    /**
+     * The value of ContainerMetadata.getLastStorageStateChange() at the time a (full) MetadataCheckpointOperation was
+     * serialized in this UpdateTransaction, or NO_STORAGE_STATE_CHANGE if no such checkpoint was serialized. Once this
+     * UpdateTransaction is committed, all Storage state changes up to this one are included in a durable checkpoint.
+     */
+    private long checkpointedStorageStateChange;
     @Getter
     private boolean sealed; // This refers to the UpdateTransaction, and not to the individual Segment's status.
 
@@ -97,7 +113,22 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
      * @param baseMetadata The base Container Metadata.
      * @param transactionId Id of the ContainerMetadataUpdateTransaction.
      */
+    @VisibleForTesting
     ContainerMetadataUpdateTransaction(ContainerMetadata baseMetadata, ContainerMetadata realMetadata, long transactionId) {
+        this(baseMetadata, realMetadata, transactionId, Operation.NO_SEQUENCE_NUMBER);
+    }
+
+    /**
+     * Creates a new instance of the ContainerMetadataUpdateTransaction class.
+     *
+     * @param baseMetadata                     The base Container Metadata.
+     * @param transactionId                    Id of the ContainerMetadataUpdateTransaction.
+     * @param lastFullCheckpointSequenceNumber The Sequence Number of the last (full) MetadataCheckpointOperation that
+     *                                         was processed before this UpdateTransaction, or Operation.NO_SEQUENCE_NUMBER
+     *                                         if no such checkpoint is known.
+     */
+    ContainerMetadataUpdateTransaction(ContainerMetadata baseMetadata, ContainerMetadata realMetadata, long transactionId,
+                                       long lastFullCheckpointSequenceNumber) {
         this.baseMetadata = Preconditions.checkNotNull(baseMetadata, "baseMetadata");
         this.realMetadata = Preconditions.checkNotNull(realMetadata, "realMetadata");
         this.transactionId = transactionId;
@@ -112,6 +143,8 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
         this.newSegments = new HashMap<>();
         this.newSegmentNames = new HashMap<>();
         this.sealed = false;
+        this.lastFullCheckpointSequenceNumber = lastFullCheckpointSequenceNumber;
+        this.checkpointedStorageStateChange = NO_STORAGE_STATE_CHANGE;
         resetNewSequenceNumber();
     }
 
@@ -167,6 +200,16 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
         return this.realMetadata.getActiveSegmentCount() + getNewSegmentCount();
     }
 
+    @Override
+    public long getLastStorageStateChange() {
+        return this.realMetadata.getLastStorageStateChange();
+    }
+
+    @Override
+    public Collection<Long> getStorageStateChangedSegmentIds() {
+        return this.realMetadata.getStorageStateChangedSegmentIds();
+    }
+
     /**
      * Gets the total number of new segments from this UpdateTransaction and all base UpdateTransactions.
      */
@@ -252,6 +295,11 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
         // Copy truncation points.
         this.newTruncationPoints.forEach(target::setValidTruncationPoint);
 
+        // Any Storage state changes included in a full checkpoint need not be included in subsequent delta checkpoints.
+        if (this.checkpointedStorageStateChange != NO_STORAGE_STATE_CHANGE) {
+            target.clearStorageStateChanges(this.checkpointedStorageStateChange);
+        }
+
         // We are done. Clear the transaction.
         clear();
     }
@@ -266,6 +314,7 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
         this.newSegmentNames.clear();
         this.newTruncationPoints.clear();
         this.processedCheckpoint = false;
+        this.checkpointedStorageStateChange = NO_STORAGE_STATE_CHANGE;
         resetNewSequenceNumber();
     }
 
@@ -332,6 +381,9 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
         } else if (operation instanceof StorageMetadataCheckpointOperation) {
             // StorageMetadataCheckpointOperation do not require preProcess and accept; they can be handled in a single stage.
             processMetadataOperation((StorageMetadataCheckpointOperation) operation);
+        } else if (operation instanceof DeltaMetadataCheckpointOperation) {
+            // DeltaMetadataCheckpointOperation do not require preProcess and accept; they can be handled in a single stage.
+            processMetadataOperation((DeltaMetadataCheckpointOperation) operation);
         } else if (operation instanceof StreamSegmentMapOperation) {
             preProcessMetadataOperation((StreamSegmentMapOperation) operation);
         }
@@ -373,6 +425,7 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
         if (operation instanceof MetadataCheckpointOperation) {
             // A MetadataCheckpointOperation represents a valid truncation point. Record it as such.
             this.newTruncationPoints.add(operation.getSequenceNumber());
+            this.lastFullCheckpointSequenceNumber = operation.getSequenceNumber();
         } else if (operation instanceof StreamSegmentMapOperation) {
             acceptMetadataOperation((StreamSegmentMapOperation) operation);
         }
@@ -408,7 +461,9 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
                 this.processedCheckpoint = true;
             } else {
                 // In non-Recovery Mode, a MetadataCheckpointOperation means we need to serialize the current state of
-                // the Metadata, both the base Container Metadata and the current Transaction.
+                // the Metadata, both the base Container Metadata and the current Transaction. Record the last Storage
+                // state change before doing so: any changes up to it will be included in the serialization.
+                this.checkpointedStorageStateChange = this.realMetadata.getLastStorageStateChange();
                 operation.setContents(METADATA_CHECKPOINT_SERIALIZER.serialize(this));
             }
         } catch (IOException ex) {
@@ -428,6 +483,25 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
         }
     }
 
+    private void processMetadataOperation(DeltaMetadataCheckpointOperation operation) throws MetadataUpdateException {
+        try {
+            if (this.recoveryMode) {
+                if (!this.processedCheckpoint) {
+                    // A DeltaMetadataCheckpointOperation only makes sense on top of a full MetadataCheckpointOperation.
+                    log.debug("{}: Skipping DeltaMetadataCheckpointOperation with SequenceNumber {} because no full checkpoint was processed.",
+                            this.traceObjectId, operation.getSequenceNumber());
+                    return;
+                }
+
+                DELTA_CHECKPOINT_SERIALIZER.deserialize(operation.getContents(), this);
+            } else {
+                operation.setContents(DELTA_CHECKPOINT_SERIALIZER.serialize(this));
+            }
+        } catch (IOException ex) {
+            throw new MetadataUpdateException(this.containerId, "Unable to process DeltaMetadataCheckpointOperation " + operation, ex);
+        }
+    }
+
     private void acceptMetadataOperation(StreamSegmentMapOperation operation) throws MetadataUpdateException {
         if (operation.getStreamSegmentId() == ContainerMetadata.NO_STREAM_SEGMENT_ID) {
             throw new MetadataUpdateException(this.containerId,
@@ -732,4 +806,81 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
     }
 
     //endregion
+
+    //region DeltaCheckpointSerializer
+
+    /**
+     * Serializes only those Segments whose Storage state changed since the last full checkpoint (see
+     * ContainerMetadata.getStorageStateChangedSegmentIds()), as well as those changed in this UpdateTransaction, using
+     * the same format as MetadataCheckpointSerializer. Upon recovery, the rest of the Segment state can be (and is) rebuilt by
+     * replaying the Operations following the full checkpoint, so only the Storage state (which is not updated via regular
+     * Log Operations) is applied from here.
+     */
+    private static class DeltaCheckpointSerializer extends VersionedSerializer.Direct<ContainerMetadataUpdateTransaction> {
+        @Override
+        protected byte getWriteVersion() {
+            return 0;
+        }
+
+        @Override
+        protected void declareVersions() {
+            version(0).revision(0, this::write00, this::read00);
+        }
+
+        private void write00(ContainerMetadataUpdateTransaction t, RevisionDataOutput output) throws IOException {
+            output.writeCompactInt(t.containerId);
+            output.writeLong(t.lastFullCheckpointSequenceNumber);
+
+            val toSerialize = new ArrayList<SegmentMetadata>();
+
+            // Segments whose Storage state changed since the last full checkpoint (and not changed in this transaction).
+            // Segments that have since been evicted from the metadata are not included.
+            t.realMetadata.getStorageStateChangedSegmentIds().stream()
+                          .filter(segmentId -> !t.segmentUpdates.containsKey(segmentId) && !t.newSegments.containsKey(segmentId))
+                          .map(t.baseMetadata::getStreamSegmentMetadata)
+                          .filter(Objects::nonNull)
+                          .forEach(toSerialize::add);
+
+            // New Segments.
+            t.newSegments.values().stream()
+                         .filter(sm -> !t.segmentUpdates.containsKey(sm.getId()))
+                         .forEach(toSerialize::add);
+
+            // Changed Segment Metadata.
+            toSerialize.addAll(t.segmentUpdates.values());
+            output.writeCollection(toSerialize, METADATA_CHECKPOINT_SERIALIZER::writeSegmentMetadata00);
+        }
+
+        private void read00(RevisionDataInput input, ContainerMetadataUpdateTransaction t) throws IOException {
+            int containerId = input.readCompactInt();
+            if (t.containerId != containerId) {
+                throw new SerializationException(String.format("Invalid ContainerId. Expected '%d', actual '%d'.", t.containerId, containerId));
+            }
+
+            input.readLong(); // Last Full Checkpoint Sequence Number; not needed for recovery.
+            input.readCollection(s -> readSegmentStorageState00(s, t));
+        }
+
+        @SneakyThrows(MetadataUpdateException.class)
+        private SegmentMetadata readSegmentStorageState00(RevisionDataInput input, ContainerMetadataUpdateTransaction t) throws IOException {
+            long segmentId = input.readLong();
+            input.readUTF(); // Name.
+            input.readLong(); // Length.
+            long storageLength = input.readLong();
+            input.readBoolean(); // Merged.
+            input.readBoolean(); // Sealed.
+            boolean sealedInStorage = input.readBoolean();
+            boolean deleted = input.readBoolean();
+            boolean deletedInStorage = input.readBoolean();
+            input.readLong(); // Last Modified.
+            input.readLong(); // Start Offset.
+            input.readMap(RevisionDataInput::readUUID, RevisionDataInput::readLong); // Core Attributes.
+
+            SegmentMetadataUpdateTransaction metadata = t.getSegmentUpdateTransaction(segmentId);
+            metadata.updateStorageState(storageLength, sealedInStorage, deleted, deletedInStorage);
+            return metadata;
+        }
+    }
+
+    //endregion
 }
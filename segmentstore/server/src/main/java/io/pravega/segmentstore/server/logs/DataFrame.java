@@ -19,6 +19,7 @@ import io.pravega.common.util.BitConverter;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.common.util.CloseableIterator;
 import io.pravega.segmentstore.storage.LogAddress;
+import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -31,6 +32,11 @@ import lombok.SneakyThrows;
 /**
  * Helps serialize entries into fixed-size batches. Allows writing multiple records per frame, as well as splitting a record
  * across multiple frames.
+ * <p>
+ * Once sealed, a frame's contents may be compressed using a {@link CompressionCodec}. Compressed frames are serialized
+ * using a different frame version ({@link #COMPRESSED_VERSION}) than uncompressed ones ({@link #CURRENT_VERSION}), and
+ * the codec is encoded in the header flags, so compressed and uncompressed frames can be freely mixed in the same log.
+ * Readers that do not support compression reject compressed frames, and this reader rejects any unknown frame version.
  */
 @NotThreadSafe
 public class DataFrame {
@@ -38,9 +44,11 @@ public class DataFrame {
 
     static final int MIN_ENTRY_LENGTH_NEEDED = EntryHeader.HEADER_SIZE + 1;
     private static final byte CURRENT_VERSION = 0;
+    private static final byte COMPRESSED_VERSION = 1;
     private final ByteArraySegment data;
     private WriteFrameHeader header;
     private ByteArraySegment contents;
+    private ByteArraySegment compressedData;
 
     /**
      * The Frame Address within its serialization chain.
@@ -106,6 +114,10 @@ public class DataFrame {
      * @return The length (bytes) of the frame, including the header, contents and other control structures needed to serialize the frame.
      */
     public int getLength() {
+        if (this.compressedData != null) {
+            return this.compressedData.getLength();
+        }
+
         return this.header.getSerializationLength() + this.header.getContentLength();
     }
 
@@ -113,7 +125,9 @@ public class DataFrame {
      * Returns an ArrayView representing the serialized form of this frame.
      */
     ArrayView getData() {
-        if (this.data.isReadOnly()) {
+        if (this.compressedData != null) {
+            return this.compressedData;
+        } else if (this.data.isReadOnly()) {
             return this.data;
         } else {
             // We have just created this frame. Only return the segment of the buffer that contains data.
@@ -244,6 +258,28 @@ public class DataFrame {
         return actualLength;
     }
 
+    /**
+     * Appends a range of the given array to the DataFrame.
+     *
+     * @param data   The array to append from.
+     * @param offset The offset within the array to start appending from.
+     * @param length The number of bytes to append.
+     * @return The number of bytes written. If less than length, the frame is full and cannot write anything anymore.
+     * The remaining bytes will need to be written to a new frame.
+     * @throws IllegalStateException If the frame is sealed or no entry has been started.
+     */
+    int append(byte[] data, int offset, int length) {
+        ensureAppendConditions();
+
+        int actualLength = Math.min(length, getAvailableLength());
+        if (actualLength > 0) {
+            System.arraycopy(data, offset, this.contents.array(), this.contents.arrayOffset() + writePosition, actualLength);
+            writePosition += actualLength;
+        }
+
+        return actualLength;
+    }
+
     /**
      * Seals the frame for writing. After this method returns, no more modifications are allowed on this DataFrame.
      * This method has no effect if the Frame is read-only if it is already sealed.
@@ -260,6 +296,42 @@ public class DataFrame {
         }
     }
 
+    /**
+     * Compresses the contents of this frame using the given codec. After this method completes successfully, getData()
+     * and getLength() will refer to the compressed form of the frame.
+     *
+     * @param codec     The {@link CompressionCodec} to use.
+     * @param minLength The minimum length of the frame's contents for it to be compressed. Smaller frames are left as-is.
+     * @return True if the frame has been compressed, false otherwise. A frame will not be compressed if it is smaller
+     * than minLength, if it is already compressed, or if compressing it would not reduce its length.
+     * @throws IllegalStateException If the frame is not sealed.
+     */
+    boolean compress(CompressionCodec codec, int minLength) {
+        Preconditions.checkState(isSealed(), "DataFrame must be sealed before it can be compressed.");
+        Preconditions.checkNotNull(codec, "codec");
+        int contentLength = this.header.getContentLength();
+        if (codec == CompressionCodec.NONE || this.compressedData != null || contentLength < minLength || contentLength == 0) {
+            return false;
+        }
+
+        // The compressed frame is made up of a Frame Header, the length of the uncompressed contents and the compressed
+        // contents. We only want to compress the frame if the result is smaller than the original frame.
+        byte[] target = new byte[getLength()];
+        int compressedOffset = FrameHeader.SERIALIZATION_LENGTH + Integer.BYTES;
+        int compressedLength = codec.compress(this.contents.subSegment(0, contentLength), target, compressedOffset);
+        if (compressedLength < 0 || compressedOffset + compressedLength >= target.length) {
+            return false;
+        }
+
+        WriteFrameHeader compressedHeader = new WriteFrameHeader(COMPRESSED_VERSION, new ByteArraySegment(target, 0, FrameHeader.SERIALIZATION_LENGTH));
+        compressedHeader.setContentLength(Integer.BYTES + compressedLength);
+        compressedHeader.setCodec(codec);
+        compressedHeader.commit();
+        BitConverter.writeInt(target, FrameHeader.SERIALIZATION_LENGTH, contentLength);
+        this.compressedData = new ByteArraySegment(target, 0, compressedOffset + compressedLength);
+        return true;
+    }
+
     /**
      * Calculates the number of bytes available in the frame for writing.
      */
@@ -295,9 +367,46 @@ public class DataFrame {
         }
 
         BoundedInputStream contents = new BoundedInputStream(source, header.getContentLength());
+        if (header.getCodec() != null) {
+            contents = decompress(contents, header.getCodec());
+        }
+
         return new DataFrameEntryIterator(contents, address, ReadFrameHeader.SERIALIZATION_LENGTH);
     }
 
+    /**
+     * Interprets the given ArrayView as a DataFrame and returns a DataFrameEntryIterator for the entries serialized
+     * in it.
+     *
+     * @param source  The ArrayView to read from.
+     * @param address The DataFrame's address.
+     * @return A new DataFrameEntryIterator.
+     * @throws IOException If unable to parse the DataFrame's header from the ArrayView.
+     */
+    public static DataFrameEntryIterator read(ArrayView source, LogAddress address) throws IOException {
+        return read(source.getReader(), source.getLength(), address);
+    }
+
+    /**
+     * Decompresses the contents of a compressed DataFrame.
+     *
+     * @param source The compressed contents. This will be fully consumed.
+     * @param codec  The {@link CompressionCodec} the contents was compressed with.
+     * @return A BoundedInputStream containing the decompressed contents.
+     * @throws IOException If unable to decompress the contents.
+     */
+    private static BoundedInputStream decompress(BoundedInputStream source, CompressionCodec codec) throws IOException {
+        int length = BitConverter.readInt(source);
+        if (length < 0) {
+            throw new SerializationException(String.format("Compressed DataFrame is corrupt. Invalid decompressed length %d.", length));
+        }
+
+        byte[] contents = new byte[length];
+        codec.decompress(source, contents);
+        source.close();
+        return new BoundedInputStream(new ByteArrayInputStream(contents), length);
+    }
+
     //endregion
 
     //region EntryHeader
@@ -378,6 +487,8 @@ public class DataFrame {
      */
     private static abstract class FrameHeader {
         static final int SERIALIZATION_LENGTH = Byte.BYTES + Integer.BYTES + Byte.BYTES;
+        static final byte COMPRESSED_MASK = 1;
+        static final int CODEC_ID_SHIFT = 4;
         /**
          * The serialization Version for the frame.
          */
@@ -392,18 +503,41 @@ public class DataFrame {
         @Setter
         private int contentLength;
 
+        /**
+         * The codec the Frame's contents is compressed with, or null if the contents is not compressed.
+         */
+        @Getter
+        @Setter
+        private CompressionCodec codec;
+
         byte encodeFlags() {
-            // Placeholder method. Nothing to do yet.
-            return 0;
+            if (this.codec == null) {
+                return 0;
+            }
+
+            return (byte) (COMPRESSED_MASK | (this.codec.getId() << CODEC_ID_SHIFT));
         }
 
-        void decodeFlags(byte flags, byte version) {
-            // Placeholder method. Nothing to do yet.
+        void decodeFlags(byte flags, byte version) throws SerializationException {
+            boolean compressed = (flags & COMPRESSED_MASK) == COMPRESSED_MASK;
+            if (version == CURRENT_VERSION) {
+                if (compressed) {
+                    throw new SerializationException(String.format("DataFrame is corrupt. Version %d frames cannot be compressed.", version));
+                }
+            } else if (version == COMPRESSED_VERSION) {
+                if (!compressed) {
+                    throw new SerializationException(String.format("DataFrame is corrupt. Version %d frames must be compressed.", version));
+                }
+
+                this.codec = CompressionCodec.get((byte) ((flags & 0xFF) >>> CODEC_ID_SHIFT));
+            } else {
+                throw new SerializationException(String.format("Unsupported DataFrame version %d.", version));
+            }
         }
 
         @Override
         public String toString() {
-            return String.format("Version = %d, ContentLength = %d", getVersion(), getContentLength());
+            return String.format("Version = %d, ContentLength = %d, Codec = %s", getVersion(), getContentLength(), getCodec());
         }
     }
 
@@ -446,11 +580,11 @@ public class DataFrame {
             }
 
             setContentLength(BitConverter.readInt(source));
-            byte flags = (byte) source.read();
+            int flags = source.read();
             if (flags < 0) {
                 throw new EOFException();
             }
-            decodeFlags(flags, version);
+            decodeFlags((byte) flags, version);
         }
     }
 
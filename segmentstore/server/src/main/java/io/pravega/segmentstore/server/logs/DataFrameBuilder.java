@@ -27,7 +27,6 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.NotThreadSafe;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -68,7 +67,8 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
         this.args = Preconditions.checkNotNull(args, "args");
         Preconditions.checkNotNull(args.commitSuccess, "args.commitSuccess");
         Preconditions.checkNotNull(args.commitFailure, "args.commitFailure");
-        this.outputStream = new DataFrameOutputStream(targetLog.getMaxAppendLength(), this::handleDataFrameComplete);
+        this.outputStream = new DataFrameOutputStream(targetLog.getMaxAppendLength(), args.compressionCodec, args.compressionMinLength,
+                this::handleDataFrameComplete);
         this.lastSerializedSequenceNumber = -1;
         this.lastStartedSequenceNumber = -1;
         this.failureCause = new AtomicReference<>();
@@ -296,7 +296,6 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
 
     //region Args
 
-    @RequiredArgsConstructor
     static class Args {
         /**
          * A Callback that will be invoked synchronously upon a DataFrame's sealing, and right before it is about to be
@@ -321,6 +320,30 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
         final BiConsumer<Throwable, CommitArgs> commitFailure;
         final Executor executor;
         final Duration writeTimeout = Duration.ofSeconds(30); // TODO: actual timeout.
+
+        /**
+         * The codec to compress DataFrames with.
+         */
+        final CompressionCodec compressionCodec;
+
+        /**
+         * The minimum length of a DataFrame's contents for it to be compressed.
+         */
+        final int compressionMinLength;
+
+        Args(Consumer<CommitArgs> beforeCommit, Consumer<CommitArgs> commitSuccess, BiConsumer<Throwable, CommitArgs> commitFailure, Executor executor) {
+            this(beforeCommit, commitSuccess, commitFailure, executor, CompressionCodec.NONE, 0);
+        }
+
+        Args(Consumer<CommitArgs> beforeCommit, Consumer<CommitArgs> commitSuccess, BiConsumer<Throwable, CommitArgs> commitFailure,
+             Executor executor, CompressionCodec compressionCodec, int compressionMinLength) {
+            this.beforeCommit = beforeCommit;
+            this.commitSuccess = commitSuccess;
+            this.commitFailure = commitFailure;
+            this.executor = executor;
+            this.compressionCodec = Preconditions.checkNotNull(compressionCodec, "compressionCodec");
+            this.compressionMinLength = compressionMinLength;
+        }
     }
 
     //endregion
@@ -12,6 +12,7 @@ package io.pravega.segmentstore.server.logs;
 import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.io.SerializationException;
+import io.pravega.common.util.ArrayView;
 import io.pravega.common.util.CloseableIterator;
 import io.pravega.segmentstore.storage.DurableDataLog;
 import io.pravega.segmentstore.storage.DurableDataLogException;
@@ -297,7 +298,13 @@ public class DataFrameInputStream extends InputStream {
 
         DataFrame.DataFrameEntryIterator frameContents;
         try {
-            frameContents = DataFrame.read(nextItem.getPayload(), nextItem.getLength(), nextItem.getAddress());
+            ArrayView payloadArray = nextItem.getPayloadArray();
+            if (payloadArray != null) {
+                // The DurableDataLog already has the whole payload in memory; use it directly.
+                frameContents = DataFrame.read(payloadArray, nextItem.getAddress());
+            } else {
+                frameContents = DataFrame.read(nextItem.getPayload(), nextItem.getLength(), nextItem.getAddress());
+            }
         } catch (SerializationException ex) {
             throw new SerializationException(String.format("Unable to deserialize DataFrame. LastReadFrameSequence =  %d.",
                     this.lastReadFrameSequence), ex);
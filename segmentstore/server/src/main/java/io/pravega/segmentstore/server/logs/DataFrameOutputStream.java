@@ -37,6 +37,8 @@ class DataFrameOutputStream extends OutputStream {
     @Getter
     private boolean closed;
     private final BufferFactory bufferFactory;
+    private final CompressionCodec compressionCodec;
+    private final int compressionMinLength;
 
     //endregion
 
@@ -51,10 +53,26 @@ class DataFrameOutputStream extends OutputStream {
      * @throws NullPointerException     If any of the arguments are null.
      */
     DataFrameOutputStream(int maxDataFrameSize, Consumer<DataFrame> dataFrameCompleteCallback) {
+        this(maxDataFrameSize, CompressionCodec.NONE, 0, dataFrameCompleteCallback);
+    }
+
+    /**
+     * Creates a new instance of the DataFrameOutputStream class.
+     *
+     * @param maxDataFrameSize          The maximum size, in bytes, of a Data Frame.
+     * @param compressionCodec          The {@link CompressionCodec} to compress Data Frames with.
+     * @param compressionMinLength      The minimum length, in bytes, of a Data Frame's contents for it to be compressed.
+     * @param dataFrameCompleteCallback A callback that will be invoked when a Data Frame is full.
+     * @throws IllegalArgumentException If maxDataFrameSize is not a positive integer.
+     * @throws NullPointerException     If any of the arguments are null.
+     */
+    DataFrameOutputStream(int maxDataFrameSize, CompressionCodec compressionCodec, int compressionMinLength, Consumer<DataFrame> dataFrameCompleteCallback) {
         Exceptions.checkArgument(maxDataFrameSize > DataFrame.MIN_ENTRY_LENGTH_NEEDED, "maxDataFrameSize",
                 "Must be a at least %s.", DataFrame.MIN_ENTRY_LENGTH_NEEDED);
 
         this.bufferFactory = new BufferFactory(maxDataFrameSize);
+        this.compressionCodec = Preconditions.checkNotNull(compressionCodec, "compressionCodec");
+        this.compressionMinLength = compressionMinLength;
         this.dataFrameCompleteCallback = Preconditions.checkNotNull(dataFrameCompleteCallback, "dataFrameCompleteCallback");
     }
 
@@ -95,7 +113,7 @@ class DataFrameOutputStream extends OutputStream {
         int totalBytesWritten = 0;
         int attemptsWithNoProgress = 0;
         while (totalBytesWritten < length) {
-            int bytesWritten = this.currentFrame.append(new ByteArraySegment(data, offset + totalBytesWritten, length - totalBytesWritten));
+            int bytesWritten = this.currentFrame.append(data, offset + totalBytesWritten, length - totalBytesWritten);
             attemptsWithNoProgress = bytesWritten == 0 ? attemptsWithNoProgress + 1 : 0;
             if (attemptsWithNoProgress > 1) {
                 // We had two consecutive attempts to write to a frame with no progress made.
@@ -115,7 +133,8 @@ class DataFrameOutputStream extends OutputStream {
     }
 
     /**
-     * Seals the current frame (if any), and invokes the dataFrameCompleteCallback with the finished frame.
+     * Seals (and, if so configured, compresses) the current frame (if any), and invokes the dataFrameCompleteCallback
+     * with the finished frame.
      * If the dataFrameCompleteCallback failed (and threw an exception), the current frame will be sealed and therefore
      * the DataFrameOutputStream may not be usable.
      */
@@ -134,6 +153,7 @@ class DataFrameOutputStream extends OutputStream {
         if (!this.currentFrame.isEmpty()) {
             // Only flush something if it's not empty.
             this.bufferFactory.markUsed(this.currentFrame.getLength());
+            this.currentFrame.compress(this.compressionCodec, this.compressionMinLength);
             this.dataFrameCompleteCallback.accept(this.currentFrame);
         }
 
@@ -287,4 +307,3 @@ class DataFrameOutputStream extends OutputStream {
 
 
 }
-
@@ -48,10 +48,23 @@ class DataFrameReader<T extends SequencedItemList.Element> implements CloseableI
      * @throws DurableDataLogException If the given log threw an exception while initializing a Reader.
      */
     DataFrameReader(DurableDataLog log, Serializer<T> serializer, int containerId) throws DurableDataLogException {
-        Preconditions.checkNotNull(log, "log");
+        this(Preconditions.checkNotNull(log, "log").getReader(), serializer, containerId);
+    }
+
+    /**
+     * Creates a new instance of the DataFrameReader class.
+     *
+     * @param reader      An Iterator that produces DurableDataLog.ReadItems, which are then interpreted as DataFrames.
+     *                    This will be closed when this DataFrameReader is closed.
+     * @param serializer  A Serializer to create LogItems upon deserialization.
+     * @param containerId The Container Id for the DataFrameReader (used primarily for logging).
+     * @throws NullPointerException If any of the arguments are null.
+     */
+    DataFrameReader(CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> reader, Serializer<T> serializer, int containerId) {
+        Preconditions.checkNotNull(reader, "reader");
         Preconditions.checkNotNull(serializer, "serializer");
         this.lastReadSequenceNumber = Operation.NO_SEQUENCE_NUMBER;
-        this.dataFrameInputStream = new DataFrameInputStream(log.getReader(), String.format("DataFrameReader[%d]", containerId));
+        this.dataFrameInputStream = new DataFrameInputStream(reader, String.format("DataFrameReader[%d]", containerId));
         this.serializer = serializer;
     }
 
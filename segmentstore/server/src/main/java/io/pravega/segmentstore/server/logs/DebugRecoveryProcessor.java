@@ -30,6 +30,7 @@ import io.pravega.segmentstore.storage.Storage;
 import io.pravega.segmentstore.storage.mocks.InMemoryStorageFactory;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -53,8 +54,9 @@ public class DebugRecoveryProcessor extends RecoveryProcessor implements AutoClo
     //region Constructor
 
     private DebugRecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, ReadIndexFactory readIndexFactory,
-                                   Storage storage, CacheManager cacheManager, OperationCallbacks callbacks) {
-        super(metadata, durableDataLog, new MemoryStateUpdater(new SequencedItemList<>(), readIndexFactory.createReadIndex(metadata, storage), null));
+                                   Storage storage, CacheManager cacheManager, OperationCallbacks callbacks, Executor executor) {
+        super(metadata, durableDataLog, new MemoryStateUpdater(new SequencedItemList<>(), readIndexFactory.createReadIndex(metadata, storage), null),
+                DurableLogConfig.RECOVERY_READ_AHEAD_SIZE_BYTES.getDefaultValue(), executor);
         this.readIndexFactory = readIndexFactory;
         this.storage = storage;
         this.callbacks = callbacks;
@@ -92,7 +94,7 @@ public class DebugRecoveryProcessor extends RecoveryProcessor implements AutoClo
         cacheManager.startAsync().awaitRunning();
         ContainerReadIndexFactory rf = new ContainerReadIndexFactory(readIndexConfig, new NoOpCacheFactory(), cacheManager, executor);
         Storage s = new InMemoryStorageFactory(executor).createStorageAdapter();
-        return new DebugRecoveryProcessor(metadata, durableDataLog, rf, s, cacheManager, callbacks);
+        return new DebugRecoveryProcessor(metadata, durableDataLog, rf, s, cacheManager, callbacks, executor);
     }
 
     //endregion
@@ -28,6 +28,7 @@ import io.pravega.segmentstore.server.IllegalContainerStateException;
 import io.pravega.segmentstore.server.OperationLog;
 import io.pravega.segmentstore.server.ReadIndex;
 import io.pravega.segmentstore.server.UpdateableContainerMetadata;
+import io.pravega.segmentstore.server.logs.operations.DeltaMetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.StorageMetadataCheckpointOperation;
@@ -75,6 +76,7 @@ public class DurableLog extends AbstractService implements OperationLog {
     private final AtomicBoolean closed;
     private final CompletableFuture<Void> delayedStart;
     private final Retry.RetryAndThrowConditionally delayedStartRetry;
+    private final int recoveryReadAheadSize;
 
     //endregion
 
@@ -96,6 +98,7 @@ public class DurableLog extends AbstractService implements OperationLog {
         Preconditions.checkNotNull(dataFrameLogFactory, "dataFrameLogFactory");
         Preconditions.checkNotNull(readIndex, "readIndex");
         this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.recoveryReadAheadSize = config.getRecoveryReadAheadSize();
 
         this.durableDataLog = dataFrameLogFactory.createDurableDataLog(metadata.getContainerId());
         assert this.durableDataLog != null : "dataFrameLogFactory created null durableDataLog.";
@@ -103,8 +106,9 @@ public class DurableLog extends AbstractService implements OperationLog {
         this.traceObjectId = String.format("DurableLog[%s]", metadata.getContainerId());
         this.inMemoryOperationLog = createInMemoryLog();
         this.memoryStateUpdater = new MemoryStateUpdater(this.inMemoryOperationLog, readIndex, this::triggerTailReads);
-        MetadataCheckpointPolicy checkpointPolicy = new MetadataCheckpointPolicy(config, this::queueMetadataCheckpoint, this.executor);
-        this.operationProcessor = new OperationProcessor(this.metadata, this.memoryStateUpdater, this.durableDataLog, checkpointPolicy, executor);
+        MetadataCheckpointPolicy checkpointPolicy = new MetadataCheckpointPolicy(config, this::queueMetadataCheckpoint,
+                this::queueDeltaMetadataCheckpoint, this.executor);
+        this.operationProcessor = new OperationProcessor(this.metadata, this.memoryStateUpdater, this.durableDataLog, checkpointPolicy, config, executor);
         Services.onStop(this.operationProcessor, this::queueStoppedHandler, this::queueFailedHandler, this.executor);
         this.tailReads = new HashSet<>();
         this.closed = new AtomicBoolean();
@@ -211,7 +215,8 @@ public class DurableLog extends AbstractService implements OperationLog {
             this.durableDataLog.initialize(RECOVERY_TIMEOUT);
 
             // Initiate the recovery.
-            RecoveryProcessor p = new RecoveryProcessor(this.metadata, this.durableDataLog, this.memoryStateUpdater);
+            RecoveryProcessor p = new RecoveryProcessor(this.metadata, this.durableDataLog, this.memoryStateUpdater,
+                    this.recoveryReadAheadSize, this.executor);
             int recoveredItemCount = p.performRecovery();
             this.operationProcessor.getMetrics().operationsCompleted(recoveredItemCount, timer.getElapsed());
 
@@ -414,6 +419,13 @@ public class DurableLog extends AbstractService implements OperationLog {
                 .thenAccept(seqNo -> log.info("{}: MetadataCheckpointOperation durably stored.", this.traceObjectId));
     }
 
+    private CompletableFuture<Void> queueDeltaMetadataCheckpoint() {
+        log.debug("{}: Queuing DeltaMetadataCheckpointOperation.", this.traceObjectId);
+        return this.operationProcessor
+                .process(new DeltaMetadataCheckpointOperation())
+                .thenAccept(seqNo -> log.info("{}: DeltaMetadataCheckpointOperation durably stored.", this.traceObjectId));
+    }
+
     private void unregisterTailRead(TailRead tailRead) {
         synchronized (this.tailReads) {
             this.tailReads.remove(tailRead);
@@ -25,7 +25,14 @@ public class DurableLogConfig {
     public static final Property<Integer> CHECKPOINT_MIN_COMMIT_COUNT = Property.named("checkpointMinCommitCount", 300);
     public static final Property<Integer> CHECKPOINT_COMMIT_COUNT = Property.named("checkpointCommitCountThreshold", 300);
     public static final Property<Long> CHECKPOINT_TOTAL_COMMIT_LENGTH = Property.named("checkpointTotalCommitLengthThreshold", 256 * 1024 * 1024L);
+    public static final Property<Integer> CHECKPOINT_FULL_INTERVAL = Property.named("checkpointFullInterval", 1);
     public static final Property<Integer> START_RETRY_DELAY_MILLIS = Property.named("startRetryDelayMillis", 60 * 1000);
+    public static final Property<Boolean> COMPRESSION_ENABLED = Property.named("compressionEnabled", false);
+    public static final Property<CompressionCodec> COMPRESSION_CODEC = Property.named("compressionCodec", CompressionCodec.DEFLATE);
+    public static final Property<Integer> COMPRESSION_MIN_LENGTH = Property.named("compressionMinLength", 4 * 1024);
+    public static final Property<Integer> GROUP_COMMIT_TARGET_LATENCY_MILLIS = Property.named("groupCommitTargetLatencyMillis", 0);
+    public static final Property<ThrottlingMode> THROTTLING_MODE = Property.named("throttlingMode", ThrottlingMode.LINEAR);
+    public static final Property<Integer> RECOVERY_READ_AHEAD_SIZE_BYTES = Property.named("recoveryReadAheadSizeBytes", 4 * 1024 * 1024);
     private static final String COMPONENT_CODE = "durablelog";
 
     //endregion
@@ -50,12 +57,57 @@ public class DurableLogConfig {
     @Getter
     private final long checkpointTotalCommitLengthThreshold;
 
+    /**
+     * One out of this many Checkpoints will be a full Metadata Checkpoint; all others will be Delta Metadata Checkpoints
+     * (which only include the Segments that changed since the last full one). A value of 1 means all Checkpoints are full.
+     */
+    @Getter
+    private final int checkpointFullInterval;
+
     /**
      * The amount of time to wait between consecutive start attempts in case of retryable startup failure (i.e., offline).
      */
     @Getter
     private Duration startRetryDelay;
 
+    /**
+     * Whether DataFrames are compressed before writing them to the DurableDataLog.
+     */
+    @Getter
+    private final boolean compressionEnabled;
+
+    /**
+     * The codec to compress DataFrames with before writing them to the DurableDataLog. Only used if compressionEnabled
+     * is true.
+     */
+    @Getter
+    private final CompressionCodec compressionCodec;
+
+    /**
+     * The minimum length, in bytes, of a DataFrame's contents for it to be compressed.
+     */
+    @Getter
+    private final int compressionMinLength;
+
+    /**
+     * The target 99th percentile latency for Operations (from when they are queued up until they are acknowledged), used
+     * for adaptive group commits. A value of Duration.ZERO (default) means this is disabled.
+     */
+    @Getter
+    private final Duration groupCommitTargetLatency;
+
+    /**
+     * The mode in which incoming Operations are throttled when the DurableLog is under pressure.
+     */
+    @Getter
+    private final ThrottlingMode throttlingMode;
+
+    /**
+     * The maximum number of bytes to read ahead from the DurableDataLog during recovery.
+     */
+    @Getter
+    private final int recoveryReadAheadSize;
+
     //endregion
 
     //region Constructor
@@ -75,11 +127,33 @@ public class DurableLogConfig {
         }
 
         this.checkpointTotalCommitLengthThreshold = properties.getLong(CHECKPOINT_TOTAL_COMMIT_LENGTH);
+        this.checkpointFullInterval = properties.getInt(CHECKPOINT_FULL_INTERVAL);
+        if (this.checkpointFullInterval <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", CHECKPOINT_FULL_INTERVAL));
+        }
+
         int startRetryDelayMillis = properties.getInt(START_RETRY_DELAY_MILLIS);
         if (startRetryDelayMillis <= 0) {
             throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", START_RETRY_DELAY_MILLIS));
         }
         this.startRetryDelay = Duration.ofMillis(startRetryDelayMillis);
+        this.compressionEnabled = properties.getBoolean(COMPRESSION_ENABLED);
+        this.compressionCodec = properties.getEnum(COMPRESSION_CODEC, CompressionCodec.class);
+        this.compressionMinLength = properties.getInt(COMPRESSION_MIN_LENGTH);
+        if (this.compressionMinLength < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", COMPRESSION_MIN_LENGTH));
+        }
+
+        int groupCommitTargetLatencyMillis = properties.getInt(GROUP_COMMIT_TARGET_LATENCY_MILLIS);
+        if (groupCommitTargetLatencyMillis < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", GROUP_COMMIT_TARGET_LATENCY_MILLIS));
+        }
+        this.groupCommitTargetLatency = Duration.ofMillis(groupCommitTargetLatencyMillis);
+        this.throttlingMode = properties.getEnum(THROTTLING_MODE, ThrottlingMode.class);
+        this.recoveryReadAheadSize = properties.getInt(RECOVERY_READ_AHEAD_SIZE_BYTES);
+        if (this.recoveryReadAheadSize <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", RECOVERY_READ_AHEAD_SIZE_BYTES));
+        }
     }
 
     /**
@@ -92,4 +166,25 @@ public class DurableLogConfig {
     }
 
     //endregion
+
+    //region ThrottlingMode
+
+    /**
+     * Defines the ways in which incoming Operations can be throttled.
+     */
+    public enum ThrottlingMode {
+        /**
+         * Throttling delays are linear functions of the Commit Backlog size (above a threshold) and apply to all the
+         * Operations in the Container.
+         */
+        LINEAR,
+
+        /**
+         * Throttling delays are calculated using a feedback (PID) controller on the Commit Backlog size and the
+         * DurableDataLog write latency, and are only charged to the Segments that generate most of the load.
+         */
+        FEEDBACK
+    }
+
+    //endregion
 }
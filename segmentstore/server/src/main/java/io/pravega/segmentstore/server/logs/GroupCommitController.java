@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.time.Duration;
+import java.util.Arrays;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adaptive group commit controller for the OperationProcessor. Decides whether a partially filled DataFrame should be
+ * written to the DurableDataLog right away or held back in order to accumulate more Operations.
+ * <p>
+ * The decision is based on the number of DataFrames currently being written (in flight): while there are fewer than
+ * a certain limit, DataFrames are flushed immediately (which is what happens for Containers with low write rates).
+ * Once the limit is reached, partially filled DataFrames are held back until one of the in-flight writes completes, so
+ * Containers with high write rates will build up full DataFrames instead of writing many small ones.
+ * <p>
+ * The limit itself is adjusted based on the observed Operation latency (from when an Operation is queued up until it is
+ * acknowledged, which includes any time spent being held back), aiming to keep its 99th percentile below a configured
+ * target: it is halved whenever the target is exceeded, and increased by one whenever the latency is well below the
+ * target while the limit is being hit. The limit never goes below MIN_IN_FLIGHT_COUNT, so a slow DurableDataLog (whose
+ * latency cannot be brought under the target by this class) does not end up with its writes fully serialized.
+ */
+@Slf4j
+@ThreadSafe
+class GroupCommitController {
+    //region Members
+
+    /**
+     * The minimum number of in-flight DataFrame writes. This keeps DataFrame writes pipelined even if the target latency
+     * cannot be met.
+     */
+    @VisibleForTesting
+    static final int MIN_IN_FLIGHT_COUNT = 4;
+    /**
+     * The maximum number of in-flight DataFrame writes. This is also the initial value.
+     */
+    @VisibleForTesting
+    static final int MAX_IN_FLIGHT_COUNT = 32;
+    /**
+     * The number of most recent latency samples to calculate percentiles from.
+     */
+    @VisibleForTesting
+    static final int SAMPLE_COUNT = 100;
+    /**
+     * The number of latency samples to collect between consecutive adjustments of the in-flight limit.
+     */
+    @VisibleForTesting
+    static final int ADJUST_INTERVAL = 20;
+    private static final double PERCENTILE = 0.99;
+    private final String traceObjectId;
+    private final long targetLatencyNanos;
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private final long[] samples;
+    @GuardedBy("lock")
+    private int sampleCount;
+    @GuardedBy("lock")
+    private int nextSampleIndex;
+    @GuardedBy("lock")
+    private int samplesSinceAdjustment;
+    @GuardedBy("lock")
+    private int maxInFlightCount;
+    @GuardedBy("lock")
+    private boolean limitReached;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the GroupCommitController class.
+     *
+     * @param targetLatency The target 99th percentile latency for Operations. If Duration.ZERO, adaptive group commits
+     *                      are disabled and every DataFrame will be flushed immediately.
+     * @param containerId   The Id of the Container this instance belongs to (used for logging).
+     */
+    GroupCommitController(Duration targetLatency, int containerId) {
+        Preconditions.checkArgument(!targetLatency.isNegative(), "targetLatency must be a non-negative duration.");
+        this.traceObjectId = String.format("GroupCommitController[%d]", containerId);
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.samples = new long[SAMPLE_COUNT];
+        this.maxInFlightCount = MAX_IN_FLIGHT_COUNT;
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Determines whether a partially filled DataFrame should be flushed now.
+     *
+     * @param inFlightCount The number of DataFrames currently being written to the DurableDataLog.
+     * @return True if the DataFrame should be flushed now, false if it should be held back until one of the in-flight
+     * writes completes.
+     */
+    boolean shouldFlush(int inFlightCount) {
+        if (this.targetLatencyNanos == 0) {
+            return true;
+        }
+
+        synchronized (this.lock) {
+            if (inFlightCount < this.maxInFlightCount) {
+                return true;
+            }
+
+            this.limitReached = true;
+            return false;
+        }
+    }
+
+    /**
+     * Records the latency of a DataFrame commit and adjusts the in-flight write limit, if needed.
+     *
+     * @param latencyNanos The latency, in nanoseconds, of the slowest Operation acknowledged by the commit (measured from
+     *                     when it was queued up). Since this is the worst latency in its DataFrame, the percentiles
+     *                     calculated from it are an upper bound for the percentiles of all Operations.
+     */
+    void recordCommit(long latencyNanos) {
+        if (this.targetLatencyNanos == 0) {
+            return;
+        }
+
+        synchronized (this.lock) {
+            this.samples[this.nextSampleIndex] = latencyNanos;
+            this.nextSampleIndex = (this.nextSampleIndex + 1) % this.samples.length;
+            this.sampleCount = Math.min(this.sampleCount + 1, this.samples.length);
+            if (++this.samplesSinceAdjustment >= ADJUST_INTERVAL) {
+                adjust();
+            }
+        }
+    }
+
+    /**
+     * Gets the current maximum number of in-flight DataFrame writes.
+     */
+    int getMaxInFlightCount() {
+        synchronized (this.lock) {
+            return this.maxInFlightCount;
+        }
+    }
+
+    @GuardedBy("lock")
+    private void adjust() {
+        long p99 = getPercentile();
+        int oldValue = this.maxInFlightCount;
+        if (p99 > this.targetLatencyNanos) {
+            // We are over the target. Back off quickly and discard the samples we have so far, as they do not reflect
+            // what the latency would be with the new limit.
+            this.maxInFlightCount = Math.max(MIN_IN_FLIGHT_COUNT, this.maxInFlightCount / 2);
+            this.sampleCount = 0;
+            this.nextSampleIndex = 0;
+        } else if (p99 < this.targetLatencyNanos / 2 && this.limitReached) {
+            // We have plenty of headroom and we have been holding back DataFrames. Allow more concurrency.
+            this.maxInFlightCount = Math.min(MAX_IN_FLIGHT_COUNT, this.maxInFlightCount + 1);
+        }
+
+        this.samplesSinceAdjustment = 0;
+        this.limitReached = false;
+        if (oldValue != this.maxInFlightCount) {
+            log.debug("{}: MaxInFlightCount changed from {} to {} (P99 = {}us).", this.traceObjectId, oldValue,
+                    this.maxInFlightCount, p99 / 1000);
+        }
+    }
+
+    @GuardedBy("lock")
+    private long getPercentile() {
+        long[] sorted = Arrays.copyOf(this.samples, this.sampleCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(PERCENTILE * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    //endregion
+}
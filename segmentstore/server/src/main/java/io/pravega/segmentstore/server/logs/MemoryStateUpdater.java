@@ -24,8 +24,10 @@ import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.SegmentOperation;
 import io.pravega.segmentstore.server.logs.operations.StorageOperation;
 import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.extern.slf4j.Slf4j;
@@ -101,9 +103,17 @@ class MemoryStateUpdater implements CacheUtilizationProvider {
      */
     void process(Iterator<Operation> operations) throws DataCorruptionException {
         HashSet<Long> segmentIds = new HashSet<>();
+        ArrayList<StreamSegmentAppendOperation> appends = new ArrayList<>();
         while (operations.hasNext()) {
             Operation op = operations.next();
-            process(op);
+            if (op instanceof StreamSegmentAppendOperation) {
+                // Accumulate consecutive appends so that their data can be added to the ReadIndex (and Cache) in a single batch.
+                appends.add((StreamSegmentAppendOperation) op);
+            } else {
+                processAppends(appends);
+                process(op);
+            }
+
             if (op instanceof SegmentOperation) {
                 // Record recent activity on stream segment, if applicable. This should be recorded for any kind
                 // of Operation that touches a Segment, since when we issue 'triggerFutureReads' on the readIndex,
@@ -112,6 +122,8 @@ class MemoryStateUpdater implements CacheUtilizationProvider {
             }
         }
 
+        processAppends(appends);
+
         if (!this.recoveryMode.get()) {
             // Trigger Future Reads on those segments which were touched by Appends or Seals.
             this.readIndex.triggerFutureReads(segmentIds);
@@ -134,19 +146,58 @@ class MemoryStateUpdater implements CacheUtilizationProvider {
         if (operation instanceof StorageOperation) {
             addToReadIndex((StorageOperation) operation);
             if (operation instanceof StreamSegmentAppendOperation) {
-                // Transform a StreamSegmentAppendOperation into its corresponding Cached version.
-                try {
-                    operation = new CachedStreamSegmentAppendOperation((StreamSegmentAppendOperation) operation);
-                } catch (Throwable ex) {
-                    if (Exceptions.mustRethrow(ex)) {
-                        throw ex;
-                    } else {
-                        throw new DataCorruptionException(String.format("Unable to create a CachedStreamSegmentAppendOperation from operation '%s'.", operation), ex);
-                    }
-                }
+                operation = toCachedAppend((StreamSegmentAppendOperation) operation);
+            }
+        }
+
+        addToMemoryLog(operation);
+    }
+
+    /**
+     * Processes the given StreamSegmentAppendOperations by adding all of them to the ReadIndex in a single batch and then
+     * adding their Cached versions to the InMemory OperationLog. The given list is cleared upon completion.
+     *
+     * @param appends The operations to process.
+     * @throws DataCorruptionException If a serious, non-recoverable, data corruption was detected.
+     */
+    private void processAppends(List<StreamSegmentAppendOperation> appends) throws DataCorruptionException {
+        if (appends.isEmpty()) {
+            return;
+        }
+
+        if (appends.size() == 1) {
+            process(appends.get(0));
+        } else {
+            try {
+                this.readIndex.append(appends);
+            } catch (ObjectClosedException ex) {
+                log.warn("Not adding {} operation(s) to ReadIndex because it is closed.", appends.size());
+            }
+
+            for (StreamSegmentAppendOperation append : appends) {
+                addToMemoryLog(toCachedAppend(append));
             }
         }
 
+        appends.clear();
+    }
+
+    /**
+     * Transforms a StreamSegmentAppendOperation into its corresponding Cached version.
+     */
+    private CachedStreamSegmentAppendOperation toCachedAppend(StreamSegmentAppendOperation operation) throws DataCorruptionException {
+        try {
+            return new CachedStreamSegmentAppendOperation(operation);
+        } catch (Throwable ex) {
+            if (Exceptions.mustRethrow(ex)) {
+                throw ex;
+            } else {
+                throw new DataCorruptionException(String.format("Unable to create a CachedStreamSegmentAppendOperation from operation '%s'.", operation), ex);
+            }
+        }
+    }
+
+    private void addToMemoryLog(Operation operation) throws DataCorruptionException {
         boolean added = this.inMemoryOperationLog.add(operation);
         if (!added) {
             // This is a pretty nasty one. It's safer to shut down the container than continue.
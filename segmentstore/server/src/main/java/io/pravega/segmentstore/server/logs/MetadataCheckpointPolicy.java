@@ -24,6 +24,9 @@ import javax.annotation.concurrent.ThreadSafe;
  * <li> CheckpointCommitCountThreshold and CheckpointTotalCommitLengthThreshold: If neither of them is met (count or total
  * size), then no checkpointing is done.
  * </ul>
+ * <p>
+ * Once a checkpoint is triggered, CheckpointFullInterval determines its type: one out of every this many checkpoints
+ * (starting with the first one) will be a full checkpoint, and all others will be delta checkpoints.
  */
 @ThreadSafe
 public class MetadataCheckpointPolicy {
@@ -31,11 +34,14 @@ public class MetadataCheckpointPolicy {
 
     private final DurableLogConfig config;
     private final Runnable createCheckpointCallback;
+    private final Runnable createDeltaCheckpointCallback;
     private final Executor executor;
     @GuardedBy("this")
     private int commitCount;
     @GuardedBy("this")
     private long accumulatedLength;
+    @GuardedBy("this")
+    private int checkpointCount;
 
     //endregion
 
@@ -49,15 +55,30 @@ public class MetadataCheckpointPolicy {
      * @param executor                 An Executor to use to invoke the createCheckpointCallback.
      */
     public MetadataCheckpointPolicy(DurableLogConfig config, Runnable createCheckpointCallback, Executor executor) {
+        this(config, createCheckpointCallback, createCheckpointCallback, executor);
+    }
+
+    /**
+     * Creates a new instance of the MetadataCheckpointPolicy class.
+     *
+     * @param config                        The DurableLogConfig to use.
+     * @param createCheckpointCallback      A callback to invoke when a full checkpoint needs to be created.
+     * @param createDeltaCheckpointCallback A callback to invoke when a delta checkpoint needs to be created.
+     * @param executor                      An Executor to use to invoke the callbacks.
+     */
+    public MetadataCheckpointPolicy(DurableLogConfig config, Runnable createCheckpointCallback, Runnable createDeltaCheckpointCallback, Executor executor) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(createCheckpointCallback, "createCheckpointCallback");
+        Preconditions.checkNotNull(createDeltaCheckpointCallback, "createDeltaCheckpointCallback");
         Preconditions.checkNotNull(executor, "executor");
 
         this.config = config;
         this.createCheckpointCallback = createCheckpointCallback;
+        this.createDeltaCheckpointCallback = createDeltaCheckpointCallback;
         this.executor = executor;
         this.commitCount = 0;
         this.accumulatedLength = 0;
+        this.checkpointCount = 0;
     }
 
     //endregion
@@ -84,8 +105,11 @@ public class MetadataCheckpointPolicy {
             this.commitCount = 0;
             this.accumulatedLength = 0;
 
-            // Invoke callback.
-            this.executor.execute(this.createCheckpointCallback);
+            // Invoke the appropriate callback. The first checkpoint is always a full one, as we do not know what the
+            // previous full checkpoint was (if any).
+            boolean full = this.checkpointCount % this.config.getCheckpointFullInterval() == 0;
+            this.checkpointCount++;
+            this.executor.execute(full ? this.createCheckpointCallback : this.createDeltaCheckpointCallback);
         }
     }
 
@@ -41,6 +41,10 @@ class OperationMetadataUpdater implements ContainerMetadata {
     private final UpdateableContainerMetadata metadata;
     private final ArrayDeque<ContainerMetadataUpdateTransaction> transactions;
     private long nextTransactionId;
+    /**
+     * The Sequence Number of the last (full) MetadataCheckpointOperation that was committed.
+     */
+    private long lastFullCheckpointSequenceNumber;
 
     //endregion
 
@@ -57,6 +61,7 @@ class OperationMetadataUpdater implements ContainerMetadata {
         this.traceObjectId = String.format("OperationMetadataUpdater[%d]", metadata.getContainerId());
         this.nextTransactionId = 0;
         this.transactions = new ArrayDeque<>();
+        this.lastFullCheckpointSequenceNumber = Operation.NO_SEQUENCE_NUMBER;
     }
 
     //endregion
@@ -83,6 +88,16 @@ class OperationMetadataUpdater implements ContainerMetadata {
         return fromMetadata(ContainerMetadata::getActiveSegmentCount);
     }
 
+    @Override
+    public long getLastStorageStateChange() {
+        return this.metadata.getLastStorageStateChange(); // This is only updated in the base metadata.
+    }
+
+    @Override
+    public Collection<Long> getStorageStateChangedSegmentIds() {
+        return this.metadata.getStorageStateChangedSegmentIds(); // This is only updated in the base metadata.
+    }
+
     @Override
     public long getStreamSegmentId(String segmentName, boolean updateLastUsed) {
         return fromMetadata(m -> m.getStreamSegmentId(segmentName, updateLastUsed));
@@ -149,6 +164,7 @@ class OperationMetadataUpdater implements ContainerMetadata {
             ContainerMetadataUpdateTransaction txn = this.transactions.removeFirst();
             txn.seal();
             txn.commit(this.metadata);
+            this.lastFullCheckpointSequenceNumber = Math.max(this.lastFullCheckpointSequenceNumber, txn.getLastFullCheckpointSequenceNumber());
             commits.add(txn.getTransactionId());
         }
 
@@ -204,7 +220,8 @@ class OperationMetadataUpdater implements ContainerMetadata {
      * the pending UpdateTransaction and it is updated accordingly (if needed).
      *
      * If the given operation is a MetadataCheckpointOperation, the current state of the metadata (including pending
-     * UpdateTransactions) is serialized to it.
+     * UpdateTransactions) is serialized to it. If it is a DeltaMetadataCheckpointOperation, only the state of those Segments
+     * that changed since the last MetadataCheckpointOperation is serialized to it.
      *
      * For all other kinds of MetadataOperations (i.e., StreamSegmentMapOperation) this method only
      * does anything if the base Container Metadata is in Recovery Mode (in which case the given MetadataOperation) is
@@ -270,11 +287,13 @@ class OperationMetadataUpdater implements ContainerMetadata {
         if (this.transactions.isEmpty() || this.transactions.peekLast().isSealed()) {
             // No transactions or last transaction is sealed. Create a new one.
             ContainerMetadata previous = this.metadata;
+            long lastFullCheckpoint = this.lastFullCheckpointSequenceNumber;
             if (!this.transactions.isEmpty()) {
                 previous = this.transactions.peekLast();
+                lastFullCheckpoint = this.transactions.peekLast().getLastFullCheckpointSequenceNumber();
             }
 
-            ContainerMetadataUpdateTransaction txn = new ContainerMetadataUpdateTransaction(previous, this.metadata, this.nextTransactionId);
+            ContainerMetadataUpdateTransaction txn = new ContainerMetadataUpdateTransaction(previous, this.metadata, this.nextTransactionId, lastFullCheckpoint);
             this.nextTransactionId++;
             this.transactions.addLast(txn);
         }
@@ -9,6 +9,7 @@
  */
 package io.pravega.segmentstore.server.logs;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.ObjectClosedException;
@@ -70,6 +71,17 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
     @Getter
     private final SegmentStoreMetrics.OperationProcessor metrics;
     private final ThrottlerCalculator throttlerCalculator;
+    /**
+     * Calculates the throttling delay to charge to individual Segments. Only used in FEEDBACK throttling mode.
+     */
+    private final ThrottlerCalculator segmentThrottlerCalculator;
+    /**
+     * Applies throttling delays to individual Segments. Only used in FEEDBACK throttling mode (null otherwise).
+     */
+    private final SegmentThrottler segmentThrottler;
+    private final GroupCommitController groupCommitController;
+    @GuardedBy("stateLock")
+    private boolean flushDeferred;
 
     //endregion
 
@@ -85,23 +97,55 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
      * @param executor         An Executor to use for async operations.
      * @throws NullPointerException If any of the arguments are null.
      */
+    @VisibleForTesting
     OperationProcessor(UpdateableContainerMetadata metadata, MemoryStateUpdater stateUpdater, DurableDataLog durableDataLog, MetadataCheckpointPolicy checkpointPolicy, ScheduledExecutorService executor) {
+        this(metadata, stateUpdater, durableDataLog, checkpointPolicy, DurableLogConfig.builder().build(), executor);
+    }
+
+    /**
+     * Creates a new instance of the OperationProcessor class.
+     *
+     * @param metadata         The ContainerMetadata for the Container to process operations for.
+     * @param stateUpdater     A MemoryStateUpdater that is used to update in-memory structures upon successful Operation committal.
+     * @param durableDataLog   The DataFrameLog to write DataFrames to.
+     * @param checkpointPolicy The Checkpoint Policy for Metadata.
+     * @param config           Durable Log Configuration.
+     * @param executor         An Executor to use for async operations.
+     * @throws NullPointerException If any of the arguments are null.
+     */
+    OperationProcessor(UpdateableContainerMetadata metadata, MemoryStateUpdater stateUpdater, DurableDataLog durableDataLog,
+                       MetadataCheckpointPolicy checkpointPolicy, DurableLogConfig config, ScheduledExecutorService executor) {
         super(String.format("OperationProcessor[%d]", metadata.getContainerId()), executor);
         Preconditions.checkNotNull(durableDataLog, "durableDataLog");
+        Preconditions.checkNotNull(config, "config");
         this.metadata = metadata;
         this.stateUpdater = Preconditions.checkNotNull(stateUpdater, "stateUpdater");
         this.metadataUpdater = new OperationMetadataUpdater(this.metadata);
         this.operationQueue = new BlockingDrainingQueue<>();
         this.commitQueue = new BlockingDrainingQueue<>();
         this.state = new QueueProcessingState(checkpointPolicy);
-        val args = new DataFrameBuilder.Args(this.state::frameSealed, this.state::commit, this.state::fail, this.executor);
+        val args = new DataFrameBuilder.Args(this.state::frameSealed, this.state::commit, this.state::fail, this.executor,
+                config.isCompressionEnabled() ? config.getCompressionCodec() : CompressionCodec.NONE, config.getCompressionMinLength());
         this.dataFrameBuilder = new DataFrameBuilder<>(durableDataLog, OperationSerializer.DEFAULT, args);
         this.metrics = new SegmentStoreMetrics.OperationProcessor(this.metadata.getContainerId());
-        this.throttlerCalculator = ThrottlerCalculator.builder()
-                                                      .cacheThrottler(stateUpdater::getCacheUtilization)
-                                                      .commitBacklogThrottler(this.commitQueue::size)
-                                                      .batchingThrottler(durableDataLog::getQueueStatistics)
-                                                      .build();
+        val throttlerBuilder = ThrottlerCalculator.builder()
+                                                  .cacheThrottler(stateUpdater::getCacheUtilization)
+                                                  .batchingThrottler(durableDataLog::getQueueStatistics);
+        if (config.getThrottlingMode() == DurableLogConfig.ThrottlingMode.FEEDBACK) {
+            // Commit Backlog and DurableDataLog pressure is charged to the Segments causing it, instead of the whole Container.
+            this.segmentThrottlerCalculator = ThrottlerCalculator.builder()
+                                                                 .feedbackThrottler(this.commitQueue::size, durableDataLog::getQueueStatistics,
+                                                                         (int) config.getGroupCommitTargetLatency().toMillis())
+                                                                 .build();
+            this.segmentThrottler = new SegmentThrottler(this.metadata.getContainerId(), this.operationQueue::add, this.executor);
+        } else {
+            throttlerBuilder.commitBacklogThrottler(this.commitQueue::size);
+            this.segmentThrottlerCalculator = null;
+            this.segmentThrottler = null;
+        }
+
+        this.throttlerCalculator = throttlerBuilder.build();
+        this.groupCommitController = new GroupCommitController(config.getGroupCommitTargetLatency(), this.metadata.getContainerId());
     }
 
     //endregion
@@ -212,7 +256,12 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
         } else {
             log.debug("{}: process {}.", this.traceObjectId, operation);
             try {
-                this.operationQueue.add(new CompletableOperation(operation, result));
+                CompletableOperation o = new CompletableOperation(operation, result);
+                if (this.segmentThrottler != null) {
+                    this.segmentThrottler.add(o);
+                } else {
+                    this.operationQueue.add(o);
+                }
             } catch (Throwable e) {
                 if (Exceptions.mustRethrow(e)) {
                     throw e;
@@ -230,6 +279,7 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
     //region Queue Processing
 
     private CompletableFuture<Void> throttle() {
+        updateSegmentThrottling();
         val delay = new AtomicReference<ThrottlerCalculator.DelayResult>(this.throttlerCalculator.getThrottlingDelay());
         if (!delay.get().isMaximum()) {
             // We are not delaying the maximum amount. We only need to do this once.
@@ -252,6 +302,16 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
         return Futures.delayedFuture(Duration.ofMillis(millis), this.executor);
     }
 
+    /**
+     * Refreshes the throttling delay charged to individual Segments, if the SegmentThrottler is in use. This does not
+     * delay the processing of the Container itself.
+     */
+    private void updateSegmentThrottling() {
+        if (this.segmentThrottler != null) {
+            this.segmentThrottler.setDelayMillis(this.segmentThrottlerCalculator.getThrottlingDelay().getDurationMillis());
+        }
+    }
+
     /**
      * Processes a set of pending operations (essentially a single iteration of the QueueProcessor).
      * Steps:
@@ -302,6 +362,7 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
                     this.metrics.processOperations(count, processTimer.getElapsedMillis());
                     processTimer = new Timer(); // Reset this timer since we may be pulling in new operations.
                     count = 0;
+                    updateSegmentThrottling();
                     if (!this.throttlerCalculator.isThrottlingRequired()) {
                         // Only pull in new operations if we do not require throttling. If we do, we need to go back to
                         // the main OperationProcessor loop and delay processing the next batch of operations.
@@ -309,9 +370,17 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
                     }
 
                     if (operations.isEmpty()) {
-                        log.debug("{}: processOperations (Flush).", this.traceObjectId);
                         synchronized (this.stateLock) {
-                            this.dataFrameBuilder.flush();
+                            if (this.groupCommitController.shouldFlush(this.state.getInFlightFrameCount())) {
+                                log.debug("{}: processOperations (Flush).", this.traceObjectId);
+                                this.dataFrameBuilder.flush();
+                                this.flushDeferred = false;
+                            } else {
+                                // There are enough DataFrames being written already. Hold off on this one so it can
+                                // accumulate more Operations; it will be flushed when one of the in-flight writes completes.
+                                log.debug("{}: processOperations (Flush Deferred).", this.traceObjectId);
+                                this.flushDeferred = true;
+                            }
                         }
                     } else {
                         log.debug("{}: processOperations (Add OperationCount = {}).", this.traceObjectId, operations.size());
@@ -366,6 +435,30 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
         log.trace("{}: DataFrameBuilder.Append {}.", this.traceObjectId, entry);
     }
 
+    /**
+     * Flushes the current DataFrame if a previous flush has been deferred by the GroupCommitController. This is invoked
+     * every time a DataFrame has been committed to the DurableDataLog.
+     */
+    private void flushDeferredFrame() {
+        try {
+            synchronized (this.stateLock) {
+                if (!this.flushDeferred || !isRunning()) {
+                    return;
+                }
+
+                log.debug("{}: Flush (Deferred).", this.traceObjectId);
+                this.flushDeferred = false;
+                this.dataFrameBuilder.flush();
+            }
+        } catch (Throwable ex) {
+            ex = Exceptions.unwrap(ex);
+            if (!isShutdownException(ex)) {
+                // Fail all the operations that haven't been acknowledged yet; this will also shut us down.
+                this.state.fail(ex, null);
+            }
+        }
+    }
+
     /**
      * Closes the Operation Queue and fails all Operations in it with the given exception.
      *
@@ -381,6 +474,15 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
             cancelIncompleteOperations(remainingOperations, failException);
         }
 
+        if (this.segmentThrottler != null) {
+            // Any Operations held back by the SegmentThrottler must be failed as well.
+            Collection<CompletableOperation> parkedOperations = this.segmentThrottler.close();
+            if (parkedOperations.size() > 0) {
+                Throwable failException = causingException != null ? causingException : new CancellationException();
+                cancelIncompleteOperations(parkedOperations, failException);
+            }
+        }
+
         // The commit queue will auto-close when we are done and it itself is empty. We just need to unblock it in case
         // it was idle and waiting on a pending take() operation.
         this.commitQueue.cancelPendingTake();
@@ -481,6 +583,17 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
             }
         }
 
+        /**
+         * Gets a value indicating the number of DataFrames that have been sent to the DurableDataLog but not yet committed.
+         *
+         * @return The count.
+         */
+        int getInFlightFrameCount() {
+            synchronized (stateLock) {
+                return this.metadataTransactions.size();
+            }
+        }
+
         /**
          * Callback for when a DataFrame has been Sealed and is ready to be written to the DurableDataLog.
          * Seals the current metadata UpdateTransaction and maps it to the given CommitArgs. This UpdateTransaction
@@ -551,9 +664,15 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
                 if (toAck != null) {
                     toAck.stream().flatMap(Collection::stream).forEach(CompletableOperation::complete);
                     metrics.operationsCompleted(toAck, timer.getElapsed());
+                    groupCommitController.recordCommit(toAck.stream().flatMap(Collection::stream)
+                                                            .mapToLong(o -> o.getTimer().getElapsedNanos())
+                                                            .max().orElse(0));
                 }
                 this.checkpointPolicy.recordCommit(commitArgs.getDataFrameLength());
             }
+
+            // Now that there is one less DataFrame in flight, flush anything that we may have held back.
+            flushDeferredFrame();
         }
 
         /**
@@ -0,0 +1,568 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.AbstractTimer;
+import io.pravega.common.Exceptions;
+import io.pravega.common.ObjectClosedException;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.common.util.SequencedItemList;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link DataFrameReader} that reads ahead using a pipeline of stages, each connected to the next one via a buffer
+ * that is bounded by size (in bytes):
+ * 1. Read: fetches DataFrames from the DurableDataLog.
+ * 2. Decode: interprets the DataFrames and deserializes the LogItems from them.
+ * 3. Consume: the caller of {@link #getNext()}, which is expected to apply the LogItems in order.
+ * <p>
+ * Each stage can run ahead of the next one by as much as its buffer allows, so fetching data from the DurableDataLog,
+ * deserializing it and applying it can all overlap. DataFrame decoding and LogItem deserialization run in the same
+ * stage, since LogItems may span multiple DataFrames. Any failure in a stage is surfaced to the consumer (in order) via
+ * {@link #getNext()}.
+ * <p>
+ * The Read and Decode stages run as tasks on the given Executor (and not on threads of their own); a stage task runs
+ * until its buffer is full and is resubmitted once the next stage makes room in it. A consumer never waits for a stage
+ * task that is merely queued up: if its buffer is empty and the stage is not actively producing, the consumer produces
+ * the next item itself. As such, this class makes progress even if every thread of the Executor is busy.
+ * <p>
+ * This class is not thread safe: {@link #getNext()} must only be invoked from a single thread at a time.
+ *
+ * @param <T> Type of the LogItems to read.
+ */
+@Slf4j
+@NotThreadSafe
+class PipelinedDataFrameReader<T extends SequencedItemList.Element> implements CloseableIterator<DataFrameRecord<T>, Exception> {
+    //region Members
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+    private final String traceObjectId;
+    private final CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> logReader;
+    private final DataFrameReader<T> frameReader;
+    private final Stage<DurableDataLog.ReadItem> readStage;
+    private final Stage<DataFrameRecord<T>> decodeStage;
+    private final Executor executor;
+    private final AtomicBoolean closed;
+    private boolean reachedEnd;
+
+    /**
+     * Statistics for the Read stage.
+     */
+    @Getter
+    private final StageStats readStats;
+
+    /**
+     * Statistics for the Decode stage.
+     */
+    @Getter
+    private final StageStats decodeStats;
+
+    /**
+     * Statistics for the Consume stage. The busy time for this stage is not tracked, as this is entirely up to the caller.
+     */
+    @Getter
+    private final StageStats consumeStats;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the PipelinedDataFrameReader class and starts reading ahead from the given log.
+     *
+     * @param log         The DurableDataLog to read DataFrames from.
+     * @param serializer  A Serializer to create LogItems upon deserialization.
+     * @param containerId The Container Id for the reader (used primarily for logging).
+     * @param bufferSize  The maximum number of bytes to read ahead. Half of it is used to buffer DataFrames that have not
+     *                    been decoded yet, and half to buffer LogItems that have not been consumed yet (measured by their
+     *                    serialized length). Each buffer will accept at least one item, regardless of its size.
+     * @param executor    An Executor to run the Read and Decode stages on.
+     * @throws NullPointerException     If any of the arguments are null.
+     * @throws IllegalArgumentException If bufferSize is not positive.
+     * @throws DurableDataLogException  If the given log threw an exception while initializing a Reader.
+     */
+    PipelinedDataFrameReader(DurableDataLog log, Serializer<T> serializer, int containerId, int bufferSize, Executor executor)
+            throws DurableDataLogException {
+        Preconditions.checkNotNull(log, "log");
+        Preconditions.checkNotNull(serializer, "serializer");
+        Preconditions.checkArgument(bufferSize > 0, "bufferSize must be a positive integer.");
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.traceObjectId = String.format("PipelinedDataFrameReader[%d]", containerId);
+        this.readStats = new StageStats("Read");
+        this.decodeStats = new StageStats("Decode");
+        this.consumeStats = new StageStats("Consume");
+        this.closed = new AtomicBoolean();
+        this.logReader = log.getReader();
+        this.frameReader = new DataFrameReader<>(new BufferedLogReader(), serializer, containerId);
+        int stageBufferSize = Math.max(1, bufferSize / 2);
+        this.readStage = new Stage<>(this.readStats, this.logReader::getNext, DurableDataLog.ReadItem::getLength, stageBufferSize);
+        this.decodeStage = new Stage<>(this.decodeStats, this.frameReader::getNext, PipelinedDataFrameReader::getSerializedLength, stageBufferSize);
+        this.readStage.start();
+        this.decodeStage.start();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            // Wake up anyone waiting on a stage (they will notice we are closed), then wait for any stage that is still
+            // producing an item (we cannot interrupt tasks on a shared Executor).
+            this.readStage.wakeUp();
+            this.decodeStage.wakeUp();
+            this.decodeStage.awaitIdle();
+            this.readStage.awaitIdle();
+            closeSource(this.frameReader, this.decodeStats);
+            closeSource(this.logReader, this.readStats);
+            log.debug("{}: Closed. {}; {}; {}.", this.traceObjectId, this.readStats, this.decodeStats, this.consumeStats);
+        }
+    }
+
+    private void closeSource(AutoCloseable source, StageStats stats) {
+        try {
+            source.close();
+        } catch (Exception ex) {
+            log.warn("{}: Unable to close {} stage source.", this.traceObjectId, stats.getName(), ex);
+        }
+    }
+
+    //endregion
+
+    //region CloseableIterator Implementation
+
+    /**
+     * Returns the next LogItem from the DurableDataLog, waiting for it to be read and deserialized if needed.
+     *
+     * @return A DataFrameRecord with the requested LogItem. If no more LogItems are available, null is returned.
+     * @throws Exception If any of the stages of the pipeline failed. This will be the same exception that the
+     *                   {@link DataFrameReader} or the DurableDataLog Reader threw.
+     */
+    @Override
+    public DataFrameRecord<T> getNext() throws Exception {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        if (this.reachedEnd) {
+            return null;
+        }
+
+        StageItem<DataFrameRecord<T>> item = this.decodeStage.take(this.consumeStats);
+        if (item.failure != null) {
+            close();
+            throw item.failure;
+        } else if (item.value == null) {
+            this.reachedEnd = true;
+            return null;
+        }
+
+        this.consumeStats.recordItem();
+        return item.value;
+    }
+
+    //endregion
+
+    //region Helpers
+
+    private static <T extends SequencedItemList.Element> int getSerializedLength(DataFrameRecord<T> record) {
+        int result = 0;
+        for (DataFrameRecord.EntryInfo e : record.getFrameEntries()) {
+            result += e.getLength();
+        }
+
+        return result;
+    }
+
+    //endregion
+
+    //region Stage
+
+    /**
+     * A stage of the pipeline: fetches items from a source and adds them to a buffer, from which the next stage takes them.
+     */
+    private class Stage<V> {
+        private final StageStats stats;
+        private final Callable<V> source;
+        private final ToIntFunction<V> getSize;
+        private final int maxBufferSize;
+        @GuardedBy("this")
+        private final ArrayDeque<StageItem<V>> buffer = new ArrayDeque<>();
+        @GuardedBy("this")
+        private long bufferedSize;
+        @GuardedBy("this")
+        private boolean producing;
+        @GuardedBy("this")
+        private boolean scheduled;
+        @GuardedBy("this")
+        private boolean ended;
+        @GuardedBy("this")
+        private long pausedSinceNanos = -1;
+
+        Stage(StageStats stats, Callable<V> source, ToIntFunction<V> getSize, int maxBufferSize) {
+            this.stats = stats;
+            this.source = source;
+            this.getSize = getSize;
+            this.maxBufferSize = maxBufferSize;
+        }
+
+        /**
+         * Begins producing items in the background.
+         */
+        void start() {
+            boolean schedule;
+            synchronized (this) {
+                schedule = prepareSchedule();
+            }
+
+            if (schedule) {
+                schedule();
+            }
+        }
+
+        /**
+         * Takes the next item from this stage, waiting for it if it is being produced, or producing it inline if not.
+         *
+         * @param consumerStats The StageStats of the consumer, to record the time spent waiting into.
+         * @return The next item. If both its value and failure are null, the end of the stage has been reached.
+         * @throws InterruptedException  If the current thread has been interrupted while waiting.
+         * @throws ObjectClosedException If the PipelinedDataFrameReader has been closed.
+         */
+        StageItem<V> take(StageStats consumerStats) throws InterruptedException {
+            long startNanos = System.nanoTime();
+            StageItem<V> item = null;
+            boolean schedule;
+            synchronized (this) {
+                while (this.buffer.isEmpty() && this.producing) {
+                    Exceptions.checkNotClosed(closed.get(), PipelinedDataFrameReader.this);
+                    wait();
+                }
+
+                Exceptions.checkNotClosed(closed.get(), PipelinedDataFrameReader.this);
+                consumerStats.recordStarved(System.nanoTime() - startNanos);
+                if (!this.buffer.isEmpty()) {
+                    item = this.buffer.removeFirst();
+                    this.bufferedSize -= item.size;
+                } else if (this.ended) {
+                    return new StageItem<>(null, null, 0);
+                } else {
+                    // Nobody is producing anything right now; do it ourselves instead of waiting on a background task
+                    // which may not get to run soon (or at all, if the Executor is busy).
+                    this.producing = true;
+                }
+
+                schedule = item != null && prepareSchedule();
+            }
+
+            if (item != null) {
+                if (schedule) {
+                    schedule();
+                }
+
+                return item;
+            }
+
+            try {
+                item = produce();
+                return item;
+            } finally {
+                synchronized (this) {
+                    this.producing = false;
+                    this.ended = item == null || item.value == null;
+                    notifyAll();
+                    schedule = prepareSchedule();
+                }
+
+                if (schedule) {
+                    schedule();
+                }
+            }
+        }
+
+        /**
+         * Produces items in the background, until the buffer is full, the end of the source is reached, or the
+         * PipelinedDataFrameReader is closed.
+         */
+        private void runBackground() {
+            synchronized (this) {
+                this.scheduled = false;
+                if (!canProduce()) {
+                    return;
+                }
+
+                this.producing = true;
+            }
+
+            try {
+                while (true) {
+                    StageItem<V> item = produce();
+                    synchronized (this) {
+                        this.buffer.addLast(item);
+                        this.bufferedSize += item.size;
+                        this.ended = item.value == null;
+                        notifyAll();
+                        if (this.ended || closed.get() || isFull()) {
+                            if (!this.ended && isFull()) {
+                                this.pausedSinceNanos = System.nanoTime();
+                            }
+
+                            this.producing = false;
+                            return;
+                        }
+                    }
+                }
+            } catch (Throwable ex) {
+                synchronized (this) {
+                    this.buffer.addLast(new StageItem<>(null, new IllegalStateException(this.stats.getName() + " stage failed.", ex), 0));
+                    this.ended = true;
+                    this.producing = false;
+                    notifyAll();
+                }
+
+                throw ex;
+            }
+        }
+
+        private StageItem<V> produce() {
+            long startNanos = System.nanoTime();
+            StageItem<V> item;
+            try {
+                V value = this.source.call();
+                item = new StageItem<>(value, null, value == null ? 0 : this.getSize.applyAsInt(value));
+            } catch (Exception ex) {
+                item = new StageItem<>(null, ex, 0);
+            }
+
+            this.stats.recordBusy(System.nanoTime() - startNanos);
+            if (item.value != null) {
+                this.stats.recordItem();
+            }
+
+            return item;
+        }
+
+        @GuardedBy("this")
+        private boolean canProduce() {
+            return !this.producing && !this.ended && !closed.get() && !isFull();
+        }
+
+        @GuardedBy("this")
+        private boolean isFull() {
+            return this.bufferedSize >= this.maxBufferSize;
+        }
+
+        /**
+         * Determines whether a background task needs to be scheduled for this stage and, if so, records that it has been.
+         * The task must be submitted using schedule(), outside of the lock.
+         */
+        @GuardedBy("this")
+        private boolean prepareSchedule() {
+            if (this.scheduled || !canProduce()) {
+                return false;
+            }
+
+            if (this.pausedSinceNanos >= 0) {
+                // We were paused because the buffer was full.
+                this.stats.recordStalled(System.nanoTime() - this.pausedSinceNanos);
+                this.pausedSinceNanos = -1;
+            }
+
+            this.scheduled = true;
+            return true;
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this::runBackground);
+            } catch (RejectedExecutionException ex) {
+                // The consumer will have to produce items inline.
+                synchronized (this) {
+                    this.scheduled = false;
+                }
+
+                log.debug("{}: Unable to schedule {} stage.", traceObjectId, this.stats.getName());
+            }
+        }
+
+        /**
+         * Wakes up anyone waiting on this stage.
+         */
+        synchronized void wakeUp() {
+            notifyAll();
+        }
+
+        /**
+         * Waits for this stage to stop producing items, then discards its buffer.
+         */
+        synchronized void awaitIdle() {
+            long remainingMillis = SHUTDOWN_TIMEOUT.toMillis();
+            long deadline = System.currentTimeMillis() + remainingMillis;
+            try {
+                while (this.producing && remainingMillis > 0) {
+                    wait(remainingMillis);
+                    remainingMillis = deadline - System.currentTimeMillis();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (this.producing) {
+                log.warn("{}: {} stage did not stop within {}.", traceObjectId, this.stats.getName(), SHUTDOWN_TIMEOUT);
+            }
+
+            this.buffer.clear();
+            this.bufferedSize = 0;
+        }
+    }
+
+    //endregion
+
+    //region BufferedLogReader
+
+    /**
+     * A DurableDataLog Reader that returns the items fetched by the Read stage.
+     */
+    private class BufferedLogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> {
+        private boolean reachedEnd;
+
+        @Override
+        public DurableDataLog.ReadItem getNext() throws DurableDataLogException {
+            if (this.reachedEnd) {
+                return null;
+            }
+
+            StageItem<DurableDataLog.ReadItem> item;
+            long startNanos = System.nanoTime();
+            try {
+                item = readStage.take(decodeStats);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new DurableDataLogException("Interrupted while waiting for the next DataFrame.", ex);
+            } finally {
+                // This time is counted towards the Decode stage's busy time (since it is invoked from within it), but
+                // it is either spent waiting or reading (which is accounted for by the Read stage).
+                decodeStats.recordBusy(-(System.nanoTime() - startNanos));
+            }
+
+            if (item.failure instanceof DurableDataLogException) {
+                throw (DurableDataLogException) item.failure;
+            } else if (item.failure instanceof RuntimeException) {
+                throw (RuntimeException) item.failure;
+            } else if (item.failure != null) {
+                throw new DurableDataLogException("Unable to read from DurableDataLog.", item.failure);
+            } else if (item.value == null) {
+                this.reachedEnd = true;
+            }
+
+            return item.value;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to do. The actual reader is closed when the PipelinedDataFrameReader is closed.
+        }
+    }
+
+    //endregion
+
+    //region StageItem
+
+    /**
+     * An item in a stage buffer. If both value and failure are null, the end of the stage has been reached.
+     */
+    @RequiredArgsConstructor
+    private static class StageItem<V> {
+        final V value;
+        final Exception failure;
+        final int size;
+    }
+
+    //endregion
+
+    //region StageStats
+
+    /**
+     * Timing statistics for a stage of the pipeline.
+     */
+    @RequiredArgsConstructor
+    static class StageStats {
+        @Getter
+        private final String name;
+        private final AtomicLong itemCount = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong starvedNanos = new AtomicLong();
+        private final AtomicLong stalledNanos = new AtomicLong();
+
+        /**
+         * Gets the number of items processed by the stage.
+         */
+        long getItemCount() {
+            return this.itemCount.get();
+        }
+
+        /**
+         * Gets the amount of time, in milliseconds, the stage spent processing items.
+         */
+        long getBusyMillis() {
+            return this.busyNanos.get() / AbstractTimer.NANOS_TO_MILLIS;
+        }
+
+        /**
+         * Gets the amount of time, in milliseconds, the stage spent waiting for the previous stage to produce items.
+         */
+        long getStarvedMillis() {
+            return this.starvedNanos.get() / AbstractTimer.NANOS_TO_MILLIS;
+        }
+
+        /**
+         * Gets the amount of time, in milliseconds, the stage spent paused because its buffer was full.
+         */
+        long getStalledMillis() {
+            return this.stalledNanos.get() / AbstractTimer.NANOS_TO_MILLIS;
+        }
+
+        private void recordItem() {
+            this.itemCount.incrementAndGet();
+        }
+
+        private void recordBusy(long nanos) {
+            this.busyNanos.addAndGet(nanos);
+        }
+
+        private void recordStarved(long nanos) {
+            this.starvedNanos.addAndGet(nanos);
+        }
+
+        private void recordStalled(long nanos) {
+            this.stalledNanos.addAndGet(nanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: Items = %d, Busy = %dms, Starved = %dms, Stalled = %dms",
+                    this.name, getItemCount(), getBusyMillis(), getStarvedMillis(), getStalledMillis());
+        }
+    }
+
+    //endregion
+}
@@ -10,6 +10,7 @@
 package io.pravega.segmentstore.server.logs;
 
 import com.google.common.base.Preconditions;
+import io.pravega.common.AbstractTimer;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.Timer;
 import io.pravega.segmentstore.contracts.ContainerException;
@@ -21,6 +22,7 @@ import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.OperationSerializer;
 import io.pravega.segmentstore.storage.DurableDataLog;
 import io.pravega.segmentstore.storage.LogAddress;
+import java.util.concurrent.Executor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -33,6 +35,8 @@ class RecoveryProcessor {
     private final UpdateableContainerMetadata metadata;
     private final DurableDataLog durableDataLog;
     private final MemoryStateUpdater stateUpdater;
+    private final int readAheadSize;
+    private final Executor executor;
     private final String traceObjectId;
 
     //endregion
@@ -45,11 +49,16 @@ class RecoveryProcessor {
      * @param metadata         The UpdateableContainerMetadata to use for recovery.
      * @param durableDataLog   The (uninitialized) DurableDataLog to read data from for recovery.
      * @param stateUpdater     A MemoryStateUpdater that can be used to apply the recovered operations.
+     * @param readAheadSize    The maximum number of bytes to read ahead from the DurableDataLog.
+     * @param executor         An Executor to read ahead from the DurableDataLog on.
      */
-    RecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, MemoryStateUpdater stateUpdater) {
+    RecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, MemoryStateUpdater stateUpdater,
+                      int readAheadSize, Executor executor) {
         this.metadata = Preconditions.checkNotNull(metadata, "metadata");
         this.durableDataLog = Preconditions.checkNotNull(durableDataLog, "durableDataLog");
         this.stateUpdater = Preconditions.checkNotNull(stateUpdater, "stateUpdater");
+        this.readAheadSize = readAheadSize;
+        this.executor = Preconditions.checkNotNull(executor, "executor");
         this.traceObjectId = String.format("RecoveryProcessor[%s]", this.metadata.getContainerId());
     }
 
@@ -110,7 +119,9 @@ class RecoveryProcessor {
      * until the first MetadataCheckpointOperation is encountered. All Operations prior to this one are skipped over.
      * Recovery starts with the first MetadataCheckpointOperation and runs until the end of the DurableDataLog is reached.
      * Subsequent MetadataCheckpointOperations are ignored (as they contain redundant information - which has already
-     * been built up using the Operations up to them).
+     * been built up using the Operations up to them). DeltaMetadataCheckpointOperations can never be used as a starting
+     * point (since they only contain the Segments that changed since the previous full checkpoint); when encountered
+     * after it, only the Storage state of the Segments they contain is applied.
      *
      * @param metadataUpdater The OperationMetadataUpdater to use for updates.
      * @return The number of Operations recovered.
@@ -122,8 +133,11 @@ class RecoveryProcessor {
         int recoveredItemCount = 0;
 
         // Read all entries from the DataFrameLog and append them to the InMemoryOperationLog.
-        // Also update metadata along the way.
-        try (DataFrameReader<Operation> reader = new DataFrameReader<>(this.durableDataLog, OperationSerializer.DEFAULT, this.metadata.getContainerId())) {
+        // Also update metadata along the way. Reading and deserializing DataFrames happens in the background, ahead of
+        // the (sequential) application of the Operations.
+        long applyNanos = 0;
+        try (PipelinedDataFrameReader<Operation> reader = new PipelinedDataFrameReader<>(this.durableDataLog, OperationSerializer.DEFAULT,
+                this.metadata.getContainerId(), this.readAheadSize, this.executor)) {
             DataFrameRecord<Operation> dataFrameRecord;
 
             // We can only recover starting from a MetadataCheckpointOperation; find the first one.
@@ -151,13 +165,19 @@ class RecoveryProcessor {
 
             // Now continue with the recovery from here.
             while (dataFrameRecord != null) {
+                long startNanos = System.nanoTime();
                 recordTruncationMarker(dataFrameRecord);
                 recoverOperation(dataFrameRecord, metadataUpdater);
+                applyNanos += System.nanoTime() - startNanos;
                 recoveredItemCount++;
 
                 // Fetch the next operation.
                 dataFrameRecord = reader.getNext();
             }
+
+            log.info("{}: Recovery pipeline stats: {}; {}; Apply: Items = {}, Busy = {}ms, Starved = {}ms.", this.traceObjectId,
+                    reader.getReadStats(), reader.getDecodeStats(), recoveredItemCount, applyNanos / AbstractTimer.NANOS_TO_MILLIS,
+                    reader.getConsumeStats().getStarvedMillis());
         }
 
         // Commit whatever changes we have in the metadata updater to the Container Metadata.
@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.segmentstore.server.SegmentOperation;
+import io.pravega.segmentstore.server.logs.operations.CompletableOperation;
+import io.pravega.segmentstore.server.logs.operations.Operation;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies throttling delays on a per-Segment basis, charging them only to those Segments that generate most of the load.
+ * <p>
+ * The throttling delay (as calculated by a ThrottlerCalculator) is a Container-wide value. Applying it to every incoming
+ * Operation would slow down every Segment in the Container, even if only one of them is causing the pressure. Instead,
+ * this class keeps track of the recent (exponentially decaying) append rate of each Segment and, while a throttling delay
+ * is in effect, only delays appends to those Segments whose share of the total rate is at least their fair share (which
+ * is an equal split among all the active Segments). The heavier a Segment, the more it gets delayed. Appends to Segments
+ * below their fair share are not delayed at all.
+ * <p>
+ * A delayed Segment is "parked": all its Operations (including non-appends) are held back, in order, until the delay
+ * expires, at which point they are all released to the target queue. This preserves the order of Operations within each
+ * Segment. Operations that do not apply to a Segment are never delayed.
+ */
+@Slf4j
+@ThreadSafe
+class SegmentThrottler {
+    //region Members
+
+    /**
+     * The half-life of the per-Segment append rates.
+     */
+    @VisibleForTesting
+    static final Duration RATE_HALF_LIFE = Duration.ofSeconds(1);
+    /**
+     * The maximum multiple of the Container-wide throttling delay that can be charged to a single Segment.
+     */
+    @VisibleForTesting
+    static final double MAX_CHARGE_FACTOR = 4.0;
+    /**
+     * Segments with a (decayed) rate below this value and no parked Operations are considered inactive and are forgotten.
+     */
+    private static final double MIN_ACTIVE_RATE = 1.0;
+    private static final long CLEANUP_INTERVAL_NANOS = RATE_HALF_LIFE.toNanos();
+    private final String traceObjectId;
+    private final Consumer<CompletableOperation> target;
+    private final ScheduledExecutorService executor;
+    private final Supplier<Long> getNanoTime;
+    @GuardedBy("segments")
+    private final HashMap<Long, SegmentState> segments;
+    @GuardedBy("segments")
+    private final DecayingCounter total;
+    @GuardedBy("segments")
+    private long lastCleanupNanos;
+    @GuardedBy("segments")
+    private boolean closed;
+    private volatile int delayMillis;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the SegmentThrottler class.
+     *
+     * @param containerId The Id of the Container this instance belongs to (used for logging).
+     * @param target      A Consumer that will be invoked (in order) with every Operation that is ready to be processed.
+     * @param executor    An Executor to use for async operations.
+     */
+    SegmentThrottler(int containerId, Consumer<CompletableOperation> target, ScheduledExecutorService executor) {
+        this(containerId, target, executor, System::nanoTime);
+    }
+
+    /**
+     * Creates a new instance of the SegmentThrottler class.
+     *
+     * @param containerId The Id of the Container this instance belongs to (used for logging).
+     * @param target      A Consumer that will be invoked (in order) with every Operation that is ready to be processed.
+     * @param executor    An Executor to use for async operations.
+     * @param getNanoTime A Supplier that returns the current time, in nanoseconds.
+     */
+    @VisibleForTesting
+    SegmentThrottler(int containerId, Consumer<CompletableOperation> target, ScheduledExecutorService executor, Supplier<Long> getNanoTime) {
+        this.traceObjectId = String.format("SegmentThrottler[%d]", containerId);
+        this.target = Preconditions.checkNotNull(target, "target");
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.getNanoTime = Preconditions.checkNotNull(getNanoTime, "getNanoTime");
+        this.segments = new HashMap<>();
+        this.total = new DecayingCounter();
+        this.lastCleanupNanos = getNanoTime.get();
+    }
+
+    //endregion
+
+    //region Close
+
+    /**
+     * Closes this instance. Any Operations that are still parked will not be released anymore; they are returned instead.
+     * Any Operations added after this will be sent directly to the target.
+     *
+     * @return A List containing all the Operations that were parked.
+     */
+    List<CompletableOperation> close() {
+        List<CompletableOperation> result = new ArrayList<>();
+        synchronized (this.segments) {
+            this.closed = true;
+            this.segments.values().stream()
+                         .filter(s -> s.parked != null)
+                         .forEach(s -> result.addAll(s.parked));
+            this.segments.clear();
+        }
+
+        return result;
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Sets the Container-wide throttling delay. This value will be charged to Segments that have at least their fair
+     * share of the Container's load.
+     *
+     * @param delayMillis The delay, in milliseconds.
+     */
+    void setDelayMillis(int delayMillis) {
+        this.delayMillis = Math.max(0, delayMillis);
+    }
+
+    /**
+     * Adds a new Operation. The Operation will be sent to the target either immediately (if it doesn't need to be
+     * throttled) or after a delay.
+     *
+     * @param operation The Operation to add.
+     */
+    void add(CompletableOperation operation) {
+        Operation op = operation.getOperation();
+        if (!(op instanceof SegmentOperation)) {
+            // Nothing to throttle or to preserve order against.
+            this.target.accept(operation);
+            return;
+        }
+
+        long segmentId = ((SegmentOperation) op).getStreamSegmentId();
+        long length = op instanceof StreamSegmentAppendOperation ? ((StreamSegmentAppendOperation) op).getLength() : 0;
+        int segmentDelayMillis;
+        synchronized (this.segments) {
+            if (this.closed) {
+                this.target.accept(operation);
+                return;
+            }
+
+            long nanos = this.getNanoTime.get();
+            cleanupIfNeeded(nanos);
+            SegmentState segment = this.segments.computeIfAbsent(segmentId, id -> new SegmentState());
+            segment.rate.add(length, nanos);
+            this.total.add(length, nanos);
+            if (segment.parked != null) {
+                // This Segment is already being delayed. Queue up behind its other Operations.
+                segment.parked.addLast(operation);
+                return;
+            }
+
+            segmentDelayMillis = length > 0 ? getSegmentDelayMillis(segment, nanos) : 0;
+            if (segmentDelayMillis <= 0) {
+                this.target.accept(operation);
+                return;
+            }
+
+            segment.parked = new ArrayDeque<>();
+            segment.parked.addLast(operation);
+        }
+
+        log.debug("{}: Delaying Segment {} by {}ms.", this.traceObjectId, segmentId, segmentDelayMillis);
+        Futures.delayedFuture(Duration.ofMillis(segmentDelayMillis), this.executor)
+               .thenRun(() -> release(segmentId));
+    }
+
+    /**
+     * Gets the number of Segments that are currently being delayed.
+     */
+    @VisibleForTesting
+    int getParkedSegmentCount() {
+        synchronized (this.segments) {
+            return (int) this.segments.values().stream().filter(s -> s.parked != null).count();
+        }
+    }
+
+    @GuardedBy("segments")
+    private int getSegmentDelayMillis(SegmentState segment, long nanos) {
+        int containerDelayMillis = this.delayMillis;
+        double totalRate = this.total.get(nanos);
+        if (containerDelayMillis <= 0 || totalRate <= 0) {
+            return 0;
+        }
+
+        double share = segment.rate.get(nanos) / totalRate;
+        double fairShare = 1.0 / this.segments.size();
+        if (share < fairShare) {
+            // This Segment is not responsible for the load. Do not penalize it.
+            return 0;
+        }
+
+        return (int) Math.min(ThrottlerCalculator.MAX_DELAY_MILLIS, containerDelayMillis * Math.min(share / fairShare, MAX_CHARGE_FACTOR));
+    }
+
+    private void release(long segmentId) {
+        synchronized (this.segments) {
+            SegmentState segment = this.segments.get(segmentId);
+            if (segment == null || segment.parked == null) {
+                // We have been closed in the meantime.
+                return;
+            }
+
+            ArrayDeque<CompletableOperation> toRelease = segment.parked;
+            segment.parked = null;
+            while (!toRelease.isEmpty()) {
+                CompletableOperation o = toRelease.pollFirst();
+                try {
+                    this.target.accept(o);
+                } catch (Throwable ex) {
+                    // The target is most likely closed; nothing else can be processed.
+                    o.fail(ex);
+                    toRelease.forEach(r -> r.fail(ex));
+                    break;
+                }
+            }
+        }
+    }
+
+    @GuardedBy("segments")
+    private void cleanupIfNeeded(long nanos) {
+        if (nanos - this.lastCleanupNanos < CLEANUP_INTERVAL_NANOS) {
+            return;
+        }
+
+        this.segments.values().removeIf(s -> s.parked == null && s.rate.get(nanos) < MIN_ACTIVE_RATE);
+        this.lastCleanupNanos = nanos;
+    }
+
+    //endregion
+
+    //region Helper Classes
+
+    private static class SegmentState {
+        final DecayingCounter rate = new DecayingCounter();
+        ArrayDeque<CompletableOperation> parked;
+    }
+
+    /**
+     * A counter whose value decays exponentially over time, with a half-life of RATE_HALF_LIFE.
+     */
+    private static class DecayingCounter {
+        private double value;
+        private long lastNanos;
+
+        void add(long amount, long nanos) {
+            this.value = get(nanos) + amount;
+            this.lastNanos = nanos;
+        }
+
+        double get(long nanos) {
+            if (this.value == 0) {
+                return 0;
+            }
+
+            long elapsedNanos = Math.max(0, nanos - this.lastNanos);
+            return this.value * Math.pow(0.5, (double) elapsedNanos / RATE_HALF_LIFE.toNanos());
+        }
+    }
+
+    //endregion
+}
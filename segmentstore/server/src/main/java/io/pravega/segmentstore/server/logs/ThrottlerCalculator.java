@@ -15,6 +15,7 @@ import io.pravega.common.MathHelpers;
 import io.pravega.segmentstore.storage.QueueStats;
 import java.util.List;
 import java.util.function.Supplier;
+import javax.annotation.concurrent.GuardedBy;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
@@ -58,6 +59,32 @@ class ThrottlerCalculator {
     @VisibleForTesting
     static final int THROTTLING_MILLIS_PER_COMMIT_OVER_LIMIT = 4;
 
+    /**
+     * Proportional gain for the Feedback Throttler: amount of time (millis) to throttle by for each unit of error (where
+     * an error of 1 means the measured value is twice its target).
+     */
+    @VisibleForTesting
+    static final double FEEDBACK_PROPORTIONAL_GAIN = 1000;
+
+    /**
+     * Integral gain for the Feedback Throttler: amount of time (millis) to throttle by for each unit of error accumulated
+     * over one second.
+     */
+    @VisibleForTesting
+    static final double FEEDBACK_INTEGRAL_GAIN = 500;
+
+    /**
+     * Derivative gain for the Feedback Throttler: amount of time (millis) to throttle by for each unit/second of error
+     * change rate.
+     */
+    @VisibleForTesting
+    static final double FEEDBACK_DERIVATIVE_GAIN = 50;
+
+    /**
+     * The half-life (in seconds) of the Feedback Throttler's integral term while there is no pressure.
+     */
+    private static final double FEEDBACK_INTEGRAL_HALF_LIFE_SECONDS = 0.25;
+
     @Singular
     private final List<Throttler> throttlers;
 
@@ -198,6 +225,73 @@ class ThrottlerCalculator {
         }
     }
 
+    /**
+     * Calculates the amount of time to wait before processing more operations from the queue using a PID (proportional,
+     * integral, derivative) controller that aims to keep both the Commit Backlog Queue size and the DurableDataLog write
+     * latency under their targets. The error fed into the controller is the relative amount by which either of these
+     * exceeds its target (whichever is larger).
+     * <p>
+     * Compared to the CommitBacklogThrottler, this reacts to sustained pressure (via the integral term) and to rapidly
+     * increasing pressure (via the derivative term), and it relaxes throttling gradually instead of abruptly (the integral
+     * term decays exponentially once the pressure is gone).
+     */
+    @RequiredArgsConstructor
+    private static class FeedbackThrottler extends Throttler {
+        private final Supplier<Integer> getCommitBacklogCount;
+        private final Supplier<QueueStats> getQueueStats;
+        private final int targetLatencyMillis;
+        private final Supplier<Long> getNanoTime;
+        @GuardedBy("this")
+        private double integral;
+        @GuardedBy("this")
+        private double lastError;
+        @GuardedBy("this")
+        private long lastNanos = -1;
+
+        @Override
+        boolean isThrottlingRequired() {
+            return getError() > 0;
+        }
+
+        @Override
+        synchronized int getDelayMillis() {
+            double error = getError();
+            long nanos = this.getNanoTime.get();
+            double derivative = 0;
+            if (this.lastNanos >= 0) {
+                double elapsedSeconds = Math.max(0, nanos - this.lastNanos) / 1000_000_000.0;
+                if (error > 0) {
+                    // Anti-windup: the integral term alone never exceeds the maximum delay.
+                    this.integral = Math.min(this.integral + error * elapsedSeconds, MAX_DELAY_MILLIS / FEEDBACK_INTEGRAL_GAIN);
+                } else {
+                    // No pressure. Let go of the accumulated error gradually; we are never going to "speed up" processing
+                    // to compensate for earlier periods with no pressure.
+                    this.integral *= Math.pow(0.5, elapsedSeconds / FEEDBACK_INTEGRAL_HALF_LIFE_SECONDS);
+                }
+
+                if (elapsedSeconds > 0) {
+                    // We only care about how fast the pressure increases; decreasing pressure is handled by the other terms.
+                    derivative = Math.max(0, (Math.max(0, error) - Math.max(0, this.lastError)) / elapsedSeconds);
+                }
+            }
+
+            this.lastError = error;
+            this.lastNanos = nanos;
+            double delay = FEEDBACK_PROPORTIONAL_GAIN * error + FEEDBACK_INTEGRAL_GAIN * this.integral + FEEDBACK_DERIVATIVE_GAIN * derivative;
+            return (int) MathHelpers.minMax(Math.round(delay), 0, MAX_DELAY_MILLIS);
+        }
+
+        private double getError() {
+            double error = (double) (this.getCommitBacklogCount.get() - COMMIT_BACKLOG_COUNT_THRESHOLD) / COMMIT_BACKLOG_COUNT_THRESHOLD;
+            if (this.targetLatencyMillis > 0) {
+                QueueStats stats = this.getQueueStats.get();
+                error = Math.max(error, (double) (stats.getExpectedProcessingTimeMillis() - this.targetLatencyMillis) / this.targetLatencyMillis);
+            }
+
+            return error;
+        }
+    }
+
     //endregion
 
     //region Builder
@@ -239,6 +333,44 @@ class ThrottlerCalculator {
         ThrottlerCalculatorBuilder commitBacklogThrottler(Supplier<Integer> getCommitBacklogCount) {
             return throttler(new CommitBacklogThrottler(Preconditions.checkNotNull(getCommitBacklogCount, "getCommitBacklogCount")));
         }
+
+        /**
+         * Includes a Feedback Throttler.
+         *
+         * @param getCommitBacklogCount A Supplier that, when invoked, returns an Integer representing the most recent size
+         *                              of the Commit Backlog Queue.
+         * @param getQueueStats         A Supplier that, when invoked, returns a QueueStats object representing the most
+         *                              recent statistics about the DurableDataLog write queue.
+         * @param targetLatencyMillis   The target DurableDataLog write latency, in milliseconds. If 0, write latency
+         *                              will not be taken into account.
+         * @return This builder.
+         */
+        ThrottlerCalculatorBuilder feedbackThrottler(Supplier<Integer> getCommitBacklogCount, Supplier<QueueStats> getQueueStats, int targetLatencyMillis) {
+            return feedbackThrottler(getCommitBacklogCount, getQueueStats, targetLatencyMillis, System::nanoTime);
+        }
+
+        /**
+         * Includes a Feedback Throttler.
+         *
+         * @param getCommitBacklogCount A Supplier that, when invoked, returns an Integer representing the most recent size
+         *                              of the Commit Backlog Queue.
+         * @param getQueueStats         A Supplier that, when invoked, returns a QueueStats object representing the most
+         *                              recent statistics about the DurableDataLog write queue.
+         * @param targetLatencyMillis   The target DurableDataLog write latency, in milliseconds. If 0, write latency
+         *                              will not be taken into account.
+         * @param getNanoTime           A Supplier that returns the current time, in nanoseconds.
+         * @return This builder.
+         */
+        @VisibleForTesting
+        ThrottlerCalculatorBuilder feedbackThrottler(Supplier<Integer> getCommitBacklogCount, Supplier<QueueStats> getQueueStats,
+                                                     int targetLatencyMillis, Supplier<Long> getNanoTime) {
+            Preconditions.checkArgument(targetLatencyMillis >= 0, "targetLatencyMillis must be a non-negative number.");
+            return throttler(new FeedbackThrottler(
+                    Preconditions.checkNotNull(getCommitBacklogCount, "getCommitBacklogCount"),
+                    Preconditions.checkNotNull(getQueueStats, "getQueueStats"),
+                    targetLatencyMillis,
+                    Preconditions.checkNotNull(getNanoTime, "getNanoTime")));
+        }
     }
 
     //endregion
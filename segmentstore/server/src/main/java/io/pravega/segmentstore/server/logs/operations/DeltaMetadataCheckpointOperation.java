@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs.operations;
+
+/**
+ * Log Operation that contains a checkpoint of the Metadata at a particular point in time that contains only those Segments
+ * that have changed since the last (full) MetadataCheckpointOperation. Unlike MetadataCheckpointOperations, these are not
+ * valid Truncation Points, since the information they contain is incomplete without the full checkpoint preceding them.
+ */
+public class DeltaMetadataCheckpointOperation extends CheckpointOperationBase {
+    static class Serializer extends SerializerBase<DeltaMetadataCheckpointOperation> {
+        @Override
+        protected OperationBuilder<DeltaMetadataCheckpointOperation> newBuilder() {
+            return new OperationBuilder<>(new DeltaMetadataCheckpointOperation());
+        }
+    }
+
+}
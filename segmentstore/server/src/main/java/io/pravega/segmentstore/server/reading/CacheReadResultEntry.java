@@ -10,10 +10,10 @@
 package io.pravega.segmentstore.server.reading;
 
 import io.pravega.common.Exceptions;
+import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.ReadResultEntryType;
-
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
 /**
@@ -26,14 +26,15 @@ class CacheReadResultEntry extends ReadResultEntryBase {
      * @param streamSegmentOffset The offset within the StreamSegment where this ReadResultEntry starts at. NOTE: this is
      *                            not where the first byte of 'data' starts, rather it's where dataOffset points to in the
      *                            StreamSegment.
-     * @param data                The data buffer that contains the data.
+     * @param data                An ArrayView that contains the data. No copy of it will be made, so it should not
+     *                            be modified after this call.
      * @param dataOffset          The offset within data where this ReadResultEntry starts at.
      * @param dataLength          The length of the data that this ReadResultEntry has.
      */
-    CacheReadResultEntry(long streamSegmentOffset, byte[] data, int dataOffset, int dataLength) {
+    CacheReadResultEntry(long streamSegmentOffset, ArrayView data, int dataOffset, int dataLength) {
         super(ReadResultEntryType.Cache, streamSegmentOffset + dataOffset, dataLength);
-        Exceptions.checkArrayRange(dataOffset, dataLength, data.length, "dataOffset", "dataLength");
-        complete(new ReadResultEntryContents(new ByteArrayInputStream(data, dataOffset, dataLength), dataLength));
+        Exceptions.checkArrayRange(dataOffset, dataLength, data.getLength(), "dataOffset", "dataLength");
+        complete(new ReadResultEntryContents(new ByteArraySegment(data.array(), data.arrayOffset() + dataOffset, dataLength, true)));
     }
 
     /**
@@ -12,6 +12,7 @@ package io.pravega.segmentstore.server.reading;
 import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.ObjectClosedException;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.server.CacheManager;
@@ -19,6 +20,7 @@ import io.pravega.segmentstore.server.ContainerMetadata;
 import io.pravega.segmentstore.server.DataCorruptionException;
 import io.pravega.segmentstore.server.ReadIndex;
 import io.pravega.segmentstore.server.SegmentMetadata;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
 import io.pravega.segmentstore.storage.Cache;
 import io.pravega.segmentstore.storage.CacheFactory;
 import io.pravega.segmentstore.storage.ReadOnlyStorage;
@@ -130,6 +132,39 @@ public class ContainerReadIndex implements ReadIndex {
         index.append(offset, data);
     }
 
+    @Override
+    public void append(List<StreamSegmentAppendOperation> appends) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        log.debug("{}: append (Count = {}).", this.traceObjectId, appends.size());
+
+        // Validate each append against its StreamSegment Index and collect their data, so that we can insert all of it
+        // into the Cache in a single batch.
+        ArrayList<StreamSegmentReadIndex> indices = new ArrayList<>(appends.size());
+        ArrayList<StreamSegmentAppendOperation> accepted = new ArrayList<>(appends.size());
+        HashMap<Cache.Key, ByteArraySegment> cacheEntries = new HashMap<>();
+        for (StreamSegmentAppendOperation append : appends) {
+            try {
+                StreamSegmentReadIndex index = getOrCreateIndex(append.getStreamSegmentId());
+                Exceptions.checkArgument(!index.isMerged(), "appends", "StreamSegment is merged. Cannot append to it anymore.");
+                CacheKey key = index.prepareAppend(append.getStreamSegmentOffset(), append.getData().length);
+                if (key != null) {
+                    cacheEntries.put(key, new ByteArraySegment(append.getData()));
+                    indices.add(index);
+                    accepted.add(append);
+                }
+            } catch (ObjectClosedException | StreamSegmentNotExistsException ex) {
+                // The Segment is in the process of being deleted.
+                log.warn("{}: Not adding operation '{}' to ReadIndex because it refers to a deleted StreamSegment.", this.traceObjectId, append);
+            }
+        }
+
+        this.cache.insertAll(cacheEntries);
+        for (int i = 0; i < accepted.size(); i++) {
+            StreamSegmentAppendOperation append = accepted.get(i);
+            indices.get(i).completeAppend(append.getStreamSegmentOffset(), append.getData().length);
+        }
+    }
+
     @Override
     public void beginMerge(long targetStreamSegmentId, long offset, long sourceStreamSegmentId) throws StreamSegmentNotExistsException {
         Exceptions.checkNotClosed(this.closed.get(), this);
@@ -367,7 +402,8 @@ public class ContainerReadIndex implements ReadIndex {
                     throw new StreamSegmentNotExistsException(segmentMetadata.getName());
                 }
 
-                index = new StreamSegmentReadIndex(this.config, segmentMetadata, this.cache, this.storage, this.executor, isRecoveryMode());
+                index = new StreamSegmentReadIndex(this.config, segmentMetadata, this.cache, this.cacheManager.getEvictionStrategy(),
+                        this.cacheManager, this.storage, this.executor, isRecoveryMode());
                 this.cacheManager.register(index);
                 this.readIndices.put(streamSegmentId, index);
             }
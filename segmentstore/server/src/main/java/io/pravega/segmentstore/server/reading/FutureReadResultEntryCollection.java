@@ -14,22 +14,26 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Organizes PlaceholderReadResultEntries by their starting offset and provides efficient methods for retrieving those
  * whose offsets are below certain values.
+ * <p>
+ * Entries are grouped by their starting offset into Buckets, which are kept in a concurrent, sorted map. There is no
+ * collection-wide lock: adding an entry only synchronizes on its own Bucket (so only with other entries at the same offset)
+ * and polling only touches the Buckets whose offsets are being polled, regardless of how many other entries are waiting.
  */
 @ThreadSafe
 class FutureReadResultEntryCollection {
     //region Members
 
-    @GuardedBy("reads")
-    private final PriorityQueue<FutureReadResultEntry> reads;
-    @GuardedBy("reads")
-    private boolean closed;
+    private final ConcurrentSkipListMap<Long, Bucket> reads;
+    private final AtomicBoolean closed;
 
     //endregion
 
@@ -39,7 +43,8 @@ class FutureReadResultEntryCollection {
      * Creates a new instance of the FutureReadResultEntryCollection class.
      */
     FutureReadResultEntryCollection() {
-        this.reads = new PriorityQueue<>(FutureReadResultEntryCollection::entryComparator);
+        this.reads = new ConcurrentSkipListMap<>();
+        this.closed = new AtomicBoolean();
     }
 
     //endregion
@@ -50,18 +55,11 @@ class FutureReadResultEntryCollection {
      * @return A List containing all currently registered FutureReadResultEntries.
      */
     public List<FutureReadResultEntry> close() {
-        List<FutureReadResultEntry> result;
-        synchronized (this.reads) {
-            if (this.closed) {
-                result = Collections.emptyList();
-            } else {
-                result = new ArrayList<>(this.reads);
-                this.reads.clear();
-                this.closed = true;
-            }
+        if (this.closed.compareAndSet(false, true)) {
+            return pollInternal(Long.MAX_VALUE);
+        } else {
+            return Collections.emptyList();
         }
-
-        return result;
     }
 
     /**
@@ -70,9 +68,28 @@ class FutureReadResultEntryCollection {
      * @param entry The entry to add.
      */
     public void add(FutureReadResultEntry entry) {
-        synchronized (this.reads) {
-            Exceptions.checkNotClosed(this.closed, this);
-            this.reads.add(entry);
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Bucket bucket;
+        do {
+            bucket = this.reads.computeIfAbsent(entry.getStreamSegmentOffset(), offset -> new Bucket());
+        } while (!bucket.add(entry));
+
+        if (this.closed.get()) {
+            // We raced with close(). If close() has not picked up our entry, take it out (it would never be completed otherwise).
+            remove(entry);
+            Exceptions.checkNotClosed(true, this);
+        }
+    }
+
+    /**
+     * Removes the given Result Entry, if it is still registered. This is a no-op if the entry has already been polled.
+     *
+     * @param entry The entry to remove.
+     */
+    void remove(FutureReadResultEntry entry) {
+        Bucket bucket = this.reads.get(entry.getStreamSegmentOffset());
+        if (bucket != null && bucket.removeAndSealIfEmpty(entry)) {
+            this.reads.remove(entry.getStreamSegmentOffset(), bucket);
         }
     }
 
@@ -83,18 +100,8 @@ class FutureReadResultEntryCollection {
      * @param maxOffset The offset to query against.
      */
     Collection<FutureReadResultEntry> poll(long maxOffset) {
-        List<FutureReadResultEntry> result = new ArrayList<>();
-        synchronized (this.reads) {
-            Exceptions.checkNotClosed(this.closed, this);
-
-            // 'reads' is sorted by Starting Offset, in ascending order. As long as it is not empty and the
-            // first entry overlaps the given offset by at least one byte, extract and return it.
-            while (this.reads.size() > 0 && this.reads.peek().getStreamSegmentOffset() <= maxOffset) {
-                result.add(this.reads.poll());
-            }
-        }
-
-        return result;
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        return pollInternal(maxOffset);
     }
 
     /**
@@ -104,6 +111,23 @@ class FutureReadResultEntryCollection {
         return poll(Long.MAX_VALUE);
     }
 
+    private List<FutureReadResultEntry> pollInternal(long maxOffset) {
+        // 'reads' is sorted by Starting Offset, in ascending order. As long as it is not empty and the first Bucket
+        // overlaps the given offset by at least one byte, extract its entries and return them. Another thread may be
+        // polling or adding at the same time, so we only take those Buckets we manage to remove ourselves.
+        List<FutureReadResultEntry> result = new ArrayList<>();
+        Map.Entry<Long, Bucket> first = this.reads.firstEntry();
+        while (first != null && first.getKey() <= maxOffset) {
+            if (this.reads.remove(first.getKey(), first.getValue())) {
+                first.getValue().seal(result);
+            }
+
+            first = this.reads.firstEntry();
+        }
+
+        return result;
+    }
+
     static int entryComparator(FutureReadResultEntry e1, FutureReadResultEntry e2) {
         if (e1.getStreamSegmentOffset() < e2.getStreamSegmentOffset()) {
             return -1;
@@ -115,4 +139,57 @@ class FutureReadResultEntryCollection {
     }
 
     //endregion
+
+    //region Bucket
+
+    /**
+     * A group of entries with the same starting offset. A Bucket is sealed once it has been removed from the collection,
+     * after which no more entries may be added to it.
+     */
+    @ThreadSafe
+    private static class Bucket {
+        @GuardedBy("this")
+        private final ArrayList<FutureReadResultEntry> entries = new ArrayList<>(1);
+        @GuardedBy("this")
+        private boolean sealed;
+
+        /**
+         * Adds the given entry to this Bucket.
+         *
+         * @return True if the entry was added, false if the Bucket is sealed.
+         */
+        synchronized boolean add(FutureReadResultEntry entry) {
+            if (!this.sealed) {
+                this.entries.add(entry);
+            }
+
+            return !this.sealed;
+        }
+
+        /**
+         * Removes the given entry from this Bucket. If the Bucket is now empty, it is sealed as well, so that it may be
+         * removed from the collection.
+         *
+         * @return True if the Bucket is sealed, false otherwise.
+         */
+        synchronized boolean removeAndSealIfEmpty(FutureReadResultEntry entry) {
+            this.entries.remove(entry);
+            if (this.entries.isEmpty()) {
+                this.sealed = true;
+            }
+
+            return this.sealed;
+        }
+
+        /**
+         * Seals this Bucket and moves all its entries into the given List.
+         */
+        synchronized void seal(List<FutureReadResultEntry> target) {
+            this.sealed = true;
+            target.addAll(this.entries);
+            this.entries.clear();
+        }
+    }
+
+    //endregion
 }
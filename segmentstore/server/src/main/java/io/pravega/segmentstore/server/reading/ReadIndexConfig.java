@@ -24,6 +24,10 @@ public class ReadIndexConfig {
     public static final Property<Integer> STORAGE_READ_ALIGNMENT = Property.named("storageReadAlignment", 1024 * 1024);
     public static final Property<Integer> MEMORY_READ_MIN_LENGTH = Property.named("memoryReadMinLength", 4 * 1024);
     public static final Property<Integer> STORAGE_READ_DEFAULT_TIMEOUT = Property.named("storageReadDefaultTimeoutMillis", 30 * 1000);
+    public static final Property<Long> CATCHUP_READ_CACHE_BYPASS_THRESHOLD = Property.named("catchupReadCacheBypassThresholdBytes", 0L);
+    public static final Property<IndexType> INDEX_TYPE = Property.named("indexType", IndexType.AVL_TREE);
+    public static final Property<Integer> READ_AHEAD_MAX_BLOCKS = Property.named("readAheadMaxBlocks", 0);
+    public static final Property<Integer> CONSOLIDATION_MAX_ENTRY_LENGTH = Property.named("consolidationMaxEntryLength", 0);
     private static final String COMPONENT_CODE = "readindex";
 
     //endregion
@@ -57,6 +61,44 @@ public class ReadIndexConfig {
     @Getter
     private final Duration storageReadDefaultTimeout;
 
+    /**
+     * The minimum distance (in bytes) from the end of a Segment that a sequential Storage Read must be at in order to be
+     * considered a catch-up read. Catch-up reads are served directly from Storage and their results are not inserted into
+     * the Cache, since a reader scanning through historical data is unlikely to need that data again, and caching it would
+     * only evict more useful (tail) data.
+     * <p>
+     * Setting this to 0 will effectively disable this feature.
+     */
+    @Getter
+    private final long catchupReadCacheBypassThreshold;
+
+    /**
+     * The type of SortedIndex to use for indexing the entries of each Segment's Read Index.
+     */
+    @Getter
+    private final IndexType indexType;
+
+    /**
+     * The maximum number of blocks (of size {@link #getStorageReadAlignment()}) to read ahead from Storage when a Segment
+     * is read sequentially. The read-ahead window starts at a single block and grows with every sequential Storage read,
+     * up to this value; it is reset by non-sequential reads and it shrinks while the Cache is under pressure.
+     * <p>
+     * Setting this to 0 will effectively disable this feature.
+     */
+    @Getter
+    private final int readAheadMaxBlocks;
+
+    /**
+     * The maximum length of a Cache entry resulting from consolidating adjacent Cache entries. Periodically (whenever the
+     * CacheManager updates the generations), every Segment's Read Index merges runs of adjacent Cache entries that belong
+     * to the same generation into single entries of up to this length. This reduces the number of entries (and their
+     * overhead) in the Cache and in the Read Index when there are many small appends.
+     * <p>
+     * Setting this to 0 will effectively disable this feature.
+     */
+    @Getter
+    private final int consolidationMaxEntryLength;
+
     //endregion
 
     //region Constructor
@@ -70,6 +112,21 @@ public class ReadIndexConfig {
         this.storageReadAlignment = properties.getInt(STORAGE_READ_ALIGNMENT);
         this.memoryReadMinLength = properties.getInt(MEMORY_READ_MIN_LENGTH);
         this.storageReadDefaultTimeout = Duration.ofMillis(properties.getInt(STORAGE_READ_DEFAULT_TIMEOUT));
+        this.catchupReadCacheBypassThreshold = properties.getLong(CATCHUP_READ_CACHE_BYPASS_THRESHOLD);
+        if (this.catchupReadCacheBypassThreshold < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", CATCHUP_READ_CACHE_BYPASS_THRESHOLD));
+        }
+
+        this.indexType = properties.getEnum(INDEX_TYPE, IndexType.class);
+        this.readAheadMaxBlocks = properties.getInt(READ_AHEAD_MAX_BLOCKS);
+        if (this.readAheadMaxBlocks < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", READ_AHEAD_MAX_BLOCKS));
+        }
+
+        this.consolidationMaxEntryLength = properties.getInt(CONSOLIDATION_MAX_ENTRY_LENGTH);
+        if (this.consolidationMaxEntryLength < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", CONSOLIDATION_MAX_ENTRY_LENGTH));
+        }
     }
 
     /**
@@ -82,4 +139,26 @@ public class ReadIndexConfig {
     }
 
     //endregion
+
+    //region IndexType
+
+    public enum IndexType {
+        /**
+         * Entries are indexed using an {@link io.pravega.common.util.AvlTreeIndex}.
+         */
+        AVL_TREE,
+
+        /**
+         * Entries are indexed using a {@link io.pravega.common.util.RedBlackTreeIndex}.
+         */
+        RED_BLACK_TREE,
+
+        /**
+         * Entries are indexed using a {@link io.pravega.common.util.ChunkedArrayIndex}, which does not allocate a node per
+         * entry. This is opt-in.
+         */
+        CHUNKED_ARRAY
+    }
+
+    //endregion
 }
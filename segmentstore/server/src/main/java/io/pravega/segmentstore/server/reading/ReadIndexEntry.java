@@ -12,8 +12,6 @@ package io.pravega.segmentstore.server.reading;
 import io.pravega.common.util.SortedIndex;
 import com.google.common.base.Preconditions;
 
-import javax.annotation.concurrent.GuardedBy;
-
 /**
  * An entry in the Read Index with data at a particular offset.
  */
@@ -21,8 +19,8 @@ abstract class ReadIndexEntry implements SortedIndex.IndexEntry {
     //region Members
 
     private final long streamSegmentOffset;
-    @GuardedBy("this")
-    private int generation;
+    private volatile int generation;
+    private volatile int lastReadOffset;
 
     //endregion
 
@@ -50,7 +48,7 @@ abstract class ReadIndexEntry implements SortedIndex.IndexEntry {
      *
      * @return The entry's generation.
      */
-    synchronized int getGeneration() {
+    int getGeneration() {
         return this.generation;
     }
 
@@ -59,10 +57,25 @@ abstract class ReadIndexEntry implements SortedIndex.IndexEntry {
      *
      * @param generation The current generation.
      */
-    synchronized void setGeneration(int generation) {
+    void setGeneration(int generation) {
         this.generation = generation;
     }
 
+    /**
+     * Records a read from this entry and determines whether it is a new access or the continuation of a previous read
+     * (such as a sequential reader reading this entry in several smaller chunks). A read is considered a continuation
+     * if it begins after the beginning of the previous read of this entry; a read which began at the beginning of the
+     * entry is assumed to have brought it into the Read Index (via a cache miss or append).
+     *
+     * @param entryOffset The offset within this entry where the read begins.
+     * @return True if this is a new access, false if it is a continuation of a previous read.
+     */
+    boolean recordRead(int entryOffset) {
+        boolean isNewAccess = entryOffset <= this.lastReadOffset;
+        this.lastReadOffset = entryOffset;
+        return isNewAccess;
+    }
+
     /**
      * Gets a value indicating the StreamSegment offset for this entry.
      */
@@ -88,7 +101,7 @@ abstract class ReadIndexEntry implements SortedIndex.IndexEntry {
     abstract boolean isDataEntry();
 
     @Override
-    public synchronized String toString() {
+    public String toString() {
         return String.format("Offset = %d, Length = %d, Gen = %d", this.streamSegmentOffset, getLength(), this.generation);
     }
 
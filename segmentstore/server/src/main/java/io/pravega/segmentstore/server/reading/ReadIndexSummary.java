@@ -10,6 +10,7 @@
 package io.pravega.segmentstore.server.reading;
 
 import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.server.CacheEvictionStrategy;
 import io.pravega.segmentstore.server.CacheManager;
 import java.util.HashMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -26,6 +27,8 @@ class ReadIndexSummary {
     @GuardedBy("this")
     private int currentGeneration;
     @GuardedBy("this")
+    private int oldestGeneration;
+    @GuardedBy("this")
     private long totalSize;
     @GuardedBy("this")
     private final HashMap<Integer, Integer> generations;
@@ -37,6 +40,7 @@ class ReadIndexSummary {
      */
     ReadIndexSummary() {
         this.currentGeneration = 0;
+        this.oldestGeneration = 0;
         this.totalSize = 0;
         this.generations = new HashMap<>();
     }
@@ -53,6 +57,15 @@ class ReadIndexSummary {
         this.currentGeneration = generation;
     }
 
+    /**
+     * Updates the oldest generation (the oldest generation that can still exist in the cache).
+     *
+     * @param generation The generation to set.
+     */
+    synchronized void setOldestGeneration(int generation) {
+        this.oldestGeneration = generation;
+    }
+
     /**
      * Records the addition of an element of the given size to the current generation.
      *
@@ -80,6 +93,25 @@ class ReadIndexSummary {
         this.generations.put(generation, newCount);
     }
 
+    /**
+     * Records the addition of an element of the given size that has been loaded as a result of a cache miss. The
+     * generation it is assigned to is decided by the given CacheEvictionStrategy.
+     *
+     * @param size             The size of the element to add.
+     * @param entryHash        A hash of the element's Cache Key.
+     * @param evictionStrategy The CacheEvictionStrategy to use.
+     * @return The generation the element was assigned to.
+     */
+    synchronized int admit(long size, int entryHash, CacheEvictionStrategy evictionStrategy) {
+        int oldest = Math.min(this.oldestGeneration, this.currentGeneration);
+        int generation = evictionStrategy.getAdmissionGeneration(entryHash, this.currentGeneration, oldest);
+        Preconditions.checkState(generation >= oldest && generation <= this.currentGeneration,
+                "CacheEvictionStrategy returned an out-of-bounds generation (%s). Expected between %s and %s.",
+                generation, oldest, this.currentGeneration);
+        add(size, generation);
+        return generation;
+    }
+
     /**
      * Records the removal of an element of the given size from the given generation.
      *
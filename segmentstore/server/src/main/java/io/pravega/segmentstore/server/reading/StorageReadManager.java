@@ -13,34 +13,61 @@ import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.server.CacheUtilizationProvider;
 import io.pravega.segmentstore.server.SegmentMetadata;
+import io.pravega.segmentstore.server.SegmentStoreMetrics;
 import io.pravega.segmentstore.storage.ReadOnlyStorage;
 import io.pravega.segmentstore.storage.SegmentHandle;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
-
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Facilitates and Organizes the reads from Storage.
+ * <p>
+ * Requests are coalesced based on their ranges: a Request that begins inside a pending Request is fulfilled from that
+ * Request's result, a Request that extends into a pending Request is trimmed so that it does not read the same bytes again,
+ * and Requests that are adjacent to a Storage Read that has not yet begun are merged into it (so that a single, larger,
+ * Storage Read is issued for all of them).
+ * <p>
+ * If so configured (see {@link ReadAhead}), this also detects sequential access patterns and issues asynchronous reads
+ * for the data immediately following the requested ranges. The read-ahead window starts at a single block and doubles with
+ * every subsequent sequential read (up to a maximum), it is reset by any non-sequential read and it is halved (with no
+ * read-ahead being issued) whenever the Cache is under pressure.
  */
 @Slf4j
 @ThreadSafe
 public class StorageReadManager implements AutoCloseable {
     //region Members
 
+    /**
+     * Read-ahead is suspended while the Cache utilization is at or above this value.
+     */
+    private static final double READ_AHEAD_MAX_CACHE_UTILIZATION = 0.9;
+
+    /**
+     * The maximum length of a Storage Read made up of multiple (adjacent) Requests.
+     */
+    private static final int MAX_COALESCED_READ_LENGTH = 4 * 1024 * 1024;
     private final String traceObjectId;
     private final ReadOnlyStorage storage;
     private final Executor executor;
+    private final SegmentMetadata segmentMetadata;
     private final String segmentName;
+    private final ReadAhead readAhead;
+    private final SegmentStoreMetrics.StorageReadManager metrics;
     @GuardedBy("lock")
     private final TreeMap<Long, Request> pendingRequests;
     @GuardedBy("lock")
@@ -48,6 +75,12 @@ public class StorageReadManager implements AutoCloseable {
     private final Object lock = new Object();
     @GuardedBy("lock")
     private boolean closed;
+    @GuardedBy("lock")
+    private long nextSequentialOffset;
+    @GuardedBy("lock")
+    private long readAheadEndOffset;
+    @GuardedBy("lock")
+    private int readAheadBlockCount;
 
     //endregion
 
@@ -61,14 +94,31 @@ public class StorageReadManager implements AutoCloseable {
      * @param executor        An Executor to use for running asynchronous tasks.
      */
     StorageReadManager(SegmentMetadata segmentMetadata, ReadOnlyStorage storage, Executor executor) {
+        this(segmentMetadata, storage, null, executor);
+    }
+
+    /**
+     * Creates a new instance of the StorageReadManager class.
+     *
+     * @param segmentMetadata A SegmentMetadata to create the StorageReadManager for.
+     * @param storage         A ReadOnlyStorage to use for data fetching.
+     * @param readAhead       (Optional) A {@link ReadAhead} describing how to read ahead. If null, no read-ahead is done.
+     * @param executor        An Executor to use for running asynchronous tasks.
+     */
+    StorageReadManager(SegmentMetadata segmentMetadata, ReadOnlyStorage storage, ReadAhead readAhead, Executor executor) {
         Preconditions.checkNotNull(storage, "storage");
         Preconditions.checkNotNull(executor, "executor");
 
         this.traceObjectId = String.format("StorageReader[%d-%d]", segmentMetadata.getContainerId(), segmentMetadata.getId());
+        this.segmentMetadata = segmentMetadata;
         this.segmentName = segmentMetadata.getName();
         this.storage = storage;
+        this.readAhead = readAhead != null && readAhead.maxBlockCount > 0 ? readAhead : null;
         this.executor = executor;
+        this.metrics = new SegmentStoreMetrics.StorageReadManager(segmentMetadata.getContainerId());
         this.pendingRequests = new TreeMap<>();
+        this.nextSequentialOffset = -1;
+        this.readAheadEndOffset = -1;
     }
 
     //endregion
@@ -96,81 +146,162 @@ public class StorageReadManager implements AutoCloseable {
 
     /**
      * Queues the given request. The Request will be checked against existing pending Requests. If necessary, this request
-     * will be adjusted to take advantage of an existing request (i.e., if it overlaps with an existing request, no actual
-     * Storage read will happen for this one, yet the result of the previous one will be used instead). The callbacks passed
-     * to the request will be invoked with either the result of the read or with the exception that caused the read to fail.
+     * will be adjusted to take advantage of existing requests:
+     * * If it begins inside an existing request, it is trimmed to that request's end and no actual Storage read will happen
+     * for it; the result of the existing request will be used instead.
+     * * If it ends inside an existing request, it is trimmed to that request's beginning.
+     * * If it is adjacent to a Storage Read that has not yet been issued, it is merged into that Storage Read.
+     * The callbacks passed to the request will be invoked with either the result of the read or with the exception that
+     * caused the read to fail.
      *
      * @param request The request to queue.
      */
     void execute(Request request) {
         log.debug("{}: StorageRead.Execute {}", this.traceObjectId, request);
+        StorageRead storageRead = null;
+        List<StorageRead> readAheadReads;
         synchronized (this.lock) {
             Exceptions.checkNotClosed(this.closed, this);
+            long requestEndOffset = request.getEndOffset();
             Request existingRequest = findOverlappingRequest(request);
             if (existingRequest != null) {
-                // We found an overlapping request. Adjust the current request length.
-                int newLength = (int) (existingRequest.getOffset() + existingRequest.getLength() - request.getOffset());
-                if (newLength > 0 && newLength < request.getLength()) {
-                    request.adjustLength(newLength);
-                    existingRequest.addDependent(request);
-                    return;
-                }
+                // The beginning of this request is already being read. Trim it to what that request covers and use its result.
+                request.adjustLength((int) Math.min(request.getLength(), existingRequest.getEndOffset() - request.getOffset()));
+                existingRequest.addDependent(request);
+                existingRequest.storageRead.servedRequestCount++;
+            } else {
+                storageRead = queueRequest(request);
+                request.storageRead.servedRequestCount++;
             }
 
-            this.pendingRequests.put(request.getOffset(), request);
+            this.metrics.request(storageRead == null);
+            readAheadReads = request.isReadAheadAllowed()
+                    ? prepareReadAhead(request.getOffset(), requestEndOffset, request.getTimeout())
+                    : resetReadAhead();
+        }
+
+        // Initiate the Storage Read(s).
+        if (storageRead != null) {
+            executeStorageRead(storageRead);
         }
 
-        // Initiate the Storage Read.
-        executeStorageRead(request);
+        readAheadReads.forEach(this::executeStorageRead);
     }
 
     /**
-     * Executes the Storage Read for the given request.
+     * Registers the given request as a pending request, trimming it so that it does not overlap with the next pending
+     * request, and attaches it to a Storage Read. If possible, the request is merged into an adjacent Storage Read that has
+     * not yet been issued; otherwise a new Storage Read is created for it.
      *
-     * @param request The request.
+     * @param request The request to queue. This request must not begin inside an existing pending request.
+     * @return A new StorageRead that must be executed, or null if the request was merged into an existing Storage Read.
+     */
+    @GuardedBy("lock")
+    private StorageRead queueRequest(Request request) {
+        Map.Entry<Long, Request> next = this.pendingRequests.higherEntry(request.getOffset());
+        if (next != null && next.getKey() < request.getEndOffset()) {
+            // The end of this request is already being read; no need to read it again.
+            request.adjustLength((int) (next.getKey() - request.getOffset()));
+        }
+
+        this.pendingRequests.put(request.getOffset(), request);
+        Map.Entry<Long, Request> previous = this.pendingRequests.lowerEntry(request.getOffset());
+        if (previous != null && previous.getValue().getEndOffset() == request.getOffset()
+                && canMerge(previous.getValue().storageRead, request)) {
+            previous.getValue().storageRead.append(request);
+            return null;
+        } else if (next != null && next.getKey() == request.getEndOffset() && canMerge(next.getValue().storageRead, request)
+                && next.getValue().storageRead.getOffset() == next.getKey()) {
+            next.getValue().storageRead.prepend(request);
+            return null;
+        }
+
+        StorageRead storageRead = new StorageRead();
+        storageRead.append(request);
+        return storageRead;
+    }
+
+    /**
+     * Determines whether the given (adjacent) Request can be merged into the given StorageRead. This is only possible if
+     * the StorageRead has not yet been issued, the result would not exceed {@link #MAX_COALESCED_READ_LENGTH} and the
+     * result would not extend beyond the Segment's Storage Length (so that an invalid Request may not fail valid ones).
+     */
+    @GuardedBy("lock")
+    private boolean canMerge(StorageRead storageRead, Request request) {
+        return !storageRead.started
+                && storageRead.getLength() + request.getLength() <= MAX_COALESCED_READ_LENGTH
+                && Math.max(storageRead.getEndOffset(), request.getEndOffset()) <= this.segmentMetadata.getStorageLength();
+    }
+
+    /**
+     * Executes the given Storage Read. The actual range to read is determined when the Storage Read begins (by then, more
+     * Requests may have been merged into it).
+     *
+     * @param storageRead The Storage Read.
      */
-    private void executeStorageRead(Request request) {
+    private void executeStorageRead(StorageRead storageRead) {
         try {
-            byte[] buffer = new byte[request.length];
             getHandle()
-                    .thenComposeAsync(handle -> this.storage.read(handle, request.offset, buffer, 0, buffer.length, request.getTimeout()), this.executor)
-                    .thenAcceptAsync(bytesRead -> request.complete(new ByteArraySegment(buffer, 0, bytesRead)), this.executor)
+                    .thenComposeAsync(handle -> {
+                        long offset;
+                        byte[] buffer;
+                        Duration timeout;
+                        synchronized (this.lock) {
+                            storageRead.started = true;
+                            offset = storageRead.getOffset();
+                            buffer = new byte[storageRead.getLength()];
+                            timeout = storageRead.requests.get(0).getTimeout();
+                        }
+
+                        log.debug("{}: StorageRead.Begin Offset = {}, Length = {}, RequestCount = {}.",
+                                this.traceObjectId, offset, buffer.length, storageRead.requests.size());
+                        return this.storage.read(handle, offset, buffer, 0, buffer.length, timeout)
+                                           .thenApply(bytesRead -> new ByteArraySegment(buffer, 0, bytesRead));
+                    }, this.executor)
+                    .thenAcceptAsync(storageRead::complete, this.executor)
                     .whenComplete((r, ex) -> {
                         if (ex != null) {
-                            request.fail(ex);
+                            storageRead.fail(ex);
                         }
 
-                        // Unregister the Request after every request fulfillment.
-                        finalizeRequest(request);
+                        // Unregister the Requests after every Storage Read fulfillment.
+                        finalizeStorageRead(storageRead);
                     });
         } catch (Throwable ex) {
             if (Exceptions.mustRethrow(ex)) {
                 throw ex;
             }
 
-            request.fail(ex);
-            finalizeRequest(request);
+            storageRead.fail(ex);
+            finalizeStorageRead(storageRead);
         }
     }
 
     /**
-     * Ensures that the given request has been finalized (if not, it is failed), and unregisters it from the pending reads.
+     * Ensures that all the requests in the given Storage Read have been finalized (if not, they are failed), and
+     * unregisters them from the pending reads.
      *
-     * @param request The request.
+     * @param storageRead The Storage Read.
      */
-    private void finalizeRequest(Request request) {
-        // Check, one last time, if the request was finalized. Better fail it with an AssertionError rather than leave it
-        // hanging forever.
-        if (!request.isDone()) {
-            request.fail(new AssertionError("Request finalized but not yet completed."));
-        }
-
-        // Unregister the request.
+    private void finalizeStorageRead(StorageRead storageRead) {
+        int servedRequestCount;
         synchronized (this.lock) {
-            this.pendingRequests.remove(request.getOffset());
+            for (Request request : storageRead.requests) {
+                // Check, one last time, if the request was finalized. Better fail it with an AssertionError rather than
+                // leave it hanging forever.
+                if (!request.isDone()) {
+                    request.fail(new AssertionError("Request finalized but not yet completed."));
+                }
+
+                // Unregister the request.
+                this.pendingRequests.remove(request.getOffset(), request);
+                log.debug("{}: StorageRead.Finalize {}, Success = {}", this.traceObjectId, request, !request.resultFuture.isCompletedExceptionally());
+            }
+
+            servedRequestCount = storageRead.servedRequestCount;
         }
 
-        log.debug("{}: StorageRead.Finalize {}, Success = {}", this.traceObjectId, request, !request.resultFuture.isCompletedExceptionally());
+        this.metrics.storageRead(servedRequestCount);
     }
 
     /**
@@ -191,6 +322,89 @@ public class StorageReadManager implements AutoCloseable {
         return null;
     }
 
+    /**
+     * Resets the read-ahead state, so that read-ahead begins again from a single block once sequential reads resume.
+     *
+     * @return An empty List.
+     */
+    @GuardedBy("lock")
+    private List<StorageRead> resetReadAhead() {
+        this.nextSequentialOffset = -1;
+        this.readAheadBlockCount = 0;
+        this.readAheadEndOffset = -1;
+        return Collections.emptyList();
+    }
+
+    /**
+     * Updates the read-ahead state based on a read of the given range and determines which read-ahead requests to issue,
+     * if any. All read-ahead requests are registered as pending requests, so they can be used to fulfill future requests.
+     *
+     * @param offset    The offset of the read.
+     * @param endOffset The end offset of the read (exclusive).
+     * @param timeout   Timeout for the read-ahead requests.
+     * @return A List of StorageReads to execute.
+     */
+    @GuardedBy("lock")
+    private List<StorageRead> prepareReadAhead(long offset, long endOffset, Duration timeout) {
+        if (this.readAhead == null) {
+            return Collections.emptyList();
+        }
+
+        // A read is sequential if it begins where the previous one ended, or anywhere in the range that we read ahead
+        // for it (the reader may have consumed the read-ahead data from the Cache in the meantime).
+        boolean sequential = this.nextSequentialOffset >= 0
+                && offset >= this.nextSequentialOffset
+                && offset <= Math.max(this.nextSequentialOffset, this.readAheadEndOffset);
+        this.nextSequentialOffset = endOffset;
+        if (!sequential) {
+            this.readAheadBlockCount = 0;
+            this.readAheadEndOffset = -1;
+            return Collections.emptyList();
+        }
+
+        this.readAheadBlockCount = Math.min(this.readAheadBlockCount == 0 ? 1 : this.readAheadBlockCount * 2, this.readAhead.maxBlockCount);
+        if (this.readAhead.cacheUtilizationProvider.getCacheUtilization() >= READ_AHEAD_MAX_CACHE_UTILIZATION) {
+            log.debug("{}: Cache under pressure; suspending read-ahead.", this.traceObjectId);
+            this.readAheadBlockCount /= 2;
+            return Collections.emptyList();
+        }
+
+        // Read ahead whole blocks, beginning with the one after the current read and skipping anything we have already
+        // read ahead or is already being read.
+        long blockSize = this.readAhead.blockSize;
+        long startOffset = (endOffset + blockSize - 1) / blockSize * blockSize;
+        long maxOffset = Math.min(startOffset + this.readAheadBlockCount * blockSize, this.segmentMetadata.getStorageLength());
+        startOffset = Math.max(startOffset, this.readAheadEndOffset);
+        List<StorageRead> result = new ArrayList<>();
+        int blockCount = 0;
+        while (startOffset < maxOffset) {
+            long blockOffset = startOffset;
+            int length = (int) Math.min(blockSize - blockOffset % blockSize, maxOffset - blockOffset);
+            Request request = new Request(blockOffset, length,
+                    r -> this.readAhead.dataCallback.accept(blockOffset, r.getData()),
+                    ex -> log.debug("{}: Read-ahead failed (Offset = {}, Length = {}).", this.traceObjectId, blockOffset, length, ex),
+                    timeout);
+            if (findOverlappingRequest(request) == null) {
+                // Adjacent blocks will generally be merged into a single Storage Read.
+                StorageRead storageRead = queueRequest(request);
+                if (storageRead != null) {
+                    result.add(storageRead);
+                }
+
+                blockCount++;
+            }
+
+            startOffset += length;
+        }
+
+        this.readAheadEndOffset = Math.max(this.readAheadEndOffset, maxOffset);
+        if (blockCount > 0) {
+            log.debug("{}: Reading ahead {} block(s) (EndOffset = {}).", this.traceObjectId, blockCount, maxOffset);
+        }
+
+        return result;
+    }
+
     private CompletableFuture<SegmentHandle> getHandle() {
         synchronized (this.lock) {
             if (this.handle == null) {
@@ -203,6 +417,114 @@ public class StorageReadManager implements AutoCloseable {
 
     //endregion
 
+    //region StorageRead
+
+    /**
+     * A single read from Storage, which fulfills one or more adjacent Requests. All members are guarded by the
+     * StorageReadManager's lock until the StorageRead is started; after that, the Requests may no longer change.
+     */
+    private static class StorageRead {
+        /**
+         * The Requests fulfilled by this StorageRead, in order of their offsets. These are contiguous.
+         */
+        private final ArrayList<Request> requests = new ArrayList<>();
+
+        /**
+         * The number of external Requests (including dependents) served by this StorageRead.
+         */
+        private int servedRequestCount;
+        private boolean started;
+
+        long getOffset() {
+            return this.requests.get(0).getOffset();
+        }
+
+        long getEndOffset() {
+            return this.requests.get(this.requests.size() - 1).getEndOffset();
+        }
+
+        int getLength() {
+            return (int) (getEndOffset() - getOffset());
+        }
+
+        void append(Request request) {
+            assert this.requests.isEmpty() || getEndOffset() == request.getOffset() : "request not adjacent";
+            this.requests.add(request);
+            request.storageRead = this;
+        }
+
+        void prepend(Request request) {
+            assert getOffset() == request.getEndOffset() : "request not adjacent";
+            this.requests.add(0, request);
+            request.storageRead = this;
+        }
+
+        /**
+         * Completes all the Requests with their respective portions of the given data.
+         *
+         * @param data The data read from Storage, beginning at this StorageRead's offset.
+         */
+        void complete(ByteArraySegment data) {
+            long offset = getOffset();
+            for (Request request : this.requests) {
+                if (request.isDone()) {
+                    // Already cancelled.
+                    continue;
+                }
+
+                int requestOffset = (int) (request.getOffset() - offset);
+                int length = Math.min(request.getLength(), data.getLength() - requestOffset);
+                if (length > 0) {
+                    request.complete(data.subSegment(requestOffset, length));
+                } else {
+                    request.fail(new IllegalStateException(String.format(
+                            "Storage returned %d bytes, which does not cover Request %s.", data.getLength(), request)));
+                }
+            }
+        }
+
+        /**
+         * Fails all the Requests with the given exception.
+         *
+         * @param ex The exception to fail with.
+         */
+        void fail(Throwable ex) {
+            this.requests.forEach(r -> r.fail(ex));
+        }
+    }
+
+    //endregion
+
+    //region ReadAhead
+
+    /**
+     * Defines how a StorageReadManager should read ahead.
+     */
+    @RequiredArgsConstructor
+    static class ReadAhead {
+        /**
+         * The size of a read-ahead block. All read-ahead reads are aligned to multiples of this value.
+         */
+        private final int blockSize;
+
+        /**
+         * The maximum number of blocks to read ahead at once. If 0, no read-ahead is done.
+         */
+        private final int maxBlockCount;
+
+        /**
+         * A {@link CacheUtilizationProvider} that indicates when the Cache is under pressure.
+         */
+        private final CacheUtilizationProvider cacheUtilizationProvider;
+
+        /**
+         * A callback to invoke with the result (offset and data) of every successful read-ahead read.
+         */
+        private final BiConsumer<Long, ByteArraySegment> dataCallback;
+    }
+
+    //endregion
+
     //region Result
 
     /**
@@ -251,6 +573,8 @@ public class StorageReadManager implements AutoCloseable {
         private int length;
         private final CompletableFuture<Result> resultFuture;
         private final Duration timeout;
+        private final boolean readAheadAllowed;
+        private StorageRead storageRead;
 
         //endregion
 
@@ -266,12 +590,28 @@ public class StorageReadManager implements AutoCloseable {
          * @param timeout         Timeout for the request.
          */
         Request(long offset, int length, Consumer<Result> successCallback, Consumer<Throwable> failureCallback, Duration timeout) {
+            this(offset, length, successCallback, failureCallback, timeout, true);
+        }
+
+        /**
+         * Creates a new instance of the StorageReadManager.Request class.
+         *
+         * @param offset           The offset to read at.
+         * @param length           The length of the read.
+         * @param successCallback  A Consumer that will be invoked in case of successful completion of this request.
+         * @param failureCallback  A Consumer that will be invoked in case this request failed to process.
+         * @param timeout          Timeout for the request.
+         * @param readAheadAllowed If false, this request will not trigger any read-ahead (and it will reset the read-ahead
+         *                         state).
+         */
+        Request(long offset, int length, Consumer<Result> successCallback, Consumer<Throwable> failureCallback, Duration timeout, boolean readAheadAllowed) {
             Preconditions.checkArgument(offset >= 0, "offset must be a non-negative number.");
             Preconditions.checkArgument(length > 0, "length must be a positive integer.");
 
             this.offset = offset;
             this.length = length;
             this.timeout = timeout;
+            this.readAheadAllowed = readAheadAllowed;
             this.resultFuture = new CompletableFuture<>();
             this.resultFuture.thenAccept(successCallback);
             Futures.exceptionListener(this.resultFuture, failureCallback);
@@ -295,6 +635,13 @@ public class StorageReadManager implements AutoCloseable {
             return this.length;
         }
 
+        /**
+         * Gets a value indicating whether this Request may trigger a read-ahead.
+         */
+        boolean isReadAheadAllowed() {
+            return this.readAheadAllowed;
+        }
+
         /**
          * Gets a value indicating the last offset of this Request.
          */
@@ -14,19 +14,23 @@ import com.google.common.collect.Iterators;
 import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.ArrayView;
 import io.pravega.common.util.AvlTreeIndex;
 import io.pravega.common.util.ByteArraySegment;
+import io.pravega.common.util.ChunkedArrayIndex;
+import io.pravega.common.util.RedBlackTreeIndex;
 import io.pravega.common.util.SortedIndex;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.ReadResultEntry;
 import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.ReadResultEntryType;
 import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
+import io.pravega.segmentstore.server.CacheEvictionStrategy;
 import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CacheUtilizationProvider;
 import io.pravega.segmentstore.server.SegmentMetadata;
 import io.pravega.segmentstore.storage.Cache;
 import io.pravega.segmentstore.storage.ReadOnlyStorage;
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.SequenceInputStream;
 import java.time.Duration;
@@ -66,12 +70,14 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     private final ReadIndexConfig config;
     @GuardedBy("lock")
     private final Cache cache;
+    private final CacheEvictionStrategy evictionStrategy;
     private final FutureReadResultEntryCollection futureReads;
     @GuardedBy("lock")
     private final HashMap<Long, PendingMerge> pendingMergers; //Key = Source Segment Id, Value = Pending Merge Info.
     private final StorageReadManager storageReadManager;
     private final ReadIndexSummary summary;
     private final ScheduledExecutorService executor;
+    private final AtomicLong lastStorageReadEndOffset;
     private SegmentMetadata metadata;
     @GuardedBy("lock")
     private long lastAppendedOffset;
@@ -87,18 +93,24 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     /**
      * Creates a new instance of the StreamSegmentReadIndex class.
      *
-     * @param config       Read Index Configuration.
-     * @param metadata     The StreamSegmentMetadata to use.
-     * @param cache        The Cache to use to store, read and manage data entries.
-     * @param storage      A ReadOnlyStorage to fetch data if not in Cache.
-     * @param executor     An executor to run async operations.
-     * @param recoveryMode Whether we are in recovery mode at the time of creation (this can change later on).
+     * @param config           Read Index Configuration.
+     * @param metadata         The StreamSegmentMetadata to use.
+     * @param cache            The Cache to use to store, read and manage data entries.
+     * @param evictionStrategy The CacheEvictionStrategy to use when assigning generations to Cache entries.
+     * @param cacheUtilization A CacheUtilizationProvider to use for determining whether Storage read-ahead is allowed.
+     * @param storage          A ReadOnlyStorage to fetch data if not in Cache.
+     * @param executor         An executor to run async operations.
+     * @param recoveryMode     Whether we are in recovery mode at the time of creation (this can change later on).
      * @throws NullPointerException If any of the arguments are null.
      */
-    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, Cache cache, ReadOnlyStorage storage, ScheduledExecutorService executor, boolean recoveryMode) {
+    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, Cache cache, CacheEvictionStrategy evictionStrategy,
+                           CacheUtilizationProvider cacheUtilization, ReadOnlyStorage storage, ScheduledExecutorService executor,
+                           boolean recoveryMode) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(metadata, "metadata");
         Preconditions.checkNotNull(cache, "cache");
+        Preconditions.checkNotNull(evictionStrategy, "evictionStrategy");
+        Preconditions.checkNotNull(cacheUtilization, "cacheUtilization");
         Preconditions.checkNotNull(storage, "storage");
         Preconditions.checkNotNull(executor, "executor");
 
@@ -106,14 +118,31 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         this.config = config;
         this.metadata = metadata;
         this.cache = cache;
+        this.evictionStrategy = evictionStrategy;
         this.recoveryMode = recoveryMode;
-        this.indexEntries = new AvlTreeIndex<>();
+        this.indexEntries = createIndex(config.getIndexType());
         this.futureReads = new FutureReadResultEntryCollection();
         this.pendingMergers = new HashMap<>();
         this.lastAppendedOffset = -1;
-        this.storageReadManager = new StorageReadManager(metadata, storage, executor);
+        this.storageReadManager = new StorageReadManager(metadata, storage,
+                new StorageReadManager.ReadAhead(config.getStorageReadAlignment(), config.getReadAheadMaxBlocks(), cacheUtilization, this::insertReadAhead),
+                executor);
         this.executor = executor;
         this.summary = new ReadIndexSummary();
+        this.lastStorageReadEndOffset = new AtomicLong(-1);
+    }
+
+    private static SortedIndex<ReadIndexEntry> createIndex(ReadIndexConfig.IndexType indexType) {
+        switch (indexType) {
+            case AVL_TREE:
+                return new AvlTreeIndex<>();
+            case RED_BLACK_TREE:
+                return new RedBlackTreeIndex<>();
+            case CHUNKED_ARRAY:
+                return new ChunkedArrayIndex<>();
+            default:
+                throw new IllegalArgumentException("Unsupported index type: " + indexType);
+        }
     }
 
     //endregion
@@ -179,13 +208,14 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         Preconditions.checkState(this.closed, "Cannot call removeAllEntries unless the ReadIndex is closed.");
         int count;
         synchronized (this.lock) {
+            ArrayList<CacheKey> keys = new ArrayList<>();
             this.indexEntries.forEach(entry -> {
                 if (entry.isDataEntry()) {
-                    CacheKey key = getCacheKey(entry);
-                    this.cache.remove(key);
+                    keys.add(getCacheKey(entry));
                 }
             });
 
+            this.cache.removeAll(keys);
             count = this.indexEntries.size();
             this.indexEntries.clear();
         }
@@ -211,6 +241,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         // Update the current generation with the provided info.
         this.summary.setCurrentGeneration(currentGeneration);
+        this.summary.setOldestGeneration(oldestGeneration);
 
         // Identify & collect those entries that can be removed, then remove them from the index.
         AtomicLong sizeRemoved = new AtomicLong();
@@ -231,11 +262,14 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 }
             });
 
-            // Remove from the index and from the cache.
+            // Remove from the index and from the cache (the latter in a single batch).
+            ArrayList<CacheKey> keys = new ArrayList<>(toRemove.size());
             toRemove.forEach(e -> {
                 this.indexEntries.remove(e.key());
-                this.cache.remove(getCacheKey(e));
+                keys.add(getCacheKey(e));
             });
+
+            this.cache.removeAll(keys);
         }
 
         // Update the summary (no need for holding the lock here; we are not modifying the index).
@@ -245,9 +279,113 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             sizeRemoved.addAndGet(entryLength);
         });
 
+        consolidateEntries();
         return sizeRemoved.get();
     }
 
+    /**
+     * Merges runs of adjacent Cache entries that belong to the same generation into single entries, each no longer than
+     * {@link ReadIndexConfig#getConsolidationMaxEntryLength()}. The candidate runs are identified in a single pass over
+     * the index, and each of them is then consolidated separately (so as not to hold the lock for too long), provided
+     * that all its entries are still in the index and have not changed generations in the meantime.
+     */
+    private void consolidateEntries() {
+        int maxLength = this.config.getConsolidationMaxEntryLength();
+        if (maxLength <= 0) {
+            return;
+        }
+
+        // Identify the candidates: plain Cache entries (Merged entries have their data stored under a different Segment)
+        // that are smaller than the max length, and which have not been truncated out.
+        ArrayList<ReadIndexEntry> candidates = new ArrayList<>();
+        synchronized (this.lock) {
+            long startOffset = this.metadata.getStartOffset();
+            this.indexEntries.forEach(entry -> {
+                if (entry.isDataEntry() && !(entry instanceof MergedIndexEntry)
+                        && entry.getLength() < maxLength && entry.getStreamSegmentOffset() >= startOffset) {
+                    candidates.add(entry);
+                }
+            });
+        }
+
+        // Group the candidates into runs and consolidate each run.
+        int consolidatedCount = 0;
+        ArrayList<ReadIndexEntry> run = new ArrayList<>();
+        long runLength = 0;
+        for (ReadIndexEntry entry : candidates) {
+            if (!run.isEmpty()) {
+                ReadIndexEntry last = run.get(run.size() - 1);
+                if (last.getLastStreamSegmentOffset() + 1 != entry.getStreamSegmentOffset()
+                        || last.getGeneration() != entry.getGeneration()
+                        || runLength + entry.getLength() > maxLength) {
+                    consolidatedCount += consolidate(run, runLength);
+                    run.clear();
+                    runLength = 0;
+                }
+            }
+
+            run.add(entry);
+            runLength += entry.getLength();
+        }
+
+        consolidatedCount += consolidate(run, runLength);
+        if (consolidatedCount > 0) {
+            log.debug("{}: Consolidated {} Cache entries.", this.traceObjectId, consolidatedCount);
+        }
+    }
+
+    /**
+     * Replaces the given run of adjacent Cache entries with a single one.
+     *
+     * @param run       The entries to consolidate, in order.
+     * @param runLength The total length of the entries.
+     * @return The number of entries that were consolidated (0 if none).
+     */
+    private int consolidate(List<ReadIndexEntry> run, long runLength) {
+        if (run.size() < 2) {
+            return 0;
+        }
+
+        int generation = run.get(0).getGeneration();
+        CacheIndexEntry newEntry = new CacheIndexEntry(run.get(0).getStreamSegmentOffset(), (int) runLength);
+        newEntry.setGeneration(generation);
+        ArrayList<CacheKey> removedKeys = new ArrayList<>(run.size() - 1);
+        synchronized (this.lock) {
+            if (this.closed) {
+                return 0;
+            }
+
+            // Verify that the run has not changed since we identified it, and collect its data.
+            byte[] data = new byte[(int) runLength];
+            int dataOffset = 0;
+            for (ReadIndexEntry entry : run) {
+                ArrayView entryData = this.indexEntries.get(entry.key()) == entry && entry.getGeneration() == generation
+                        ? this.cache.getView(getCacheKey(entry))
+                        : null;
+                if (entryData == null) {
+                    return 0;
+                }
+
+                entryData.copyTo(data, dataOffset, (int) entry.getLength());
+                dataOffset += entry.getLength();
+            }
+
+            // Insert the consolidated data (this overwrites the first entry's data), then replace the entries in the index.
+            this.cache.insert(getCacheKey(newEntry), new ByteArraySegment(data));
+            for (int i = 1; i < run.size(); i++) {
+                this.indexEntries.remove(run.get(i).key());
+                removedKeys.add(getCacheKey(run.get(i)));
+            }
+
+            this.indexEntries.put(newEntry);
+            this.cache.removeAll(removedKeys);
+            run.forEach(e -> this.summary.remove(e.getLength(), generation));
+            this.summary.add(runLength, generation);
+        }
+
+        return run.size();
+    }
+
     //endregion
 
     //region Properties
@@ -334,25 +472,52 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      * @throws IllegalArgumentException If the offset is invalid (does not match the previous append offset).
      */
     void append(long offset, byte[] data) {
+        CacheKey key = prepareAppend(offset, data.length);
+        if (key != null) {
+            // Then append an entry for it in the ReadIndex. It's ok to insert into the cache outside of the lock here,
+            // since there is no chance of competing with another write request for the same offset at the same time.
+            this.cache.insert(key, data);
+            completeAppend(offset, data.length);
+        }
+    }
+
+    /**
+     * Validates an append of the given length at the given offset, without making any changes. This, along with
+     * completeAppend(), allow the caller to insert the data into the Cache by other means (such as in a batch with other
+     * appends) before registering it with this ReadIndex.
+     *
+     * @param offset The offset within the StreamSegment to append at.
+     * @param length The length of the append.
+     * @return The CacheKey to insert the append's data at, or null if there is nothing to append (empty append).
+     * @throws IllegalArgumentException If the operation would cause writing beyond the StreamSegment's Length.
+     */
+    CacheKey prepareAppend(long offset, int length) {
         Exceptions.checkNotClosed(this.closed, this);
         Preconditions.checkState(!isMerged(), "StreamSegment has been merged into a different one. Cannot append more ReadIndex entries.");
 
-        if (data.length == 0) {
+        if (length == 0) {
             // Nothing to do. Adding empty read entries will only make our system slower and harder to debug.
-            return;
+            return null;
         }
 
         // Metadata check can be done outside the write lock.
         // Adding at the end means that we always need to "catch-up" with Length. Check to see if adding
         // this entry will make us catch up to it or not.
-        long length = this.metadata.getLength();
-        long endOffset = offset + data.length;
-        Exceptions.checkArgument(endOffset <= length, "offset", "The given range of bytes (%d-%d) is beyond the StreamSegment Length (%d).", offset, endOffset, length);
-
-        // Then append an entry for it in the ReadIndex. It's ok to insert into the cache outside of the lock here,
-        // since there is no chance of competing with another write request for the same offset at the same time.
-        this.cache.insert(new CacheKey(this.metadata.getId(), offset), data);
-        appendEntry(new CacheIndexEntry(offset, data.length));
+        long segmentLength = this.metadata.getLength();
+        long endOffset = offset + length;
+        Exceptions.checkArgument(endOffset <= segmentLength, "offset", "The given range of bytes (%d-%d) is beyond the StreamSegment Length (%d).", offset, endOffset, segmentLength);
+        return new CacheKey(this.metadata.getId(), offset);
+    }
+
+    /**
+     * Registers an append that was validated using prepareAppend() and whose data has already been inserted into the Cache.
+     *
+     * @param offset The offset within the StreamSegment to append at.
+     * @param length The length of the append.
+     * @throws IllegalArgumentException If the offset is invalid (does not match the previous append offset).
+     */
+    void completeAppend(long offset, int length) {
+        appendEntry(new CacheIndexEntry(offset, length));
     }
 
     /**
@@ -498,7 +663,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         ReadIndexEntry oldEntry;
         synchronized (this.lock) {
             this.cache.insert(getCacheKey(entry), data);
-            oldEntry = addToIndex(entry);
+            oldEntry = addToIndex(entry, true, true);
         }
 
         if (oldEntry != null) {
@@ -507,14 +672,73 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         }
     }
 
+    /**
+     * Inserts the result of a Storage read-ahead into the index. Unlike {@link #insert}, this only inserts the portion of
+     * the data that is not already indexed (all or nothing at the beginning, trimmed at the end), since the data was not
+     * explicitly requested and may have raced with appends, other Storage reads or truncations.
+     *
+     * @param offset The offset of the data.
+     * @param data   The data.
+     */
+    private void insertReadAhead(long offset, ByteArraySegment data) {
+        synchronized (this.lock) {
+            if (this.closed || offset < this.metadata.getStartOffset()) {
+                return;
+            }
+
+            ReadIndexEntry floorEntry = this.indexEntries.getFloor(offset);
+            if (floorEntry != null && floorEntry.getLastStreamSegmentOffset() >= offset) {
+                // The beginning of this range is already indexed.
+                return;
+            }
+
+            int length = getLengthUntilNextEntry(offset, data.getLength());
+            length = (int) Math.min(length, this.metadata.getStorageLength() - offset);
+            if (length <= 0) {
+                return;
+            }
+
+            log.debug("{}: InsertReadAhead (Offset = {}, Length = {}).", this.traceObjectId, offset, length);
+            CacheIndexEntry entry = new CacheIndexEntry(offset, length);
+            this.cache.insert(getCacheKey(entry), length == data.getLength() ? data : data.subSegment(0, length));
+
+            // Read-ahead data is admitted just like a cache miss (so it cannot displace frequently used entries), but
+            // it has not been accessed by anyone yet, so it does not count towards the entry's access frequency.
+            addToIndex(entry, true, false);
+        }
+    }
+
     @GuardedBy("lock")
     private ReadIndexEntry addToIndex(ReadIndexEntry entry) {
+        return addToIndex(entry, false, false);
+    }
+
+    /**
+     * Adds the given entry to the index and updates the Cache Stats.
+     *
+     * @param entry       The entry to add.
+     * @param isCacheMiss True if the entry's data has been loaded from Storage (as a result of a cache miss or a
+     *                    read-ahead). The generation of such entries is decided by the CacheEvictionStrategy.
+     * @param isAccess    True if the entry's data has been loaded on behalf of a reader (and should be recorded as an
+     *                    access). Only used if isCacheMiss is true.
+     * @return The entry that was overwritten, or null if none.
+     */
+    @GuardedBy("lock")
+    private ReadIndexEntry addToIndex(ReadIndexEntry entry, boolean isCacheMiss, boolean isAccess) {
         // Insert the new entry and figure out if an old entry was overwritten.
         ReadIndexEntry oldEntry = this.indexEntries.put(entry);
         if (entry.isDataEntry()) {
             if (entry instanceof MergedIndexEntry) {
                 // This entry has already existed in the cache for a while; do not change its generation.
                 this.summary.add(entry.getLength(), entry.getGeneration());
+            } else if (isCacheMiss) {
+                // Record the miss as an access (if applicable), then let the CacheEvictionStrategy decide which generation it belongs to.
+                int entryHash = getCacheKey(entry).hashCode();
+                if (isAccess) {
+                    this.evictionStrategy.recordAccess(entryHash);
+                }
+
+                entry.setGeneration(this.summary.admit(entry.getLength(), entryHash, this.evictionStrategy));
             } else {
                 // Update the Stats with the entry's length, and set the entry's generation as well.
                 int generation = this.summary.add(entry.getLength());
@@ -653,15 +877,15 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             // No need to search the index; from now on, we know each offset we are looking for is at the beginning of a cache entry.
             // Also, no need to acquire the lock there. The cache itself is thread safe, and if the entry we are about to fetch
             // has just been evicted, we'll just get null back and stop reading (which is acceptable).
-            byte[] entryData = this.cache.get(new CacheKey(this.metadata.getId(), startOffset + readLength));
+            ArrayView entryData = this.cache.getView(new CacheKey(this.metadata.getId(), startOffset + readLength));
             if (entryData == null) {
                 // Could not find the 'next' cache entry: this means the requested range is not fully cached.
                 return null;
             }
 
-            int entryReadLength = Math.min(entryData.length, length - readLength);
+            int entryReadLength = Math.min(entryData.getLength(), length - readLength);
             assert entryReadLength > 0 : "about to have fetched zero bytes from a cache entry";
-            contents.add(new ByteArrayInputStream(entryData, 0, entryReadLength));
+            contents.add(entryData.getReader(0, entryReadLength));
             readLength += entryReadLength;
         }
 
@@ -806,6 +1030,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         }
 
         // Collect the contents of congruent Index Entries into a list, as long as we still encounter data in the cache.
+        CompletableReadResultEntry firstEntry = nextEntry;
         ArrayList<InputStream> contents = new ArrayList<>();
         do {
             assert Futures.isSuccessful(nextEntry.getContent()) : "Found CacheReadResultEntry that is not completed yet: " + nextEntry;
@@ -819,6 +1044,11 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             nextEntry = getSingleMemoryReadResultEntry(resultStartOffset + readLength, maxLength - readLength);
         } while (nextEntry != null);
 
+        if (contents.size() == 1) {
+            // Nothing to coalesce. Return the original entry, which gives direct access to the cached data.
+            return firstEntry;
+        }
+
         // Coalesce the results into a single InputStream and return the result.
         return new CacheReadResultEntry(resultStartOffset, new SequenceInputStream(Iterators.asEnumeration(contents.iterator())), readLength);
     }
@@ -957,13 +1187,23 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         int length = (int) Math.min(maxLength, entry.getLength() - entryOffset);
         assert length > 0 : String.format("length{%d} <= 0. streamSegmentOffset = %d, maxLength = %d, entry.offset = %d, entry.length = %d", length, streamSegmentOffset, maxLength, entry.getStreamSegmentOffset(), entry.getLength());
-        byte[] data = this.cache.get(getCacheKey(entry));
+        CacheKey key = getCacheKey(entry);
+        ArrayView data = this.cache.getView(key);
         assert data != null : String.format("No Cache Entry could be retrieved for entry %s", entry);
 
         if (updateStats) {
-            // Update its generation before returning it.
-            int generation = this.summary.touchOne(entry.getGeneration());
-            entry.setGeneration(generation);
+            // Update its generation before returning it. Reads that continue a previous read of this entry are not
+            // accesses in their own right; the CacheEvictionStrategy decides whether they still refresh its generation.
+            int entryHash = key.hashCode();
+            boolean isNewAccess = entry.recordRead(entryOffset);
+            if (isNewAccess) {
+                this.evictionStrategy.recordAccess(entryHash);
+            }
+
+            if (this.evictionStrategy.shouldPromote(entryHash, isNewAccess)) {
+                int generation = this.summary.touchOne(entry.getGeneration());
+                entry.setGeneration(generation);
+            }
         }
 
         return new CacheReadResultEntry(entry.getStreamSegmentOffset(), data, entryOffset, length);
@@ -980,13 +1220,18 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     }
 
     private void queueStorageRead(long offset, int length, Consumer<ReadResultEntryContents> successCallback, Consumer<Throwable> failureCallback, Duration timeout) {
+        length = getReadAlignedLength(offset, length);
+        boolean bypassCache = isCatchupRead(offset, length);
+
         // Create a callback that inserts into the ReadIndex (and cache) and invokes the success callback.
         Consumer<StorageReadManager.Result> doneCallback = result -> {
             ByteArraySegment data = result.getData();
 
             // Make sure we invoke our callback first, before any chance of exceptions from insert() may block it.
-            successCallback.accept(new ReadResultEntryContents(data.getReader(), data.getLength()));
-            if (!result.isDerived()) {
+            successCallback.accept(new ReadResultEntryContents(data.asReadOnly()));
+            if (bypassCache) {
+                log.debug("{}: Catch-up read; not inserting into the cache (Offset = {}, Length = {}).", this.traceObjectId, offset, data.getLength());
+            } else if (!result.isDerived()) {
                 // Only insert primary results into the cache. Derived results are always sub-portions of primaries
                 // and there is no need to insert them too, as they are already contained within.
                 insert(offset, data);
@@ -994,8 +1239,30 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         };
 
         // Queue the request for async processing.
-        length = getReadAlignedLength(offset, length);
-        this.storageReadManager.execute(new StorageReadManager.Request(offset, length, doneCallback, failureCallback, timeout));
+        // Catch-up readers do not benefit from having data read ahead into the Cache (they would evict it before getting
+        // to it), so do not read ahead for them.
+        this.storageReadManager.execute(new StorageReadManager.Request(offset, length, doneCallback, failureCallback, timeout, !bypassCache));
+    }
+
+    /**
+     * Determines whether a Storage Read is part of a catch-up read, which is a sequential scan through data that is far
+     * behind the end of the Segment. The results of such reads are not inserted into the Cache (see
+     * {@link ReadIndexConfig#getCatchupReadCacheBypassThreshold()}).
+     *
+     * A Storage Read is considered sequential if it begins exactly where the previous Storage Read for this Segment ended.
+     * The first read of such a sequence is not considered a catch-up read, so random (non-sequential) reads are always
+     * cached.
+     *
+     * @param offset The (aligned) read offset.
+     * @param length The (aligned) read length.
+     * @return True if this is a catch-up read, false otherwise.
+     */
+    private boolean isCatchupRead(long offset, int length) {
+        long previousEndOffset = this.lastStorageReadEndOffset.getAndSet(offset + length);
+        long threshold = this.config.getCatchupReadCacheBypassThreshold();
+        return threshold > 0
+                && offset == previousEndOffset
+                && this.metadata.getLength() - offset >= threshold;
     }
 
     /**
@@ -1043,6 +1310,14 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     private ReadResultEntryBase createFutureRead(long streamSegmentOffset, int maxLength) {
         FutureReadResultEntry entry = new FutureReadResultEntry(streamSegmentOffset, maxLength);
         this.futureReads.add(entry);
+
+        // If the reader gives up on this entry (i.e., a long-poll read that has reached its maximum wait time), unregister
+        // it right away instead of waiting for the next append to trigger it.
+        entry.getContent().whenComplete((r, ex) -> {
+            if (entry.getContent().isCancelled()) {
+                this.futureReads.remove(entry);
+            }
+        });
         return entry;
     }
 
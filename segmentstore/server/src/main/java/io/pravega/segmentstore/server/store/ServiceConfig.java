@@ -44,6 +44,7 @@ public class ServiceConfig {
     public static final Property<String> CLUSTER_NAME = Property.named("clusterName", "pravega-cluster");
     public static final Property<DataLogType> DATALOG_IMPLEMENTATION = Property.named("dataLogImplementation", DataLogType.INMEMORY);
     public static final Property<StorageType> STORAGE_IMPLEMENTATION = Property.named("storageImplementation", StorageType.HDFS);
+    public static final Property<CacheType> CACHE_IMPLEMENTATION = Property.named("cacheImplementation", CacheType.ROCKSDB);
     public static final Property<Boolean> READONLY_SEGMENT_STORE = Property.named("readOnlySegmentStore", false);
     public static final Property<Boolean> ENABLE_TLS = Property.named("enableTls", false);
     public static final Property<String> CERT_FILE = Property.named("certFile", "");
@@ -51,6 +52,7 @@ public class ServiceConfig {
     public static final Property<Long> CACHE_POLICY_MAX_SIZE = Property.named("cacheMaxSize", 16L * 1024 * 1024 * 1024);
     public static final Property<Integer> CACHE_POLICY_MAX_TIME = Property.named("cacheMaxTimeSeconds", 30 * 60);
     public static final Property<Integer> CACHE_POLICY_GENERATION_TIME = Property.named("cacheGenerationTimeSeconds", 5);
+    public static final Property<CachePolicy.EvictionType> CACHE_POLICY_EVICTION = Property.named("cacheEvictionPolicy", CachePolicy.EvictionType.GENERATIONAL);
     public static final Property<Boolean> REPLY_WITH_STACK_TRACE_ON_ERROR = Property.named("replyWithStackTraceOnError", false);
     public static final Property<String> INSTANCE_ID = Property.named("instanceId", "");
 
@@ -69,7 +71,30 @@ public class ServiceConfig {
         /**
          * InMemory DataLog. Contents will be lost when the process exits.
          */
-        INMEMORY
+        INMEMORY,
+
+        /**
+         * DataLog is implemented by append-only files on the local disk. Contents are durable, but not replicated.
+         */
+        FILESYSTEM
+    }
+
+    public enum CacheType {
+        /**
+         * Cache is implemented by a local RocksDB instance, which can spill over to the local disk.
+         */
+        ROCKSDB,
+
+        /**
+         * Cache is implemented in Direct (off-heap) Memory. Contents are volatile and bounded by the configured size.
+         */
+        DIRECTMEMORY,
+
+        /**
+         * Cache is implemented in two tiers: a Direct Memory tier for the most recently used data, backed by append-only
+         * files on the local disk for the rest.
+         */
+        TIERED
     }
 
     public enum StorageType {
@@ -207,6 +232,12 @@ public class ServiceConfig {
     @Getter
     private final StorageType storageImplementation;
 
+    /**
+     * The Type of Cache Implementation to use.
+     */
+    @Getter
+    private final CacheType cacheImplementation;
+
     /**
      * Whether this SegmentStore instance is Read-Only (i.e., it can only process reads from Storage and nothing else).
      * Note that if this is set to 'true', then many other settings will not apply. The most important other one to set
@@ -297,6 +328,7 @@ public class ServiceConfig {
         this.clusterName = properties.get(CLUSTER_NAME);
         this.dataLogTypeImplementation = properties.getEnum(DATALOG_IMPLEMENTATION, DataLogType.class);
         this.storageImplementation = properties.getEnum(STORAGE_IMPLEMENTATION, StorageType.class);
+        this.cacheImplementation = properties.getEnum(CACHE_IMPLEMENTATION, CacheType.class);
         this.readOnlySegmentStore = properties.getBoolean(READONLY_SEGMENT_STORE);
         this.secureZK = properties.getBoolean(SECURE_ZK);
         this.zkTrustStore = properties.get(ZK_TRUSTSTORE_LOCATION);
@@ -307,7 +339,9 @@ public class ServiceConfig {
         long cachePolicyMaxSize = properties.getLong(CACHE_POLICY_MAX_SIZE);
         int cachePolicyMaxTime = properties.getInt(CACHE_POLICY_MAX_TIME);
         int cachePolicyGenerationTime = properties.getInt(CACHE_POLICY_GENERATION_TIME);
-        this.cachePolicy = new CachePolicy(cachePolicyMaxSize, Duration.ofSeconds(cachePolicyMaxTime), Duration.ofSeconds(cachePolicyGenerationTime));
+        CachePolicy.EvictionType cacheEvictionType = properties.getEnum(CACHE_POLICY_EVICTION, CachePolicy.EvictionType.class);
+        this.cachePolicy = new CachePolicy(cachePolicyMaxSize, Duration.ofSeconds(cachePolicyMaxTime),
+                Duration.ofSeconds(cachePolicyGenerationTime), cacheEvictionType);
         this.replyWithStackTraceOnError = properties.getBoolean(REPLY_WITH_STACK_TRACE_ON_ERROR);
         this.instanceId = properties.get(INSTANCE_ID);
     }
@@ -348,6 +382,7 @@ public class ServiceConfig {
                 .append(String.format("clusterName: %s, ", clusterName))
                 .append(String.format("dataLogTypeImplementation: %s, ", dataLogTypeImplementation.name()))
                 .append(String.format("storageImplementation: %s, ", storageImplementation.name()))
+                .append(String.format("cacheImplementation: %s, ", cacheImplementation.name()))
                 .append(String.format("readOnlySegmentStore: %b, ", readOnlySegmentStore))
                 .append(String.format("enableTls: %b, ", enableTls))
                 .append(String.format("certFile is %s, ",
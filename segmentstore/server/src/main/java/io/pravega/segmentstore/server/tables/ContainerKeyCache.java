@@ -286,7 +286,7 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
     }
 
     private long evict(SegmentKeyCache.EvictionResult eviction) {
-        eviction.getKeys().forEach(this.cache::remove);
+        this.cache.removeAll(eviction.getKeys());
         return eviction.getSize();
     }
 
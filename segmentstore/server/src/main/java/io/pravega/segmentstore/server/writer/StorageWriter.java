@@ -31,21 +31,31 @@ import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.StorageOperation;
 import io.pravega.segmentstore.storage.Storage;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 /**
  * Storage Writer. Applies operations from Operation Log to Storage.
+ * <p>
+ * Flushes to Storage run in the background, up to WriterConfig.getMaxConcurrentFlushes() at any given time, while the
+ * Writer keeps reading new operations. If more Segments need flushing than that, the most urgent ones are flushed first
+ * (see ProcessorCollection.getFlushPriority()). Operations for a Segment that is being flushed are held back until its
+ * flush is done.
  */
 @Slf4j
 class StorageWriter extends AbstractThreadPoolService implements Writer {
@@ -59,6 +69,9 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
     private final Timer timer;
     private final AckCalculator ackCalculator;
     private final WriterFactory.CreateProcessors createProcessors;
+    private final AtomicReference<CompletableFuture<Void>> flushCompleted;
+    private final AtomicReference<CompletableFuture<Iterator<Operation>>> activeRead;
+    private CompletableFuture<Void> readInterruptRegistration;
 
     //endregion
 
@@ -87,6 +100,8 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
         this.state = new WriterState();
         this.timer = new Timer();
         this.ackCalculator = new AckCalculator(this.state);
+        this.flushCompleted = new AtomicReference<>(new CompletableFuture<>());
+        this.activeRead = new AtomicReference<>();
     }
 
     //endregion
@@ -102,9 +117,9 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
     protected CompletableFuture<Void> doRun() {
         // A Writer iteration is made of the following stages:
         // 1. Delay (if necessary).
-        // 2. Read data.
+        // 2. Read data (stopping early if a background flush completes in the meantime).
         // 3. Load data into SegmentProcessors.
-        // 4. Flush eligible SegmentProcessors.
+        // 4. Collect the results of completed flushes and begin flushing eligible SegmentProcessors (in the background).
         // 5. Acknowledge (truncate).
         return Futures.loop(
                 this::canRun,
@@ -118,6 +133,7 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
                         .exceptionally(this::iterationErrorHandler)
                         .thenRunAsync(this::endIteration, this.executor),
                 this.executor)
+                .thenCompose(v -> awaitActiveFlushes())
                 .thenRun(this::closeProcessors);
     }
 
@@ -157,6 +173,19 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
         return null;
     }
 
+    /**
+     * Returns a CompletableFuture that will be completed when all the flushes that are currently in progress are done,
+     * whether successfully or not.
+     */
+    private CompletableFuture<Void> awaitActiveFlushes() {
+        val activeFlushes = this.processors.values().stream()
+                                           .map(ProcessorCollection::getActiveFlush)
+                                           .filter(Objects::nonNull)
+                                           .map(f -> f.handle((r, ex) -> (Void) null))
+                                           .collect(Collectors.toList());
+        return Futures.allOf(activeFlushes);
+    }
+
     /**
      * Closes all processors. This is usually done when the StorageWriter has stopped or is about to stop.
      */
@@ -177,9 +206,27 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
     private CompletableFuture<Iterator<Operation>> readData(Void ignored) {
         long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "readData");
         try {
+            // Get the flush completion signal before calculating the timeout, so that we cannot miss any flush that
+            // completes in between.
+            CompletableFuture<Void> flushCompleted = this.flushCompleted.get();
             Duration readTimeout = getReadTimeout();
-            return this.dataSource
-                    .read(this.state.getLastReadSequenceNumber(), this.config.getMaxItemsToReadAtOnce(), readTimeout)
+            CompletableFuture<Iterator<Operation>> read = this.dataSource
+                    .read(this.state.getLastReadSequenceNumber(), this.config.getMaxItemsToReadAtOnce(), readTimeout);
+            this.activeRead.set(read);
+            if (!read.isDone() && getActiveFlushCount() > 0 && this.readInterruptRegistration != flushCompleted) {
+                // Do not wait for new operations past the completion of a flush; we need to collect its result (and
+                // acknowledge what it flushed) and possibly begin flushing other Segments. The same signal is used until
+                // a flush completes, so only register with it once; it will interrupt whatever read is active by then.
+                this.readInterruptRegistration = flushCompleted;
+                flushCompleted.thenRun(this::interruptActiveRead);
+            }
+
+            if (flushCompleted.isDone()) {
+                // A flush completed before we began reading; interruptActiveRead() may have missed this read.
+                read.cancel(true);
+            }
+
+            return read
                     .thenApply(result -> {
                         LoggerHelpers.traceLeave(log, this.traceObjectId, "readData", traceId);
                         return result;
@@ -192,6 +239,10 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
                             // in this iteration or do other tasks.
                             log.debug("{}: Iteration[{}] No items were read during allotted timeout of {}ms", this.traceObjectId, this.state.getIterationId(), readTimeout.toMillis());
                             return null;
+                        } else if (ex instanceof CancellationException && flushCompleted.isDone()) {
+                            // We cancelled the read because a flush completed.
+                            log.debug("{}: Iteration[{}] Read interrupted by a completed flush.", this.traceObjectId, this.state.getIterationId());
+                            return null;
                         } else {
                             throw new CompletionException(ex);
                         }
@@ -208,6 +259,16 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
         }
     }
 
+    /**
+     * Interrupts the read that is currently in progress, if any.
+     */
+    private void interruptActiveRead() {
+        CompletableFuture<Iterator<Operation>> read = this.activeRead.get();
+        if (read != null) {
+            read.cancel(true);
+        }
+    }
+
     /**
      * Processes all the operations in the given ReadResult.
      *
@@ -288,29 +349,74 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
     //region Stage Execution
 
     /**
-     * Flushes eligible operations to Storage, if necessary. Does not perform any mergers.
+     * Collects the results of the flushes that completed since the last iteration, then begins flushing eligible
+     * ProcessorCollections, most urgent first, up to the maximum number of concurrent flushes. Does not wait for the new
+     * flushes to complete.
      */
     private CompletableFuture<Void> flush(Void ignored) {
         checkRunning();
         long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "flush");
 
-        // Flush everything we can flush.
-        val flushFutures = this.processors.values().stream()
-                                          .filter(ProcessorCollection::mustFlush)
-                                          .map(a -> a.flush(this.config.getFlushTimeout()))
-                                          .collect(Collectors.toList());
-
-        return Futures
-                .allOfWithResults(flushFutures)
-                .thenAcceptAsync(flushResults -> {
-                    FlushStageResult result = new FlushStageResult();
-                    flushResults.forEach(result::withFlushResult);
-                    if (result.getFlushedBytes() + result.getMergedBytes() + result.count > 0) {
-                        logStageEvent("Flush", result);
-                    }
+        FlushStageResult result = new FlushStageResult();
+        Throwable failure = null;
+        val candidates = new ArrayList<ProcessorCollection>();
+        for (ProcessorCollection pc : this.processors.values()) {
+            if (pc.isFlushing()) {
+                result.activeCount++;
+                continue;
+            }
+
+            try {
+                WriterFlushResult flushResult = pc.collectFlushResult();
+                if (flushResult != null) {
+                    result.withFlushResult(flushResult);
+                }
+
+                // Now that the flush is done, we can process the operations that came in while it was running.
+                pc.applyPendingOperations();
+                if (pc.mustFlush()) {
+                    candidates.add(pc);
+                }
+            } catch (Throwable ex) {
+                // Make sure critical errors are not masked by non-critical ones.
+                if (failure == null || isCriticalError(ex)) {
+                    failure = ex;
+                }
+            }
+        }
+
+        if (failure != null) {
+            LoggerHelpers.traceLeave(log, this.traceObjectId, "flush", traceId);
+            return Futures.failedFuture(failure);
+        }
 
-                    LoggerHelpers.traceLeave(log, this.traceObjectId, "flush", traceId);
-                }, this.executor);
+        int startCount = Math.min(this.config.getMaxConcurrentFlushes() - result.activeCount, candidates.size());
+        if (startCount > 0 && startCount < candidates.size()) {
+            // We cannot flush everything at once; begin with the most urgent.
+            double cacheUtilization = this.dataSource.getCacheUtilization();
+            val priorities = new HashMap<ProcessorCollection, Double>();
+            candidates.forEach(pc -> priorities.put(pc, pc.getFlushPriority(cacheUtilization)));
+            candidates.sort(Comparator.<ProcessorCollection, Double>comparing(priorities::get).reversed());
+        }
+
+        for (int i = 0; i < startCount; i++) {
+            candidates.get(i).beginFlush(this.config.getFlushTimeout()).whenComplete((r, ex) -> notifyFlushCompleted());
+            result.startedCount++;
+        }
+
+        if (result.getFlushedBytes() + result.getMergedBytes() + result.count + result.startedCount > 0) {
+            logStageEvent("Flush", result);
+        }
+
+        LoggerHelpers.traceLeave(log, this.traceObjectId, "flush", traceId);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Notifies the main loop that a background flush has completed.
+     */
+    private void notifyFlushCompleted() {
+        this.flushCompleted.getAndSet(new CompletableFuture<>()).complete(null);
     }
 
     /**
@@ -334,7 +440,8 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
      * @return The same SegmentAggregator.
      */
     private ProcessorCollection closeIfNecessary(ProcessorCollection processorCollection) {
-        if (processorCollection.shouldClose()) {
+        // Do not close while a flush is still running or its result has not yet been collected; we will get to it later.
+        if (processorCollection.shouldClose() && processorCollection.getActiveFlush() == null) {
             processorCollection.close();
         }
 
@@ -424,20 +531,34 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
     /**
      * Calculates the amount of time that should be used as a timeout for WriterDataSource reads. The following rules
      * are taken into consideration:
-     * * If at least one SegmentAggregator needs to flush right away, the timeout returned is 0.
+     * * If at least one flush has completed and its result has not been collected, the timeout returned is 0.
+     * * If at least one SegmentAggregator needs to flush right away and can do so, the timeout returned is 0.
+     * * SegmentAggregators that are being flushed (or that need to flush, but must wait for other flushes to complete)
+     * are not considered, since the read is interrupted when a flush completes.
      * * The returned timeout is the amount of time until the first SegmentAggregator is due to flush.
-     * * The returned timeout (except in the first case) is bounded by WriterConfig.MinReadTimeout and WriterConfig.MaxReadTimeout.
+     * * The returned timeout (except in the first two cases) is bounded by WriterConfig.MinReadTimeout and WriterConfig.MaxReadTimeout.
      */
     private Duration getReadTimeout() {
         // Find the minimum expiration time among all SegmentAggregators.
         long maxTimeMillis = this.config.getMaxReadTimeout().toMillis();
         long minTimeMillis = this.config.getMinReadTimeout().toMillis();
         long timeMillis = maxTimeMillis;
+        boolean canBeginFlush = getActiveFlushCount() < this.config.getMaxConcurrentFlushes();
         for (ProcessorCollection a : this.processors.values()) {
-            if (a.mustFlush()) {
-                // We found a SegmentAggregator that needs to flush right away. No need to search anymore.
+            if (a.hasCompletedFlush()) {
+                // We need to collect the result of this flush right away. No need to search anymore.
                 timeMillis = 0;
                 break;
+            } else if (a.isFlushing()) {
+                continue;
+            } else if (a.mustFlush()) {
+                if (canBeginFlush) {
+                    // We found a SegmentAggregator that needs to flush right away. No need to search anymore.
+                    timeMillis = 0;
+                    break;
+                }
+
+                continue;
             }
 
             timeMillis = MathHelpers.minMax(this.config.getFlushThresholdTime().minus(a.getElapsedSinceLastFlush()).toMillis(), minTimeMillis, timeMillis);
@@ -446,6 +567,10 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
         return Duration.ofMillis(timeMillis);
     }
 
+    private int getActiveFlushCount() {
+        return (int) this.processors.values().stream().filter(ProcessorCollection::isFlushing).count();
+    }
+
     /**
      * Calculates the amount of delay for an iteration start, based on whether the previous iteration resulted in an error or not.
      */
@@ -498,6 +623,8 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
      */
     private static class FlushStageResult extends WriterFlushResult {
         int count;
+        int startedCount;
+        int activeCount;
 
         @Override
         public FlushStageResult withFlushResult(WriterFlushResult flushResult) {
@@ -507,7 +634,7 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
 
         @Override
         public String toString() {
-            return String.format("Count=%d, %s", this.count, super.toString());
+            return String.format("Count=%d, Started=%d, Active=%d, %s", this.count, this.startedCount, this.activeCount, super.toString());
         }
     }
 
@@ -542,10 +669,21 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
 
     /**
      * Wraps a collection of WriterSegmentProcessors, including the main Segment Aggregator.
+     * <p>
+     * The WriterSegmentProcessors may not be modified while they are being flushed; any operations added in the meantime
+     * are held back until the flush is done. This class is not thread safe and should only be used from the StorageWriter's
+     * main loop (flushes run in the background, but their results are only collected from there). For the same reason, the
+     * WriterSegmentProcessors are not queried while a flush is in progress: isClosed() and getLowestUncommittedSequenceNumber()
+     * return the values they had when the flush began (which are conservative, since a flush can only commit data), and
+     * the actual values once the flush has completed.
      */
     private class ProcessorCollection implements WriterSegmentProcessor {
         private final SegmentAggregator aggregator;
         private final List<WriterSegmentProcessor> processors;
+        private final ArrayDeque<SegmentOperation> pendingOperations;
+        private CompletableFuture<WriterFlushResult> activeFlush;
+        private boolean closedBeforeFlush;
+        private long lowestUncommittedSeqNoBeforeFlush;
 
         ProcessorCollection(SegmentAggregator aggregator, Collection<WriterSegmentProcessor> processors) {
             // We separate out the main SegmentAggregator since we depend on it for some operations, however when we
@@ -553,6 +691,7 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
             // to process we need to ensure that no other processor may see those operations before the Segment Aggregator.
             this.aggregator = aggregator;
             this.processors = ImmutableList.<WriterSegmentProcessor>builder().add(aggregator).addAll(processors).build();
+            this.pendingOperations = new ArrayDeque<>();
         }
 
         //region SegmentAggregator direct wrapper
@@ -578,6 +717,102 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
             return this.aggregator.getMetadata().isDeletedInStorage() || !this.aggregator.getMetadata().isActive();
         }
 
+        /**
+         * Gets a value indicating how urgently this collection needs to be flushed. This is made up of the age of its
+         * unflushed data and of the amount of it (each relative to its flush threshold), with the latter weighing more as
+         * the cache fills up, since unflushed data cannot be evicted from the cache.
+         *
+         * @param cacheUtilization The current cache utilization.
+         */
+        double getFlushPriority(double cacheUtilization) {
+            val metadata = this.aggregator.getMetadata();
+            double age = (double) getElapsedSinceLastFlush().toMillis() / Math.max(1, config.getFlushThresholdTime().toMillis());
+            double size = (double) Math.max(0, metadata.getLength() - metadata.getStorageLength()) / Math.max(1, config.getFlushThresholdBytes());
+            return age + size * (1 + Math.max(0, cacheUtilization));
+        }
+
+        //endregion
+
+        //region Background Flushing
+
+        /**
+         * Gets a value indicating whether a flush is currently in progress.
+         */
+        boolean isFlushing() {
+            return this.activeFlush != null && !this.activeFlush.isDone();
+        }
+
+        /**
+         * Gets a value indicating whether a flush has completed, but its result has not yet been collected.
+         */
+        boolean hasCompletedFlush() {
+            return this.activeFlush != null && this.activeFlush.isDone();
+        }
+
+        /**
+         * Gets the flush that is in progress or whose result has not yet been collected, or null if there is none.
+         */
+        CompletableFuture<WriterFlushResult> getActiveFlush() {
+            return this.activeFlush;
+        }
+
+        /**
+         * Begins flushing all the processors in this collection.
+         *
+         * @param timeout Timeout for the operation.
+         * @return A CompletableFuture that, when completed, will indicate that the flush is done. Its result must be
+         * collected using collectFlushResult().
+         */
+        CompletableFuture<WriterFlushResult> beginFlush(Duration timeout) {
+            Preconditions.checkState(this.activeFlush == null, "A flush is already in progress.");
+            this.closedBeforeFlush = isClosed();
+            this.lowestUncommittedSeqNoBeforeFlush = getLowestUncommittedSequenceNumber();
+            CompletableFuture<WriterFlushResult> result;
+            try {
+                result = flush(timeout);
+            } catch (Throwable ex) {
+                // Convert synchronous errors into async errors; they will be handled when the result is collected.
+                result = Futures.failedFuture(ex);
+            }
+
+            this.activeFlush = result;
+            return result;
+        }
+
+        /**
+         * Collects the result of the last flush, if it has completed.
+         *
+         * @return The result of the flush, or null if there was no flush or it has not completed yet.
+         * @throws CompletionException If the flush failed.
+         */
+        WriterFlushResult collectFlushResult() {
+            if (!hasCompletedFlush()) {
+                return null;
+            }
+
+            CompletableFuture<WriterFlushResult> flush = this.activeFlush;
+            this.activeFlush = null;
+            return flush.join();
+        }
+
+        /**
+         * Adds to the processors any operations that were held back while a flush was in progress.
+         *
+         * @throws DataCorruptionException If any of the processors rejected an operation.
+         */
+        void applyPendingOperations() throws DataCorruptionException {
+            Preconditions.checkState(!isFlushing(), "Cannot apply pending operations while a flush is in progress.");
+            while (!this.pendingOperations.isEmpty()) {
+                addToProcessors(this.pendingOperations.removeFirst());
+            }
+        }
+
+        private void addToProcessors(SegmentOperation operation) throws DataCorruptionException {
+            for (WriterSegmentProcessor wsp : this.processors) {
+                wsp.add(operation);
+            }
+        }
+
         //endregion
 
         //region WriterSegmentProcessor Implementation
@@ -589,14 +824,31 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
 
         @Override
         public boolean isClosed() {
+            if (isFlushing()) {
+                return this.closedBeforeFlush;
+            }
+
             return this.processors.stream().allMatch(WriterSegmentProcessor::isClosed);
         }
 
         @Override
         public long getLowestUncommittedSequenceNumber() {
-            return this.processors.size() == 1
-                    ? this.processors.get(0).getLowestUncommittedSequenceNumber()
-                    : StorageWriter.this.ackCalculator.getLowestUncommittedSequenceNumber(this.processors);
+            long result;
+            if (isFlushing()) {
+                result = this.lowestUncommittedSeqNoBeforeFlush;
+            } else {
+                result = this.processors.size() == 1
+                        ? this.processors.get(0).getLowestUncommittedSequenceNumber()
+                        : StorageWriter.this.ackCalculator.getLowestUncommittedSequenceNumber(this.processors);
+            }
+
+            if (!this.pendingOperations.isEmpty()) {
+                // Held back operations have not been committed either.
+                long firstPending = this.pendingOperations.peekFirst().getSequenceNumber();
+                result = result < 0 ? firstPending : Math.min(result, firstPending);
+            }
+
+            return result;
         }
 
         @Override
@@ -606,9 +858,14 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
 
         @Override
         public void add(SegmentOperation operation) throws DataCorruptionException {
-            for (WriterSegmentProcessor wsp : this.processors) {
-                wsp.add(operation);
+            if (isFlushing()) {
+                // Hold on to this operation until the flush is done.
+                this.pendingOperations.addLast(operation);
+                return;
             }
+
+            applyPendingOperations();
+            addToProcessors(operation);
         }
 
         @Override
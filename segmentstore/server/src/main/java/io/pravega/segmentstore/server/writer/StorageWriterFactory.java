@@ -140,6 +140,11 @@ public class StorageWriterFactory implements WriterFactory {
             return this.containerMetadata.getStreamSegmentMetadata(streamSegmentId);
         }
 
+        @Override
+        public double getCacheUtilization() {
+            return this.readIndex.getCacheUtilization();
+        }
+
         @Override
         public InputStream getAppendData(long streamSegmentId, long startOffset, int length) {
             try {
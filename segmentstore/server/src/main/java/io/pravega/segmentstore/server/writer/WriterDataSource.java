@@ -123,4 +123,13 @@ interface WriterDataSource {
      * @return The mapped StreamSegmentMetadata, or null if none is.
      */
     UpdateableSegmentMetadata getStreamSegmentMetadata(long streamSegmentId);
+
+    /**
+     * Gets a value representing the current cache utilization, as a ratio of cache used to cache max size. Data that has
+     * not yet been flushed to Storage cannot be evicted from the cache, so higher values indicate that flushing should
+     * favor those Segments with more outstanding data.
+     *
+     * @return The cache utilization.
+     */
+    double getCacheUtilization();
 }
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server;
+
+import io.pravega.test.common.AssertExtensions;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the FrequencyAwareEvictionStrategy class.
+ */
+public class FrequencyAwareEvictionStrategyTests {
+    private static final int WIDTH = 1024;
+    private static final int THRESHOLD = 3;
+    private static final int MAX_FREQUENCY = 15;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10);
+
+    /**
+     * Tests the ability to estimate access frequencies.
+     */
+    @Test
+    public void testFrequency() {
+        // Use a large width so that the likelihood of collisions is negligible.
+        FrequencyAwareEvictionStrategy s = new FrequencyAwareEvictionStrategy(FrequencyAwareEvictionStrategy.DEFAULT_WIDTH, THRESHOLD);
+        final int entryCount = 100;
+        for (int hash = 0; hash < entryCount; hash++) {
+            for (int i = 0; i < hash % MAX_FREQUENCY; i++) {
+                s.recordAccess(hash);
+            }
+        }
+
+        for (int hash = 0; hash < entryCount; hash++) {
+            Assert.assertEquals("Unexpected frequency for " + hash, hash % MAX_FREQUENCY, s.getFrequency(hash));
+        }
+
+        // Verify counters saturate.
+        for (int i = 0; i < 2 * MAX_FREQUENCY; i++) {
+            s.recordAccess(entryCount);
+        }
+
+        Assert.assertEquals("Unexpected frequency for saturated counter.", MAX_FREQUENCY, s.getFrequency(entryCount));
+    }
+
+    /**
+     * Tests the fact that frequencies are halved periodically.
+     */
+    @Test
+    public void testAging() {
+        FrequencyAwareEvictionStrategy s = new FrequencyAwareEvictionStrategy(WIDTH, THRESHOLD);
+        final int hotHash = -1;
+        for (int i = 0; i < MAX_FREQUENCY; i++) {
+            s.recordAccess(hotHash);
+        }
+
+        // Record enough other accesses to trigger aging (10 * WIDTH accesses in total). Use a few distinct hashes so
+        // that they do not collide with the hot one.
+        int accessCount = MAX_FREQUENCY;
+        int otherHash = 0;
+        while (accessCount < 10 * WIDTH - 1) {
+            s.recordAccess(otherHash);
+            otherHash = (otherHash + 1) % 8;
+            accessCount++;
+        }
+
+        int frequency = s.getFrequency(hotHash);
+        Assert.assertEquals("Not expecting aging yet.", MAX_FREQUENCY, frequency);
+        s.recordAccess(otherHash);
+        frequency = s.getFrequency(hotHash);
+        Assert.assertEquals("Expected frequency to be halved.", MAX_FREQUENCY / 2, frequency);
+    }
+
+    /**
+     * Tests the getAdmissionGeneration method.
+     */
+    @Test
+    public void testAdmissionGeneration() {
+        final int currentGeneration = 10;
+        final int oldestGeneration = 2;
+        FrequencyAwareEvictionStrategy s = new FrequencyAwareEvictionStrategy(FrequencyAwareEvictionStrategy.DEFAULT_WIDTH, THRESHOLD);
+        final int hash = 12345;
+        for (int i = 0; i < THRESHOLD; i++) {
+            Assert.assertEquals("Expected infrequent entry to be admitted in the oldest generation.",
+                    oldestGeneration, s.getAdmissionGeneration(hash, currentGeneration, oldestGeneration));
+            s.recordAccess(hash);
+        }
+
+        Assert.assertEquals("Expected frequent entry to be admitted in the current generation.",
+                currentGeneration, s.getAdmissionGeneration(hash, currentGeneration, oldestGeneration));
+    }
+
+    /**
+     * Tests the shouldPromote method.
+     */
+    @Test
+    public void testShouldPromote() {
+        FrequencyAwareEvictionStrategy s = new FrequencyAwareEvictionStrategy(FrequencyAwareEvictionStrategy.DEFAULT_WIDTH, THRESHOLD);
+        final int hash = 12345;
+        for (int i = 0; i < THRESHOLD; i++) {
+            Assert.assertFalse("Expected infrequent entry not to be promoted.", s.shouldPromote(hash, true));
+            s.recordAccess(hash);
+        }
+
+        Assert.assertTrue("Expected frequent entry to be promoted.", s.shouldPromote(hash, true));
+        Assert.assertFalse("Not expecting a continuation read to promote an entry.", s.shouldPromote(hash, false));
+        Assert.assertTrue("Expected the default strategy to always promote.", CacheEvictionStrategy.GENERATIONAL.shouldPromote(hash, false));
+    }
+
+    /**
+     * Tests the constructor's argument validation.
+     */
+    @Test
+    public void testInvalidArguments() {
+        AssertExtensions.assertThrows(
+                "Constructor accepted a width that is not a power of 2.",
+                () -> new FrequencyAwareEvictionStrategy(1000, THRESHOLD),
+                ex -> ex instanceof IllegalArgumentException);
+        AssertExtensions.assertThrows(
+                "Constructor accepted a width that is too small.",
+                () -> new FrequencyAwareEvictionStrategy(8, THRESHOLD),
+                ex -> ex instanceof IllegalArgumentException);
+        AssertExtensions.assertThrows(
+                "Constructor accepted an invalid threshold.",
+                () -> new FrequencyAwareEvictionStrategy(WIDTH, 0),
+                ex -> ex instanceof IllegalArgumentException);
+        AssertExtensions.assertThrows(
+                "Constructor accepted an invalid threshold.",
+                () -> new FrequencyAwareEvictionStrategy(WIDTH, MAX_FREQUENCY + 1),
+                ex -> ex instanceof IllegalArgumentException);
+    }
+}
@@ -225,6 +225,70 @@ public class StreamSegmentContainerMetadataTests {
         Assert.assertFalse("Truncation Points were not reset.", m.isValidTruncationPoint(truncationMarkerSeqNo));
     }
 
+    /**
+     * Tests the ability to keep track of Segments whose Storage state (StorageLength, SealedInStorage, DeletedInStorage)
+     * changed, and to clear those changes up to a certain point.
+     */
+    @Test
+    public void testStorageStateChanges() {
+        final UpdateableContainerMetadata m = new MetadataBuilder(CONTAINER_ID).build();
+        for (long segmentId = 0; segmentId < SEGMENT_COUNT; segmentId++) {
+            UpdateableSegmentMetadata sm = m.mapStreamSegmentId(getName(segmentId), segmentId);
+            sm.setLength(segmentId + 1);
+        }
+
+        Assert.assertTrue("Not expecting any Storage state changes yet.", m.getStorageStateChangedSegmentIds().isEmpty());
+
+        // Change the Storage state of every segment, using every possible way to do so.
+        val expectedChanges = new HashSet<Long>();
+        for (long segmentId = 0; segmentId < SEGMENT_COUNT; segmentId++) {
+            UpdateableSegmentMetadata sm = m.getStreamSegmentMetadata(segmentId);
+            long lastChange = m.getLastStorageStateChange();
+            switch ((int) (segmentId % 3)) {
+                case 0:
+                    sm.setStorageLength(sm.getLength());
+                    break;
+                case 1:
+                    sm.markSealed();
+                    sm.markSealedInStorage();
+                    break;
+                default:
+                    sm.markDeleted();
+                    sm.markDeletedInStorage();
+                    break;
+            }
+
+            expectedChanges.add(segmentId);
+            AssertExtensions.assertGreaterThan("Expected LastStorageStateChange to increase.", lastChange, m.getLastStorageStateChange());
+        }
+
+        AssertExtensions.assertContainsSameElements("Unexpected Storage state changes.", expectedChanges, m.getStorageStateChangedSegmentIds());
+
+        // Setting the same values again is not a change.
+        long midpoint = m.getLastStorageStateChange();
+        for (long segmentId = 0; segmentId < SEGMENT_COUNT; segmentId++) {
+            UpdateableSegmentMetadata sm = m.getStreamSegmentMetadata(segmentId);
+            sm.setStorageLength(sm.getStorageLength());
+        }
+
+        Assert.assertEquals("Not expecting LastStorageStateChange to change when nothing changed.", midpoint, m.getLastStorageStateChange());
+
+        // Change some segments again, then clear up to the midpoint. Only the segments changed after it should remain.
+        expectedChanges.clear();
+        for (long segmentId = 0; segmentId < SEGMENT_COUNT; segmentId += 3) {
+            UpdateableSegmentMetadata sm = m.getStreamSegmentMetadata(segmentId);
+            sm.setLength(sm.getLength() + 1);
+            sm.setStorageLength(sm.getLength());
+            expectedChanges.add(segmentId);
+        }
+
+        m.clearStorageStateChanges(midpoint);
+        AssertExtensions.assertContainsSameElements("Unexpected Storage state changes after partial clear.", expectedChanges, m.getStorageStateChangedSegmentIds());
+
+        m.clearStorageStateChanges(m.getLastStorageStateChange());
+        Assert.assertTrue("Not expecting any Storage state changes after full clear.", m.getStorageStateChangedSegmentIds().isEmpty());
+    }
+
     /**
      * Tests the Truncation Marker functionality (truncation points is tested separately).
      */
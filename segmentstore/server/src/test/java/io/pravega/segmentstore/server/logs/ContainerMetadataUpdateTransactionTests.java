@@ -29,6 +29,7 @@ import io.pravega.segmentstore.server.UpdateableContainerMetadata;
 import io.pravega.segmentstore.server.UpdateableSegmentMetadata;
 import io.pravega.segmentstore.server.containers.StreamSegmentMetadata;
 import io.pravega.segmentstore.server.logs.operations.DeleteSegmentOperation;
+import io.pravega.segmentstore.server.logs.operations.DeltaMetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.MergeSegmentOperation;
 import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.Operation;
@@ -1062,6 +1063,66 @@ public class ContainerMetadataUpdateTransactionTests {
         assertMetadataSame("Unexpected metadata after applying storage checkpoint.", metadata1, metadata2);
     }
 
+    /**
+     * Tests the processMetadataOperation method with DeltaMetadataCheckpoint operations.
+     */
+    @Test
+    public void testProcessDeltaMetadataCheckpoint() throws Exception {
+        // When encountering DeltaMetadataCheckpoint in non-Recovery Mode, the ContainerMetadataUpdateTransaction serializes a
+        // snapshot of only those segments whose Storage state changed since the last full MetadataCheckpoint inside the
+        // Operation.
+        // When encountering DeltaMetadataCheckpoint in Recovery Mode, the ContainerMetadataUpdateTransaction applies the
+        // Storage state of the segments in it to the container metadata (inside the transaction).
+        AtomicLong seqNo = new AtomicLong();
+
+        // Create a non-empty metadata and take a full snapshot of it before making any changes.
+        this.timeProvider.setElapsedMillis(1234);
+        val metadata1 = createMetadata();
+        val txn1 = createUpdateTransaction(metadata1);
+        val fullCheckpoint = createMetadataCheckpoint();
+        processOperation(fullCheckpoint, txn1, seqNo::incrementAndGet);
+        Assert.assertEquals("Unexpected LastFullCheckpointSequenceNumber.",
+                fullCheckpoint.getSequenceNumber(), txn1.getLastFullCheckpointSequenceNumber());
+
+        // Use one of the segments, then apply current metadata. Committing the full checkpoint clears all prior Storage
+        // state changes.
+        processOperation(createAppendNoOffset(), txn1, seqNo::incrementAndGet);
+        txn1.commit(metadata1);
+        Assert.assertTrue("Not expecting any Storage state changes after committing a full checkpoint.",
+                metadata1.getStorageStateChangedSegmentIds().isEmpty());
+
+        // Update the storage state for a segment that we did not use (i.e., the StorageWriter flushed it).
+        val usedSegment = metadata1.getStreamSegmentMetadata(SEGMENT_ID);
+        val unusedSegment = metadata1.getStreamSegmentMetadata(SEALED_SOURCE_ID);
+        long unusedLastUsed = unusedSegment.getLastUsed();
+        unusedSegment.markSealedInStorage();
+        Assert.assertEquals("Not expecting LastUsed to change when updating the Storage state.", unusedLastUsed, unusedSegment.getLastUsed());
+        AssertExtensions.assertContainsSameElements("Unexpected segments with Storage state changes.",
+                Collections.singleton(SEALED_SOURCE_ID), metadata1.getStorageStateChangedSegmentIds());
+
+        // Take a delta checkpoint. It should only contain the segment whose Storage state changed, hence it should be smaller.
+        val txn2 = new ContainerMetadataUpdateTransaction(metadata1, metadata1, 1, txn1.getLastFullCheckpointSequenceNumber());
+        val deltaCheckpoint = createDeltaMetadataCheckpoint();
+        processOperation(deltaCheckpoint, txn2, seqNo::incrementAndGet);
+        AssertExtensions.assertLessThan("Expected the delta checkpoint to be smaller than the full one.",
+                fullCheckpoint.getContents().getLength(), deltaCheckpoint.getContents().getLength());
+
+        // Create a new metadata and apply both checkpoints during recovery.
+        val metadata2 = createBlankMetadata();
+        metadata2.enterRecoveryMode();
+        val txn3 = createUpdateTransaction(metadata2);
+        processOperation(fullCheckpoint, txn3, () -> 1L);
+        txn3.preProcessOperation(deltaCheckpoint);
+        txn3.commit(metadata2);
+        metadata2.exitRecoveryMode();
+
+        // Verify that the Storage state of the segment we did not use was updated, and that of the other one was not.
+        Assert.assertTrue("Expected the Storage state of the segment included in delta checkpoint to be recovered.",
+                metadata2.getStreamSegmentMetadata(SEALED_SOURCE_ID).isSealedInStorage());
+        Assert.assertEquals("Unexpected StorageLength for segment not included in delta checkpoint.",
+                usedSegment.getStorageLength(), metadata2.getStreamSegmentMetadata(SEGMENT_ID).getStorageLength());
+    }
+
     /**
      * Tests the processMetadataOperation method with MetadataCheckpoint operations, when such checkpoints are skipped over
      * because they are after other operations.
@@ -1479,6 +1540,10 @@ public class ContainerMetadataUpdateTransactionTests {
         return new StorageMetadataCheckpointOperation();
     }
 
+    private DeltaMetadataCheckpointOperation createDeltaMetadataCheckpoint() {
+        return new DeltaMetadataCheckpointOperation();
+    }
+
     private void processOperation(Operation operation, ContainerMetadataUpdateTransaction txn, Supplier<Long> getSeqNo) throws Exception {
         txn.preProcessOperation(operation);
         if (operation.getSequenceNumber() < 0) {
@@ -23,6 +23,7 @@ import io.pravega.test.common.ThreadPooledTestSuite;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -90,6 +91,48 @@ public class DataFrameReaderTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the ability to read from a DataLog that contains both compressed and uncompressed DataFrames.
+     */
+    @Test
+    public void testReadsMixedCompression() throws Exception {
+        int count = 200;
+        ArrayList<byte[]> rawRecords = DataFrameTestHelpers.generateRecords(count, SMALL_RECORD_MIN_SIZE, LARGE_RECORD_MAX_SIZE);
+        ArrayList<TestLogItem> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Only keep the first few bytes random, so that the records are compressible.
+            byte[] data = rawRecords.get(i);
+            Arrays.fill(data, Math.min(data.length, 16), data.length, (byte) 0);
+            records.add(new TestLogItem(i, data));
+        }
+
+        try (TestDurableDataLog dataLog = TestDurableDataLog.create(CONTAINER_ID, FRAME_SIZE, executorService())) {
+            dataLog.initialize(TIMEOUT);
+
+            BiConsumer<Throwable, DataFrameBuilder.CommitArgs> errorCallback = (ex, a) ->
+                    Assert.fail(String.format("Unexpected error occurred upon commit. %s", ex));
+
+            // Write the first half of the records uncompressed, and the second half compressed.
+            val uncompressedArgs = new DataFrameBuilder.Args(Callbacks::doNothing, Callbacks::doNothing, errorCallback, executorService());
+            val compressedArgs = new DataFrameBuilder.Args(Callbacks::doNothing, Callbacks::doNothing, errorCallback, executorService(),
+                    CompressionCodec.DEFLATE, 0);
+            for (val args : Arrays.asList(uncompressedArgs, compressedArgs)) {
+                try (DataFrameBuilder<TestLogItem> b = new DataFrameBuilder<>(dataLog, SERIALIZER, args)) {
+                    int startIndex = args == uncompressedArgs ? 0 : count / 2;
+                    for (int i = startIndex; i < startIndex + count / 2; i++) {
+                        b.append(records.get(i));
+                    }
+                    b.flush();
+                }
+            }
+
+            TestSerializer logItemFactory = new TestSerializer();
+            DataFrameReader<TestLogItem> reader = new DataFrameReader<>(dataLog, logItemFactory, CONTAINER_ID);
+            List<TestLogItem> readItems = readAll(reader);
+            checkReadResult(records, new HashSet<>(), readItems);
+        }
+    }
+
     /**
      * Tests the case when we begin reading from a DataFrame which begins with a partial record. That record needs to
      * be dropped (not returned). DataFrameReader should always return full records.
@@ -9,9 +9,11 @@
  */
 package io.pravega.segmentstore.server.logs;
 
+import io.pravega.common.io.SerializationException;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.storage.LogAddress;
 import io.pravega.test.common.AssertExtensions;
+import java.util.Arrays;
 import java.util.List;
 import lombok.val;
 import org.junit.Assert;
@@ -53,6 +55,112 @@ public class DataFrameTests {
         DataFrameTestHelpers.checkReadRecords(contents, allRecords, b -> b);
     }
 
+    /**
+     * Tests the ability to compress a DataFrame and read its records back.
+     */
+    @Test
+    public void testCompression() throws Exception {
+        int maxFrameSize = 1024 * 1024;
+        List<ByteArraySegment> allRecords = DataFrameTestHelpers.generateRecords(4000, 0, 1024, r -> {
+            // Only keep the first few bytes random, so that the records are compressible.
+            Arrays.fill(r, Math.min(r.length, 16), r.length, (byte) 0);
+            return new ByteArraySegment(r);
+        });
+
+        DataFrame writeFrame = DataFrame.ofSize(maxFrameSize);
+        appendRecords(allRecords, writeFrame);
+        AssertExtensions.assertThrows(
+                "compress() worked on a non-sealed frame.",
+                () -> writeFrame.compress(CompressionCodec.DEFLATE, 0),
+                ex -> ex instanceof IllegalStateException);
+        writeFrame.seal();
+        int uncompressedLength = writeFrame.getLength();
+
+        // Frames that are not large enough, or which are to be compressed with NONE, should not be compressed.
+        Assert.assertFalse("Frame compressed even though it was smaller than the minimum length.", writeFrame.compress(CompressionCodec.DEFLATE, maxFrameSize));
+        Assert.assertFalse("Frame compressed using NONE.", writeFrame.compress(CompressionCodec.NONE, 0));
+        Assert.assertEquals("Unexpected length for uncompressed frame.", uncompressedLength, writeFrame.getLength());
+
+        Assert.assertTrue("Frame not compressed.", writeFrame.compress(CompressionCodec.DEFLATE, 0));
+        Assert.assertFalse("Frame compressed twice.", writeFrame.compress(CompressionCodec.DEFLATE, 0));
+        val frameData = writeFrame.getData();
+        Assert.assertEquals("Unexpected length from getData().", writeFrame.getLength(), frameData.getLength());
+        AssertExtensions.assertLessThan("Expected compressed frame to be smaller.", uncompressedLength, frameData.getLength());
+
+        val contents = DataFrame.read(frameData.getReader(), frameData.getLength(), writeFrame.getAddress());
+        DataFrameTestHelpers.checkReadRecords(contents, allRecords, b -> b);
+
+        // Frames that do not compress well should be left uncompressed.
+        List<ByteArraySegment> randomRecords = DataFrameTestHelpers.generateRecords(4000, 0, 1024, ByteArraySegment::new);
+        DataFrame randomFrame = DataFrame.ofSize(maxFrameSize);
+        appendRecords(randomRecords, randomFrame);
+        randomFrame.seal();
+        Assert.assertFalse("Frame with random data compressed.", randomFrame.compress(CompressionCodec.DEFLATE, 0));
+        val randomContents = DataFrame.read(randomFrame.getData().getReader(), randomFrame.getLength(), randomFrame.getAddress());
+        DataFrameTestHelpers.checkReadRecords(randomContents, randomRecords, b -> b);
+    }
+
+    /**
+     * Tests that compressed DataFrames are written using a different frame version than uncompressed ones, and that
+     * frames with unknown versions (or whose version does not match their compression flags) are rejected.
+     */
+    @Test
+    public void testFrameVersions() throws Exception {
+        final int versionOffset = 0;
+        final int flagsOffset = Byte.BYTES + Integer.BYTES;
+        int maxFrameSize = 1024 * 1024;
+        List<ByteArraySegment> allRecords = DataFrameTestHelpers.generateRecords(100, 0, 1024, r -> {
+            Arrays.fill(r, (byte) 0);
+            return new ByteArraySegment(r);
+        });
+
+        DataFrame uncompressedFrame = DataFrame.ofSize(maxFrameSize);
+        appendRecords(allRecords, uncompressedFrame);
+        uncompressedFrame.seal();
+        byte[] uncompressedData = uncompressedFrame.getData().getCopy();
+
+        DataFrame compressedFrame = DataFrame.ofSize(maxFrameSize);
+        appendRecords(allRecords, compressedFrame);
+        compressedFrame.seal();
+        Assert.assertTrue("Frame not compressed.", compressedFrame.compress(CompressionCodec.DEFLATE, 0));
+        byte[] compressedData = compressedFrame.getData().getCopy();
+        Assert.assertNotEquals("Expected compressed and uncompressed frames to have different versions.",
+                uncompressedData[versionOffset], compressedData[versionOffset]);
+
+        // Unknown version.
+        byte[] unknownVersion = uncompressedData.clone();
+        unknownVersion[versionOffset] = (byte) (Math.max(uncompressedData[versionOffset], compressedData[versionOffset]) + 1);
+        checkReadFails(unknownVersion, uncompressedFrame.getAddress());
+
+        // Uncompressed version with the compressed flag set.
+        byte[] uncompressedWithFlag = uncompressedData.clone();
+        uncompressedWithFlag[flagsOffset] = compressedData[flagsOffset];
+        checkReadFails(uncompressedWithFlag, uncompressedFrame.getAddress());
+
+        // Compressed frame with the uncompressed version.
+        byte[] compressedWithOldVersion = compressedData.clone();
+        compressedWithOldVersion[versionOffset] = uncompressedData[versionOffset];
+        checkReadFails(compressedWithOldVersion, compressedFrame.getAddress());
+
+        // Compressed version without the compressed flag set.
+        byte[] compressedWithoutFlag = compressedData.clone();
+        compressedWithoutFlag[flagsOffset] = uncompressedData[flagsOffset];
+        checkReadFails(compressedWithoutFlag, compressedFrame.getAddress());
+
+        // Sanity check: the original frames are still readable.
+        DataFrameTestHelpers.checkReadRecords(DataFrame.read(new ByteArraySegment(uncompressedData), uncompressedFrame.getAddress()),
+                allRecords, b -> b);
+        DataFrameTestHelpers.checkReadRecords(DataFrame.read(new ByteArraySegment(compressedData), compressedFrame.getAddress()),
+                allRecords, b -> b);
+    }
+
+    private void checkReadFails(byte[] frameData, LogAddress address) {
+        AssertExtensions.assertThrows(
+                "read() accepted an invalid DataFrame.",
+                () -> DataFrame.read(new ByteArraySegment(frameData), address),
+                ex -> ex instanceof SerializationException);
+    }
+
     /**
      * Tests the ability to Start/End/Discard an entry.
      */
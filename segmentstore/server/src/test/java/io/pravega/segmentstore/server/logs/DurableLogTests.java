@@ -32,6 +32,7 @@ import io.pravega.segmentstore.server.TestDurableDataLogFactory;
 import io.pravega.segmentstore.server.UpdateableContainerMetadata;
 import io.pravega.segmentstore.server.UpdateableSegmentMetadata;
 import io.pravega.segmentstore.server.containers.StreamSegmentContainerMetadata;
+import io.pravega.segmentstore.server.logs.operations.DeltaMetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.OperationComparer;
@@ -1324,6 +1325,96 @@ public class DurableLogTests extends OperationLogTestBase {
         }
     }
 
+    /**
+     * Tests the ability to recover Storage-related metadata (StorageLength and IsSealedInStorage) from a
+     * DeltaMetadataCheckpointOperation, for Segments whose Storage state changed after the last full MetadataCheckpoint
+     * without them having been otherwise accessed (i.e., the StorageWriter flushed them).
+     */
+    @Test
+    public void testRecoveryWithDeltaMetadataCheckpoints() {
+        int streamSegmentCount = 50;
+        int appendsPerStreamSegment = 20;
+
+        // Setup a DurableLog and start it.
+        @Cleanup
+        TestDurableDataLogFactory dataLogFactory = new TestDurableDataLogFactory(new InMemoryDurableDataLogFactory(MAX_DATA_LOG_APPEND_SIZE, executorService()));
+        @Cleanup
+        Storage storage = InMemoryStorageFactory.newStorage(executorService());
+        storage.initialize(1);
+        val metadata1 = new MetadataBuilder(CONTAINER_ID).build();
+
+        @Cleanup
+        InMemoryCacheFactory cacheFactory = new InMemoryCacheFactory();
+        @Cleanup
+        CacheManager cacheManager = new CacheManager(CachePolicy.INFINITE, executorService());
+        @Cleanup
+        val readIndex1 = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata1, cacheFactory, storage, cacheManager, executorService());
+        Set<Long> streamSegmentIds;
+        Set<Long> flushedSegmentIds = new HashSet<>();
+
+        // First DurableLog. We use this for generating data.
+        try (DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata1, dataLogFactory, readIndex1, executorService())) {
+            durableLog.startAsync().awaitRunning();
+
+            // Generate some test data (we need to do this after we started the DurableLog because in the process of
+            // recovery, it wipes away all existing metadata).
+            streamSegmentIds = createStreamSegmentsWithOperations(streamSegmentCount, durableLog);
+            List<Operation> queuedOperations = generateOperations(streamSegmentIds, new HashMap<>(), appendsPerStreamSegment, METADATA_CHECKPOINT_EVERY, false, true);
+            OperationWithCompletion.allOf(processOperations(queuedOperations, durableLog)).join();
+
+            // Take a full checkpoint after all the operations have been processed.
+            durableLog.add(new MetadataCheckpointOperation(), TIMEOUT).join();
+
+            // Simulate the StorageWriter flushing half of the segments (and sealing them in Storage, if sealed). This
+            // does not touch the segments in any other way.
+            boolean flush = false;
+            for (long segmentId : streamSegmentIds) {
+                flush = !flush;
+                if (flush) {
+                    val sm = metadata1.getStreamSegmentMetadata(segmentId);
+                    long lastUsed = sm.getLastUsed();
+                    sm.setStorageLength(sm.getLength());
+                    if (sm.isSealed()) {
+                        sm.markSealedInStorage();
+                    }
+
+                    Assert.assertEquals("Not expecting LastUsed to change when updating the Storage state.", lastUsed, sm.getLastUsed());
+                    flushedSegmentIds.add(segmentId);
+                }
+            }
+
+            AssertExtensions.assertContainsSameElements("Unexpected segments with Storage state changes.",
+                    flushedSegmentIds, metadata1.getStorageStateChangedSegmentIds());
+
+            // Take a delta checkpoint, which should include the flushed segments.
+            durableLog.add(new DeltaMetadataCheckpointOperation(), TIMEOUT).join();
+
+            // Stop the processor.
+            durableLog.stopAsync().awaitTerminated();
+        }
+
+        // Start a second DurableLog and then verify the metadata.
+        val metadata2 = new MetadataBuilder(CONTAINER_ID).build();
+        @Cleanup
+        val readIndex2 = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata2, cacheFactory, storage, cacheManager, executorService());
+        try (DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata2, dataLogFactory, readIndex2, executorService())) {
+            durableLog.startAsync().awaitRunning();
+
+            // Check Metadata1 vs Metadata2
+            for (long segmentId : streamSegmentIds) {
+                val sm1 = metadata1.getStreamSegmentMetadata(segmentId);
+                val sm2 = metadata2.getStreamSegmentMetadata(segmentId);
+                Assert.assertEquals("StorageLength differs for recovered segment " + segmentId,
+                        sm1.getStorageLength(), sm2.getStorageLength());
+                Assert.assertEquals("IsSealedInStorage differs for recovered segment " + segmentId,
+                        sm1.isSealedInStorage(), sm2.isSealedInStorage());
+            }
+
+            // Stop the processor.
+            durableLog.stopAsync().awaitTerminated();
+        }
+    }
+
     //endregion
 
     //region Helpers
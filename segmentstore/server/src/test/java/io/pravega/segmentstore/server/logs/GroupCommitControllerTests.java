@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.test.common.AssertExtensions;
+import java.time.Duration;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the GroupCommitController class.
+ */
+public class GroupCommitControllerTests {
+    private static final int CONTAINER_ID = 1;
+    private static final Duration TARGET_LATENCY = Duration.ofMillis(50);
+
+    /**
+     * Tests the behavior when adaptive group commits are disabled.
+     */
+    @Test
+    public void testDisabled() {
+        val c = new GroupCommitController(Duration.ZERO, CONTAINER_ID);
+        recordWrites(c, GroupCommitController.SAMPLE_COUNT, TARGET_LATENCY.multipliedBy(10));
+        Assert.assertEquals("Unexpected MaxInFlightCount.", GroupCommitController.MAX_IN_FLIGHT_COUNT, c.getMaxInFlightCount());
+        Assert.assertTrue("Expected flush when disabled.", c.shouldFlush(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Tests the shouldFlush() method with respect to the number of in-flight DataFrames.
+     */
+    @Test
+    public void testShouldFlush() {
+        val c = new GroupCommitController(TARGET_LATENCY, CONTAINER_ID);
+        for (int i = 0; i < GroupCommitController.MAX_IN_FLIGHT_COUNT; i++) {
+            Assert.assertTrue("Expected flush below the in-flight limit.", c.shouldFlush(i));
+        }
+
+        Assert.assertFalse("Not expecting flush at the in-flight limit.", c.shouldFlush(GroupCommitController.MAX_IN_FLIGHT_COUNT));
+        Assert.assertFalse("Not expecting flush above the in-flight limit.", c.shouldFlush(GroupCommitController.MAX_IN_FLIGHT_COUNT + 1));
+    }
+
+    /**
+     * Tests the ability to adjust the in-flight limit based on the observed write latency.
+     */
+    @Test
+    public void testAdjustments() {
+        val c = new GroupCommitController(TARGET_LATENCY, CONTAINER_ID);
+
+        // Latencies under the target, but the limit is never reached: no change expected.
+        recordWrites(c, GroupCommitController.SAMPLE_COUNT, Duration.ofMillis(1));
+        Assert.assertEquals("Not expecting a change without exceeding the target.",
+                GroupCommitController.MAX_IN_FLIGHT_COUNT, c.getMaxInFlightCount());
+
+        // Latencies over the target: the limit should be halved at every adjustment, until it reaches the minimum.
+        int expected = GroupCommitController.MAX_IN_FLIGHT_COUNT;
+        while (expected > GroupCommitController.MIN_IN_FLIGHT_COUNT) {
+            recordWrites(c, GroupCommitController.ADJUST_INTERVAL, TARGET_LATENCY.multipliedBy(2));
+            expected = Math.max(GroupCommitController.MIN_IN_FLIGHT_COUNT, expected / 2);
+            Assert.assertEquals("Expected the limit to be halved after exceeding the target.", expected, c.getMaxInFlightCount());
+        }
+
+        recordWrites(c, GroupCommitController.ADJUST_INTERVAL, TARGET_LATENCY.multipliedBy(2));
+        Assert.assertEquals("Not expecting the limit to go below the minimum.", GroupCommitController.MIN_IN_FLIGHT_COUNT, c.getMaxInFlightCount());
+
+        // Latencies well under the target, while the limit is being hit: the limit should increase by one each time.
+        for (int i = 1; i <= 3; i++) {
+            Assert.assertFalse("Not expecting flush at the in-flight limit.", c.shouldFlush(c.getMaxInFlightCount()));
+            recordWrites(c, GroupCommitController.ADJUST_INTERVAL, Duration.ofMillis(1));
+            Assert.assertEquals("Expected the limit to increase.", GroupCommitController.MIN_IN_FLIGHT_COUNT + i, c.getMaxInFlightCount());
+        }
+
+        // Latencies close to the target (but not above it): no change expected.
+        c.shouldFlush(c.getMaxInFlightCount());
+        recordWrites(c, GroupCommitController.SAMPLE_COUNT, TARGET_LATENCY.minusMillis(1));
+        Assert.assertEquals("Not expecting a change when close to the target.", GroupCommitController.MIN_IN_FLIGHT_COUNT + 3, c.getMaxInFlightCount());
+    }
+
+    /**
+     * Tests that a DurableDataLog that is too slow to ever meet the target does not collapse the in-flight limit, and that
+     * the limit recovers once the latency improves.
+     */
+    @Test
+    public void testSlowLog() {
+        val c = new GroupCommitController(TARGET_LATENCY, CONTAINER_ID);
+        for (int i = 0; i < 100; i++) {
+            c.shouldFlush(c.getMaxInFlightCount());
+            recordWrites(c, GroupCommitController.ADJUST_INTERVAL, TARGET_LATENCY.multipliedBy(10));
+            AssertExtensions.assertGreaterThanOrEqual("Not expecting the limit to go below the minimum.",
+                    GroupCommitController.MIN_IN_FLIGHT_COUNT, c.getMaxInFlightCount());
+        }
+
+        Assert.assertEquals("Expected the limit to settle at the minimum.", GroupCommitController.MIN_IN_FLIGHT_COUNT, c.getMaxInFlightCount());
+        AssertExtensions.assertGreaterThan("Expected the minimum to allow more than one in-flight write.", 1, GroupCommitController.MIN_IN_FLIGHT_COUNT);
+        for (int i = 0; i < GroupCommitController.MIN_IN_FLIGHT_COUNT; i++) {
+            Assert.assertTrue("Expected flush below the minimum in-flight limit.", c.shouldFlush(i));
+        }
+
+        // The log recovers: the limit should go back up.
+        c.shouldFlush(c.getMaxInFlightCount());
+        recordWrites(c, GroupCommitController.ADJUST_INTERVAL, Duration.ofMillis(1));
+        Assert.assertEquals("Expected the limit to increase once the latency improves.",
+                GroupCommitController.MIN_IN_FLIGHT_COUNT + 1, c.getMaxInFlightCount());
+    }
+
+    private void recordWrites(GroupCommitController c, int count, Duration latency) {
+        for (int i = 0; i < count; i++) {
+            c.recordCommit(latency.toNanos());
+        }
+    }
+}
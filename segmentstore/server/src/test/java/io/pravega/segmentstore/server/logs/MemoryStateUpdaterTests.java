@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -124,6 +125,47 @@ public class MemoryStateUpdaterTests extends ThreadPooledTestSuite {
                 ex -> ex instanceof DataCorruptionException);
     }
 
+    /**
+     * Tests the functionality of the process() method when given runs of consecutive appends, which are added to the
+     * ReadIndex in a single batch.
+     */
+    @Test
+    public void testProcessConsecutiveAppends() throws Exception {
+        int appendCount = 10;
+        SequencedItemList<Operation> opLog = new SequencedItemList<>();
+        ArrayList<TestReadIndex.MethodInvocation> methodInvocations = new ArrayList<>();
+        TestReadIndex readIndex = new TestReadIndex(methodInvocations::add);
+        MemoryStateUpdater updater = new MemoryStateUpdater(opLog, readIndex, Runnables.doNothing());
+        ArrayList<Operation> operations = new ArrayList<>();
+        long offset = 0;
+        for (int i = 0; i < appendCount; i++) {
+            StreamSegmentAppendOperation appendOp = new StreamSegmentAppendOperation(i % 2, Integer.toString(i).getBytes(), null);
+            appendOp.setStreamSegmentOffset(offset);
+            appendOp.setSequenceNumber(i);
+            offset += appendOp.getData().length;
+            operations.add(appendOp);
+        }
+
+        updater.process(operations.iterator());
+
+        val appendInvocations = methodInvocations.stream()
+                .filter(mi -> mi.methodName.equals(TestReadIndex.APPEND))
+                .collect(Collectors.toList());
+        Assert.assertEquals("Unexpected number of appends added to ReadIndex.", appendCount, appendInvocations.size());
+        Iterator<Operation> logIterator = opLog.read(-1, appendCount);
+        for (int i = 0; i < appendCount; i++) {
+            StreamSegmentAppendOperation expected = (StreamSegmentAppendOperation) operations.get(i);
+            Assert.assertEquals("Unexpected append offset in ReadIndex.", expected.getStreamSegmentOffset(), appendInvocations.get(i).args.get("offset"));
+            Assert.assertEquals("Unexpected append data in ReadIndex.", expected.getData(), appendInvocations.get(i).args.get("data"));
+            Operation actual = logIterator.next();
+            Assert.assertTrue("StreamSegmentAppendOperation was not added as a CachedStreamSegmentAppendOperation to the Memory Log.",
+                    actual instanceof CachedStreamSegmentAppendOperation);
+            Assert.assertEquals("Unexpected operation order in Memory Log.", expected.getSequenceNumber(), actual.getSequenceNumber());
+        }
+
+        Assert.assertFalse("Unexpected operations in Memory Log.", logIterator.hasNext());
+    }
+
     /**
      * Tests the ability of the MemoryStateUpdater to delegate Enter/Exit recovery mode to the read index.
      */
@@ -200,6 +242,11 @@ public class MemoryStateUpdaterTests extends ThreadPooledTestSuite {
                     .withArg("data", data));
         }
 
+        @Override
+        public void append(List<StreamSegmentAppendOperation> appends) {
+            appends.forEach(a -> append(a.getStreamSegmentId(), a.getStreamSegmentOffset(), a.getData()));
+        }
+
         @Override
         public void beginMerge(long targetStreamSegmentId, long offset, long sourceStreamSegmentId) {
             invoke(new MethodInvocation(BEGIN_MERGE)
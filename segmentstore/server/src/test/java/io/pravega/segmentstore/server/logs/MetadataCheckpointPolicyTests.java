@@ -78,4 +78,34 @@ public class MetadataCheckpointPolicyTests extends ThreadPooledTestSuite {
         expectedCallCount = (int) (recordCount * recordLength / config.getCheckpointTotalCommitLengthThreshold());
         Assert.assertEquals("Unexpected number of calls when MinCount > CommitCount.", expectedCallCount, callbackCount.get());
     }
+
+    /**
+     * Tests the ability to alternate between full and delta checkpoints.
+     */
+    @Test
+    public void testDeltaCheckpoints() {
+        final int checkpointCount = 100;
+        final int fullInterval = 7;
+        DurableLogConfig config = DurableLogConfig.builder()
+                                                  .with(DurableLogConfig.CHECKPOINT_MIN_COMMIT_COUNT, 1)
+                                                  .with(DurableLogConfig.CHECKPOINT_COMMIT_COUNT, 1)
+                                                  .with(DurableLogConfig.CHECKPOINT_FULL_INTERVAL, fullInterval)
+                                                  .build();
+        AtomicInteger fullCount = new AtomicInteger();
+        AtomicInteger deltaCount = new AtomicInteger();
+        MetadataCheckpointPolicy p = new MetadataCheckpointPolicy(config, fullCount::incrementAndGet, deltaCount::incrementAndGet, executorService());
+
+        // The very first checkpoint must be a full one.
+        p.recordCommit(1);
+        Assert.assertEquals("Expected the first checkpoint to be a full one.", 1, fullCount.get());
+        Assert.assertEquals("Not expecting a delta checkpoint first.", 0, deltaCount.get());
+
+        for (int i = 1; i < checkpointCount; i++) {
+            p.recordCommit(1);
+        }
+
+        int expectedFullCount = (checkpointCount + fullInterval - 1) / fullInterval;
+        Assert.assertEquals("Unexpected number of full checkpoints.", expectedFullCount, fullCount.get());
+        Assert.assertEquals("Unexpected number of delta checkpoints.", checkpointCount - expectedFullCount, deltaCount.get());
+    }
 }
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.common.Exceptions;
+import io.pravega.common.ObjectClosedException;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.segmentstore.server.TestDurableDataLog;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.test.common.AssertExtensions;
+import io.pravega.test.common.ErrorInjector;
+import io.pravega.test.common.ThreadPooledTestSuite;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for PipelinedDataFrameReader class.
+ */
+public class PipelinedDataFrameReaderTests extends ThreadPooledTestSuite {
+    private static final int CONTAINER_ID = 1234567;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int SMALL_RECORD_MIN_SIZE = 0;
+    private static final int SMALL_RECORD_MAX_SIZE = 128;
+    private static final int LARGE_RECORD_MIN_SIZE = 1024;
+    private static final int LARGE_RECORD_MAX_SIZE = 10240;
+    private static final int FRAME_SIZE = 512;
+    private static final int READ_AHEAD_SIZE = 8 * FRAME_SIZE;
+    private static final Serializer<TestLogItem> SERIALIZER = new TestLogItem.TestLogItemSerializer();
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(TIMEOUT.getSeconds());
+
+    @Override
+    protected int getThreadPoolSize() {
+        return 3;
+    }
+
+    /**
+     * Tests the ability to read all the LogItems from a DataLog, in the same order and with the same DataFrame information
+     * as a regular DataFrameReader would.
+     */
+    @Test
+    public void testReadsNoFailure() throws Exception {
+        ArrayList<TestLogItem> records = generateRecords();
+        try (TestDurableDataLog dataLog = TestDurableDataLog.create(CONTAINER_ID, FRAME_SIZE, executorService())) {
+            dataLog.initialize(TIMEOUT);
+            writeRecords(records, dataLog);
+
+            List<DataFrameRecord<TestLogItem>> expected;
+            try (DataFrameReader<TestLogItem> reader = new DataFrameReader<>(dataLog, new TestSerializer(), CONTAINER_ID)) {
+                expected = readAll(reader);
+            }
+
+            try (PipelinedDataFrameReader<TestLogItem> reader = createReader(dataLog)) {
+                val actual = readAll(reader);
+                Assert.assertEquals("Unexpected number of items read.", expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    val e = expected.get(i);
+                    val a = actual.get(i);
+                    Assert.assertEquals("Unexpected Sequence Number.", e.getItem().getSequenceNumber(), a.getItem().getSequenceNumber());
+                    Assert.assertArrayEquals("Unexpected read data.", e.getItem().getData(), a.getItem().getData());
+                    Assert.assertEquals("Unexpected LastFullDataFrameAddress.", getSequence(e.getLastFullDataFrameAddress()), getSequence(a.getLastFullDataFrameAddress()));
+                    Assert.assertEquals("Unexpected LastUsedDataFrameAddress.", getSequence(e.getLastUsedDataFrameAddress()), getSequence(a.getLastUsedDataFrameAddress()));
+                    Assert.assertEquals("Unexpected isLastFrameEntry.", e.isLastFrameEntry(), a.isLastFrameEntry());
+                }
+
+                Assert.assertNull("Expected no more items after reaching the end.", reader.getNext());
+                Assert.assertEquals("Unexpected item count for Decode stage.", expected.size(), reader.getDecodeStats().getItemCount());
+                Assert.assertEquals("Unexpected item count for Consume stage.", expected.size(), reader.getConsumeStats().getItemCount());
+                AssertExtensions.assertGreaterThan("Expected Read stage to have read at least one DataFrame.", 0, reader.getReadStats().getItemCount());
+            }
+        }
+    }
+
+    /**
+     * Tests the case when the DurableDataLog Reader fails. The failure should be surfaced to the consumer after all the
+     * items preceding it, and the PipelinedDataFrameReader should be closed afterwards.
+     */
+    @Test
+    public void testReadsWithDataLogFailure() throws Exception {
+        int failReadAt = 10; // Fail the read at this attempt.
+        ArrayList<TestLogItem> records = generateRecords();
+        try (TestDurableDataLog dataLog = TestDurableDataLog.create(CONTAINER_ID, FRAME_SIZE, executorService())) {
+            dataLog.initialize(TIMEOUT);
+            writeRecords(records, dataLog);
+
+            ErrorInjector<Exception> readErrorInjector = new ErrorInjector<>(
+                    count -> count == failReadAt,
+                    () -> new DataLogNotAvailableException("intentional getNext exception"));
+            dataLog.setReadErrorInjectors(null, readErrorInjector);
+            try (PipelinedDataFrameReader<TestLogItem> reader = createReader(dataLog)) {
+                int readCount = 0;
+                try {
+                    while (reader.getNext() != null) {
+                        readCount++;
+                    }
+
+                    Assert.fail("Reached the end of the log and no exceptions were detected.");
+                } catch (Exception ex) {
+                    Assert.assertEquals("Unexpected exception.", readErrorInjector.getLastCycleException(), Exceptions.unwrap(ex));
+                }
+
+                AssertExtensions.assertGreaterThan("Expected some items to be read before the failure.", 0, readCount);
+                AssertExtensions.assertThrows(
+                        "getNext() worked after a failure.",
+                        reader::getNext,
+                        ex -> ex instanceof ObjectClosedException);
+            }
+        }
+    }
+
+    /**
+     * Tests the ability to close the PipelinedDataFrameReader while its stages are still running (and waiting for the
+     * consumer to catch up).
+     */
+    @Test
+    public void testCloseWhileReading() throws Exception {
+        ArrayList<TestLogItem> records = generateRecords();
+        try (TestDurableDataLog dataLog = TestDurableDataLog.create(CONTAINER_ID, FRAME_SIZE, executorService())) {
+            dataLog.initialize(TIMEOUT);
+            writeRecords(records, dataLog);
+
+            PipelinedDataFrameReader<TestLogItem> reader = createReader(dataLog);
+            Assert.assertNotNull("Expected at least one item.", reader.getNext());
+            reader.close();
+            AssertExtensions.assertThrows(
+                    "getNext() worked after close().",
+                    reader::getNext,
+                    ex -> ex instanceof ObjectClosedException);
+            AssertExtensions.assertLessThan("Expected the Decode stage to not have read everything.",
+                    records.size(), reader.getDecodeStats().getItemCount());
+        }
+    }
+
+    /**
+     * Tests that the PipelinedDataFrameReader makes progress even if it is consumed from the only thread of its Executor
+     * (so none of its background stages can ever run).
+     */
+    @Test
+    public void testSingleThreadedExecutor() throws Exception {
+        ArrayList<TestLogItem> records = generateRecords();
+        try (TestDurableDataLog dataLog = TestDurableDataLog.create(CONTAINER_ID, FRAME_SIZE, executorService())) {
+            dataLog.initialize(TIMEOUT);
+            writeRecords(records, dataLog);
+
+            List<DataFrameRecord<TestLogItem>> expected;
+            try (DataFrameReader<TestLogItem> reader = new DataFrameReader<>(dataLog, new TestSerializer(), CONTAINER_ID)) {
+                expected = readAll(reader);
+            }
+
+            val executor = ExecutorServiceHelpers.newScheduledThreadPool(1, "test-pipeline");
+            try {
+                val actual = CompletableFuture.supplyAsync(() -> {
+                    try (PipelinedDataFrameReader<TestLogItem> reader = new PipelinedDataFrameReader<>(dataLog, new TestSerializer(),
+                            CONTAINER_ID, READ_AHEAD_SIZE, executor)) {
+                        return readAll(reader);
+                    } catch (Exception ex) {
+                        throw new CompletionException(ex);
+                    }
+                }, executor).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                Assert.assertEquals("Unexpected number of items read.", expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    Assert.assertEquals("Unexpected Sequence Number.", expected.get(i).getItem().getSequenceNumber(),
+                            actual.get(i).getItem().getSequenceNumber());
+                }
+            } finally {
+                ExecutorServiceHelpers.shutdown(executor);
+            }
+        }
+    }
+
+    private PipelinedDataFrameReader<TestLogItem> createReader(TestDurableDataLog dataLog) throws Exception {
+        return new PipelinedDataFrameReader<>(dataLog, new TestSerializer(), CONTAINER_ID, READ_AHEAD_SIZE, executorService());
+    }
+
+    private ArrayList<TestLogItem> generateRecords() {
+        ArrayList<TestLogItem> records = DataFrameTestHelpers.generateLogItems(200, SMALL_RECORD_MIN_SIZE, SMALL_RECORD_MAX_SIZE, 0);
+        records.addAll(DataFrameTestHelpers.generateLogItems(100, LARGE_RECORD_MIN_SIZE, LARGE_RECORD_MAX_SIZE, records.size()));
+        return records;
+    }
+
+    private void writeRecords(List<TestLogItem> records, TestDurableDataLog dataLog) throws Exception {
+        BiConsumer<Throwable, DataFrameBuilder.CommitArgs> errorCallback = (ex, a) ->
+                Assert.fail(String.format("Unexpected error occurred upon commit. %s", ex));
+        val args = new DataFrameBuilder.Args(Callbacks::doNothing, Callbacks::doNothing, errorCallback, executorService());
+        try (DataFrameBuilder<TestLogItem> b = new DataFrameBuilder<>(dataLog, SERIALIZER, args)) {
+            for (TestLogItem r : records) {
+                b.append(r);
+            }
+        }
+    }
+
+    private long getSequence(LogAddress address) {
+        return address == null ? -1 : address.getSequence();
+    }
+
+    private <E extends Exception> List<DataFrameRecord<TestLogItem>> readAll(CloseableIterator<DataFrameRecord<TestLogItem>, E> reader) throws Exception {
+        ArrayList<DataFrameRecord<TestLogItem>> result = new ArrayList<>();
+        DataFrameRecord<TestLogItem> dataFrameRecord;
+        while ((dataFrameRecord = reader.getNext()) != null) {
+            result.add(dataFrameRecord);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.segmentstore.server.logs.operations.CompletableOperation;
+import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
+import io.pravega.segmentstore.server.logs.operations.Operation;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentSealOperation;
+import io.pravega.test.common.TestUtils;
+import io.pravega.test.common.ThreadPooledTestSuite;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the SegmentThrottler class.
+ */
+public class SegmentThrottlerTests extends ThreadPooledTestSuite {
+    private static final int CONTAINER_ID = 1;
+    private static final long HEAVY_SEGMENT_ID = 1;
+    private static final long LIGHT_SEGMENT_ID = 2;
+    private static final int HEAVY_APPEND_LENGTH = 1000;
+    private static final int LIGHT_APPEND_LENGTH = 10;
+    private static final int DELAY_MILLIS = 50;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(TIMEOUT.getSeconds());
+
+    /**
+     * Tests the ability to only delay those Segments that generate most of the load, while preserving the order of
+     * Operations within each Segment.
+     */
+    @Test
+    public void testFairness() throws Exception {
+        val processed = Collections.synchronizedList(new ArrayList<CompletableOperation>());
+        val time = new AtomicLong(0);
+        val st = new SegmentThrottler(CONTAINER_ID, processed::add, executorService(), time::get);
+
+        // No delay: everything goes through.
+        for (int i = 0; i < 10; i++) {
+            st.add(append(HEAVY_SEGMENT_ID, HEAVY_APPEND_LENGTH));
+        }
+
+        st.add(append(LIGHT_SEGMENT_ID, LIGHT_APPEND_LENGTH));
+        Assert.assertEquals("Not expecting any delays without a throttling delay.", 11, processed.size());
+        Assert.assertEquals("Not expecting any parked segments.", 0, st.getParkedSegmentCount());
+
+        // Set a delay. The light segment should not be affected, but the heavy one should be delayed.
+        st.setDelayMillis(DELAY_MILLIS);
+        val light = append(LIGHT_SEGMENT_ID, LIGHT_APPEND_LENGTH);
+        st.add(light);
+        Assert.assertEquals("Not expecting the light segment to be delayed.", light, processed.get(processed.size() - 1));
+
+        val heavyAppend = append(HEAVY_SEGMENT_ID, HEAVY_APPEND_LENGTH);
+        val heavySeal = operation(new StreamSegmentSealOperation(HEAVY_SEGMENT_ID));
+        st.add(heavyAppend);
+        st.add(heavySeal);
+        Assert.assertEquals("Expected the heavy segment to be delayed.", 1, st.getParkedSegmentCount());
+        Assert.assertFalse("Not expecting the heavy segment's operations to be processed yet.",
+                processed.contains(heavyAppend) || processed.contains(heavySeal));
+
+        // Non-segment operations should never be delayed.
+        val checkpoint = operation(new MetadataCheckpointOperation());
+        st.add(checkpoint);
+        Assert.assertEquals("Not expecting a non-segment operation to be delayed.", checkpoint, processed.get(processed.size() - 1));
+
+        // Wait for the delay to expire and verify the heavy segment's operations were released in order.
+        TestUtils.await(() -> st.getParkedSegmentCount() == 0, 10, TIMEOUT.toMillis());
+        List<CompletableOperation> heavyProcessed;
+        synchronized (processed) {
+            heavyProcessed = processed.stream()
+                                      .filter(o -> o == heavyAppend || o == heavySeal)
+                                      .collect(Collectors.toList());
+        }
+
+        Assert.assertEquals("Unexpected operations released.", 2, heavyProcessed.size());
+        Assert.assertEquals("Unexpected order of released operations.", heavyAppend, heavyProcessed.get(0));
+        Assert.assertEquals("Unexpected order of released operations.", heavySeal, heavyProcessed.get(1));
+
+        // Clear the delay: nothing should be delayed anymore.
+        st.setDelayMillis(0);
+        val heavy = append(HEAVY_SEGMENT_ID, HEAVY_APPEND_LENGTH);
+        st.add(heavy);
+        Assert.assertEquals("Not expecting a delay after the throttling delay is cleared.", heavy, processed.get(processed.size() - 1));
+    }
+
+    /**
+     * Tests the ability to return parked Operations upon close() and to pass through any Operations added afterwards.
+     */
+    @Test
+    public void testClose() {
+        val processed = Collections.synchronizedList(new ArrayList<CompletableOperation>());
+        val time = new AtomicLong(0);
+        val st = new SegmentThrottler(CONTAINER_ID, processed::add, executorService(), time::get);
+        st.add(append(LIGHT_SEGMENT_ID, LIGHT_APPEND_LENGTH));
+
+        // Use a delay long enough so that the parked operations will not be released during this test.
+        st.setDelayMillis(ThrottlerCalculator.MAX_DELAY_MILLIS);
+        val parked = new ArrayList<CompletableOperation>();
+        for (int i = 0; i < 5; i++) {
+            val o = append(HEAVY_SEGMENT_ID, HEAVY_APPEND_LENGTH);
+            parked.add(o);
+            st.add(o);
+        }
+
+        Assert.assertEquals("Expected the heavy segment to be delayed.", 1, st.getParkedSegmentCount());
+        val closeResult = st.close();
+        Assert.assertEquals("Unexpected parked operations returned from close().", parked, closeResult);
+        Assert.assertEquals("Not expecting any parked segments after close().", 0, st.getParkedSegmentCount());
+
+        val afterClose = append(HEAVY_SEGMENT_ID, HEAVY_APPEND_LENGTH);
+        st.add(afterClose);
+        Assert.assertEquals("Expected operations to pass through after close().", afterClose, processed.get(processed.size() - 1));
+    }
+
+    private CompletableOperation append(long segmentId, int length) {
+        return operation(new StreamSegmentAppendOperation(segmentId, new byte[length], null));
+    }
+
+    private CompletableOperation operation(Operation op) {
+        return new CompletableOperation(op, new CompletableFuture<>());
+    }
+}
@@ -11,9 +11,11 @@ package io.pravega.segmentstore.server.logs;
 
 import io.pravega.segmentstore.storage.QueueStats;
 import io.pravega.test.common.AssertExtensions;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import lombok.val;
 import org.junit.Assert;
@@ -94,6 +96,70 @@ public class ThrottlerCalculatorTests {
               });
     }
 
+    /**
+     * Tests the ability to properly calculate throttling delays using the Feedback Throttler.
+     */
+    @Test
+    public void testFeedbackThrottling() {
+        val threshold = ThrottlerCalculator.COMMIT_BACKLOG_COUNT_THRESHOLD;
+        val targetLatencyMillis = 50;
+        val commitBacklogCount = new AtomicInteger(0);
+        val queueStats = new AtomicReference<QueueStats>(QueueStats.DEFAULT);
+        val time = new AtomicLong(0);
+        val step = Duration.ofMillis(100).toNanos();
+        val tc = ThrottlerCalculator.builder()
+                                    .feedbackThrottler(commitBacklogCount::get, queueStats::get, targetLatencyMillis, time::get)
+                                    .build();
+
+        // Under target: no throttling.
+        for (int backlog : new int[]{0, threshold / 2, threshold}) {
+            commitBacklogCount.set(backlog);
+            time.addAndGet(step);
+            Assert.assertFalse("Not expecting throttling under target: " + backlog, tc.isThrottlingRequired());
+            Assert.assertEquals("Not expecting a delay under target: " + backlog, 0, tc.getThrottlingDelay().getDurationMillis());
+        }
+
+        // Sustained pressure: the delay should keep increasing (due to the integral term), even if the error is constant.
+        // The first sample also includes the derivative term (the pressure just increased), so we exclude it.
+        commitBacklogCount.set(threshold + threshold / 10);
+        Assert.assertTrue("Expecting throttling over target.", tc.isThrottlingRequired());
+        time.addAndGet(step);
+        AssertExtensions.assertGreaterThan("Expected a delay over target.", 0, tc.getThrottlingDelay().getDurationMillis());
+        int lastValue = 0;
+        for (int i = 0; i < 10; i++) {
+            time.addAndGet(step);
+            val delay = tc.getThrottlingDelay();
+            AssertExtensions.assertGreaterThan("Expected the delay to increase under sustained pressure.", lastValue, delay.getDurationMillis());
+            Assert.assertFalse("Not expecting maximum delay.", delay.isMaximum());
+            lastValue = delay.getDurationMillis();
+        }
+
+        // Large pressure: capped at the maximum.
+        commitBacklogCount.set(threshold * 100);
+        time.addAndGet(step);
+        val maxDelay = tc.getThrottlingDelay();
+        Assert.assertEquals("Expected delay to be capped.", ThrottlerCalculator.MAX_DELAY_MILLIS, maxDelay.getDurationMillis());
+        Assert.assertTrue("Expected maximum delay.", maxDelay.isMaximum());
+
+        // Pressure removed: the delay should gradually go back to 0.
+        commitBacklogCount.set(0);
+        Assert.assertFalse("Not expecting throttling once pressure is removed.", tc.isThrottlingRequired());
+        lastValue = maxDelay.getDurationMillis();
+        for (int i = 0; i < 50; i++) {
+            time.addAndGet(step);
+            val delay = tc.getThrottlingDelay().getDurationMillis();
+            AssertExtensions.assertLessThanOrEqual("Expected the delay to decrease once pressure is removed.", lastValue, delay);
+            lastValue = delay;
+        }
+
+        Assert.assertEquals("Expected no delay a while after pressure is removed.", 0, lastValue);
+
+        // DurableDataLog latency over the target should cause throttling on its own.
+        queueStats.set(new QueueStats(100, 1.0, targetLatencyMillis * 2));
+        time.addAndGet(step);
+        Assert.assertTrue("Expecting throttling when write latency exceeds target.", tc.isThrottlingRequired());
+        AssertExtensions.assertGreaterThan("Expecting a delay when write latency exceeds target.", 0, tc.getThrottlingDelay().getDurationMillis());
+    }
 
     private <T extends Comparable<T>> void testThrottling(ThrottlerCalculator tc, AtomicReference<T> inputValue, T[] noThrottleValues, T[] gradualThrottleValues, T[] maxThrottleValues) {
         // Test for values where we don't expect throttling.
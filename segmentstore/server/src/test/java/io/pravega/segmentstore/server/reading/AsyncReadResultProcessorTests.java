@@ -13,6 +13,7 @@ import com.google.common.collect.Iterators;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.io.StreamHelpers;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.ReadResultEntry;
 import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.ReadResultEntryType;
@@ -69,7 +70,7 @@ public class AsyncReadResultProcessorTests extends ThreadPooledTestSuite {
                 return null;
             }
 
-            return new CacheReadResultEntry(offset, entries.get(idx), 0, entries.get(idx).length);
+            return new CacheReadResultEntry(offset, new ByteArraySegment(entries.get(idx)), 0, entries.get(idx).length);
         };
 
         // Start an AsyncReadResultProcessor.
@@ -192,7 +193,7 @@ public class AsyncReadResultProcessorTests extends ThreadPooledTestSuite {
             }
 
             // Normal read.
-            return new CacheReadResultEntry(offset, entries.get(idx), 0, entries.get(idx).length);
+            return new CacheReadResultEntry(offset, new ByteArraySegment(entries.get(idx)), 0, entries.get(idx).length);
         };
 
         // Fetch all the data and compare with expected.
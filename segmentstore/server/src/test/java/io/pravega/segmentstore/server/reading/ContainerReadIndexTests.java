@@ -40,6 +40,7 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -951,6 +952,242 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the ability of the ReadIndex to resist cache pollution from Storage scans when using a FrequencyAwareEvictionStrategy.
+     * We append a few entries (tail data) and then read a large amount of (cold) data from Storage, more than the cache
+     * can hold. The scan reads each entry in several chunks, smaller than the entry itself. We expect none of the tail
+     * entries to be evicted, whereas with a generational policy they would be. The same must hold when the scanned data
+     * is read ahead into the cache.
+     */
+    @Test
+    public void testCacheEvictionScanResistance() throws Exception {
+        val generationalRemovals = runScanScenario(CachePolicy.EvictionType.GENERATIONAL, 0);
+        AssertExtensions.assertGreaterThan("Expected the scan to evict tail entries with a generational policy.",
+                0, generationalRemovals.size());
+
+        val frequencyAwareRemovals = runScanScenario(CachePolicy.EvictionType.FREQUENCY_AWARE, 0);
+        Assert.assertEquals("Not expecting the scan to evict tail entries with a frequency-aware policy.",
+                0, frequencyAwareRemovals.size());
+
+        val readAheadRemovals = runScanScenario(CachePolicy.EvictionType.FREQUENCY_AWARE, 4);
+        Assert.assertEquals("Not expecting a scan with read-ahead to evict tail entries with a frequency-aware policy.",
+                0, readAheadRemovals.size());
+    }
+
+    /**
+     * Executes the scenario for testCacheEvictionScanResistance.
+     *
+     * @param evictionType       The type of eviction to use.
+     * @param readAheadMaxBlocks The maximum number of blocks to read ahead. If 0, no read-ahead is done.
+     * @return A List containing the CacheKeys of the tail entries that have been evicted.
+     */
+    private List<CacheKey> runScanScenario(CachePolicy.EvictionType evictionType, int readAheadMaxBlocks) throws Exception {
+        final int entrySize = 100;
+        final int chunkSize = entrySize / 4;
+        final int tailEntryCount = 5;
+        final int coldEntryCount = 30;
+        final int idleGenerations = 10;
+        CachePolicy cachePolicy = new CachePolicy(10 * entrySize, Duration.ofHours(1), Duration.ofSeconds(1), evictionType);
+        ReadIndexConfig config = ReadIndexConfig.builder()
+                                                .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, entrySize)
+                                                .with(ReadIndexConfig.READ_AHEAD_MAX_BLOCKS, readAheadMaxBlocks)
+                                                .build();
+
+        ArrayList<CacheKey> removedKeys = new ArrayList<>();
+        @Cleanup
+        TestContext context = new TestContext(config, cachePolicy);
+        context.cacheFactory.cache.removeCallback = removedKeys::add;
+
+        // Create a single segment and populate the Storage with cold data.
+        long segmentId = createSegment(0, context);
+        createSegmentsInStorage(context);
+        UpdateableSegmentMetadata sm = context.metadata.getStreamSegmentMetadata(segmentId);
+        byte[] coldData = new byte[coldEntryCount * entrySize];
+        val handle = context.storage.openWrite(sm.getName()).join();
+        context.storage.write(handle, 0, new ByteArrayInputStream(coldData), coldData.length, TIMEOUT).join();
+        sm.setStorageLength(coldData.length);
+        sm.setLength(coldData.length);
+
+        // Load up the first entry and keep touching it for a few generations, so that the current generation advances.
+        readFromStorage(context, segmentId, 0, entrySize);
+        for (int i = 0; i < idleGenerations; i++) {
+            @Cleanup
+            ReadResult result = context.readIndex.read(segmentId, 0, entrySize, TIMEOUT);
+            Assert.assertEquals("Expected a cache hit.", ReadResultEntryType.Cache, result.next().getType());
+            context.cacheManager.applyCachePolicy();
+        }
+
+        // Append the tail entries. Mark them as persisted to Storage so they are eligible for eviction.
+        for (int i = 0; i < tailEntryCount; i++) {
+            long offset = sm.getLength();
+            sm.setLength(offset + entrySize);
+            context.readIndex.append(segmentId, offset, new byte[entrySize]);
+        }
+
+        sm.setStorageLength(sm.getLength());
+        context.cacheManager.applyCachePolicy();
+
+        // Scan through the rest of the cold data. Each entry is loaded from Storage and then consumed in several chunks.
+        // If reading ahead, the entries may or may not have already been read ahead by the time we get to them.
+        for (int i = 1; i < coldEntryCount; i++) {
+            long entryOffset = i * entrySize;
+            if (readAheadMaxBlocks == 0) {
+                readFromStorage(context, segmentId, entryOffset, entrySize);
+            }
+
+            for (int chunkOffset = readAheadMaxBlocks == 0 ? chunkSize : 0; chunkOffset < entrySize; chunkOffset += chunkSize) {
+                @Cleanup
+                ReadResult result = context.readIndex.read(segmentId, entryOffset + chunkOffset, chunkSize, TIMEOUT);
+                ReadResultEntry resultEntry = result.next();
+                if (readAheadMaxBlocks == 0) {
+                    Assert.assertEquals("Expected a cache hit.", ReadResultEntryType.Cache, resultEntry.getType());
+                } else {
+                    resultEntry.requestContent(TIMEOUT);
+                    resultEntry.getContent().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+
+            context.cacheManager.applyCachePolicy();
+        }
+
+        return removedKeys.stream()
+                          .filter(key -> key.getOffset() >= coldData.length)
+                          .collect(Collectors.toList());
+    }
+
+    private void readFromStorage(TestContext context, long segmentId, long offset, int length) throws Exception {
+        @Cleanup
+        ReadResult result = context.readIndex.read(segmentId, offset, length, TIMEOUT);
+        ReadResultEntry resultEntry = result.next();
+        Assert.assertEquals("Expected a Storage read.", ReadResultEntryType.Storage, resultEntry.getType());
+        CompletableFuture<Void> insertedInCache = new CompletableFuture<>();
+        context.cacheFactory.cache.insertCallback = ignored -> insertedInCache.complete(null);
+        resultEntry.requestContent(TIMEOUT);
+        resultEntry.getContent().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+        // Wait for the entry to be inserted into the cache before moving on.
+        insertedInCache.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tests the ability of the ReadIndex to serve sequential catch-up reads directly from Storage, without inserting their
+     * results into the cache. Reads that are close to the end of the Segment, as well as non-sequential reads, must still
+     * be cached.
+     */
+    @Test
+    public void testCatchupReadsBypassCache() throws Exception {
+        final int entrySize = 100;
+        final int entryCount = 30;
+        final long bypassThreshold = 10 * entrySize;
+        ReadIndexConfig config = ReadIndexConfig.builder()
+                                                .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, entrySize)
+                                                .with(ReadIndexConfig.CATCHUP_READ_CACHE_BYPASS_THRESHOLD, bypassThreshold)
+                                                .build();
+
+        @Cleanup
+        TestContext context = new TestContext(config, CachePolicy.INFINITE);
+
+        // Create a single segment and populate the Storage with data.
+        long segmentId = createSegment(0, context);
+        createSegmentsInStorage(context);
+        UpdateableSegmentMetadata sm = context.metadata.getStreamSegmentMetadata(segmentId);
+        byte[] data = new byte[entryCount * entrySize];
+        val handle = context.storage.openWrite(sm.getName()).join();
+        context.storage.write(handle, 0, new ByteArrayInputStream(data), data.length, TIMEOUT).join();
+        sm.setStorageLength(data.length);
+        sm.setLength(data.length);
+
+        // Read the whole segment sequentially. The first read begins the sequence (so it is cached), and every read that
+        // is close enough to the end of the segment should be cached too.
+        for (int i = 0; i < entryCount; i++) {
+            long offset = (long) i * entrySize;
+            boolean expectCached = i == 0 || data.length - offset < bypassThreshold;
+            if (expectCached) {
+                readFromStorage(context, segmentId, offset, entrySize);
+            } else {
+                @Cleanup
+                ReadResult result = context.readIndex.read(segmentId, offset, entrySize, TIMEOUT);
+                ReadResultEntry resultEntry = result.next();
+                Assert.assertEquals("Expected a Storage read.", ReadResultEntryType.Storage, resultEntry.getType());
+                resultEntry.requestContent(TIMEOUT);
+                ReadResultEntryContents contents = resultEntry.getContent().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                Assert.assertEquals("Unexpected read length.", entrySize, contents.getLength());
+            }
+        }
+
+        // A non-sequential read should be cached, even if it is far behind the end of the segment.
+        final long randomReadOffset = 5 * entrySize;
+        readFromStorage(context, segmentId, randomReadOffset, entrySize);
+
+        // Verify which entries are (or are not) in the cache.
+        for (int i = 0; i < entryCount; i++) {
+            long offset = (long) i * entrySize;
+            boolean expectCached = i == 0 || offset == randomReadOffset || data.length - offset < bypassThreshold;
+            @Cleanup
+            ReadResult result = context.readIndex.read(segmentId, offset, entrySize, TIMEOUT);
+            ReadResultEntryType expectedType = expectCached ? ReadResultEntryType.Cache : ReadResultEntryType.Storage;
+            Assert.assertEquals("Unexpected entry type for offset " + offset, expectedType, result.next().getType());
+        }
+    }
+
+    /**
+     * Tests the ability of the ReadIndex to consolidate adjacent Cache entries (belonging to the same generation) into
+     * larger ones when the Cache Policy is applied.
+     */
+    @Test
+    public void testCacheEntryConsolidation() throws Exception {
+        final int appendLength = 10;
+        final int appendCount = 95;
+        final int maxEntryLength = 20 * appendLength;
+        ReadIndexConfig config = ReadIndexConfig.builder()
+                                                .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, 0)
+                                                .with(ReadIndexConfig.CONSOLIDATION_MAX_ENTRY_LENGTH, maxEntryLength)
+                                                .build();
+
+        @Cleanup
+        TestContext context = new TestContext(config, CachePolicy.INFINITE);
+        long segmentId = createSegment(0, context);
+        ByteArrayOutputStream segmentContents = new ByteArrayOutputStream();
+        for (int i = 0; i < appendCount; i++) {
+            byte[] data = new byte[appendLength];
+            Arrays.fill(data, (byte) i);
+            appendSingleWrite(segmentId, data, context);
+            segmentContents.write(data);
+        }
+
+        // Before consolidation: one entry per append.
+        HashSet<CacheKey> removedKeys = new HashSet<>();
+        context.cacheFactory.cache.removeCallback = removedKeys::add;
+        checkEntryLengths(segmentId, appendCount * appendLength, appendLength, appendLength, context);
+
+        // After consolidation (which happens when the generations advance): as few entries as possible (the last one
+        // being shorter), with the same contents.
+        context.cacheManager.applyCachePolicy();
+        final int expectedEntryCount = (appendCount * appendLength + maxEntryLength - 1) / maxEntryLength;
+        checkEntryLengths(segmentId, appendCount * appendLength, maxEntryLength, appendCount * appendLength % maxEntryLength, context);
+        Assert.assertEquals("Unexpected number of Cache entries removed.", appendCount - expectedEntryCount, removedKeys.size());
+        HashMap<Long, ByteArrayOutputStream> expectedContents = new HashMap<>();
+        expectedContents.put(segmentId, segmentContents);
+        checkReadIndex("PostConsolidation", expectedContents, context);
+
+        // Consolidation is idempotent.
+        context.cacheManager.applyCachePolicy();
+        Assert.assertEquals("Not expecting any more Cache entries to be removed.", appendCount - expectedEntryCount, removedKeys.size());
+        checkEntryLengths(segmentId, appendCount * appendLength, maxEntryLength, appendCount * appendLength % maxEntryLength, context);
+    }
+
+    private void checkEntryLengths(long segmentId, int segmentLength, int expectedLength, int expectedLastLength, TestContext context) throws Exception {
+        @Cleanup
+        ReadResult result = context.readIndex.read(segmentId, 0, segmentLength, TIMEOUT);
+        while (result.hasNext()) {
+            ReadResultEntry entry = result.next();
+            Assert.assertEquals("Expected a Cache entry.", ReadResultEntryType.Cache, entry.getType());
+            int length = entry.getContent().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).getLength();
+            int expected = entry.getStreamSegmentOffset() + length == segmentLength ? expectedLastLength : expectedLength;
+            Assert.assertEquals("Unexpected entry length at offset " + entry.getStreamSegmentOffset(), expected, length);
+        }
+    }
+
     // region Scenario-based tests
 
     /**
@@ -12,10 +12,17 @@ package io.pravega.segmentstore.server.reading;
 import io.pravega.test.common.AssertExtensions;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.Cleanup;
 import lombok.val;
 import org.junit.Assert;
+import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Timeout;
@@ -63,6 +70,39 @@ public class FutureReadResultEntryCollectionTests {
         }
     }
 
+    /**
+     * Tests the ability to remove individual entries (i.e., those that were cancelled).
+     */
+    @Test
+    public void testRemove() {
+        @Cleanup
+        FutureReadResultEntryCollection c = new FutureReadResultEntryCollection();
+        List<FutureReadResultEntry> entries = generateEntries();
+        entries.forEach(c::add);
+
+        // Add a second entry at the same offset as an existing one; removing one of them must not affect the other.
+        FutureReadResultEntry sameOffset = new FutureReadResultEntry(entries.get(0).getStreamSegmentOffset(), 1);
+        c.add(sameOffset);
+        val expectedResult = new ArrayList<FutureReadResultEntry>();
+        expectedResult.add(sameOffset);
+        for (int i = 0; i < entries.size(); i++) {
+            if (i % 2 == 0) {
+                c.remove(entries.get(i));
+            } else {
+                expectedResult.add(entries.get(i));
+            }
+        }
+
+        // Removing an entry that is no longer registered is a no-op.
+        c.remove(entries.get(0));
+        val actualResult = c.pollAll();
+        AssertExtensions.assertContainsSameElements("Unexpected result from pollAll() after removing entries.",
+                expectedResult, actualResult, FutureReadResultEntryCollection::entryComparator);
+        c.add(entries.get(0));
+        AssertExtensions.assertListEquals("Unexpected result after adding a previously removed entry.",
+                Collections.singletonList(entries.get(0)), new ArrayList<>(c.pollAll()), Object::equals);
+    }
+
     /**
      * Tests the ability for all the pending reads to be canceled when the Collection is closed.
      */
@@ -80,6 +120,111 @@ public class FutureReadResultEntryCollectionTests {
         AssertExtensions.assertListEquals("Unexpected result from close().", entries, result, Object::equals);
     }
 
+    /**
+     * Tests the ability to add and poll entries concurrently, and that no entry is lost or returned more than once.
+     */
+    @Test
+    public void testConcurrentAddPoll() throws Exception {
+        final int adderCount = 4;
+        final int entriesPerAdder = 10000;
+        @Cleanup
+        FutureReadResultEntryCollection c = new FutureReadResultEntryCollection();
+        @Cleanup("shutdown")
+        ExecutorService executor = Executors.newFixedThreadPool(adderCount);
+        val adders = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < adderCount; i++) {
+            adders.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < entriesPerAdder; j++) {
+                    c.add(new FutureReadResultEntry(j, 1));
+                }
+            }, executor));
+        }
+
+        // Keep polling (with an increasing offset) while the entries are being added.
+        val polled = Collections.newSetFromMap(new IdentityHashMap<FutureReadResultEntry, Boolean>());
+        int duplicateCount = 0;
+        long pollOffset = 0;
+        CompletableFuture<Void> allAdders = CompletableFuture.allOf(adders.toArray(new CompletableFuture[adders.size()]));
+        while (!allAdders.isDone()) {
+            for (FutureReadResultEntry e : c.poll(pollOffset)) {
+                duplicateCount += polled.add(e) ? 0 : 1;
+            }
+
+            pollOffset = (pollOffset + 1) % entriesPerAdder;
+        }
+
+        allAdders.join();
+        for (FutureReadResultEntry e : c.pollAll()) {
+            duplicateCount += polled.add(e) ? 0 : 1;
+        }
+
+        Assert.assertEquals("Some entries were returned more than once.", 0, duplicateCount);
+        Assert.assertEquals("Unexpected number of entries polled.", adderCount * entriesPerAdder, polled.size());
+        Assert.assertEquals("Not expecting any entries to be left after pollAll().", 0, c.close().size());
+    }
+
+    /**
+     * Measures the cost of adding and polling entries as the number of waiting entries increases, with multiple threads
+     * concurrently adding entries at the tail (similar to many readers waiting for new data) while another polls them
+     * (similar to appends being added to the ReadIndex).
+     */
+    @Test
+    @Ignore
+    public void testPerformance() {
+        final int[] waitingCounts = new int[]{1000, 10 * 1000, 100 * 1000};
+        final int[] threadCounts = new int[]{1, 4, 16};
+        final int pollCount = 100 * 1000;
+        for (int threadCount : threadCounts) {
+            for (int waitingCount : waitingCounts) {
+                measure(waitingCount, threadCount, pollCount);
+            }
+        }
+    }
+
+    private void measure(int waitingCount, int threadCount, int pollCount) {
+        @Cleanup
+        FutureReadResultEntryCollection c = new FutureReadResultEntryCollection();
+        @Cleanup("shutdown")
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        // Pre-populate the collection with entries way beyond the polled offsets; these will never be polled.
+        final long baseOffset = Long.MAX_VALUE / 2;
+        for (int i = 0; i < waitingCount; i++) {
+            c.add(new FutureReadResultEntry(baseOffset + i, 1));
+        }
+
+        // Each thread keeps registering entries at the tail offset; the current thread keeps advancing the tail and
+        // polling the entries that are eligible, just like a Segment's ReadIndex would.
+        val tailOffset = new AtomicLong();
+        val addTimeNanos = new AtomicLong();
+        val addCount = new AtomicLong();
+        val adders = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < threadCount; i++) {
+            adders.add(CompletableFuture.runAsync(() -> {
+                while (tailOffset.get() < pollCount) {
+                    long start = System.nanoTime();
+                    c.add(new FutureReadResultEntry(tailOffset.get() + 1, 1));
+                    addTimeNanos.addAndGet(System.nanoTime() - start);
+                    addCount.incrementAndGet();
+                }
+            }, executor));
+        }
+
+        long pollTimeNanos = 0;
+        long polledCount = 0;
+        for (int i = 0; i < pollCount; i++) {
+            long start = System.nanoTime();
+            polledCount += c.poll(tailOffset.incrementAndGet()).size();
+            pollTimeNanos += System.nanoTime() - start;
+        }
+
+        CompletableFuture.allOf(adders.toArray(new CompletableFuture[adders.size()])).join();
+        polledCount += c.poll(baseOffset - 1).size();
+        System.out.println(String.format("Waiting = %d, Threads = %d: Add = %.2f us (%d), Poll = %.2f us (%d polls, %d entries)",
+                waitingCount, threadCount, (double) addTimeNanos.get() / Math.max(1, addCount.get()) / 1000, addCount.get(),
+                (double) pollTimeNanos / pollCount / 1000, pollCount, polledCount));
+    }
+
     private List<FutureReadResultEntry> generateEntries() {
         ArrayList<FutureReadResultEntry> entries = new ArrayList<>();
         for (int i = 0; i < ENTRY_COUNT; i++) {
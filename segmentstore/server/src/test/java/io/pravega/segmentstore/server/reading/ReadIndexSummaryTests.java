@@ -10,7 +10,9 @@
 package io.pravega.segmentstore.server.reading;
 
 import io.pravega.common.hash.RandomFactory;
+import io.pravega.segmentstore.server.CacheEvictionStrategy;
 import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.test.common.AssertExtensions;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Random;
@@ -181,4 +183,47 @@ public class ReadIndexSummaryTests {
         Assert.assertEquals("Unexpected newest generation after removing all items.", 0, currentStatus.getNewestGeneration());
         Assert.assertEquals("Unexpected oldest generation after removing all items.", 0, currentStatus.getOldestGeneration());
     }
+
+    /**
+     * Tests the functionality of admit - adding an item to a generation decided by a CacheEvictionStrategy.
+     */
+    @Test
+    public void testAdmit() {
+        final int currentGeneration = 10;
+        final int oldestGeneration = 4;
+        ReadIndexSummary s = new ReadIndexSummary();
+        s.setCurrentGeneration(currentGeneration);
+        s.setOldestGeneration(oldestGeneration);
+
+        // Default strategy: always the current generation.
+        Assert.assertEquals("Unexpected generation with default strategy.", currentGeneration, s.admit(1, 0, CacheEvictionStrategy.GENERATIONAL));
+
+        // Custom strategy: verify arguments and that the returned generation is used.
+        CacheEvictionStrategy oldestStrategy = new CacheEvictionStrategy() {
+            @Override
+            public int getAdmissionGeneration(int entryHash, int current, int oldest) {
+                Assert.assertEquals("Unexpected current generation.", currentGeneration, current);
+                Assert.assertEquals("Unexpected oldest generation.", oldestGeneration, oldest);
+                return oldest;
+            }
+        };
+        Assert.assertEquals("Unexpected generation with custom strategy.", oldestGeneration, s.admit(2, 0, oldestStrategy));
+
+        CacheManager.CacheStatus currentStatus = s.toCacheStatus();
+        Assert.assertEquals("Unexpected total size.", 3, currentStatus.getSize());
+        Assert.assertEquals("Unexpected oldest generation.", oldestGeneration, currentStatus.getOldestGeneration());
+        Assert.assertEquals("Unexpected newest generation.", currentGeneration, currentStatus.getNewestGeneration());
+
+        // Out-of-bounds generations are rejected.
+        CacheEvictionStrategy badStrategy = new CacheEvictionStrategy() {
+            @Override
+            public int getAdmissionGeneration(int entryHash, int current, int oldest) {
+                return current + 1;
+            }
+        };
+        AssertExtensions.assertThrows(
+                "admit() accepted an out-of-bounds generation.",
+                () -> s.admit(1, 0, badStrategy),
+                ex -> ex instanceof IllegalStateException);
+    }
 }
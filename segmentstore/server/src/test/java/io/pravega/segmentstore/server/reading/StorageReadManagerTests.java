@@ -10,6 +10,7 @@
 package io.pravega.segmentstore.server.reading;
 
 import io.pravega.common.hash.RandomFactory;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.SegmentProperties;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.server.SegmentMetadata;
@@ -24,12 +25,19 @@ import io.pravega.test.common.IntentionalException;
 import io.pravega.test.common.ThreadPooledTestSuite;
 import java.io.ByteArrayInputStream;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import lombok.Cleanup;
 import lombok.val;
@@ -135,8 +143,13 @@ public class StorageReadManagerTests extends ThreadPooledTestSuite {
     }
 
     private CompletableFuture<StorageReadManager.Result> sendRequest(StorageReadManager reader, long offset, int length) {
+        return sendRequest(reader, offset, length, true);
+    }
+
+    private CompletableFuture<StorageReadManager.Result> sendRequest(StorageReadManager reader, long offset, int length, boolean readAheadAllowed) {
         CompletableFuture<StorageReadManager.Result> requestCompletion = new CompletableFuture<>();
-        reader.execute(new StorageReadManager.Request(offset, length, requestCompletion::complete, requestCompletion::completeExceptionally, TIMEOUT));
+        reader.execute(new StorageReadManager.Request(offset, length, requestCompletion::complete, requestCompletion::completeExceptionally,
+                TIMEOUT, readAheadAllowed));
         return requestCompletion;
     }
 
@@ -217,6 +230,139 @@ public class StorageReadManagerTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the ability to read ahead when the Segment is read sequentially, including growing the read-ahead window,
+     * suspending read-ahead while the Cache is under pressure and not reading ahead for requests that do not allow it.
+     */
+    @Test
+    public void testReadAhead() throws Exception {
+        final int blockSize = 10;
+        final int maxBlockCount = 4;
+        final int segmentLength = 300;
+        @Cleanup
+        Storage storage = InMemoryStorageFactory.newStorage(executorService());
+        storage.initialize(1);
+        byte[] segmentData = new byte[segmentLength];
+        RandomFactory.create().nextBytes(segmentData);
+        storage.create(SEGMENT_METADATA.getName(), TIMEOUT).join();
+        val writeHandle = storage.openWrite(SEGMENT_METADATA.getName()).join();
+        storage.write(writeHandle, 0, new ByteArrayInputStream(segmentData), segmentData.length, TIMEOUT).join();
+        val metadata = new StreamSegmentMetadata(SEGMENT_METADATA.getName(), 0, 0);
+        metadata.setStorageLength(segmentLength);
+
+        AtomicReference<Double> cacheUtilization = new AtomicReference<>(0.0);
+        Map<Long, ByteArraySegment> readAheads = new ConcurrentHashMap<>();
+        val readAhead = new StorageReadManager.ReadAhead(blockSize, maxBlockCount, cacheUtilization::get, readAheads::put);
+        @Cleanup
+        StorageReadManager reader = new StorageReadManager(metadata, storage, readAhead, executorService());
+
+        // Sequential reads. The first one is not recognized as sequential, and each subsequent one doubles the window
+        // (1, 2, 4, 4, ...), so the read-ahead runs until 4 blocks after the end of the last read.
+        int offset = 0;
+        for (; offset < 100; offset += blockSize) {
+            sendRequest(reader, offset, blockSize).join();
+        }
+
+        AssertExtensions.assertEventuallyEquals(12, readAheads::size, TIMEOUT.toMillis());
+        for (long blockOffset = 2 * blockSize; blockOffset < offset + maxBlockCount * blockSize; blockOffset += blockSize) {
+            ByteArraySegment data = readAheads.get(blockOffset);
+            Assert.assertNotNull("No read-ahead for offset " + blockOffset, data);
+            Assert.assertEquals("Unexpected read-ahead length for offset " + blockOffset, blockSize, data.getLength());
+            AssertExtensions.assertArrayEquals("Unexpected read-ahead contents for offset " + blockOffset,
+                    segmentData, (int) blockOffset, data.array(), data.arrayOffset(), blockSize);
+        }
+
+        // Cache under pressure: no more read-ahead.
+        cacheUtilization.set(1.0);
+        for (; offset < 200; offset += blockSize) {
+            sendRequest(reader, offset, blockSize).join();
+        }
+
+        // Cache no longer under pressure: read-ahead is resumed, after the current read.
+        cacheUtilization.set(0.0);
+        sendRequest(reader, offset, blockSize).join();
+        offset += blockSize;
+        AssertExtensions.assertEventuallyEquals(12 + maxBlockCount, readAheads::size, TIMEOUT.toMillis());
+        for (long blockOffset = offset; blockOffset < offset + maxBlockCount * blockSize; blockOffset += blockSize) {
+            Assert.assertTrue("No read-ahead for offset " + blockOffset, readAheads.containsKey(blockOffset));
+        }
+
+        // A non-sequential read does not trigger any read-ahead.
+        sendRequest(reader, 0, blockSize).join();
+        sendRequest(reader, 5 * blockSize, blockSize).join();
+        Assert.assertEquals("Not expecting any read-ahead for non-sequential reads.", 12 + maxBlockCount, readAheads.size());
+
+        // Sequential reads that do not allow read-ahead (i.e., catch-up reads) do not trigger any read-ahead.
+        for (offset = 6 * blockSize; offset < 20 * blockSize; offset += blockSize) {
+            sendRequest(reader, offset, blockSize, false).join();
+        }
+
+        Assert.assertEquals("Not expecting any read-ahead for requests that do not allow it.", 12 + maxBlockCount, readAheads.size());
+    }
+
+    /**
+     * Tests the ability to coalesce requests based on their ranges:
+     * * Requests adjacent to a Storage Read that has not yet begun are merged into it (before or after).
+     * * Requests that begin inside a pending request are fulfilled from its result.
+     * * Requests that end inside a pending request are trimmed.
+     * * Requests are never merged beyond the Segment's Storage Length.
+     */
+    @Test
+    public void testCoalescing() {
+        final int storageLength = 1000;
+        val metadata = new StreamSegmentMetadata(SEGMENT_METADATA.getName(), 0, 0);
+        metadata.setStorageLength(storageLength);
+
+        // Delay opening the Segment, so that no Storage Read can begin until we have queued all the requests.
+        CompletableFuture<SegmentHandle> openRead = new CompletableFuture<>();
+        List<String> storageReads = Collections.synchronizedList(new ArrayList<>());
+        TestStorage storage = new TestStorage() {
+            @Override
+            public CompletableFuture<SegmentHandle> openRead(String streamSegmentName) {
+                return openRead;
+            }
+
+            @Override
+            public CompletableFuture<Integer> read(SegmentHandle handle, long offset, byte[] buffer, int bufferOffset, int length, Duration timeout) {
+                storageReads.add(offset + ":" + length);
+                for (int i = 0; i < length; i++) {
+                    buffer[bufferOffset + i] = (byte) (offset + i);
+                }
+
+                return CompletableFuture.completedFuture(length);
+            }
+        };
+
+        @Cleanup
+        StorageReadManager reader = new StorageReadManager(metadata, storage, executorService());
+        val r1 = sendRequest(reader, 100, 100); // New Storage Read: [100, 200).
+        val r2 = sendRequest(reader, 200, 100); // Appended: [100, 300).
+        val r3 = sendRequest(reader, 50, 50); // Prepended: [50, 300).
+        val r4 = sendRequest(reader, 250, 150); // Depends on r2; trimmed to [250, 300).
+        val r5 = sendRequest(reader, 350, 100); // New Storage Read: [350, 450).
+        val r6 = sendRequest(reader, 300, 100); // Trimmed to [300, 350) and appended: [50, 350).
+        val r7 = sendRequest(reader, 450, storageLength + 100); // Beyond the Storage Length; new Storage Read.
+        openRead.complete(InMemoryStorage.newHandle(metadata.getName(), true));
+
+        checkCoalescedResult(r1.join(), 100, 100, false);
+        checkCoalescedResult(r2.join(), 200, 100, false);
+        checkCoalescedResult(r3.join(), 50, 50, false);
+        checkCoalescedResult(r4.join(), 250, 50, true);
+        checkCoalescedResult(r5.join(), 350, 100, false);
+        checkCoalescedResult(r6.join(), 300, 50, false);
+        checkCoalescedResult(r7.join(), 450, storageLength + 100, false);
+        AssertExtensions.assertContainsSameElements("Unexpected Storage Reads.",
+                Arrays.asList("50:300", "350:100", "450:" + (storageLength + 100)), storageReads);
+    }
+
+    private void checkCoalescedResult(StorageReadManager.Result result, long expectedOffset, int expectedLength, boolean expectedDerived) {
+        Assert.assertEquals("Unexpected length for result at offset " + expectedOffset, expectedLength, result.getData().getLength());
+        Assert.assertEquals("Unexpected derived flag for result at offset " + expectedOffset, expectedDerived, result.isDerived());
+        for (int i = 0; i < expectedLength; i++) {
+            Assert.assertEquals("Unexpected data for result at offset " + expectedOffset, (byte) (expectedOffset + i), result.getData().get(i));
+        }
+    }
+
     private byte[] populateSegment(Storage storage) {
         Random random = RandomFactory.create();
         int length = MIN_SEGMENT_LENGTH + random.nextInt(MAX_SEGMENT_LENGTH - MIN_SEGMENT_LENGTH);
@@ -10,6 +10,7 @@
 package io.pravega.segmentstore.server.writer;
 
 import io.pravega.common.Exceptions;
+import io.pravega.common.concurrent.Futures;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
 import io.pravega.segmentstore.contracts.AttributeUpdateType;
 import io.pravega.segmentstore.contracts.Attributes;
@@ -117,6 +118,44 @@ public class StorageWriterTests extends ThreadPooledTestSuite {
         testWriter(context);
     }
 
+    /**
+     * Tests that the StorageWriter does not flush more Segments at the same time than allowed by
+     * WriterConfig.MAX_CONCURRENT_FLUSHES.
+     */
+    @Test
+    public void testConcurrentFlushLimit() throws Exception {
+        final int maxConcurrentFlushes = 2;
+        final Duration writeDelay = Duration.ofMillis(5);
+        WriterConfig config = WriterConfig
+                .builder()
+                .with(WriterConfig.FLUSH_THRESHOLD_BYTES, 1000)
+                .with(WriterConfig.FLUSH_THRESHOLD_MILLIS, 1000L)
+                .with(WriterConfig.MIN_READ_TIMEOUT_MILLIS, 10L)
+                .with(WriterConfig.MAX_READ_TIMEOUT_MILLIS, 250L)
+                .with(WriterConfig.MAX_ITEMS_TO_READ_AT_ONCE, 100)
+                .with(WriterConfig.ERROR_SLEEP_MILLIS, 0L)
+                .with(WriterConfig.MAX_CONCURRENT_FLUSHES, maxConcurrentFlushes) // This differs from DEFAULT_CONFIG.
+                .build();
+
+        @Cleanup
+        TestContext context = new TestContext(config);
+
+        // Slow down every write a bit, and keep track of how many of them are in progress at any given time. Each Segment
+        // is written to sequentially, so this is bounded by the number of concurrent flushes.
+        AtomicInteger activeWrites = new AtomicInteger();
+        AtomicInteger maxActiveWrites = new AtomicInteger();
+        context.storage.setWriteInterceptor((segmentName, offset, data, length, storage) -> {
+            maxActiveWrites.accumulateAndGet(activeWrites.incrementAndGet(), Math::max);
+            return Futures.delayedFuture(writeDelay, executorService())
+                          .thenRun(activeWrites::decrementAndGet);
+        });
+
+        testWriter(context);
+        AssertExtensions.assertGreaterThan("Expected at least one write.", 0, maxActiveWrites.get());
+        AssertExtensions.assertLessThanOrEqual("Too many Segments were flushed at the same time.",
+                maxConcurrentFlushes, maxActiveWrites.get());
+    }
+
     /**
      * Tests the StorageWriter in a scenario where the DataSource throws random exceptions. Simulated errors are for
      * the following operations:
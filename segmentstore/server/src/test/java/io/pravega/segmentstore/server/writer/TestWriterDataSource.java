@@ -387,6 +387,12 @@ class TestWriterDataSource implements WriterDataSource, AutoCloseable {
         return this.metadata.getStreamSegmentMetadata(streamSegmentId);
     }
 
+    @Override
+    public double getCacheUtilization() {
+        // All the append data is kept in memory (and never evicted) by this class, so there is no cache to speak of.
+        return 0;
+    }
+
     //endregion
 
     //region Other Properties
@@ -37,6 +37,10 @@ public class BookKeeperConfig {
     public static final Property<Integer> BK_WRITE_TIMEOUT = Property.named("bkWriteTimeoutMillis", 5000);
     public static final Property<Integer> BK_READ_TIMEOUT = Property.named("readTimeoutMillis", 5000);
     public static final Property<Integer> BK_LEDGER_MAX_SIZE = Property.named("bkLedgerMaxSize", 1024 * 1024 * 1024);
+    public static final Property<Integer> BK_WRITE_STRIPE_COUNT = Property.named("bkWriteStripeCount", 1);
+    public static final Property<Boolean> BK_STANDBY_LEDGER_ENABLED = Property.named("bkStandbyLedgerEnabled", false);
+    public static final Property<Integer> BK_READ_BATCH_SIZE = Property.named("bkReadBatchSize", 64);
+    public static final Property<Integer> BK_READ_AHEAD_BATCH_COUNT = Property.named("bkReadAheadBatchCount", 4);
     public static final Property<String> BK_PASSWORD = Property.named("bkPass", "");
     public static final Property<String> BK_LEDGER_PATH = Property.named("bkLedgerPath", "");
     public static final Property<Boolean> BK_TLS_ENABLED = Property.named("tlsEnabled", false);
@@ -133,6 +137,34 @@ public class BookKeeperConfig {
      */
     @Getter
     private final int bkLedgerMaxSize;
+
+    /**
+     * The number of Ledgers to write to concurrently. If 1, all writes go to a single Ledger, in order. If greater than
+     * 1, writes are distributed in a round-robin fashion across this many Ledgers (a stripe), each of which is likely
+     * to be placed on a different set of Bookies.
+     */
+    @Getter
+    private final int bkWriteStripeCount;
+
+    /**
+     * Whether to create (and register in the Log Metadata) the next Ledger (or stripe) ahead of time, so that rollovers
+     * need not wait for BookKeeper or ZooKeeper. Disabled by default.
+     */
+    @Getter
+    private final boolean bkStandbyLedgerEnabled;
+
+    /**
+     * The maximum number of Ledger Entries to fetch from BookKeeper using a single read request.
+     */
+    @Getter
+    private final int bkReadBatchSize;
+
+    /**
+     * The maximum number of read requests (of up to bkReadBatchSize entries each) that may be outstanding at any given
+     * time while reading from a Ledger.
+     */
+    @Getter
+    private final int bkReadAheadBatchCount;
     private final byte[] bkPassword;
 
     @Getter
@@ -177,6 +209,25 @@ public class BookKeeperConfig {
         this.bkWriteTimeoutMillis = properties.getInt(BK_WRITE_TIMEOUT);
         this.bkReadTimeoutMillis = properties.getInt(BK_READ_TIMEOUT);
         this.bkLedgerMaxSize = properties.getInt(BK_LEDGER_MAX_SIZE);
+        this.bkWriteStripeCount = properties.getInt(BK_WRITE_STRIPE_COUNT);
+        if (this.bkWriteStripeCount <= 0) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be a positive integer.",
+                    BK_WRITE_STRIPE_COUNT, this.bkWriteStripeCount));
+        }
+
+        this.bkStandbyLedgerEnabled = properties.getBoolean(BK_STANDBY_LEDGER_ENABLED);
+        this.bkReadBatchSize = properties.getInt(BK_READ_BATCH_SIZE);
+        if (this.bkReadBatchSize <= 0) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be a positive integer.",
+                    BK_READ_BATCH_SIZE, this.bkReadBatchSize));
+        }
+
+        this.bkReadAheadBatchCount = properties.getInt(BK_READ_AHEAD_BATCH_COUNT);
+        if (this.bkReadAheadBatchCount <= 0) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be a positive integer.",
+                    BK_READ_AHEAD_BATCH_COUNT, this.bkReadAheadBatchCount));
+        }
+
         this.bkPassword = properties.get(BK_PASSWORD).getBytes(Charset.forName("UTF-8"));
         this.isTLSEnabled = properties.getBoolean(BK_TLS_ENABLED);
         this.tlsTrustStore = properties.get(TLS_TRUST_STORE_PATH);
@@ -31,6 +31,7 @@ import io.pravega.segmentstore.storage.QueueStats;
 import io.pravega.segmentstore.storage.WriteFailureException;
 import io.pravega.segmentstore.storage.WriteTooLongException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -41,6 +42,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
@@ -68,6 +70,14 @@ import org.apache.zookeeper.data.Stat;
  * Fencing and Rollovers:
  * * This is done according to the protocol described here: https://bookkeeper.apache.org/docs/r4.4.0/bookkeeperLedgers2Logs.html
  * * See JavaDocs for the initialize() method (Open-Fence) and the rollover() method (for Rollovers) for details.
+ * * If enabled, the next Ledger (the Standby Ledger) is created and registered in the Log Metadata ahead of time, so that
+ * a rollover only needs to switch over to it.
+ * <p>
+ * Striping:
+ * * If configured with a Write Stripe Count greater than 1, the Log writes to that many Ledgers (a stripe) concurrently,
+ * in a round-robin fashion. All the Ledgers in a stripe are created, rolled over and fenced out together.
+ * * Every entry in a striped Ledger is prefixed by its position in the stripe, which the Log Reader uses to merge the
+ * Ledgers back into a single sequence. See the LedgerStripe class for more details.
  * <p>
  * Reading the log
  * * Reading the log can only be done from the beginning. There is no random-access available.
@@ -92,12 +102,17 @@ class BookKeeperLog implements DurableDataLog {
     @GuardedBy("lock")
     private WriteLedger writeLedger;
     @GuardedBy("lock")
+    private LedgerStripe writeStripe;
+    @GuardedBy("lock")
+    private List<WriteLedger> standbyLedgers;
+    @GuardedBy("lock")
     private LogMetadata logMetadata;
     private final WriteQueue writes;
     private final SequentialAsyncProcessor writeProcessor;
     private final SequentialAsyncProcessor rolloverProcessor;
     private final BookKeeperMetrics.BookKeeperLog metrics;
     private final ScheduledFuture<?> metricReporter;
+    private final AtomicReference<Timer> writesBlockedTimer;
 
     //endregion
 
@@ -127,6 +142,7 @@ class BookKeeperLog implements DurableDataLog {
         this.rolloverProcessor = new SequentialAsyncProcessor(this::rollover, retry, this::handleRolloverFailure, this.executorService);
         this.metrics = new BookKeeperMetrics.BookKeeperLog(containerId);
         this.metricReporter = this.executorService.scheduleWithFixedDelay(this::reportMetrics, REPORT_INTERVAL, REPORT_INTERVAL, TimeUnit.MILLISECONDS);
+        this.writesBlockedTimer = new AtomicReference<>();
     }
 
     private Retry.RetryAndThrowBase<? extends Exception> createRetryPolicy(int maxWriteAttempts, int writeTimeout) {
@@ -158,18 +174,24 @@ class BookKeeperLog implements DurableDataLog {
             this.rolloverProcessor.close();
             this.writeProcessor.close();
 
-            // Close active ledger.
-            WriteLedger writeLedger;
+            // Close active and standby ledger(s).
+            List<WriteLedger> writeLedgers;
             synchronized (this.lock) {
-                writeLedger = this.writeLedger;
+                writeLedgers = new ArrayList<>(getActiveWriteLedgers());
+                if (this.standbyLedgers != null) {
+                    writeLedgers.addAll(this.standbyLedgers);
+                }
+
                 this.writeLedger = null;
+                this.writeStripe = null;
+                this.standbyLedgers = null;
                 this.logMetadata = null;
             }
 
             // Close the write queue and cancel the pending writes.
             this.writes.close().forEach(w -> w.fail(new CancellationException("BookKeeperLog has been closed."), true));
 
-            if (writeLedger != null) {
+            for (WriteLedger writeLedger : writeLedgers) {
                 try {
                     Ledgers.close(writeLedger.ledger);
                 } catch (DurableDataLogException bkEx) {
@@ -188,11 +210,11 @@ class BookKeeperLog implements DurableDataLog {
     /**
      * Open-Fences this BookKeeper log using the following protocol:
      * 1. Read Log Metadata from ZooKeeper.
-     * 2. Fence at least the last 2 ledgers in the Ledger List.
-     * 3. Create a new Ledger.
+     * 2. Fence at least the last 2 ledgers in the Ledger List (and all the ledgers in the stripes they belong to).
+     * 3. Create a new Ledger (or stripe of Ledgers, if striping is enabled), as well as the Standby Ledger(s), if enabled.
      * 3.1 If any of the steps so far fails, the process is interrupted at the point of failure, and no cleanup is attempted.
-     * 4. Update Log Metadata using compare-and-set (this update contains the new ledger and new epoch).
-     * 4.1 If CAS fails on metadata update, the newly created Ledger is deleted (this means we were fenced out by some
+     * 4. Update Log Metadata using compare-and-set (this update contains the new ledgers and new epoch).
+     * 4.1 If CAS fails on metadata update, the newly created Ledgers are deleted (this means we were fenced out by some
      * other instance) and no other update is performed.
      *
      * @param timeout Timeout for the operation.
@@ -225,15 +247,18 @@ class BookKeeperLog implements DurableDataLog {
                 oldMetadata = oldMetadata.updateLedgerStatus(emptyLedgerIds);
             }
 
-            // Create new ledger.
-            LedgerHandle newLedger = Ledgers.create(this.bookKeeper, this.config);
-            log.info("{}: Created Ledger {}.", this.traceObjectId, newLedger.getId());
-
-            // Update Metadata with new Ledger and persist to ZooKeeper.
-            newMetadata = updateMetadata(oldMetadata, newLedger, true);
-            LedgerMetadata ledgerMetadata = newMetadata.getLedger(newLedger.getId());
-            assert ledgerMetadata != null : "cannot find newly added ledger metadata";
-            this.writeLedger = new WriteLedger(newLedger, ledgerMetadata);
+            // Create new ledger(s), followed by the standby ledger(s).
+            int stripeCount = this.config.getBkWriteStripeCount();
+            List<LedgerHandle> newLedgers = createLedgers(this.config.isBkStandbyLedgerEnabled() ? 2 : 1);
+            log.info("{}: Created Ledger(s) {}.", this.traceObjectId, getLedgerIds(newLedgers));
+
+            // Update Metadata with new Ledger(s) and persist to ZooKeeper.
+            newMetadata = updateMetadata(oldMetadata, newLedgers, true);
+            val writeLedgers = createWriteLedgers(newMetadata, newLedgers);
+            val activeLedgers = writeLedgers.subList(0, stripeCount);
+            this.writeStripe = createWriteStripe(activeLedgers);
+            this.writeLedger = activeLedgers.get(0);
+            this.standbyLedgers = writeLedgers.size() > stripeCount ? new ArrayList<>(writeLedgers.subList(stripeCount, writeLedgers.size())) : null;
             this.logMetadata = newMetadata;
             ledgersToDelete = getLedgerIdsToDelete(oldMetadata, newMetadata);
         }
@@ -298,7 +323,13 @@ class BookKeeperLog implements DurableDataLog {
 
         // Queue up the write.
         CompletableFuture<LogAddress> result = new CompletableFuture<>();
-        this.writes.add(new Write(data, getWriteLedger(), result));
+        Write write = new Write(data, getWriteLedger(), result);
+        LedgerStripe stripe = getWriteStripe();
+        if (stripe != null) {
+            write.setStripe(stripe);
+        }
+
+        this.writes.add(write);
 
         // Trigger Write Processor.
         this.writeProcessor.runAsync();
@@ -326,12 +357,23 @@ class BookKeeperLog implements DurableDataLog {
     @Override
     public CloseableIterator<ReadItem, DurableDataLogException> getReader() throws DurableDataLogException {
         ensurePreconditions();
-        return new LogReader(getLogMetadata(), this.bookKeeper, this.config);
+        LogMetadata metadata;
+        int activeSequence;
+        synchronized (this.lock) {
+            metadata = this.logMetadata;
+            activeSequence = this.writeStripe != null ? this.writeStripe.getSequence() : this.writeLedger.metadata.getSequence();
+        }
+
+        // The Ledgers we are writing to (and our Standby Ledgers, which come after them) must not be fenced out.
+        return new LogReader(metadata, activeSequence, this.bookKeeper, this.config);
     }
 
     @Override
     public int getMaxAppendLength() {
-        return BookKeeperConfig.MAX_APPEND_LENGTH;
+        // Striped entries are prefixed by a header, which counts towards BookKeeper's limit.
+        return this.config.getBkWriteStripeCount() > 1
+                ? BookKeeperConfig.MAX_APPEND_LENGTH - LedgerStripe.HEADER_LENGTH
+                : BookKeeperConfig.MAX_APPEND_LENGTH;
     }
 
     @Override
@@ -358,9 +400,13 @@ class BookKeeperLog implements DurableDataLog {
             return;
         }
 
-        if (getWriteLedger().ledger.isClosed()) {
-            // Current ledger is closed. Execute the rollover processor to safely create a new ledger. This will reinvoke
+        if (isWriteTargetClosed()) {
+            // Current ledger (or stripe) is closed. Execute the rollover processor to safely create a new ledger. This will reinvoke
             // the write processor upon finish, so the writes can be reattempted.
+            if (hasUnexecutedWrites()) {
+                recordWritesBlocked();
+            }
+
             this.rolloverProcessor.runAsync();
         } else if (!processPendingWrites() && !this.closed.get()) {
             // We were not able to complete execution of all writes. Try again.
@@ -376,6 +422,12 @@ class BookKeeperLog implements DurableDataLog {
     private boolean processPendingWrites() {
         long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "processPendingWrites");
 
+        if (getWriteStripe() != null) {
+            // Complete those striped writes that can be completed, in order. We need to do this before cleaning up the
+            // queue, since it may complete writes that are at its head.
+            processStripedWrites();
+        }
+
         // Clean up the write queue of all finished writes that are complete (successfully or failed for good)
         val cs = this.writes.removeFinishedWrites();
         if (cs == WriteQueue.CleanupStatus.WriteFailed) {
@@ -395,7 +447,13 @@ class BookKeeperLog implements DurableDataLog {
 
         // Execute the writes, if any.
         boolean success = true;
-        if (!toExecute.isEmpty()) {
+        if (toExecute.isEmpty()) {
+            if (hasUnexecutedWrites()) {
+                // There are writes waiting to be executed, but none of them can be (most likely due to a rollover).
+                recordWritesBlocked();
+            }
+        } else {
+            recordWritesUnblocked();
             success = executeWrites(toExecute);
 
             if (success) {
@@ -414,6 +472,11 @@ class BookKeeperLog implements DurableDataLog {
      * @return The list of Writes to execute.
      */
     private List<Write> getWritesToExecute() {
+        LedgerStripe stripe = getWriteStripe();
+        if (stripe != null) {
+            return getStripedWritesToExecute(stripe);
+        }
+
         // Calculate how much estimated space there is in the current ledger.
         final long maxTotalSize = this.config.getBkLedgerMaxSize() - getWriteLedger().ledger.getLength();
 
@@ -431,6 +494,28 @@ class BookKeeperLog implements DurableDataLog {
         return toExecute;
     }
 
+    /**
+     * Collects an ordered list of Writes to execute to the given (active) LedgerStripe.
+     *
+     * @param stripe The active LedgerStripe.
+     * @return The list of Writes to execute.
+     */
+    private List<Write> getStripedWritesToExecute(LedgerStripe stripe) {
+        if (stripe.isClosed()) {
+            // We cannot write anything else to this stripe. The rollover will reissue any unacknowledged writes.
+            return Collections.emptyList();
+        }
+
+        List<Write> toExecute = this.writes.getWritesToExecute(stripe.getRemainingCapacity(this.config.getBkLedgerMaxSize()));
+        if (toExecute.size() > 0 && toExecute.get(0).getStripe() != stripe) {
+            // These writes belong to a stripe that has been rolled over. They cannot be executed until processStripedWrites()
+            // resolves them.
+            return Collections.emptyList();
+        }
+
+        return toExecute;
+    }
+
     /**
      * Executes the given Writes to BookKeeper.
      *
@@ -451,9 +536,21 @@ class BookKeeperLog implements DurableDataLog {
                 }
 
                 // Invoke the BookKeeper write.
-                w.getWriteLedger().ledger.asyncAddEntry(w.data.array(), w.data.arrayOffset(), w.data.getLength(), this::addCallback, w);
+                LedgerStripe stripe = w.getStripe();
+                if (stripe == null) {
+                    w.getWriteLedger().ledger.asyncAddEntry(w.data.array(), w.data.arrayOffset(), w.data.getLength(), this::addCallback, w);
+                } else {
+                    // Each striped entry must be prefixed by its position in the stripe.
+                    byte[] entry = stripe.createEntry(w.assignFrameIndex(), w.data);
+                    w.getWriteLedger().ledger.asyncAddEntry(entry, this::addCallback, w);
+                }
             } catch (Throwable ex) {
                 // Synchronous failure (or RetriesExhausted). Fail current write.
+                if (w.getStripe() != null) {
+                    // We will not execute the remaining writes, so we cannot use this stripe anymore.
+                    w.getStripe().markFailed();
+                }
+
                 boolean isFinal = !isRetryable(ex);
                 w.fail(ex, isFinal);
 
@@ -512,6 +609,94 @@ class BookKeeperLog implements DurableDataLog {
         return anythingChanged;
     }
 
+    /**
+     * Completes, in order, those striped Writes that have been written to BookKeeper and whose predecessors in the same
+     * stripe have all been completed, and resolves the Writes assigned to stripes that have since been rolled over.
+     * This method is not thread safe and should only be invoked as part of the Write Processor.
+     */
+    private void processStripedWrites() {
+        LedgerStripe activeStripe = getWriteStripe();
+        if (activeStripe == null) {
+            // We have been closed in the meantime.
+            return;
+        }
+
+        List<Write> pending = this.writes.getPendingWrites();
+        Map<Long, Long> lastAddsConfirmed = new HashMap<>();
+        int index = 0;
+        while (index < pending.size()) {
+            // Writes are in the queue in the order of the stripes they are assigned to; process one stripe at a time.
+            LedgerStripe stripe = pending.get(index).getStripe();
+            int endIndex = index + 1;
+            while (endIndex < pending.size() && pending.get(endIndex).getStripe() == stripe) {
+                endIndex++;
+            }
+
+            List<Write> stripeWrites = pending.subList(index, endIndex);
+            if (stripe == activeStripe) {
+                // Complete all the writes that have been written, up to the first one that hasn't been.
+                for (Write w : stripeWrites) {
+                    if (!w.isWritten()) {
+                        break;
+                    }
+
+                    completeWrite(w);
+                }
+
+                break;
+            } else if (!resolveStripedWrites(stripeWrites, activeStripe, lastAddsConfirmed)) {
+                // We cannot do anything about the Writes after these until they are resolved.
+                break;
+            }
+
+            index = endIndex;
+        }
+    }
+
+    /**
+     * Resolves all pending Writes assigned to a stripe that has been rolled over. Those Writes that make up a contiguous
+     * sequence of entries in the stripe (following any Writes that have already been completed) are completed, while
+     * all the others are reassigned to the active stripe, since the LogReader would not read them.
+     *
+     * @param writes            An ordered list of Writes, all assigned to the same rolled over stripe.
+     * @param activeStripe      The active stripe.
+     * @param lastAddsConfirmed A Map of LedgerIds to LastAddConfirmed for each known ledger id. This is used as a cache
+     *                          and will be updated if necessary.
+     * @return True if the Writes have been resolved, false if we cannot yet determine the outcome of some of them.
+     */
+    private boolean resolveStripedWrites(List<Write> writes, LedgerStripe activeStripe, Map<Long, Long> lastAddsConfirmed) {
+        LedgerStripe stripe = writes.get(0).getStripe();
+        if (!stripe.isSealed() || writes.stream().anyMatch(w -> w.isInProgress() && !w.isWritten())) {
+            // Either the stripe's ledgers aren't all closed yet, or not all BookKeeper callbacks have been invoked yet.
+            // In either case, we will be invoked again once that happens.
+            return false;
+        }
+
+        long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "resolveStripedWrites", stripe, writes.size());
+        int completedCount = 0;
+        boolean canComplete = true;
+        for (Write w : writes) {
+            canComplete = canComplete && w.getFrameIndex() >= 0
+                    && (w.isWritten() || (w.getEntryId() >= 0 && w.getEntryId() <= fetchLastAddConfirmed(w.getWriteLedger(), lastAddsConfirmed)));
+            if (canComplete) {
+                completeWrite(w);
+                completedCount++;
+            } else {
+                if (w.isInProgress()) {
+                    // Written, but after a gap. End this attempt so that we can retry it.
+                    w.fail(null, false);
+                }
+
+                w.setStripe(activeStripe);
+            }
+        }
+
+        log.info("{}: Resolved {} Write(s) for rolled over {}; Completed = {}, Reissued = {}.", this.traceObjectId,
+                writes.size(), stripe, completedCount, writes.size() - completedCount);
+        LoggerHelpers.traceLeave(log, this.traceObjectId, "resolveStripedWrites", traceId, completedCount);
+        return true;
+    }
+
     /**
      * Reliably gets the LastAddConfirmed for the WriteLedger
      *
@@ -557,7 +742,16 @@ class BookKeeperLog implements DurableDataLog {
             assert handle.getId() == write.getWriteLedger().ledger.getId()
                     : "Handle.Id mismatch: " + write.getWriteLedger().ledger.getId() + " vs " + handle.getId();
             write.setEntryId(entryId);
+            LedgerStripe stripe = write.getStripe();
             if (rc == 0) {
+                write.markAcknowledged();
+                if (stripe != null) {
+                    // Successful striped write. Writes before this one may have been made to other ledgers in the stripe
+                    // and may not have completed yet; the WriteProcessor will complete it once they have.
+                    write.markWritten();
+                    return;
+                }
+
                 // Successful write. If we get this, then by virtue of how the Writes are executed (always wait for writes
                 // in previous ledgers to complete before initiating, and BookKeeper guaranteeing that all writes in this
                 // ledger prior to this writes are done), it is safe to complete the callback future now.
@@ -565,6 +759,11 @@ class BookKeeperLog implements DurableDataLog {
                 return;
             }
 
+            if (stripe != null) {
+                // A failed write leaves a gap in the stripe; no other write may be made to it.
+                stripe.markFailed();
+            }
+
             // Convert the response code into an Exception. Eventually this will be picked up by the WriteProcessor which
             // will retry it or fail it permanently (this includes exceptions from rollovers).
             handleWriteException(rc, write);
@@ -592,7 +791,8 @@ class BookKeeperLog implements DurableDataLog {
     private void completeWrite(Write write) {
         Timer t = write.complete();
         if (t != null) {
-            this.metrics.bookKeeperWriteCompleted(write.data.getLength(), t.getElapsed());
+            this.metrics.bookKeeperWriteCompleted(write.data.getLength(), write.getQueueLatency(), write.getBookKeeperLatency(),
+                    write.getCallbackLatency());
         }
     }
 
@@ -727,41 +927,44 @@ class BookKeeperLog implements DurableDataLog {
     }
 
     /**
-     * Updates the metadata and persists it as a result of adding a new Ledger.
+     * Updates the metadata and persists it as a result of adding a new Ledger (or stripe of Ledgers).
      *
      * @param currentMetadata   The current metadata.
-     * @param newLedger         The newly added Ledger.
+     * @param newLedgers        The newly added Ledger(s), in order. These are added in groups of
+     *                          BookKeeperConfig.getBkWriteStripeCount(); if that is more than one, each group is added as
+     *                          a stripe.
      * @param clearEmptyLedgers If true, the new metadata will not not contain any pointers to empty Ledgers. Setting this
      *                          to true will not remove a pointer to the last few ledgers in the Log (controlled by
      *                          Ledgers.MIN_FENCE_LEDGER_COUNT), even if they are indeed empty (this is so we don't interfere
      *                          with any ongoing fencing activities as another instance of this Log may not have yet been
      *                          fenced out).
-     * @return A new instance of the LogMetadata, which includes the new ledger.
+     * @return A new instance of the LogMetadata, which includes the new ledger(s).
      * @throws DurableDataLogException If an Exception occurred.
      */
-    private LogMetadata updateMetadata(LogMetadata currentMetadata, LedgerHandle newLedger, boolean clearEmptyLedgers) throws DurableDataLogException {
+    private LogMetadata updateMetadata(LogMetadata currentMetadata, List<LedgerHandle> newLedgers, boolean clearEmptyLedgers) throws DurableDataLogException {
         boolean create = currentMetadata == null;
-        if (create) {
-            // This is the first ledger ever in the metadata.
-            currentMetadata = new LogMetadata(newLedger.getId());
-        } else {
-            currentMetadata = currentMetadata.addLedger(newLedger.getId());
-            if (clearEmptyLedgers) {
-                // Remove those ledgers from the metadata that are empty.
-                currentMetadata = currentMetadata.removeEmptyLedgers(Ledgers.MIN_FENCE_LEDGER_COUNT);
+        List<Long> newLedgerIds = getLedgerIds(newLedgers);
+        int stripeCount = this.config.getBkWriteStripeCount();
+        Preconditions.checkArgument(newLedgerIds.size() % stripeCount == 0, "newLedgers must contain entire stripes.");
+        for (int i = 0; i < newLedgerIds.size(); i += stripeCount) {
+            List<Long> ids = newLedgerIds.subList(i, i + stripeCount);
+            if (currentMetadata == null) {
+                // This is the first ledger (or stripe) ever in the metadata.
+                currentMetadata = stripeCount > 1 ? new LogMetadata(ids) : new LogMetadata(ids.get(0));
+            } else {
+                currentMetadata = stripeCount > 1 ? currentMetadata.addStripe(ids) : currentMetadata.addLedger(ids.get(0));
             }
         }
 
+        if (!create && clearEmptyLedgers) {
+            // Remove those ledgers from the metadata that are empty.
+            currentMetadata = currentMetadata.removeEmptyLedgers(Ledgers.MIN_FENCE_LEDGER_COUNT);
+        }
+
         try {
             persistMetadata(currentMetadata, create);
         } catch (DurableDataLogException ex) {
-            try {
-                Ledgers.delete(newLedger.getId(), this.bookKeeper);
-            } catch (Exception deleteEx) {
-                log.warn("{}: Unable to delete newly created ledger {}.", this.traceObjectId, newLedger.getId(), deleteEx);
-                ex.addSuppressed(deleteEx);
-            }
-
+            deleteLedgers(newLedgerIds, ex);
             throw ex;
         }
 
@@ -816,15 +1019,22 @@ class BookKeeperLog implements DurableDataLog {
     //region Ledger Rollover
 
     /**
-     * Triggers an asynchronous rollover, if the current Write Ledger has exceeded its maximum length.
+     * Triggers an asynchronous rollover, if the current Write Ledger (or any of the Ledgers in the current stripe) has
+     * exceeded its maximum length or can no longer be written to.
      * The rollover protocol is as follows:
-     * 1. Create a new ledger.
-     * 2. Create an in-memory copy of the metadata and add the new ledger to it.
-     * 3. Update the metadata in ZooKeeper using compare-and-set.
-     * 3.1 If the update fails, the newly created ledger is deleted and the operation stops.
-     * 4. Swap in-memory pointers to the active Write Ledger (all future writes will go to the new ledger).
-     * 5. Close the previous ledger (and implicitly seal it).
-     * 5.1 If closing fails, there is nothing we can do. We've already opened a new ledger and new writes are going to it.
+     * 1. If we have a Standby Ledger, use it as the new ledger and skip to step 5.
+     * 2. Create a new ledger.
+     * 3. Create an in-memory copy of the metadata and add the new ledger to it.
+     * 4. Update the metadata in ZooKeeper using compare-and-set.
+     * 4.1 If the update fails, the newly created ledger is deleted and the operation stops.
+     * 5. Swap in-memory pointers to the active Write Ledger (all future writes will go to the new ledger).
+     * 6. Close the previous ledger (and implicitly seal it).
+     * 6.1 If closing fails, there is nothing we can do. We've already opened a new ledger and new writes are going to it.
+     * 7. If enabled, create a new Standby Ledger and register it in the metadata (steps 2-4). This is done after the Write
+     * Processor has been notified of the new ledger, so it does not hold up any writes.
+     *
+     * A Standby Ledger is registered in the metadata before it is ever written to, so it will be fenced out upon recovery
+     * just like any other ledger. If striping is enabled, all the ledgers in the stripe are replaced at once.
      *
      * NOTE: this method is not thread safe and is not meant to be executed concurrently. It should only be invoked as
      * part of the Rollover Processor.
@@ -837,54 +1047,221 @@ class BookKeeperLog implements DurableDataLog {
         }
 
         long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "rollover");
-        val l = getWriteLedger().ledger;
-        if (!l.isClosed() && l.getLength() < this.config.getBkLedgerMaxSize()) {
-            // Nothing to do. Trigger the write processor just in case this rollover was invoked because the write
-            // processor got a pointer to a LedgerHandle that was just closed by a previous run of the rollover processor.
+        boolean rolledOver = false;
+        try {
+            if (isRolloverNeeded()) {
+                Timer timer = new Timer();
+                List<WriteLedger> newLedgers = takeStandbyLedgers();
+                if (newLedgers == null) {
+                    // No standby ledgers available. We need to create new ones now.
+                    newLedgers = registerLedgers(createLedgers(1));
+                    log.debug("{}: Rollover: created new ledger(s) {}.", this.traceObjectId, newLedgers);
+                }
+
+                val oldLedgers = swapWriteLedgers(newLedgers);
+                this.metrics.rolloverCompleted(timer.getElapsed());
+                rolledOver = true;
+
+                // New writes can go to the new ledger(s) right away; there is no need to wait for the old ones to close.
+                this.writeProcessor.runAsync();
+                closeLedgers(oldLedgers);
+                log.info("{}: Rollover: swapped ledger pointers (Old = {}, New = {}) and closed old ledger(s).",
+                        this.traceObjectId, oldLedgers, newLedgers);
+            }
+
+            if (this.config.isBkStandbyLedgerEnabled() && !this.closed.get() && !hasStandbyLedgers()) {
+                val standby = registerLedgers(createLedgers(1));
+                boolean isClosed;
+                synchronized (this.lock) {
+                    // If we got closed in the meantime, close() will not know about these ledgers.
+                    isClosed = this.closed.get();
+                    if (!isClosed) {
+                        this.standbyLedgers = standby;
+                    }
+                }
+
+                if (isClosed) {
+                    closeLedgers(standby);
+                } else {
+                    log.info("{}: Rollover: registered standby ledger(s) {}.", this.traceObjectId, standby);
+                }
+            }
+        } finally {
+            // It's possible that we have writes in the queue that didn't get picked up because they exceeded the predicted
+            // ledger length. Invoke the Write Processor to execute them.
             this.writeProcessor.runAsync();
-            LoggerHelpers.traceLeave(log, this.traceObjectId, "rollover", traceId, false);
-            return;
+            LoggerHelpers.traceLeave(log, this.traceObjectId, "rollover", traceId, rolledOver);
         }
+    }
 
-        try {
-            // Create new ledger.
-            LedgerHandle newLedger = Ledgers.create(this.bookKeeper, this.config);
-            log.debug("{}: Rollover: created new ledger {}.", this.traceObjectId, newLedger.getId());
+    /**
+     * Determines whether the current Write Ledger (or stripe) needs to be rolled over.
+     */
+    private boolean isRolloverNeeded() {
+        LedgerStripe stripe = getWriteStripe();
+        if (stripe != null) {
+            return stripe.isClosed() || stripe.getMaxLength() >= this.config.getBkLedgerMaxSize();
+        }
 
-            // Update the metadata.
-            LogMetadata metadata = getLogMetadata();
-            metadata = updateMetadata(metadata, newLedger, false);
-            LedgerMetadata ledgerMetadata = metadata.getLedger(newLedger.getId());
-            assert ledgerMetadata != null : "cannot find newly added ledger metadata";
-            log.debug("{}: Rollover: updated metadata '{}.", this.traceObjectId, metadata);
+        val l = getWriteLedger().ledger;
+        return l.isClosed() || l.getLength() >= this.config.getBkLedgerMaxSize();
+    }
 
-            // Update pointers to the new ledger and metadata.
-            LedgerHandle oldLedger;
-            synchronized (this.lock) {
-                oldLedger = this.writeLedger.ledger;
-                if (!oldLedger.isClosed()) {
+    /**
+     * Adds the given (newly created) Ledgers to the metadata, persists it, and updates the in-memory metadata pointer.
+     * If the metadata could not be updated, the Ledgers are deleted.
+     *
+     * @param newLedgers The Ledgers to add.
+     * @return A List of WriteLedgers for the newly added Ledgers.
+     * @throws DurableDataLogException If an Exception occurred.
+     */
+    private List<WriteLedger> registerLedgers(List<LedgerHandle> newLedgers) throws DurableDataLogException {
+        LogMetadata metadata = updateMetadata(getLogMetadata(), newLedgers, false);
+        log.debug("{}: Rollover: updated metadata '{}.", this.traceObjectId, metadata);
+        synchronized (this.lock) {
+            this.logMetadata = metadata;
+        }
+
+        return createWriteLedgers(metadata, newLedgers);
+    }
+
+    /**
+     * Swaps the in-memory pointers to the active Write Ledger (or stripe) with the given Ledgers. The given Ledgers must
+     * already be registered in the metadata.
+     *
+     * @param newLedgers The new Ledgers to write to.
+     * @return The previous Write Ledgers. These should be closed as soon as possible.
+     */
+    private List<WriteLedger> swapWriteLedgers(List<WriteLedger> newLedgers) {
+        LedgerStripe newStripe = createWriteStripe(newLedgers);
+        List<WriteLedger> oldLedgers;
+        synchronized (this.lock) {
+            oldLedgers = getActiveWriteLedgers();
+            for (WriteLedger wl : oldLedgers) {
+                if (!wl.ledger.isClosed()) {
                     // Only mark the old ledger as Rolled Over if it is still open. Otherwise it means it was closed
                     // because of some failure and should not be marked as such.
-                    this.writeLedger.setRolledOver(true);
+                    wl.setRolledOver(true);
                 }
+            }
 
-                this.writeLedger = new WriteLedger(newLedger, ledgerMetadata);
-                this.logMetadata = metadata;
+            this.writeStripe = newStripe;
+            this.writeLedger = newLedgers.get(0);
+        }
+
+        return oldLedgers;
+    }
+
+    /**
+     * Closes the given Ledgers. This must be done outside of the lock, otherwise the pending writes (and their callbacks)
+     * will be invoked within the lock, thus likely candidates for deadlocks.
+     *
+     * @param ledgers The Ledgers to close.
+     * @throws DurableDataLogException If any of the Ledgers could not be closed. All Ledgers will be attempted.
+     */
+    private void closeLedgers(List<WriteLedger> ledgers) throws DurableDataLogException {
+        DurableDataLogException closeEx = null;
+        for (WriteLedger wl : ledgers) {
+            try {
+                Ledgers.close(wl.ledger);
+            } catch (DurableDataLogException ex) {
+                if (closeEx == null) {
+                    closeEx = ex;
+                } else {
+                    closeEx.addSuppressed(ex);
+                }
             }
+        }
 
-            // Close the old ledger. This must be done outside of the lock, otherwise the pending writes (and their callbacks)
-            // will be invoked within the lock, thus likely candidates for deadlocks.
-            Ledgers.close(oldLedger);
-            log.info("{}: Rollover: swapped ledger and metadata pointers (Old = {}, New = {}) and closed old ledger.",
-                    this.traceObjectId, oldLedger.getId(), newLedger.getId());
-        } finally {
-            // It's possible that we have writes in the queue that didn't get picked up because they exceeded the predicted
-            // ledger length. Invoke the Write Processor to execute them.
-            this.writeProcessor.runAsync();
-            LoggerHelpers.traceLeave(log, this.traceObjectId, "rollover", traceId, true);
+        if (closeEx != null) {
+            throw closeEx;
+        }
+    }
+
+    /**
+     * Gets the Standby Ledgers, if any, and clears them so they will not be used again.
+     *
+     * @return The Standby Ledgers, or null if there are none.
+     */
+    private List<WriteLedger> takeStandbyLedgers() {
+        synchronized (this.lock) {
+            List<WriteLedger> result = this.standbyLedgers;
+            this.standbyLedgers = null;
+            return result;
+        }
+    }
+
+    private boolean hasStandbyLedgers() {
+        synchronized (this.lock) {
+            return this.standbyLedgers != null;
+        }
+    }
+
+    /**
+     * Creates the Ledgers needed for new Write Ledgers or, if striping is enabled, for new stripes. If any of the
+     * Ledgers could not be created, all those that were created are deleted.
+     *
+     * @param groupCount The number of Write Ledgers (or stripes) to create Ledgers for.
+     * @return A List of LedgerHandles, in stripe order.
+     * @throws DurableDataLogException If an Exception occurred.
+     */
+    private List<LedgerHandle> createLedgers(int groupCount) throws DurableDataLogException {
+        int count = this.config.getBkWriteStripeCount() * groupCount;
+        List<LedgerHandle> result = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                result.add(Ledgers.create(this.bookKeeper, this.config));
+            }
+        } catch (DurableDataLogException ex) {
+            deleteLedgers(getLedgerIds(result), ex);
+            throw ex;
+        }
+
+        return result;
+    }
+
+    /**
+     * Deletes the given newly created Ledgers, as a result of a failure.
+     *
+     * @param ledgerIds The Ids of the Ledgers to delete.
+     * @param failure   The failure that required the deletion. Any exceptions encountered during deletion will be
+     *                  added as suppressed exceptions to it.
+     */
+    private void deleteLedgers(List<Long> ledgerIds, Exception failure) {
+        for (long ledgerId : ledgerIds) {
+            try {
+                Ledgers.delete(ledgerId, this.bookKeeper);
+            } catch (Exception deleteEx) {
+                log.warn("{}: Unable to delete newly created ledger {}.", this.traceObjectId, ledgerId, deleteEx);
+                failure.addSuppressed(deleteEx);
+            }
         }
     }
 
+    private List<WriteLedger> createWriteLedgers(LogMetadata metadata, List<LedgerHandle> ledgers) {
+        List<WriteLedger> result = new ArrayList<>(ledgers.size());
+        for (LedgerHandle ledger : ledgers) {
+            LedgerMetadata ledgerMetadata = metadata.getLedger(ledger.getId());
+            assert ledgerMetadata != null : "cannot find newly added ledger metadata";
+            result.add(new WriteLedger(ledger, ledgerMetadata));
+        }
+
+        return result;
+    }
+
+    private LedgerStripe createWriteStripe(List<WriteLedger> ledgers) {
+        if (ledgers.size() == 1) {
+            // Not striped.
+            return null;
+        }
+
+        return new LedgerStripe(ledgers);
+    }
+
+    private static List<Long> getLedgerIds(List<LedgerHandle> ledgers) {
+        return ledgers.stream().map(LedgerHandle::getId).collect(Collectors.toList());
+    }
+
     /**
      * Determines which Ledger Ids are safe to delete from BookKeeper.
      *
@@ -913,6 +1290,29 @@ class BookKeeperLog implements DurableDataLog {
 
     //region Helpers
 
+    private boolean hasUnexecutedWrites() {
+        return this.writes.getPendingWrites().stream().anyMatch(w -> !w.isInProgress());
+    }
+
+    /**
+     * Records the fact that there are Writes in the queue that cannot be executed, if not already recorded.
+     */
+    private void recordWritesBlocked() {
+        if (this.writesBlockedTimer.get() == null) {
+            this.writesBlockedTimer.compareAndSet(null, new Timer());
+        }
+    }
+
+    /**
+     * Records the fact that Writes can be executed again, and reports for how long they were blocked (if they were).
+     */
+    private void recordWritesUnblocked() {
+        Timer blockedTimer = this.writesBlockedTimer.getAndSet(null);
+        if (blockedTimer != null) {
+            this.metrics.writeQueueUnblocked(blockedTimer.getElapsed());
+        }
+    }
+
     private void reportMetrics() {
         this.metrics.ledgerCount(getLogMetadata().getLedgers().size());
         this.metrics.queueStats(this.writes.getStatistics());
@@ -930,6 +1330,29 @@ class BookKeeperLog implements DurableDataLog {
         }
     }
 
+    private LedgerStripe getWriteStripe() {
+        synchronized (this.lock) {
+            return this.writeStripe;
+        }
+    }
+
+    @GuardedBy("lock")
+    private List<WriteLedger> getActiveWriteLedgers() {
+        if (this.writeStripe != null) {
+            return this.writeStripe.ledgers;
+        } else if (this.writeLedger != null) {
+            return Collections.singletonList(this.writeLedger);
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    private boolean isWriteTargetClosed() {
+        synchronized (this.lock) {
+            return this.writeStripe != null ? this.writeStripe.isClosed() : this.writeLedger.ledger.isClosed();
+        }
+    }
+
     private void ensurePreconditions() {
         Exceptions.checkNotClosed(this.closed.get(), this);
         synchronized (this.lock) {
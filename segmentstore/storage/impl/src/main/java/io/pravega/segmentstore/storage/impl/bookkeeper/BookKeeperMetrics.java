@@ -33,7 +33,11 @@ final class BookKeeperMetrics {
         private final OpStatsLogger writeQueueSize;
         private final OpStatsLogger writeQueueFillRate;
         private final OpStatsLogger writeLatency;
+        private final OpStatsLogger writeQueueLatency;
+        private final OpStatsLogger writeCallbackLatency;
         private final OpStatsLogger totalWriteLatency;
+        private final OpStatsLogger rolloverLatency;
+        private final OpStatsLogger writeQueueBlockedLatency;
         private final String[] containerTag;
 
         BookKeeperLog(int containerId) {
@@ -41,7 +45,11 @@ final class BookKeeperMetrics {
             this.writeQueueSize = STATS_LOGGER.createStats(MetricsNames.BK_WRITE_QUEUE_SIZE, this.containerTag);
             this.writeQueueFillRate = STATS_LOGGER.createStats(MetricsNames.BK_WRITE_QUEUE_FILL_RATE, this.containerTag);
             this.writeLatency = STATS_LOGGER.createStats(MetricsNames.BK_WRITE_LATENCY, this.containerTag);
+            this.writeQueueLatency = STATS_LOGGER.createStats(MetricsNames.BK_WRITE_QUEUE_LATENCY, this.containerTag);
+            this.writeCallbackLatency = STATS_LOGGER.createStats(MetricsNames.BK_WRITE_CALLBACK_LATENCY, this.containerTag);
             this.totalWriteLatency = STATS_LOGGER.createStats(MetricsNames.BK_TOTAL_WRITE_LATENCY, this.containerTag);
+            this.rolloverLatency = STATS_LOGGER.createStats(MetricsNames.BK_ROLLOVER_LATENCY, this.containerTag);
+            this.writeQueueBlockedLatency = STATS_LOGGER.createStats(MetricsNames.BK_WRITE_QUEUE_BLOCKED_LATENCY, this.containerTag);
         }
 
         @Override
@@ -49,7 +57,11 @@ final class BookKeeperMetrics {
             this.writeQueueSize.close();
             this.writeQueueFillRate.close();
             this.writeLatency.close();
+            this.writeQueueLatency.close();
+            this.writeCallbackLatency.close();
             this.totalWriteLatency.close();
+            this.rolloverLatency.close();
+            this.writeQueueBlockedLatency.close();
         }
 
         void ledgerCount(int count) {
@@ -65,9 +77,19 @@ final class BookKeeperMetrics {
             this.totalWriteLatency.reportSuccessEvent(elapsed);
         }
 
-        void bookKeeperWriteCompleted(int length, Duration elapsed) {
-            this.writeLatency.reportSuccessEvent(elapsed);
+        void bookKeeperWriteCompleted(int length, Duration queueLatency, Duration bookKeeperLatency, Duration callbackLatency) {
+            this.writeQueueLatency.reportSuccessEvent(queueLatency);
+            this.writeLatency.reportSuccessEvent(bookKeeperLatency);
+            this.writeCallbackLatency.reportSuccessEvent(callbackLatency);
             DYNAMIC_LOGGER.incCounterValue(MetricsNames.BK_WRITE_BYTES, length);
         }
+
+        void rolloverCompleted(Duration elapsed) {
+            this.rolloverLatency.reportSuccessEvent(elapsed);
+        }
+
+        void writeQueueUnblocked(Duration blockedTime) {
+            this.writeQueueBlockedLatency.reportSuccessEvent(blockedTime);
+        }
     }
 }
@@ -19,6 +19,12 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @Getter
 public class LedgerMetadata {
+    /**
+     * Stripe Sequence for Ledgers that are not part of a stripe. Ledger sequences begin at 1, so this can never match
+     * an actual Ledger sequence.
+     */
+    static final int NO_STRIPE = 0;
+
     /**
      * The BookKeeper-assigned Ledger Id.
      */
@@ -34,6 +40,13 @@ public class LedgerMetadata {
      */
     private final Status status;
 
+    /**
+     * The sequence of the first Ledger in the stripe this Ledger belongs to, or NO_STRIPE if this Ledger is not part of
+     * a stripe. All the Ledgers in a stripe are written to concurrently, and every entry in them is prefixed by its
+     * position in the stripe (see LedgerStripe).
+     */
+    private final int stripeSequence;
+
     /**
      * Creates a new instance of the LedgerMetadata class with an unknown Empty Status.
      *
@@ -44,9 +57,31 @@ public class LedgerMetadata {
         this(ledgerId, sequence, Status.Unknown);
     }
 
+    /**
+     * Creates a new instance of the LedgerMetadata class for a Ledger that is not part of a stripe.
+     *
+     * @param ledgerId The BookKeeper-assigned Ledger Id.
+     * @param sequence The metadata-assigned sequence number.
+     * @param status   The Ledger Status.
+     */
+    LedgerMetadata(long ledgerId, int sequence, Status status) {
+        this(ledgerId, sequence, status, NO_STRIPE);
+    }
+
+    /**
+     * Gets a value indicating whether this Ledger is part of a stripe.
+     *
+     * @return True or false.
+     */
+    boolean isStriped() {
+        return this.stripeSequence != NO_STRIPE;
+    }
+
     @Override
     public String toString() {
-        return String.format("Id = %d, Sequence = %d, Status = %s", this.ledgerId, this.sequence, this.status);
+        return isStriped()
+                ? String.format("Id = %d, Sequence = %d, Status = %s, Stripe = %d", this.ledgerId, this.sequence, this.status, this.stripeSequence)
+                : String.format("Id = %d, Sequence = %d, Status = %s", this.ledgerId, this.sequence, this.status);
     }
 
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.bookkeeper;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.BitConverter;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+
+/**
+ * A set of WriteLedgers that are written to concurrently (a stripe).
+ * <p>
+ * Every Write to a stripe is assigned a Frame Index (its position within the stripe), and is written to the Ledger at
+ * position (Frame Index % Ledger Count). Every entry is prefixed by a header containing the Sequence of its LedgerAddress
+ * (which is made up of the Stripe Sequence and the Frame Index), which allows the LogReader to merge the Ledgers back
+ * into the order in which the Writes were made.
+ * <p>
+ * The contents of a stripe are only valid up to the first missing Frame Index. Writes are only acknowledged after all
+ * the Writes before them in the same stripe have been acknowledged, and the LogReader stops reading a stripe at the
+ * first gap it encounters. As such, a stripe in which any Write has failed cannot be used anymore; it must be rolled over
+ * and all its unacknowledged Writes reissued on the next stripe.
+ */
+class LedgerStripe {
+    //region Members
+
+    /**
+     * The length of the header prefixing every entry in a striped Ledger.
+     */
+    static final int HEADER_LENGTH = Long.BYTES;
+
+    /**
+     * The Stripe Sequence, which is the sequence of the first Ledger in the stripe.
+     */
+    @Getter
+    private final int sequence;
+    final List<WriteLedger> ledgers;
+    private final AtomicInteger nextFrameIndex;
+    private final AtomicBoolean failed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the LedgerStripe class.
+     *
+     * @param ledgers The WriteLedgers making up the stripe, in stripe order.
+     */
+    LedgerStripe(List<WriteLedger> ledgers) {
+        Preconditions.checkArgument(ledgers.size() > 0, "ledgers must not be empty.");
+        this.ledgers = Collections.unmodifiableList(ledgers);
+        this.sequence = ledgers.get(0).metadata.getStripeSequence();
+        this.ledgers.forEach(wl -> Preconditions.checkArgument(wl.metadata.getStripeSequence() == this.sequence,
+                "All ledgers must be in the same stripe."));
+        this.nextFrameIndex = new AtomicInteger();
+        this.failed = new AtomicBoolean();
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Assigns the next Frame Index in this stripe. This should only be invoked as part of the Write Processor, in the
+     * order in which the Writes are to be executed.
+     *
+     * @return The Frame Index.
+     */
+    int assignFrameIndex() {
+        return this.nextFrameIndex.getAndIncrement();
+    }
+
+    /**
+     * Gets the WriteLedger that a Write with the given Frame Index should be written to.
+     *
+     * @param frameIndex The Frame Index.
+     * @return The WriteLedger.
+     */
+    WriteLedger getLedger(int frameIndex) {
+        return this.ledgers.get(frameIndex % this.ledgers.size());
+    }
+
+    /**
+     * Gets the LedgerAddress for a Write with the given Frame Index.
+     *
+     * @param frameIndex The Frame Index.
+     * @return The LedgerAddress.
+     */
+    LedgerAddress getAddress(int frameIndex) {
+        return new LedgerAddress(this.sequence, getLedger(frameIndex).metadata.getLedgerId(), frameIndex);
+    }
+
+    /**
+     * Creates a new BookKeeper entry for the Write with the given Frame Index, made up of a header and the given data.
+     *
+     * @param frameIndex The Frame Index.
+     * @param data       The data to write.
+     * @return A new byte array containing the entry.
+     */
+    byte[] createEntry(int frameIndex, ArrayView data) {
+        byte[] entry = new byte[HEADER_LENGTH + data.getLength()];
+        BitConverter.writeLong(entry, 0, getAddress(frameIndex).getSequence());
+        data.copyTo(entry, HEADER_LENGTH, data.getLength());
+        return entry;
+    }
+
+    /**
+     * Records the fact that a Write to this stripe has failed. No more Writes should be executed on it.
+     */
+    void markFailed() {
+        this.failed.set(true);
+    }
+
+    /**
+     * Gets a value indicating whether no more Writes can be executed on this stripe, either because a Write has failed
+     * or because at least one of its Ledgers has been closed.
+     *
+     * @return True or false.
+     */
+    boolean isClosed() {
+        return this.failed.get() || this.ledgers.stream().anyMatch(wl -> wl.ledger.isClosed());
+    }
+
+    /**
+     * Gets a value indicating whether all the Ledgers in this stripe have been closed, in which case their contents are
+     * final.
+     *
+     * @return True or false.
+     */
+    boolean isSealed() {
+        return this.ledgers.stream().allMatch(wl -> wl.ledger.isClosed());
+    }
+
+    /**
+     * Gets the length of the largest Ledger in this stripe.
+     *
+     * @return The result.
+     */
+    long getMaxLength() {
+        return this.ledgers.stream().mapToLong(wl -> wl.ledger.getLength()).max().orElse(0);
+    }
+
+    /**
+     * Gets the estimated amount of data that can still be written to this stripe before it needs to be rolled over.
+     *
+     * @param maxLedgerSize The maximum size of each Ledger.
+     * @return The result.
+     */
+    long getRemainingCapacity(long maxLedgerSize) {
+        return this.ledgers.stream().mapToLong(wl -> Math.max(0, maxLedgerSize - wl.ledger.getLength())).sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Stripe = %d, LedgerCount = %d, NextFrameIndex = %d, Failed = %s",
+                this.sequence, this.ledgers.size(), this.nextFrameIndex.get(), this.failed.get());
+    }
+
+    //endregion
+}
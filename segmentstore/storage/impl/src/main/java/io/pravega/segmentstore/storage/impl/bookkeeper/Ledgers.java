@@ -165,10 +165,14 @@ final class Ledgers {
         // We need to fence out at least MIN_FENCE_LEDGER_COUNT ledgers that are not empty to properly ensure we fenced
         // the log correctly and identify any empty ledgers (Since this algorithm is executed upon every recovery, any
         // empty ledgers should be towards the end of the Log).
+        // All the ledgers in a stripe may be written to at the same time, so if we fence out any of them, we need to
+        // fence out all of them.
         int nonEmptyCount = 0;
         val result = new HashMap<Long, Long>();
         val iterator = ledgers.listIterator(ledgers.size());
-        while (iterator.hasPrevious() && (nonEmptyCount < MIN_FENCE_LEDGER_COUNT)) {
+        LedgerMetadata lastFenced = null;
+        while (iterator.hasPrevious()
+                && (nonEmptyCount < MIN_FENCE_LEDGER_COUNT || isSameStripe(ledgers.get(iterator.previousIndex()), lastFenced))) {
             LedgerMetadata ledgerMetadata = iterator.previous();
             LedgerHandle handle = openFence(ledgerMetadata.getLedgerId(), bookKeeper, config);
             if (handle.getLastAddConfirmed() != NO_ENTRY_ID) {
@@ -182,9 +186,14 @@ final class Ledgers {
             }
 
             close(handle);
+            lastFenced = ledgerMetadata;
             log.info("{}: Fenced out Ledger {}.", traceObjectId, ledgerMetadata);
         }
 
         return result;
     }
+
+    private static boolean isSameStripe(LedgerMetadata lm1, LedgerMetadata lm2) {
+        return lm2 != null && lm1.isStriped() && lm1.getStripeSequence() == lm2.getStripeSequence();
+    }
 }
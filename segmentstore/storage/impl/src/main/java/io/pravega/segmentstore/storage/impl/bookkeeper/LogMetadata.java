@@ -11,6 +11,7 @@ package io.pravega.segmentstore.storage.impl.bookkeeper;
 
 import com.google.common.base.Preconditions;
 import io.pravega.common.ObjectBuilder;
+import io.pravega.common.io.SerializationException;
 import io.pravega.common.io.serialization.RevisionDataInput;
 import io.pravega.common.io.serialization.RevisionDataOutput;
 import io.pravega.common.io.serialization.VersionedSerializer;
@@ -97,6 +98,16 @@ class LogMetadata implements ReadOnlyLogMetadata {
                 INITIAL_TRUNCATION_ADDRESS, INITIAL_VERSION);
     }
 
+    /**
+     * Creates a new instance of the LogMetadata class with one stripe of Ledgers and epoch set to the default value.
+     *
+     * @param initialStripeLedgerIds The Ids of the Ledgers making up the stripe to start the log with, in stripe order.
+     */
+    LogMetadata(List<Long> initialStripeLedgerIds) {
+        this(INITIAL_EPOCH, true, createStripe(initialStripeLedgerIds, INITIAL_LEDGER_SEQUENCE), INITIAL_TRUNCATION_ADDRESS,
+                INITIAL_VERSION);
+    }
+
     /**
      * Creates a new instance of the LogMetadata class.
      *
@@ -135,11 +146,41 @@ class LogMetadata implements ReadOnlyLogMetadata {
         newLedgers.addAll(this.ledgers);
 
         // Create and add metadata for the new ledger.
-        int sequence = this.ledgers.size() == 0 ? INITIAL_LEDGER_SEQUENCE : this.ledgers.get(this.ledgers.size() - 1).getSequence() + 1;
-        newLedgers.add(new LedgerMetadata(ledgerId, sequence));
+        newLedgers.add(new LedgerMetadata(ledgerId, getNextLedgerSequence()));
         return new LogMetadata(this.epoch + 1, this.enabled, Collections.unmodifiableList(newLedgers), this.truncationAddress, this.updateVersion.get());
     }
 
+    /**
+     * Creates a new instance of the LogMetadata class which contains an additional stripe of ledgers. The ledgers are
+     * assigned consecutive sequence numbers, in the order in which they are given.
+     *
+     * @param ledgerIds The Ids of the Ledgers making up the stripe, in stripe order.
+     * @return A new instance of the LogMetadata class.
+     */
+    LogMetadata addStripe(List<Long> ledgerIds) {
+        Preconditions.checkState(this.enabled, "Log is not enabled. Cannot perform any modifications on it.");
+
+        // Copy existing ledgers and add the new ones at the end.
+        List<LedgerMetadata> newLedgers = new ArrayList<>(this.ledgers.size() + ledgerIds.size());
+        newLedgers.addAll(this.ledgers);
+        newLedgers.addAll(createStripe(ledgerIds, getNextLedgerSequence()));
+        return new LogMetadata(this.epoch + 1, this.enabled, Collections.unmodifiableList(newLedgers), this.truncationAddress, this.updateVersion.get());
+    }
+
+    private int getNextLedgerSequence() {
+        return this.ledgers.size() == 0 ? INITIAL_LEDGER_SEQUENCE : this.ledgers.get(this.ledgers.size() - 1).getSequence() + 1;
+    }
+
+    private static List<LedgerMetadata> createStripe(List<Long> ledgerIds, int firstSequence) {
+        Preconditions.checkArgument(ledgerIds.size() > 0, "ledgerIds must not be empty.");
+        List<LedgerMetadata> result = new ArrayList<>(ledgerIds.size());
+        for (int i = 0; i < ledgerIds.size(); i++) {
+            result.add(new LedgerMetadata(ledgerIds.get(i), firstSequence + i, LedgerMetadata.Status.Unknown, firstSequence));
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
     /**
      * Creates a new instance of the LogMetadata class which contains all the ledgers after (and including) the given address.
      *
@@ -152,7 +193,12 @@ class LogMetadata implements ReadOnlyLogMetadata {
         // Exclude all those Ledgers that have a LedgerId less than the one we are given. An optimization to this would
         // involve trimming out the ledger which has a matching ledger id and the entry is is the last one, but that would
         // involve opening the Ledger in BookKeeper and inspecting it, which would take too long.
-        val newLedgers = this.ledgers.stream().filter(lm -> lm.getLedgerId() >= upToAddress.getLedgerId()).collect(Collectors.toList());
+        // Addresses within a stripe carry the stripe's sequence, and all the ledgers in that stripe must be kept since
+        // any of them may contain entries that come after the given address.
+        val newLedgers = this.ledgers.stream()
+                .filter(lm -> lm.getLedgerId() >= upToAddress.getLedgerId()
+                        || (lm.isStriped() && lm.getStripeSequence() >= upToAddress.getLedgerSequence()))
+                .collect(Collectors.toList());
         return new LogMetadata(this.epoch, this.enabled, Collections.unmodifiableList(newLedgers), upToAddress, this.updateVersion.get());
     }
 
@@ -201,7 +247,7 @@ class LogMetadata implements ReadOnlyLogMetadata {
                         LedgerMetadata.Status e = lac == Ledgers.NO_ENTRY_ID
                                 ? LedgerMetadata.Status.Empty
                                 : LedgerMetadata.Status.NotEmpty;
-                        lm = new LedgerMetadata(lm.getLedgerId(), lm.getSequence(), e);
+                        lm = new LedgerMetadata(lm.getLedgerId(), lm.getSequence(), e, lm.getStripeSequence());
                     }
 
                     return lm;
@@ -270,6 +316,18 @@ class LogMetadata implements ReadOnlyLogMetadata {
         return null;
     }
 
+    /**
+     * Gets the LedgerMetadata for all the ledgers in the stripe with given Stripe Sequence.
+     *
+     * @param stripeSequence The Stripe Sequence to search.
+     * @return An ordered List of the LedgerMetadata in the stripe. May be empty if no such stripe exists.
+     */
+    List<LedgerMetadata> getStripe(int stripeSequence) {
+        return this.ledgers.stream()
+                           .filter(lm -> lm.isStriped() && lm.getStripeSequence() == stripeSequence)
+                           .collect(Collectors.toList());
+    }
+
     /**
      * Gets the Ledger Address immediately following the given address.
      *
@@ -339,6 +397,28 @@ class LogMetadata implements ReadOnlyLogMetadata {
     //region Serialization
 
     static class LogMetadataBuilder implements ObjectBuilder<LogMetadata> {
+        /**
+         * Assigns the given Stripe Sequences to the ledgers that have already been set on this builder.
+         *
+         * @param stripeSequences The Stripe Sequences, in the same order as the ledgers.
+         * @return This instance.
+         * @throws SerializationException If the number of Stripe Sequences does not match the number of ledgers.
+         */
+        LogMetadataBuilder stripeSequences(List<Integer> stripeSequences) throws SerializationException {
+            if (stripeSequences.size() != this.ledgers.size()) {
+                throw new SerializationException(String.format("Expected %d Stripe Sequences, found %d.",
+                        this.ledgers.size(), stripeSequences.size()));
+            }
+
+            List<LedgerMetadata> ledgers = new ArrayList<>(this.ledgers.size());
+            for (int i = 0; i < stripeSequences.size(); i++) {
+                LedgerMetadata lm = this.ledgers.get(i);
+                ledgers.add(new LedgerMetadata(lm.getLedgerId(), lm.getSequence(), lm.getStatus(), stripeSequences.get(i)));
+            }
+
+            this.ledgers = Collections.unmodifiableList(ledgers);
+            return this;
+        }
     }
 
     private static class Serializer extends VersionedSerializer.WithBuilder<LogMetadata, LogMetadataBuilder> {
@@ -354,7 +434,7 @@ class LogMetadata implements ReadOnlyLogMetadata {
 
         @Override
         protected void declareVersions() {
-            version(0).revision(0, this::write00, this::read00);
+            version(0).revision(0, this::write00, this::read00).revision(1, this::write01, this::read01);
         }
 
         private void write00(LogMetadata m, RevisionDataOutput output) throws IOException {
@@ -374,6 +454,14 @@ class LogMetadata implements ReadOnlyLogMetadata {
             builder.updateVersion(INITIAL_VERSION);
         }
 
+        private void write01(LogMetadata m, RevisionDataOutput output) throws IOException {
+            output.writeCollection(m.ledgers, (o, lm) -> o.writeCompactInt(lm.getStripeSequence()));
+        }
+
+        private void read01(RevisionDataInput input, LogMetadata.LogMetadataBuilder builder) throws IOException {
+            builder.stripeSequences(input.readCollection(RevisionDataInput::readCompactInt, ArrayList::new));
+        }
+
         private void writeLedger00(RevisionDataOutput output, LedgerMetadata m) throws IOException {
             output.writeCompactLong(m.getLedgerId());
             output.writeCompactInt(m.getSequence());
@@ -11,25 +11,40 @@ package io.pravega.segmentstore.storage.impl.bookkeeper;
 
 import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
+import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.BitConverter;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.common.util.CloseableIterator;
 import io.pravega.segmentstore.storage.DurableDataLog;
 import io.pravega.segmentstore.storage.DurableDataLogException;
-import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.concurrent.NotThreadSafe;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.bookkeeper.client.BKException;
 import org.apache.bookkeeper.client.BookKeeper;
 import org.apache.bookkeeper.client.LedgerEntry;
 import org.apache.bookkeeper.client.LedgerHandle;
 
 /**
  * Performs read from BookKeeper Logs.
+ * <p>
+ * Entries are read in batches (of BookKeeperConfig.getBkReadBatchSize() entries each), and several such batches are kept
+ * in flight ahead of the one being consumed (see BookKeeperConfig.getBkReadAheadBatchCount()). Once all the entries in
+ * a Ledger have been requested, the next Ledger is opened and reads are issued against it, so that there is no pause
+ * between consecutive Ledgers.
+ * <p>
+ * Ledgers that are not part of a stripe are read one at a time, in order. For stripes (see LedgerStripe), all the Ledgers
+ * in the stripe are opened at once and their entries are merged back into a single sequence based on their headers. A
+ * stripe is read up to the first gap in that sequence.
  */
 @Slf4j
 @NotThreadSafe
@@ -38,28 +53,56 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
 
     private final BookKeeper bookKeeper;
     private final LogMetadata metadata;
+    private final int activeSequence;
     private final AtomicBoolean closed;
     private final BookKeeperConfig config;
     private ReadLedger currentLedger;
+    private ReadLedger nextLedger;
+    private ReadStripe currentStripe;
 
     //endregion
 
     //region Constructor
 
     /**
-     * Creates a new instance of the LogReader class.
+     * Creates a new instance of the LogReader class. Only the last Ledger (or stripe) in the Log will be opened without
+     * fencing.
      *
      * @param metadata   The LogMetadata of the Log to read.
      * @param bookKeeper A reference to the BookKeeper client to use.
      * @param config     Configuration to use.
      */
     LogReader(LogMetadata metadata, BookKeeper bookKeeper, BookKeeperConfig config) {
+        this(metadata, getLastSequence(metadata), bookKeeper, config);
+    }
+
+    /**
+     * Creates a new instance of the LogReader class.
+     *
+     * @param metadata       The LogMetadata of the Log to read.
+     * @param activeSequence The Sequence of the first Ledger (or stripe) that may still be written to. This Ledger and
+     *                       all the Ledgers after it will be opened without fencing.
+     * @param bookKeeper     A reference to the BookKeeper client to use.
+     * @param config         Configuration to use.
+     */
+    LogReader(LogMetadata metadata, int activeSequence, BookKeeper bookKeeper, BookKeeperConfig config) {
         this.metadata = Preconditions.checkNotNull(metadata, "metadata");
+        this.activeSequence = activeSequence;
         this.bookKeeper = Preconditions.checkNotNull(bookKeeper, "bookKeeper");
         this.config = Preconditions.checkNotNull(config, "config");
         this.closed = new AtomicBoolean();
     }
 
+    private static int getLastSequence(LogMetadata metadata) {
+        val ledgers = metadata.getLedgers();
+        if (ledgers.size() == 0) {
+            return Integer.MAX_VALUE;
+        }
+
+        val lastLedger = ledgers.get(ledgers.size() - 1);
+        return lastLedger.isStriped() ? lastLedger.getStripeSequence() : lastLedger.getSequence();
+    }
+
     //endregion
 
     //region AutoCloseable Implementation
@@ -68,14 +111,19 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
     public void close() {
         if (!this.closed.getAndSet(true)) {
             if (this.currentLedger != null) {
-                try {
-                    Ledgers.close(this.currentLedger.handle);
-                } catch (DurableDataLogException bkEx) {
-                    log.error("Unable to close LedgerHandle for Ledger {}.", this.currentLedger.handle.getId(), bkEx);
-                }
-
+                this.currentLedger.close();
                 this.currentLedger = null;
             }
+
+            if (this.nextLedger != null) {
+                this.nextLedger.close();
+                this.nextLedger = null;
+            }
+
+            if (this.currentStripe != null) {
+                this.currentStripe.close();
+                this.currentStripe = null;
+            }
         }
     }
 
@@ -87,25 +135,48 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
     public DurableDataLog.ReadItem getNext() throws DurableDataLogException {
         Exceptions.checkNotClosed(this.closed.get(), this);
 
-        if (this.currentLedger == null) {
+        if (this.currentLedger == null && this.currentStripe == null) {
             // First time we call this. Locate the first ledger based on the metadata truncation address. We don't know
             // how many entries are in that first ledger, so open it anyway so we can figure out.
             openNextLedger(this.metadata.getNextAddress(this.metadata.getTruncationAddress(), Long.MAX_VALUE));
         }
 
-        while (this.currentLedger != null && (!this.currentLedger.canRead())) {
-            // We have reached the end of the current ledger. Find next one, and skip over empty ledgers).
-            val lastAddress = new LedgerAddress(this.currentLedger.metadata, this.currentLedger.handle.getLastAddConfirmed());
-            Ledgers.close(this.currentLedger.handle);
-            openNextLedger(this.metadata.getNextAddress(lastAddress, this.currentLedger.handle.getLastAddConfirmed()));
-        }
+        while (this.currentStripe != null || this.currentLedger != null) {
+            if (this.currentStripe != null) {
+                val item = this.currentStripe.getNext();
+                if (item != null) {
+                    return item;
+                }
+
+                // We have reached the end of the current stripe. Find the ledger after it.
+                val lastAddress = new LedgerAddress(this.currentStripe.lastLedger, 0);
+                this.currentStripe.close();
+                this.currentStripe = null;
+                openNextLedger(this.metadata.getNextAddress(lastAddress, 0));
+            } else {
+                LedgerEntry entry = this.currentLedger.reader.getNext();
+                if (entry != null) {
+                    val item = new ReadItem(new LedgerAddress(this.currentLedger.metadata, entry.getEntryId()), new ByteArraySegment(entry.getEntry()));
+                    prefetchNextLedger();
+                    return item;
+                }
 
-        // Try to read from the current reader.
-        if (this.currentLedger == null || this.currentLedger.reader == null) {
-            return null;
+                // We have reached the end of the current ledger. Find next one, and skip over empty ledgers).
+                long lastEntryId = this.currentLedger.handle.getLastAddConfirmed();
+                val lastAddress = new LedgerAddress(this.currentLedger.metadata, lastEntryId);
+                this.currentLedger.close();
+                this.currentLedger = null;
+                if (this.nextLedger != null) {
+                    this.currentLedger = this.nextLedger;
+                    this.nextLedger = null;
+                } else {
+                    openNextLedger(this.metadata.getNextAddress(lastAddress, lastEntryId));
+                }
+            }
         }
 
-        return new LogReader.ReadItem(this.currentLedger.reader.nextElement(), this.currentLedger.metadata);
+        // We have reached the end.
+        return null;
     }
 
     private void openNextLedger(LedgerAddress address) throws DurableDataLogException {
@@ -117,42 +188,80 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
 
         LedgerMetadata metadata = this.metadata.getLedger(address.getLedgerId());
         assert metadata != null : "no LedgerMetadata could be found with valid LedgerAddress " + address;
-        val allMetadatas = this.metadata.getLedgers();
+        if (metadata.isStriped()) {
+            openStripe(metadata.getStripeSequence());
+        } else {
+            this.currentLedger = openLedger(metadata, address.getEntryId());
+        }
+    }
+
+    /**
+     * If all the entries in the current Ledger have been requested, opens the Ledger after it (if it is not part of a
+     * stripe) and begins reading from it.
+     */
+    private void prefetchNextLedger() throws DurableDataLogException {
+        if (this.nextLedger != null || !this.currentLedger.reader.isFullyRequested()) {
+            return;
+        }
 
-        // Open the ledger.
+        long lastEntryId = this.currentLedger.handle.getLastAddConfirmed();
+        val nextAddress = this.metadata.getNextAddress(new LedgerAddress(this.currentLedger.metadata, lastEntryId), lastEntryId);
+        if (nextAddress != null) {
+            LedgerMetadata metadata = this.metadata.getLedger(nextAddress.getLedgerId());
+            assert metadata != null : "no LedgerMetadata could be found with valid LedgerAddress " + nextAddress;
+            if (!metadata.isStriped()) {
+                this.nextLedger = openLedger(metadata, nextAddress.getEntryId());
+            }
+        }
+    }
+
+    private ReadLedger openLedger(LedgerMetadata metadata, long firstEntryId) throws DurableDataLogException {
         LedgerHandle ledger;
-        if (allMetadatas.size() == 0 || metadata == allMetadatas.get(allMetadatas.size() - 1)) {
-            // This is our last ledger (the active one); we need to make sure open it without recovery since otherwise we
-            // we would fence ourselves out.
-            ledger = Ledgers.openRead(metadata.getLedgerId(), this.bookKeeper, this.config);
+        try {
+            ledger = openHandle(metadata);
+        } catch (DurableDataLogException ex) {
+            close();
+            throw ex;
+        }
+
+        return new ReadLedger(metadata, ledger, new EntryReader(ledger, firstEntryId, this.config));
+    }
+
+    private LedgerHandle openHandle(LedgerMetadata metadata) throws DurableDataLogException {
+        int sequence = metadata.isStriped() ? metadata.getStripeSequence() : metadata.getSequence();
+        if (sequence >= this.activeSequence) {
+            // This is our active ledger (or a standby ledger after it); we need to make sure open it without recovery
+            // since otherwise we we would fence ourselves out.
+            return Ledgers.openRead(metadata.getLedgerId(), this.bookKeeper, this.config);
         } else {
             // Older ledger. Open with recovery to make sure any uncommitted fragments will be recovered. Since we do our
             // Log fencing based on the last Ledger, open-fencing this Ledger will not have any adverse effects.
-            ledger = Ledgers.openFence(metadata.getLedgerId(), this.bookKeeper, this.config);
-        }
-
-        long lastEntryId = ledger.getLastAddConfirmed();
-        if (lastEntryId < address.getEntryId()) {
-            // This ledger is empty.
-            Ledgers.close(ledger);
-            this.currentLedger = new ReadLedger(metadata, ledger, null);
-            return;
+            return Ledgers.openFence(metadata.getLedgerId(), this.bookKeeper, this.config);
         }
+    }
 
-        ReadLedger previousLedger;
+    private void openStripe(int stripeSequence) throws DurableDataLogException {
+        val stripeMetadatas = this.metadata.getStripe(stripeSequence);
+        List<StripeLedger> ledgers = new ArrayList<>(stripeMetadatas.size());
         try {
-            val reader = Exceptions.handleInterruptedCall(
-                    () -> ledger.readEntries(address.getEntryId(), lastEntryId));
-            previousLedger = this.currentLedger;
-            this.currentLedger = new ReadLedger(metadata, ledger, reader);
-            if (previousLedger != null) {
-                // Close previous ledger handle.
-                Ledgers.close(previousLedger.handle);
+            for (LedgerMetadata lm : stripeMetadatas) {
+                LedgerHandle ledger = openHandle(lm);
+                ledgers.add(new StripeLedger(lm, ledger, new EntryReader(ledger, 0, this.config), stripeSequence));
             }
-        } catch (Exception ex) {
-            Ledgers.close(ledger);
+        } catch (DurableDataLogException ex) {
+            ledgers.forEach(StripeLedger::close);
             close();
-            throw new DurableDataLogException("Error while reading from BookKeeper.", ex);
+            throw ex;
+        }
+
+        this.currentStripe = new ReadStripe(ledgers, stripeMetadatas.get(stripeMetadatas.size() - 1), this.metadata.getTruncationAddress());
+    }
+
+    private static void closeHandle(LedgerHandle handle) {
+        try {
+            Ledgers.close(handle);
+        } catch (DurableDataLogException bkEx) {
+            log.error("Unable to close LedgerHandle for Ledger {}.", handle.getId(), bkEx);
         }
     }
 
@@ -160,24 +269,124 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
 
     //region ReadItem
 
+    /**
+     * A DurableDataLog.ReadItem whose payload is backed by an array.
+     */
+    @RequiredArgsConstructor
     private static class ReadItem implements DurableDataLog.ReadItem {
-        @Getter
-        private final InputStream payload;
-        @Getter
-        private final int length;
         @Getter
         private final LedgerAddress address;
+        @Getter
+        private final ArrayView payloadArray;
+
+        @Override
+        public InputStream getPayload() {
+            return this.payloadArray.getReader();
+        }
 
-        @SneakyThrows(IOException.class)
-        ReadItem(LedgerEntry entry, LedgerMetadata ledgerMetadata) {
-            this.address = new LedgerAddress(ledgerMetadata, entry.getEntryId());
-            this.payload = entry.getEntryInputStream();
-            this.length = this.payload.available();
+        @Override
+        public int getLength() {
+            return this.payloadArray.getLength();
         }
 
         @Override
         public String toString() {
-            return String.format("%s, Length = %d.", this.address, this.length);
+            return String.format("%s, Length = %d.", this.address, getLength());
+        }
+    }
+
+    //endregion
+
+    //region EntryReader
+
+    /**
+     * Reads the entries of a Ledger, in order. Entries are requested in batches, and up to a configured number of such
+     * batches are kept in flight ahead of the one being consumed.
+     */
+    private static class EntryReader {
+        private final LedgerHandle handle;
+        private final long lastEntryId;
+        private final int batchSize;
+        private final int maxBatchesInFlight;
+        private final ArrayDeque<CompletableFuture<Enumeration<LedgerEntry>>> pendingBatches;
+        private Enumeration<LedgerEntry> currentBatch;
+        private long nextEntryId;
+
+        EntryReader(LedgerHandle handle, long firstEntryId, BookKeeperConfig config) {
+            this.handle = handle;
+            this.lastEntryId = handle.getLastAddConfirmed();
+            this.batchSize = config.getBkReadBatchSize();
+            this.maxBatchesInFlight = config.getBkReadAheadBatchCount();
+            this.pendingBatches = new ArrayDeque<>(this.maxBatchesInFlight);
+            this.nextEntryId = firstEntryId;
+            requestBatches();
+        }
+
+        /**
+         * Gets a value indicating whether reads have been issued for all the entries in the Ledger.
+         */
+        boolean isFullyRequested() {
+            return this.nextEntryId > this.lastEntryId;
+        }
+
+        /**
+         * Gets the next entry in the Ledger, waiting for it to be read if necessary.
+         *
+         * @return The next entry, or null if there are no more entries.
+         * @throws DurableDataLogException If the entry could not be read.
+         */
+        LedgerEntry getNext() throws DurableDataLogException {
+            while (this.currentBatch == null || !this.currentBatch.hasMoreElements()) {
+                val nextBatch = this.pendingBatches.poll();
+                if (nextBatch == null) {
+                    // Reached the end of the ledger.
+                    return null;
+                }
+
+                try {
+                    this.currentBatch = Exceptions.handleInterruptedCall(nextBatch::get);
+                } catch (Exception ex) {
+                    throw new DurableDataLogException("Error while reading from BookKeeper.", Exceptions.unwrap(ex));
+                }
+
+                requestBatches();
+            }
+
+            return this.currentBatch.nextElement();
+        }
+
+        private void requestBatches() {
+            while (this.pendingBatches.size() < this.maxBatchesInFlight && !isFullyRequested()) {
+                long batchLastEntryId = Math.min(this.lastEntryId, this.nextEntryId + this.batchSize - 1);
+                CompletableFuture<Enumeration<LedgerEntry>> result = new CompletableFuture<>();
+                this.handle.asyncReadEntries(this.nextEntryId, batchLastEntryId, (rc, lh, entries, ctx) -> {
+                    if (rc == BKException.Code.OK) {
+                        result.complete(entries);
+                    } else {
+                        result.completeExceptionally(BKException.create(rc));
+                    }
+                }, null);
+                this.pendingBatches.add(result);
+                this.nextEntryId = batchLastEntryId + 1;
+            }
+        }
+
+        /**
+         * Releases the entries in any batches that have been read but not consumed.
+         */
+        void close() {
+            this.pendingBatches.forEach(f -> f.thenAccept(EntryReader::release));
+            this.pendingBatches.clear();
+            if (this.currentBatch != null) {
+                release(this.currentBatch);
+                this.currentBatch = null;
+            }
+        }
+
+        private static void release(Enumeration<LedgerEntry> entries) {
+            while (entries.hasMoreElements()) {
+                entries.nextElement().getEntryBuffer().release();
+            }
         }
     }
 
@@ -189,13 +398,127 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
     private static class ReadLedger {
         final LedgerMetadata metadata;
         final LedgerHandle handle;
-        final Enumeration<LedgerEntry> reader;
+        final EntryReader reader;
 
-        boolean canRead() {
-            return this.reader != null && this.reader.hasMoreElements();
+        void close() {
+            this.reader.close();
+            closeHandle(this.handle);
         }
     }
 
     //endregion
-}
 
+    //region ReadStripe
+
+    /**
+     * Reads the entries of a stripe, in the order in which they were written. Since the entries in each Ledger are
+     * already in order, merging them is a matter of picking the Ledger whose next entry has the next Frame Index.
+     */
+    @RequiredArgsConstructor
+    private static class ReadStripe {
+        final List<StripeLedger> ledgers;
+        final LedgerMetadata lastLedger;
+        final LedgerAddress truncationAddress;
+        private int nextFrameIndex;
+
+        /**
+         * Gets the next entry in the stripe.
+         *
+         * @return The next entry, or null if there are no more entries (or if we encountered a gap, in which case none
+         * of the entries after it were ever acknowledged).
+         * @throws DurableDataLogException If an exception occurred.
+         */
+        ReadItem getNext() throws DurableDataLogException {
+            while (true) {
+                StripeLedger next = null;
+                for (StripeLedger sl : this.ledgers) {
+                    if (sl.peekFrameIndex() == this.nextFrameIndex) {
+                        next = sl;
+                        break;
+                    }
+                }
+
+                if (next == null) {
+                    return null;
+                }
+
+                this.nextFrameIndex++;
+                ReadItem item = next.take();
+                if (item.getAddress().compareTo(this.truncationAddress) > 0) {
+                    return item;
+                }
+            }
+        }
+
+        void close() {
+            this.ledgers.forEach(StripeLedger::close);
+        }
+    }
+
+    /**
+     * Reads the entries from a Ledger in a stripe and decodes their headers.
+     */
+    @RequiredArgsConstructor
+    private static class StripeLedger {
+        final LedgerMetadata metadata;
+        final LedgerHandle handle;
+        final EntryReader reader;
+        final int stripeSequence;
+        private ReadItem nextItem;
+
+        /**
+         * Gets the Frame Index of the next entry in this Ledger, without consuming it.
+         *
+         * @return The Frame Index, or -1 if there are no more entries.
+         * @throws DurableDataLogException If an exception occurred.
+         */
+        long peekFrameIndex() throws DurableDataLogException {
+            if (this.nextItem == null) {
+                this.nextItem = readNext();
+            }
+
+            return this.nextItem == null ? -1 : this.nextItem.getAddress().getEntryId();
+        }
+
+        /**
+         * Consumes the next entry in this Ledger. Must be preceded by a call to peekFrameIndex().
+         *
+         * @return The entry.
+         */
+        ReadItem take() {
+            ReadItem result = this.nextItem;
+            assert result != null : "take() invoked without peekFrameIndex()";
+            this.nextItem = null;
+            return result;
+        }
+
+        private ReadItem readNext() throws DurableDataLogException {
+            LedgerEntry entry = this.reader.getNext();
+            if (entry == null) {
+                // Reached the end of the ledger.
+                return null;
+            }
+
+            byte[] data = entry.getEntry();
+            if (data.length < LedgerStripe.HEADER_LENGTH) {
+                throw new DurableDataLogException(String.format("Entry %d in Ledger %d is too short (%d bytes) to contain a header.",
+                        entry.getEntryId(), this.metadata.getLedgerId(), data.length));
+            }
+
+            LedgerAddress address = new LedgerAddress(BitConverter.readLong(data, 0), this.metadata.getLedgerId());
+            if (address.getLedgerSequence() != this.stripeSequence) {
+                throw new DurableDataLogException(String.format("Entry %d in Ledger %d belongs to Stripe %d; expected Stripe %d.",
+                        entry.getEntryId(), this.metadata.getLedgerId(), address.getLedgerSequence(), this.stripeSequence));
+            }
+
+            return new ReadItem(address, new ByteArraySegment(data, LedgerStripe.HEADER_LENGTH, data.length - LedgerStripe.HEADER_LENGTH));
+        }
+
+        void close() {
+            this.reader.close();
+            closeHandle(this.handle);
+        }
+    }
+
+    //endregion
+}
@@ -13,7 +13,9 @@ import com.google.common.base.Preconditions;
 import io.pravega.common.Timer;
 import io.pravega.common.util.ArrayView;
 import io.pravega.segmentstore.storage.LogAddress;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -33,11 +35,17 @@ class Write {
     private final AtomicLong entryId;
     private final AtomicReference<Timer> beginAttemptTimer;
     private final AtomicReference<Throwable> failureCause;
+    private final AtomicReference<LedgerStripe> stripe;
+    private final AtomicInteger frameIndex;
+    private final AtomicBoolean written;
+    private final Timer lifetimeTimer;
+    private final AtomicLong attemptStartedNanos;
+    private final AtomicLong acknowledgedNanos;
+    private final AtomicLong completedNanos;
     @Getter
     @Setter
     private long queueAddedTimestamp;
 
-
     //endregion
 
     //region Constructor
@@ -58,6 +66,13 @@ class Write {
         this.failureCause = new AtomicReference<>();
         this.entryId = new AtomicLong(Long.MIN_VALUE);
         this.beginAttemptTimer = new AtomicReference<>();
+        this.stripe = new AtomicReference<>();
+        this.frameIndex = new AtomicInteger(-1);
+        this.written = new AtomicBoolean();
+        this.lifetimeTimer = new Timer();
+        this.attemptStartedNanos = new AtomicLong(-1);
+        this.acknowledgedNanos = new AtomicLong(-1);
+        this.completedNanos = new AtomicLong(-1);
     }
 
     //endregion
@@ -101,6 +116,70 @@ class Write {
         return this.entryId.get();
     }
 
+    /**
+     * Gets the LedgerStripe associated with this write, or null if this write is not to be made to a stripe.
+     *
+     * @return The LedgerStripe.
+     */
+    LedgerStripe getStripe() {
+        return this.stripe.get();
+    }
+
+    /**
+     * Sets the LedgerStripe to be associated with this write. This clears any previously assigned Frame Index.
+     *
+     * @param stripe The LedgerStripe to associate.
+     */
+    void setStripe(LedgerStripe stripe) {
+        this.stripe.set(Preconditions.checkNotNull(stripe, "stripe"));
+        this.frameIndex.set(-1);
+        this.written.set(false);
+        setWriteLedger(stripe.getLedger(0));
+    }
+
+    /**
+     * Assigns the next Frame Index in the associated LedgerStripe to this write, along with the WriteLedger that goes
+     * with it.
+     *
+     * @return The assigned Frame Index.
+     */
+    int assignFrameIndex() {
+        LedgerStripe stripe = this.stripe.get();
+        Preconditions.checkState(stripe != null, "No LedgerStripe associated with this Write.");
+        Preconditions.checkState(this.frameIndex.get() < 0, "Frame Index already assigned.");
+        int index = stripe.assignFrameIndex();
+        setWriteLedger(stripe.getLedger(index));
+        this.frameIndex.set(index);
+        return index;
+    }
+
+    /**
+     * Gets the Frame Index (position inside the associated LedgerStripe) assigned to this write, or a negative number
+     * if none has been assigned yet.
+     *
+     * @return The result.
+     */
+    int getFrameIndex() {
+        return this.frameIndex.get();
+    }
+
+    /**
+     * Records the fact that this write has been durably written to its Ledger. Writes to a LedgerStripe cannot be
+     * completed when this happens, as they need to wait for all the writes before them in the stripe to be written.
+     */
+    void markWritten() {
+        this.written.set(true);
+    }
+
+    /**
+     * Gets a value indicating whether this write has been durably written to its Ledger (but not completed yet).
+     *
+     * @return True or false.
+     */
+    boolean isWritten() {
+        return this.written.get();
+    }
+
     /**
      * Records the fact that a new attempt to execute this write is begun.
      *
@@ -108,9 +187,18 @@ class Write {
      */
     int beginAttempt() {
         Preconditions.checkState(this.beginAttemptTimer.compareAndSet(null, new Timer()), "Write already in progress. Cannot restart.");
+        this.attemptStartedNanos.set(this.lifetimeTimer.getElapsedNanos());
+        this.acknowledgedNanos.set(-1);
         return this.attemptCount.incrementAndGet();
     }
 
+    /**
+     * Records the fact that BookKeeper has acknowledged the current attempt to execute this write.
+     */
+    void markAcknowledged() {
+        this.acknowledgedNanos.set(this.lifetimeTimer.getElapsedNanos());
+    }
+
     /**
      * Records the fact that an attempt to execute this write has ended.
      */
@@ -151,10 +239,51 @@ class Write {
     Timer complete() {
         Preconditions.checkState(this.entryId.get() >= 0, "entryId not set; cannot complete Write.");
         this.failureCause.set(null);
-        this.result.complete(new LedgerAddress(this.writeLedger.get().metadata, this.entryId.get()));
+        LedgerStripe stripe = this.stripe.get();
+        this.result.complete(stripe == null
+                ? new LedgerAddress(this.writeLedger.get().metadata, this.entryId.get())
+                : stripe.getAddress(this.frameIndex.get()));
+        this.completedNanos.set(this.lifetimeTimer.getElapsedNanos());
         return endAttempt();
     }
 
+    /**
+     * Gets the amount of time this write spent waiting before its last attempt began, including the time spent on any
+     * previous attempts. Only valid after the write has been completed successfully.
+     *
+     * @return The result.
+     */
+    Duration getQueueLatency() {
+        return Duration.ofNanos(Math.max(0, this.attemptStartedNanos.get()));
+    }
+
+    /**
+     * Gets the amount of time it took BookKeeper to acknowledge the last attempt to execute this write. Only valid after
+     * the write has been completed successfully.
+     *
+     * @return The result.
+     */
+    Duration getBookKeeperLatency() {
+        return Duration.ofNanos(Math.max(0, getAcknowledgedNanos() - this.attemptStartedNanos.get()));
+    }
+
+    /**
+     * Gets the amount of time between BookKeeper acknowledging this write and its completion, which includes waiting for
+     * any previous writes in the same stripe and executing all the callbacks registered on its result. Only valid after
+     * the write has been completed successfully.
+     *
+     * @return The result.
+     */
+    Duration getCallbackLatency() {
+        return Duration.ofNanos(Math.max(0, this.completedNanos.get() - getAcknowledgedNanos()));
+    }
+
+    private long getAcknowledgedNanos() {
+        // Writes that have been recovered (and not acknowledged) are considered to have been acknowledged upon completion.
+        long acknowledged = this.acknowledgedNanos.get();
+        return acknowledged >= 0 ? acknowledged : this.completedNanos.get();
+    }
+
     /**
      * Indicates that this write failed.
      *
@@ -186,9 +315,14 @@ class Write {
 
     @Override
     public String toString() {
-        return String.format("LedgerId = %s, Length = %s, Attempts = %s, InProgress = %s, Done = %s, Failed %s",
+        String result = String.format("LedgerId = %s, Length = %s, Attempts = %s, InProgress = %s, Done = %s, Failed %s",
                 this.writeLedger.get().metadata.getLedgerId(), this.data.getLength(), this.attemptCount, isInProgress(),
                 isDone(), this.failureCause.get() != null);
+        LedgerStripe stripe = this.stripe.get();
+        return stripe == null
+                ? result
+                : String.format("%s, Stripe = %d, FrameIndex = %d, Written = %s", result, stripe.getSequence(),
+                this.frameIndex.get(), isWritten());
     }
 
     //endregion
@@ -13,20 +13,28 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import io.pravega.common.AbstractTimer;
 import io.pravega.common.Exceptions;
+import io.pravega.common.ObjectClosedException;
 import io.pravega.segmentstore.storage.QueueStats;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
-import javax.annotation.concurrent.GuardedBy;
+import java.util.stream.Collectors;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.Getter;
 
 /**
  * A specialized queue for BookKeeper writes. Provides methods for adding new items, determining the next items to execute,
  * as well as cleaning up completed writes.
+ * <p>
+ * This queue is lock-free: Writes may be added from any number of threads, and statistics may be retrieved at any time,
+ * without contending with the BookKeeper callbacks or the Write Processor. Writes are only ever removed from the head of
+ * the queue, by removeFinishedWrites() and close(); removeFinishedWrites() must not be invoked concurrently with itself
+ * (which is guaranteed by it only being invoked by the Write Processor).
  */
 @ThreadSafe
 class WriteQueue {
@@ -34,14 +42,11 @@ class WriteQueue {
 
     @Getter
     private final Supplier<Long> timeSupplier;
-    @GuardedBy("this")
-    private final Deque<Write> writes;
-    @GuardedBy("this")
-    private long totalLength;
-    @GuardedBy("this")
-    private int lastDurationMillis;
-    @GuardedBy("this")
-    private boolean closed;
+    private final ConcurrentLinkedDeque<Write> writes;
+    private final AtomicInteger size;
+    private final AtomicLong totalLength;
+    private final AtomicInteger lastDurationMillis;
+    private final AtomicBoolean closed;
 
     //endregion
 
@@ -62,7 +67,11 @@ class WriteQueue {
     @VisibleForTesting
     WriteQueue(Supplier<Long> timeSupplier) {
         this.timeSupplier = Preconditions.checkNotNull(timeSupplier, "timeSupplier");
-        this.writes = new ArrayDeque<>();
+        this.writes = new ConcurrentLinkedDeque<>();
+        this.size = new AtomicInteger();
+        this.totalLength = new AtomicLong();
+        this.lastDurationMillis = new AtomicInteger();
+        this.closed = new AtomicBoolean();
     }
 
     //endregion
@@ -74,15 +83,18 @@ class WriteQueue {
      *
      * @return The snapshot, including Queue Size, Item Fill Rate and elapsed time of the oldest item.
      */
-    synchronized QueueStats getStatistics() {
-        int size = this.writes.size();
-        double fillRatio = calculateFillRatio(this.totalLength, size);
-        int processingTime = this.lastDurationMillis;
+    QueueStats getStatistics() {
+        int size = Math.max(0, this.size.get());
+        double fillRatio = calculateFillRatio(Math.max(0, this.totalLength.get()), size);
+        int processingTime = this.lastDurationMillis.get();
         if (processingTime == 0 && size > 0) {
             // We get in here when this method is invoked prior to any operation being completed. Since lastDurationMillis
             // is only set when an item is completed, in this special case we just estimate based on the amount of time
             // the first item in the queue has been added.
-            processingTime = (int) ((this.timeSupplier.get() - this.writes.peekFirst().getQueueAddedTimestamp()) / AbstractTimer.NANOS_TO_MILLIS);
+            Write first = this.writes.peekFirst();
+            if (first != null) {
+                processingTime = (int) ((this.timeSupplier.get() - first.getQueueAddedTimestamp()) / AbstractTimer.NANOS_TO_MILLIS);
+            }
         }
 
         return new QueueStats(size, fillRatio, processingTime);
@@ -93,11 +105,21 @@ class WriteQueue {
      *
      * @param write The write to add.
      */
-    synchronized void add(Write write) {
-        Exceptions.checkNotClosed(this.closed, this);
-        this.writes.addLast(write);
-        this.totalLength += write.data.getLength();
+    void add(Write write) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
         write.setQueueAddedTimestamp(this.timeSupplier.get());
+
+        // Update the counters before publishing the Write, so that they never go negative when it is removed.
+        this.size.incrementAndGet();
+        this.totalLength.addAndGet(write.data.getLength());
+        this.writes.addLast(write);
+        if (this.closed.get() && this.writes.removeFirstOccurrence(write)) {
+            // We raced with close() and it did not pick up this Write; nobody else will, so we must reject it. If close()
+            // did pick it up, it will be failed along with all the other Writes in the queue.
+            this.size.decrementAndGet();
+            this.totalLength.addAndGet(-write.data.getLength());
+            throw new ObjectClosedException(this);
+        }
     }
 
     /**
@@ -105,11 +127,16 @@ class WriteQueue {
      *
      * @return A new List with the contents of the queue (prior to cleanup), in the same order.
      */
-    synchronized List<Write> close() {
-        List<Write> items = new ArrayList<>(this.writes);
-        this.writes.clear();
-        this.totalLength = 0;
-        this.closed = true;
+    List<Write> close() {
+        this.closed.set(true);
+        List<Write> items = new ArrayList<>();
+        Write w;
+        while ((w = this.writes.pollFirst()) != null) {
+            this.size.decrementAndGet();
+            this.totalLength.addAndGet(-w.data.getLength());
+            items.add(w);
+        }
+
         return items;
     }
 
@@ -119,19 +146,26 @@ class WriteQueue {
      * example, the head of the queue has a bunch of completed Writes).
      * This method will return writes as long as:
      * * The MaxSize limit is not reached
-     * * The writes to return have the same Ledger Id assigned as the first write in the queue.
+     * * The writes to return have the same Ledger Id (or LedgerStripe, for striped writes) assigned as the first write
+     * in the queue.
      *
      * @param maximumAccumulatedSize The maximum total accumulated size of the items to return. Once this value is exceeded,
      *                               no further writes are returned.
      * @return The result.
      */
-    synchronized List<Write> getWritesToExecute(long maximumAccumulatedSize) {
-        Exceptions.checkNotClosed(this.closed, this);
+    List<Write> getWritesToExecute(long maximumAccumulatedSize) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Write first = this.writes.peekFirst();
+        if (first == null) {
+            return Collections.emptyList();
+        }
+
         long accumulatedSize = 0;
 
         // Collect all remaining writes, as long as they are not currently in-progress and have the same ledger id
-        // as the first item in the ledger.
-        long firstLedgerId = this.writes.peekFirst().getWriteLedger().metadata.getLedgerId();
+        // as the first item in the ledger (or stripe).
+        long firstLedgerId = first.getWriteLedger().metadata.getLedgerId();
+        LedgerStripe firstStripe = first.getStripe();
         boolean canSkip = true;
 
         List<Write> result = new ArrayList<>();
@@ -152,8 +186,10 @@ class WriteQueue {
                     // with their updating their status. Try again next time (when that write completes).
                     return Collections.emptyList();
                 }
-            } else if (write.getWriteLedger().metadata.getLedgerId() != firstLedgerId) {
-                // We cannot initiate writes in a new ledger until all writes in the previous ledger completed.
+            } else if (firstStripe == null
+                    ? write.getWriteLedger().metadata.getLedgerId() != firstLedgerId
+                    : write.getStripe() != firstStripe) {
+                // We cannot initiate writes in a new ledger (or stripe) until all writes in the previous one completed.
                 break;
             } else if (!write.isDone()) {
                 canSkip = false;
@@ -164,6 +200,17 @@ class WriteQueue {
         return result;
     }
 
+    /**
+     * Gets an ordered List of all the Writes in the queue that have not yet completed (whether successfully or not),
+     * regardless of whether they are in progress or not. The returned writes are not removed from the queue.
+     *
+     * @return The result.
+     */
+    List<Write> getPendingWrites() {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        return this.writes.stream().filter(w -> !w.isDone()).collect(Collectors.toList());
+    }
+
     /**
      * Removes all the completed writes (whether successful or failed) from the beginning of the queue, until the first
      * non-completed item is encountered or the queue is empty.
@@ -172,22 +219,28 @@ class WriteQueue {
      * otherwise it will be one of QueueEmpty or QueueNotEmpty, depending on the final state of the queue when this method
      * finishes.
      */
-    synchronized CleanupStatus removeFinishedWrites() {
-        Exceptions.checkNotClosed(this.closed, this);
+    CleanupStatus removeFinishedWrites() {
+        Exceptions.checkNotClosed(this.closed.get(), this);
         long currentTime = this.timeSupplier.get();
         long totalElapsed = 0;
         int removedCount = 0;
         boolean failedWrite = false;
-        while (!this.writes.isEmpty() && this.writes.peekFirst().isDone()) {
-            Write w = this.writes.removeFirst();
-            this.totalLength = Math.max(0, this.totalLength - w.data.getLength());
+        Write w;
+        while ((w = this.writes.peekFirst()) != null && w.isDone()) {
+            if (!this.writes.removeFirstOccurrence(w)) {
+                // A concurrent close() got to it first.
+                break;
+            }
+
+            this.size.decrementAndGet();
+            this.totalLength.addAndGet(-w.data.getLength());
             removedCount++;
             totalElapsed += currentTime - w.getQueueAddedTimestamp();
             failedWrite |= w.getFailureCause() != null;
         }
 
         if (removedCount > 0) {
-            this.lastDurationMillis = (int) (totalElapsed / removedCount / AbstractTimer.NANOS_TO_MILLIS);
+            this.lastDurationMillis.set((int) (totalElapsed / removedCount / AbstractTimer.NANOS_TO_MILLIS));
         }
 
         return failedWrite
@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import com.google.common.base.Preconditions;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manages a set of Direct Memory Slabs, each subdivided into fixed-size Blocks. Blocks are identified by a global,
+ * zero-based integer id and are handed out as singly-linked chains, with the links stored in a primitive array.
+ * <p>
+ * Besides the chain links, this class also holds (in primitive arrays indexed by Block Id) the per-entry metadata that
+ * a {@link DirectMemoryCache} associates with the first Block of each of its entries. These arrays are only accessed by
+ * the Cache that currently owns the Block (under that Cache's lock); ownership is transferred via {@link #allocate} and
+ * {@link #free}, both of which are synchronized, so all such accesses are properly ordered.
+ */
+@Slf4j
+@ThreadSafe
+class BlockStore implements AutoCloseable {
+    //region Members
+
+    static final int NO_BLOCK = -1;
+    @Getter
+    private final int blockSize;
+    private final int blocksPerSlab;
+    @Getter
+    private final int maxBlockCount;
+    private final int maxSlabCount;
+    @GuardedBy("this")
+    private final ArrayList<ByteBuffer> slabs;
+
+    /**
+     * For each Block, the id of the next Block in the chain (or free list), or NO_BLOCK if the last one.
+     */
+    private final int[] nextBlock;
+
+    /**
+     * Entry metadata, valid only for Blocks that are the first in an entry's chain.
+     */
+    final int[] entryHash;
+    final int[] entryKeyLength;
+    final int[] entryDataLength;
+    final int[] entryBucketNext;
+
+    @GuardedBy("this")
+    private int freeListHead;
+    @GuardedBy("this")
+    private int usedBlockCount;
+    @GuardedBy("this")
+    private boolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the BlockStore class. No Direct Memory is allocated at this time.
+     *
+     * @param config The {@link DirectMemoryCacheConfig} to use.
+     */
+    BlockStore(DirectMemoryCacheConfig config) {
+        this.blockSize = config.getBlockSizeBytes();
+        long slabSize = config.getSlabSizeMB() * 1024L * 1024L;
+        this.blocksPerSlab = (int) (slabSize / this.blockSize);
+        this.maxSlabCount = config.getMaxSizeMB() / config.getSlabSizeMB();
+        long maxBlockCount = (long) this.blocksPerSlab * this.maxSlabCount;
+        Preconditions.checkArgument(maxBlockCount < Integer.MAX_VALUE,
+                "Too many blocks (%s); increase the block size or decrease the maximum size.", maxBlockCount);
+        this.maxBlockCount = (int) maxBlockCount;
+        this.slabs = new ArrayList<>();
+        this.nextBlock = new int[this.maxBlockCount];
+        this.entryHash = new int[this.maxBlockCount];
+        this.entryKeyLength = new int[this.maxBlockCount];
+        this.entryDataLength = new int[this.maxBlockCount];
+        this.entryBucketNext = new int[this.maxBlockCount];
+        this.freeListHead = NO_BLOCK;
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public synchronized void close() {
+        if (!this.closed) {
+            // Direct ByteBuffers are released when garbage collected; dropping all references is all we can do here.
+            this.slabs.clear();
+            this.freeListHead = NO_BLOCK;
+            this.usedBlockCount = 0;
+            this.closed = true;
+        }
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Allocates a chain of Blocks.
+     *
+     * @param blockCount The number of Blocks to allocate.
+     * @return The id of the first Block in the chain, or NO_BLOCK if there is not enough capacity left to satisfy the
+     * request (in which case nothing is allocated).
+     */
+    synchronized int allocate(int blockCount) {
+        Preconditions.checkState(!this.closed, "BlockStore is closed.");
+        Preconditions.checkArgument(blockCount > 0, "blockCount must be a positive integer.");
+        while (this.usedBlockCount + blockCount > this.slabs.size() * this.blocksPerSlab) {
+            if (!allocateSlab()) {
+                return NO_BLOCK;
+            }
+        }
+
+        int first = this.freeListHead;
+        int last = first;
+        for (int i = 1; i < blockCount; i++) {
+            last = this.nextBlock[last];
+        }
+
+        this.freeListHead = this.nextBlock[last];
+        this.nextBlock[last] = NO_BLOCK;
+        this.usedBlockCount += blockCount;
+        return first;
+    }
+
+    /**
+     * Returns a chain of Blocks to the free list.
+     *
+     * @param firstBlock The id of the first Block in the chain.
+     */
+    synchronized void free(int firstBlock) {
+        if (this.closed) {
+            return;
+        }
+
+        int last = firstBlock;
+        int count = 1;
+        while (this.nextBlock[last] != NO_BLOCK) {
+            last = this.nextBlock[last];
+            count++;
+        }
+
+        this.nextBlock[last] = this.freeListHead;
+        this.freeListHead = firstBlock;
+        this.usedBlockCount -= count;
+    }
+
+    /**
+     * Gets the id of the Block following the given one in its chain.
+     *
+     * @param block The Block id.
+     * @return The next Block id, or NO_BLOCK if this is the last one.
+     */
+    int getNext(int block) {
+        return this.nextBlock[block];
+    }
+
+    /**
+     * Creates new, independent views of all the Slabs with index greater than or equal to the given one. Each view has
+     * its own position and limit, so a caller can perform relative bulk operations on it without interfering with others.
+     *
+     * @param fromIndex The index of the first Slab to return a view of.
+     * @return A List of views.
+     */
+    synchronized ArrayList<ByteBuffer> getSlabViews(int fromIndex) {
+        ArrayList<ByteBuffer> result = new ArrayList<>();
+        for (int i = fromIndex; i < this.slabs.size(); i++) {
+            result.add(this.slabs.get(i).duplicate());
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the index of the Slab containing the given Block.
+     */
+    int getSlabIndex(int block) {
+        return block / this.blocksPerSlab;
+    }
+
+    /**
+     * Gets the offset, within its Slab, of the given Block.
+     */
+    int getSlabOffset(int block) {
+        return (block % this.blocksPerSlab) * this.blockSize;
+    }
+
+    /**
+     * Gets the number of bytes currently allocated to Cache entries (in whole Blocks).
+     */
+    synchronized long getUsedBytes() {
+        return (long) this.usedBlockCount * this.blockSize;
+    }
+
+    /**
+     * Gets the number of bytes of Direct Memory currently allocated.
+     */
+    synchronized long getAllocatedBytes() {
+        return (long) this.slabs.size() * this.blocksPerSlab * this.blockSize;
+    }
+
+    @GuardedBy("this")
+    private boolean allocateSlab() {
+        if (this.slabs.size() >= this.maxSlabCount) {
+            return false;
+        }
+
+        int slabIndex = this.slabs.size();
+        this.slabs.add(ByteBuffer.allocateDirect(this.blocksPerSlab * this.blockSize));
+
+        // Link all the new blocks together, in order, and put them in front of the free list.
+        int firstBlock = slabIndex * this.blocksPerSlab;
+        int lastBlock = firstBlock + this.blocksPerSlab - 1;
+        for (int b = firstBlock; b < lastBlock; b++) {
+            this.nextBlock[b] = b + 1;
+        }
+
+        this.nextBlock[lastBlock] = this.freeListHead;
+        this.freeListHead = firstBlock;
+        log.info("BlockStore: Allocated Slab {} ({} bytes).", slabIndex, this.blocksPerSlab * this.blockSize);
+        return true;
+    }
+
+    //endregion
+}
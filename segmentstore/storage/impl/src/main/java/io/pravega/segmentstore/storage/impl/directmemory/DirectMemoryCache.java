@@ -0,0 +1,368 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.Timer;
+import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import static io.pravega.segmentstore.storage.impl.directmemory.BlockStore.NO_BLOCK;
+
+/**
+ * Cache that stores its entries in Direct Memory, using Blocks allocated from a (shared) {@link BlockStore}.
+ * <p>
+ * Each entry is stored as a chain of Blocks which contains the serialized Key followed by the data. Entries are indexed
+ * using a chained hash table made entirely of primitive arrays: a bucket array (owned by this class) which points to the
+ * first Block of the first entry in each bucket, and per-entry metadata (owned by the {@link BlockStore}) which is indexed
+ * by the first Block id of each entry. As such, no Java objects are allocated per entry.
+ */
+@Slf4j
+@ThreadSafe
+class DirectMemoryCache implements Cache {
+    //region Members
+
+    private static final int INITIAL_BUCKET_COUNT = 1024;
+    private static final float MAX_LOAD_FACTOR = 0.75f;
+
+    @Getter
+    private final String id;
+    private final BlockStore store;
+    private final int blockSize;
+    private final Consumer<String> closeCallback;
+    private final AtomicBoolean closed;
+    private final String logId;
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private int[] buckets;
+    @GuardedBy("lock")
+    private int entryCount;
+    @GuardedBy("lock")
+    private final ArrayList<ByteBuffer> slabViews;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DirectMemoryCache class.
+     *
+     * @param id            The Cache Id.
+     * @param store         The {@link BlockStore} to allocate Blocks from.
+     * @param closeCallback A callback to invoke when the cache is closed.
+     */
+    DirectMemoryCache(String id, BlockStore store, Consumer<String> closeCallback) {
+        Exceptions.checkNotNullOrEmpty(id, "id");
+        this.id = id;
+        this.store = Preconditions.checkNotNull(store, "store");
+        this.blockSize = store.getBlockSize();
+        this.closeCallback = closeCallback;
+        this.closed = new AtomicBoolean();
+        this.logId = String.format("DirectMemoryCache[%s]", id);
+        this.buckets = newBuckets(INITIAL_BUCKET_COUNT);
+        this.slabViews = new ArrayList<>();
+        log.info("{}: Initialized.", this.logId);
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            synchronized (this.lock) {
+                for (int bucketHead : this.buckets) {
+                    int entry = bucketHead;
+                    while (entry != NO_BLOCK) {
+                        int next = this.store.entryBucketNext[entry];
+                        this.store.free(entry);
+                        entry = next;
+                    }
+                }
+
+                this.buckets = newBuckets(1);
+                this.entryCount = 0;
+                this.slabViews.clear();
+            }
+
+            log.info("{}: Closed.", this.logId);
+            Consumer<String> callback = this.closeCallback;
+            if (callback != null) {
+                Callbacks.invokeSafely(callback, this.id, null);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Cache Implementation
+
+    @Override
+    public void insert(Key key, byte[] data) {
+        insert(key, new ByteArraySegment(data == null ? new byte[0] : data));
+    }
+
+    @Override
+    public void insert(Key key, ByteArraySegment data) {
+        Timer timer = new Timer();
+        long totalLength;
+        synchronized (this.lock) {
+            // Check again under the lock, to make sure we do not leak Blocks if close() is executing concurrently.
+            Exceptions.checkNotClosed(this.closed.get(), this);
+            totalLength = insertEntry(key, data);
+        }
+
+        DirectMemoryCacheMetrics.insert(timer.getElapsedMillis(), totalLength);
+    }
+
+    @Override
+    public void insertAll(Map<? extends Key, ByteArraySegment> entries) {
+        Timer timer = new Timer();
+        long totalLength = 0;
+        synchronized (this.lock) {
+            Exceptions.checkNotClosed(this.closed.get(), this);
+            for (Map.Entry<? extends Key, ByteArraySegment> e : entries.entrySet()) {
+                totalLength += insertEntry(e.getKey(), e.getValue());
+            }
+        }
+
+        DirectMemoryCacheMetrics.insert(timer.getElapsedMillis(), totalLength);
+    }
+
+    @Override
+    public byte[] get(Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Timer timer = new Timer();
+        byte[] serializedKey = key.serialize();
+        int hash = hash(serializedKey);
+        byte[] result = null;
+        synchronized (this.lock) {
+            int entry = findEntry(serializedKey, hash);
+            if (entry != NO_BLOCK) {
+                result = new byte[this.store.entryDataLength[entry]];
+                transfer(entry, this.store.entryKeyLength[entry], result, 0, result.length, false);
+            }
+        }
+
+        DirectMemoryCacheMetrics.get(timer.getElapsedMillis(), (result != null) ? result.length : 0);
+        return result;
+    }
+
+    @Override
+    public void remove(Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        byte[] serializedKey = key.serialize();
+        int hash = hash(serializedKey);
+        synchronized (this.lock) {
+            removeEntry(serializedKey, hash);
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<? extends Key> keys) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.lock) {
+            for (Key key : keys) {
+                byte[] serializedKey = key.serialize();
+                removeEntry(serializedKey, hash(serializedKey));
+            }
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    @GuardedBy("lock")
+    private long insertEntry(Key key, ByteArraySegment data) {
+        byte[] serializedKey = key.serialize();
+        int hash = hash(serializedKey);
+        long totalLength = (long) serializedKey.length + data.getLength();
+        int blockCount = (int) Math.max(1, (totalLength + this.blockSize - 1) / this.blockSize);
+
+        // Allocate and populate the new Blocks before touching any existing entry for this Key. If we cannot allocate,
+        // the existing entry (if any) must remain untouched.
+        int first = this.store.allocate(blockCount);
+        if (first == NO_BLOCK) {
+            throw new CacheException(String.format("Unable to insert key '%s' (CacheId=%s): insufficient capacity for %d bytes.",
+                    key, this.id, totalLength));
+        }
+
+        transfer(first, 0, serializedKey, 0, serializedKey.length, true);
+        transfer(first, serializedKey.length, data.array(), data.arrayOffset(), data.getLength(), true);
+        this.store.entryHash[first] = hash;
+        this.store.entryKeyLength[first] = serializedKey.length;
+        this.store.entryDataLength[first] = data.getLength();
+
+        // Now swap the entries: unlink (and free) the old one and link the new one in its place.
+        removeEntry(serializedKey, hash);
+        int bucket = hash & (this.buckets.length - 1);
+        this.store.entryBucketNext[first] = this.buckets[bucket];
+        this.buckets[bucket] = first;
+        this.entryCount++;
+        if (this.entryCount > this.buckets.length * MAX_LOAD_FACTOR) {
+            resize(this.buckets.length * 2);
+        }
+
+        return totalLength;
+    }
+
+    @GuardedBy("lock")
+    private int findEntry(byte[] serializedKey, int hash) {
+        int entry = this.buckets[hash & (this.buckets.length - 1)];
+        while (entry != NO_BLOCK && !isMatch(entry, serializedKey, hash)) {
+            entry = this.store.entryBucketNext[entry];
+        }
+
+        return entry;
+    }
+
+    @GuardedBy("lock")
+    private void removeEntry(byte[] serializedKey, int hash) {
+        int bucket = hash & (this.buckets.length - 1);
+        int previous = NO_BLOCK;
+        int entry = this.buckets[bucket];
+        while (entry != NO_BLOCK && !isMatch(entry, serializedKey, hash)) {
+            previous = entry;
+            entry = this.store.entryBucketNext[entry];
+        }
+
+        if (entry != NO_BLOCK) {
+            if (previous == NO_BLOCK) {
+                this.buckets[bucket] = this.store.entryBucketNext[entry];
+            } else {
+                this.store.entryBucketNext[previous] = this.store.entryBucketNext[entry];
+            }
+
+            this.store.free(entry);
+            this.entryCount--;
+        }
+    }
+
+    @GuardedBy("lock")
+    private boolean isMatch(int entry, byte[] serializedKey, int hash) {
+        if (this.store.entryHash[entry] != hash || this.store.entryKeyLength[entry] != serializedKey.length) {
+            return false;
+        }
+
+        // Keys are (almost always) much smaller than a block, so they will usually fit entirely in the first one.
+        int block = entry;
+        int blockOffset = 0;
+        for (int i = 0; i < serializedKey.length; i++) {
+            if (blockOffset == this.blockSize) {
+                block = this.store.getNext(block);
+                blockOffset = 0;
+            }
+
+            ByteBuffer slab = getSlabView(block);
+            if (slab.get(this.store.getSlabOffset(block) + blockOffset) != serializedKey[i]) {
+                return false;
+            }
+
+            blockOffset++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Copies data between a byte array and a chain of Blocks.
+     *
+     * @param firstBlock  The first Block in the chain.
+     * @param chainOffset The offset within the chain (as if all its blocks were concatenated) to begin at.
+     * @param array       The byte array to copy from or into.
+     * @param arrayOffset The offset within the array to begin at.
+     * @param length      The number of bytes to copy.
+     * @param toBlocks    If true, copies from the array into the Blocks. If false, the other way around.
+     */
+    @GuardedBy("lock")
+    private void transfer(int firstBlock, int chainOffset, byte[] array, int arrayOffset, int length, boolean toBlocks) {
+        int block = firstBlock;
+        int blockOffset = chainOffset;
+        while (blockOffset >= this.blockSize) {
+            block = this.store.getNext(block);
+            blockOffset -= this.blockSize;
+        }
+
+        while (length > 0) {
+            int count = Math.min(length, this.blockSize - blockOffset);
+            ByteBuffer slab = getSlabView(block);
+            slab.position(this.store.getSlabOffset(block) + blockOffset);
+            if (toBlocks) {
+                slab.put(array, arrayOffset, count);
+            } else {
+                slab.get(array, arrayOffset, count);
+            }
+
+            arrayOffset += count;
+            length -= count;
+            blockOffset = 0;
+            if (length > 0) {
+                block = this.store.getNext(block);
+            }
+        }
+    }
+
+    @GuardedBy("lock")
+    private ByteBuffer getSlabView(int block) {
+        int slabIndex = this.store.getSlabIndex(block);
+        if (slabIndex >= this.slabViews.size()) {
+            // A new Slab has been allocated since we last looked. Fetch views for it and any others we may have missed.
+            this.slabViews.addAll(this.store.getSlabViews(this.slabViews.size()));
+        }
+
+        return this.slabViews.get(slabIndex);
+    }
+
+    @GuardedBy("lock")
+    private void resize(int newBucketCount) {
+        int[] newBuckets = newBuckets(newBucketCount);
+        for (int bucketHead : this.buckets) {
+            int entry = bucketHead;
+            while (entry != NO_BLOCK) {
+                int next = this.store.entryBucketNext[entry];
+                int newBucket = this.store.entryHash[entry] & (newBucketCount - 1);
+                this.store.entryBucketNext[entry] = newBuckets[newBucket];
+                newBuckets[newBucket] = entry;
+                entry = next;
+            }
+        }
+
+        this.buckets = newBuckets;
+    }
+
+    private static int[] newBuckets(int count) {
+        int[] result = new int[count];
+        Arrays.fill(result, NO_BLOCK);
+        return result;
+    }
+
+    private static int hash(byte[] serializedKey) {
+        int h = Arrays.hashCode(serializedKey);
+        return h ^ (h >>> 16);
+    }
+
+    //endregion
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import lombok.Getter;
+
+/**
+ * Configuration for the Direct Memory (off-heap) Cache.
+ */
+public class DirectMemoryCacheConfig {
+    //region Config Names
+
+    public static final Property<Integer> BLOCK_SIZE_BYTES = Property.named("blockSizeBytes", 4 * 1024);
+    public static final Property<Integer> SLAB_SIZE_MB = Property.named("slabSizeMB", 16);
+    public static final Property<Integer> MAX_SIZE_MB = Property.named("maxSizeMB", 1024);
+    private static final String COMPONENT_CODE = "directmemorycache";
+
+    //endregion
+
+    //region Members
+
+    /**
+     * The size of a Cache Block. Every Cache entry occupies an integral number of blocks, chained together. Smaller
+     * values reduce internal fragmentation for small entries, at the expense of longer block chains for large ones.
+     */
+    @Getter
+    private final int blockSizeBytes;
+
+    /**
+     * The size of a Slab, which is the unit of allocation from Direct Memory. Slabs are allocated on demand and are
+     * subdivided into Blocks. This must be a multiple of the Block size.
+     */
+    @Getter
+    private final int slabSizeMB;
+
+    /**
+     * The maximum amount of Direct Memory that can be allocated, shared by all the Caches created by the same Factory.
+     * Once this limit is reached, inserts will fail until entries are removed. This value should be larger than
+     * the Service's cacheMaxSize setting, so that the CacheManager can evict before this limit is hit.
+     */
+    @Getter
+    private final int maxSizeMB;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DirectMemoryCacheConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private DirectMemoryCacheConfig(TypedProperties properties) throws ConfigurationException {
+        this.blockSizeBytes = properties.getInt(BLOCK_SIZE_BYTES);
+        if (this.blockSizeBytes <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", BLOCK_SIZE_BYTES));
+        }
+
+        this.slabSizeMB = properties.getInt(SLAB_SIZE_MB);
+        if (this.slabSizeMB <= 0 || this.slabSizeMB >= 2048) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer less than 2048.", SLAB_SIZE_MB));
+        }
+
+        if ((this.slabSizeMB * 1024 * 1024) % this.blockSizeBytes != 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a multiple of Property '%s'.", SLAB_SIZE_MB, BLOCK_SIZE_BYTES));
+        }
+
+        this.maxSizeMB = properties.getInt(MAX_SIZE_MB);
+        if (this.maxSizeMB < this.slabSizeMB) {
+            throw new ConfigurationException(String.format("Property '%s' must be at least the value of Property '%s'.", MAX_SIZE_MB, SLAB_SIZE_MB));
+        }
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<DirectMemoryCacheConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, DirectMemoryCacheConfig::new);
+    }
+
+    //endregion
+}
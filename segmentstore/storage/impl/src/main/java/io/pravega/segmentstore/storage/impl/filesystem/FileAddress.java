@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filesystem;
+
+import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.storage.LogAddress;
+
+/**
+ * LogAddress for the FileSystemLog. The Sequence is made up of the Id of the file (high-order 32 bits) and the offset of
+ * the entry within that file (low-order 32 bits).
+ */
+class FileAddress extends LogAddress implements Comparable<FileAddress> {
+    //region Members
+
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileAddress class.
+     *
+     * @param fileId The Id of the file that this Address corresponds to.
+     * @param offset The offset of the entry inside the file.
+     */
+    FileAddress(int fileId, long offset) {
+        this(((long) fileId << 32) + (offset & INT_MASK));
+        Preconditions.checkArgument(fileId >= 0, "fileId must be a non-negative number.");
+        Preconditions.checkArgument(offset >= 0 && offset <= Integer.MAX_VALUE, "offset must be a non-negative integer.");
+    }
+
+    /**
+     * Creates a new instance of the FileAddress class.
+     *
+     * @param sequence The sequence of the Address.
+     */
+    FileAddress(long sequence) {
+        super(sequence);
+    }
+
+    //endregion
+
+    //region Properties
+
+    /**
+     * Gets a value representing the Id of the file this address points to.
+     *
+     * @return The result.
+     */
+    int getFileId() {
+        return (int) (getSequence() >>> 32);
+    }
+
+    /**
+     * Gets a value representing the offset of the entry within its file.
+     *
+     * @return The result.
+     */
+    long getOffset() {
+        return getSequence() & INT_MASK;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s, FileId = %d, Offset = %d", super.toString(), getFileId(), getOffset());
+    }
+
+    //endregion
+
+    //region Comparable Implementation
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(getSequence());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof FileAddress) {
+            return this.compareTo((FileAddress) obj) == 0;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int compareTo(FileAddress address) {
+        return Long.compare(getSequence(), address.getSequence());
+    }
+
+    //endregion
+}
@@ -0,0 +1,528 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filesystem;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.BlockingDrainingQueue;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.segmentstore.storage.DataLogInitializationException;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DataLogWriterNotPrimaryException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.segmentstore.storage.QueueStats;
+import io.pravega.segmentstore.storage.WriteFailureException;
+import io.pravega.segmentstore.storage.WriteTooLongException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A DurableDataLog implemented on top of append-only files on the local disk.
+ * <p>
+ * Log Layout:
+ * * A Log is made up of a sequence of files (in its own directory) plus a LogState (Epoch, Enabled flag and Truncation
+ * Address), persisted in a separate metadata file in the same directory.
+ * * Every successful initialization creates a new file; a file is also rolled over once it reaches its maximum size.
+ * * Entries are addressed by the Id of their file and their offset within it (see FileAddress).
+ * <p>
+ * Writes and Group Commits:
+ * * Appends are queued up and processed by a single write loop. Each iteration of this loop picks up all the pending
+ * appends (up to a limit), writes them to the active file using a single gathering write, and then syncs the file to
+ * disk (fsync) once for all of them. As such, the more concurrent appends there are, the fewer fsyncs per append.
+ * * An append is only acknowledged after the fsync that covers it has completed.
+ * <p>
+ * Fencing:
+ * * Initializing a FileSystemLog increments the Epoch in the LogState; any other FileSystemLog instance using an older
+ * Epoch is fenced out and will fail all further writes with DataLogWriterNotPrimaryException.
+ * * The Epoch check and the write are atomic with respect to the initialization of other instances (see LogState), so a
+ * fenced-out instance will never write to the log. Upon initialization, the last file of the previous owner is sealed,
+ * which removes any partially written entry it may have left behind if it crashed while writing (but refuses to remove
+ * anything else, as that would be a sign of corruption).
+ * * The log directory is synced after every file creation, rename or deletion, before the operation is completed.
+ * <p>
+ * Reads and Truncation:
+ * * Reads memory-map every file (see LogReader) and are meant to be used during recovery only.
+ * * Truncation records the Truncation Address in the LogState and then deletes all the files that precede it.
+ */
+@Slf4j
+@ThreadSafe
+class FileSystemLog implements DurableDataLog {
+    //region Members
+
+    /**
+     * The maximum number of appends to include in a single group commit.
+     */
+    private static final int MAX_WRITE_BATCH_COUNT = 64;
+    private final LogState state;
+    private final FileSystemLogConfig config;
+    private final ScheduledExecutorService executorService;
+    private final String traceObjectId;
+    private final AtomicBoolean closed;
+    private final BlockingDrainingQueue<PendingWrite> writes;
+    private final AtomicLong queuedBytes;
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private ActiveFile activeFile;
+    @GuardedBy("lock")
+    private long epoch;
+    private volatile int lastWriteLatencyMillis;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileSystemLog class.
+     *
+     * @param logId           The Id of the log.
+     * @param state           The LogState of the log. This must be shared by all instances for the same log.
+     * @param config          Configuration to use.
+     * @param executorService An Executor to use for async operations.
+     */
+    FileSystemLog(int logId, LogState state, FileSystemLogConfig config, ScheduledExecutorService executorService) {
+        this.state = Preconditions.checkNotNull(state, "state");
+        this.config = Preconditions.checkNotNull(config, "config");
+        this.executorService = Preconditions.checkNotNull(executorService, "executorService");
+        this.traceObjectId = String.format("FileSystemLog[%d]", logId);
+        this.closed = new AtomicBoolean();
+        this.writes = new BlockingDrainingQueue<>();
+        this.queuedBytes = new AtomicLong();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (!this.closed.getAndSet(true)) {
+            ActiveFile activeFile;
+            synchronized (this.lock) {
+                activeFile = this.activeFile;
+                this.activeFile = null;
+            }
+
+            // Close the write queue and cancel the pending writes.
+            this.writes.close().forEach(w -> w.result.completeExceptionally(new CancellationException("FileSystemLog has been closed.")));
+            if (activeFile != null) {
+                activeFile.close();
+            }
+
+            log.info("{}: Closed.", this.traceObjectId);
+        }
+    }
+
+    //endregion
+
+    //region DurableDataLog Implementation
+
+    /**
+     * Initializes this FileSystemLog:
+     * 1. Increments the Epoch in the LogState, which fences out any other instance for this log.
+     * 2. Seals the last file of the previous owner, if any (removing any partially written entry at its end).
+     * 3. Creates a new file to write to.
+     *
+     * @param timeout Timeout for the operation.
+     * @throws DurableDataLogException When an exception occurred. This can be one of the following:
+     *                                 DataLogDisabledException: the FileSystemLog is disabled;
+     *                                 DataLogNotAvailableException: the LogState could not be loaded or persisted;
+     *                                 DataLogInitializationException: a general initialization failure occurred.
+     */
+    @Override
+    public void initialize(Duration timeout) throws DurableDataLogException {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.lock) {
+            Preconditions.checkState(this.activeFile == null, "FileSystemLog is already initialized.");
+        }
+
+        long newEpoch;
+        ActiveFile newFile;
+        synchronized (this.state) {
+            newEpoch = this.state.acquire();
+
+            // We are now the sole owner of this log, so nobody else can be writing to any of its files.
+            TreeMap<Integer, File> files = LogFiles.list(this.state.getDirectory());
+            int nextFileId = files.isEmpty() ? 0 : files.lastKey() + 1;
+            try {
+                if (!files.isEmpty()) {
+                    File lastFile = files.lastEntry().getValue();
+                    if (LogFiles.seal(lastFile) == 0 && lastFile.delete()) {
+                        log.info("{}: Deleted empty file '{}'.", this.traceObjectId, lastFile.getName());
+                    }
+                }
+
+                newFile = ActiveFile.create(this.state.getDirectory(), nextFileId);
+            } catch (IOException ex) {
+                throw new DataLogInitializationException(String.format("Unable to initialize FileSystemLog in '%s'.",
+                        this.state.getDirectory().getAbsolutePath()), ex);
+            }
+        }
+
+        synchronized (this.lock) {
+            this.epoch = newEpoch;
+            this.activeFile = newFile;
+        }
+
+        startWriteLoop();
+        log.info("{}: Initialized (Epoch = {}, FileId = {}).", this.traceObjectId, newEpoch, newFile.fileId);
+    }
+
+    @Override
+    public void enable() throws DurableDataLogException {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.lock) {
+            Preconditions.checkState(this.activeFile == null, "FileSystemLog is already initialized; cannot re-enable.");
+        }
+
+        this.state.enable();
+        log.info("{}: Enabled.", this.traceObjectId);
+    }
+
+    @Override
+    public void disable() throws DurableDataLogException {
+        long epoch;
+        synchronized (this.lock) {
+            ensurePreconditions();
+            epoch = this.epoch;
+        }
+
+        this.state.disable(epoch);
+        log.info("{}: Disabled (Epoch = {}).", this.traceObjectId, epoch);
+
+        // Close this instance of the FileSystemLog. This ensures the proper cancellation of any ongoing writes.
+        close();
+    }
+
+    @Override
+    public CompletableFuture<LogAddress> append(ArrayView data, Duration timeout) {
+        ensurePreconditions();
+        if (data.getLength() > getMaxAppendLength()) {
+            return Futures.failedFuture(new WriteTooLongException(data.getLength(), getMaxAppendLength()));
+        }
+
+        CompletableFuture<LogAddress> result = new CompletableFuture<>();
+        this.queuedBytes.addAndGet(data.getLength());
+        this.writes.add(new PendingWrite(data, result));
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> truncate(LogAddress upToAddress, Duration timeout) {
+        ensurePreconditions();
+        Preconditions.checkArgument(upToAddress instanceof FileAddress, "upToAddress must be of type FileAddress.");
+        return CompletableFuture.runAsync(() -> tryTruncate((FileAddress) upToAddress), this.executorService);
+    }
+
+    @Override
+    public CloseableIterator<ReadItem, DurableDataLogException> getReader() throws DurableDataLogException {
+        ensurePreconditions();
+        ActiveFile activeFile;
+        synchronized (this.lock) {
+            activeFile = this.activeFile;
+        }
+
+        // Older files will not change anymore, while the active file can only be read up to what has been synced.
+        List<LogReader.ReadFile> files = new ArrayList<>();
+        for (Map.Entry<Integer, File> e : LogFiles.list(this.state.getDirectory()).headMap(activeFile.fileId).entrySet()) {
+            files.add(new LogReader.ReadFile(e.getKey(), e.getValue(), e.getValue().length()));
+        }
+
+        files.add(new LogReader.ReadFile(activeFile.fileId, activeFile.path, activeFile.syncedLength));
+        return new LogReader(files, this.state.getTruncationSequence());
+    }
+
+    @Override
+    public int getMaxAppendLength() {
+        return FileSystemLogConfig.MAX_APPEND_LENGTH;
+    }
+
+    @Override
+    public long getEpoch() {
+        synchronized (this.lock) {
+            ensurePreconditions();
+            return this.epoch;
+        }
+    }
+
+    @Override
+    public QueueStats getQueueStatistics() {
+        int size = this.writes.size();
+        double fillRatio = size == 0 ? 0 : (double) this.queuedBytes.get() / size / getMaxAppendLength();
+        return new QueueStats(size, Math.min(1.0, fillRatio), this.lastWriteLatencyMillis);
+    }
+
+    //endregion
+
+    //region Writes
+
+    private void startWriteLoop() {
+        Futures.loop(
+                () -> !this.closed.get(),
+                () -> this.writes.take(MAX_WRITE_BATCH_COUNT).thenAcceptAsync(this::processWrites, this.executorService),
+                this.executorService)
+               .exceptionally(ex -> {
+                   if (!this.closed.get()) {
+                       log.error("{}: Write loop failed; closing.", this.traceObjectId, ex);
+                       close();
+                   }
+
+                   return null;
+               });
+    }
+
+    /**
+     * Writes the given appends to the active file and syncs it to disk, after which their results are completed. This
+     * method is only invoked from the write loop, so there is at most one execution of it at any given time.
+     *
+     * @param writes The appends to write.
+     */
+    private void processWrites(Queue<PendingWrite> writes) {
+        long startTime = System.nanoTime();
+        List<FileAddress> addresses;
+        try {
+            synchronized (this.state) {
+                // Make sure we have not been fenced out. Holding the lock while writing guarantees that no other instance
+                // can initialize (and therefore seal our file) while we write to it.
+                long epoch;
+                synchronized (this.lock) {
+                    epoch = this.epoch;
+                }
+
+                this.state.checkEpoch(epoch);
+                addresses = writeAndSync(writes);
+            }
+        } catch (Throwable ex) {
+            if (!(ex instanceof DataLogWriterNotPrimaryException) && !(ex instanceof CancellationException)) {
+                ex = new WriteFailureException("Unable to write to the FileSystemLog.", ex);
+            }
+
+            // This FileSystemLog can no longer be used. Fail the writes and close; close() will cancel the remaining ones.
+            log.warn("{}: Write failed; closing.", this.traceObjectId, ex);
+            for (PendingWrite w : writes) {
+                w.result.completeExceptionally(ex);
+            }
+
+            close();
+            return;
+        }
+
+        this.lastWriteLatencyMillis = (int) ((System.nanoTime() - startTime) / 1000000);
+        int i = 0;
+        for (PendingWrite w : writes) {
+            this.queuedBytes.addAndGet(-w.data.getLength());
+            w.result.complete(addresses.get(i++));
+        }
+    }
+
+    @GuardedBy("state")
+    private List<FileAddress> writeAndSync(Queue<PendingWrite> writes) throws IOException {
+        ActiveFile file = getActiveFile();
+        List<FileAddress> addresses = new ArrayList<>(writes.size());
+        List<ByteBuffer> buffers = new ArrayList<>(writes.size() * 2);
+        long position = file.length;
+        for (PendingWrite w : writes) {
+            int recordLength = LogFiles.HEADER_LENGTH + w.data.getLength();
+            if (position > 0 && position + recordLength > this.config.getFileMaxSize()) {
+                // This write would exceed the maximum file size. Flush what we have so far and move on to a new file.
+                file.write(buffers);
+                buffers.clear();
+                file = rollover(file);
+                position = file.length;
+            }
+
+            addresses.add(new FileAddress(file.fileId, position));
+            buffers.add(LogFiles.createHeader(w.data));
+            buffers.add(ByteBuffer.wrap(w.data.array(), w.data.arrayOffset(), w.data.getLength()));
+            position += recordLength;
+        }
+
+        file.write(buffers);
+        file.sync();
+        return addresses;
+    }
+
+    private ActiveFile rollover(ActiveFile file) throws IOException {
+        file.sync();
+        ActiveFile newFile = ActiveFile.create(this.state.getDirectory(), file.fileId + 1);
+        synchronized (this.lock) {
+            if (this.activeFile != file) {
+                // We have been closed in the meantime.
+                newFile.close();
+                throw new CancellationException("FileSystemLog has been closed.");
+            }
+
+            this.activeFile = newFile;
+        }
+
+        file.close();
+        log.debug("{}: Rolled over from file {} to file {}.", this.traceObjectId, file.fileId, newFile.fileId);
+        return newFile;
+    }
+
+    //endregion
+
+    //region Truncation
+
+    @SneakyThrows(DurableDataLogException.class)
+    private void tryTruncate(FileAddress upToAddress) {
+        long epoch;
+        int activeFileId;
+        synchronized (this.lock) {
+            ensurePreconditions();
+            epoch = this.epoch;
+            activeFileId = this.activeFile.fileId;
+        }
+
+        // Persist the Truncation Address first. Readers will skip over anything before it, so it does not matter if we
+        // fail to delete any of the files below.
+        this.state.truncate(epoch, upToAddress);
+        boolean deleted = false;
+        for (Map.Entry<Integer, File> e : LogFiles.list(this.state.getDirectory()).headMap(upToAddress.getFileId()).entrySet()) {
+            if (e.getKey() < activeFileId) {
+                if (e.getValue().delete()) {
+                    deleted = true;
+                    log.debug("{}: Deleted file '{}' (TruncationAddress = {}).", this.traceObjectId, e.getValue().getName(), upToAddress);
+                } else {
+                    log.warn("{}: Unable to delete file '{}'.", this.traceObjectId, e.getValue().getAbsolutePath());
+                }
+            }
+        }
+
+        if (deleted) {
+            try {
+                LogFiles.syncDirectory(this.state.getDirectory());
+            } catch (IOException ex) {
+                throw new DataLogNotAvailableException(String.format("Unable to sync '%s'.", this.state.getDirectory().getAbsolutePath()), ex);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    private ActiveFile getActiveFile() {
+        synchronized (this.lock) {
+            Exceptions.checkNotClosed(this.activeFile == null, this);
+            return this.activeFile;
+        }
+    }
+
+    private void ensurePreconditions() {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.lock) {
+            Preconditions.checkState(this.activeFile != null, "FileSystemLog is not initialized.");
+        }
+    }
+
+    //endregion
+
+    //region PendingWrite
+
+    @RequiredArgsConstructor
+    private static class PendingWrite {
+        final ArrayView data;
+        final CompletableFuture<LogAddress> result;
+    }
+
+    //endregion
+
+    //region ActiveFile
+
+    /**
+     * The file that is currently being written to.
+     */
+    private static class ActiveFile {
+        final int fileId;
+        final File path;
+        final FileChannel channel;
+        /**
+         * The number of bytes written to the file. Only accessed by the write loop.
+         */
+        long length;
+        /**
+         * The number of bytes written to the file and synced to disk. Anything before this is safe to read.
+         */
+        volatile long syncedLength;
+
+        private ActiveFile(int fileId, File path, FileChannel channel) {
+            this.fileId = fileId;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        static ActiveFile create(File directory, int fileId) throws IOException {
+            File path = LogFiles.getFile(directory, fileId);
+            FileChannel channel = FileChannel.open(path.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            try {
+                // Make sure the file itself survives a crash, not just its contents.
+                LogFiles.syncDirectory(directory);
+            } catch (IOException ex) {
+                channel.close();
+                throw ex;
+            }
+
+            return new ActiveFile(fileId, path, channel);
+        }
+
+        void write(List<ByteBuffer> buffers) throws IOException {
+            ByteBuffer[] toWrite = buffers.toArray(new ByteBuffer[buffers.size()]);
+            long remaining = 0;
+            for (ByteBuffer b : toWrite) {
+                remaining += b.remaining();
+            }
+
+            while (remaining > 0) {
+                long count = this.channel.write(toWrite);
+                remaining -= count;
+                this.length += count;
+            }
+        }
+
+        void sync() throws IOException {
+            // There is no need to sync any other file metadata; the file length, which we do need, is always included.
+            this.channel.force(false);
+            this.syncedLength = this.length;
+        }
+
+        void close() {
+            try {
+                this.channel.close();
+            } catch (IOException ex) {
+                log.warn("Unable to close file '{}'.", this.path.getAbsolutePath(), ex);
+            }
+        }
+    }
+
+    //endregion
+}
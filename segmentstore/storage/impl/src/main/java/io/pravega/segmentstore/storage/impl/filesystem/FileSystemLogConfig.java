@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filesystem;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import lombok.Getter;
+
+/**
+ * Configuration for the File System (local disk) DurableDataLog.
+ */
+public class FileSystemLogConfig {
+    //region Config Names
+
+    public static final Property<String> LOG_DIR = Property.named("logDir", "/tmp/pravega/datalog");
+    public static final Property<Integer> FILE_MAX_SIZE_MB = Property.named("fileMaxSizeMB", 64);
+    private static final String COMPONENT_CODE = "filesystemlog";
+
+    /**
+     * Maximum append length, as specified by the DurableDataLog interface. This is the same value as the one used by
+     * BookKeeper, so that Containers can be moved between the two implementations without having to change DataFrame sizes.
+     */
+    static final int MAX_APPEND_LENGTH = 1024 * 1024 - 1024;
+
+    //endregion
+
+    //region Members
+
+    /**
+     * The root directory where the logs are stored. Each log uses its own subdirectory. This directory can only be used
+     * by one Segment Store process at any given time.
+     */
+    @Getter
+    private final String logDir;
+
+    /**
+     * The maximum size (in bytes) of each log file. Log files are append-only; once a file reaches this size, a new one
+     * is started. Truncation deletes entire files, so smaller values free up disk space sooner.
+     */
+    @Getter
+    private final int fileMaxSize;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileSystemLogConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private FileSystemLogConfig(TypedProperties properties) throws ConfigurationException {
+        this.logDir = properties.get(LOG_DIR);
+        if (this.logDir.isEmpty()) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-empty string.", LOG_DIR));
+        }
+
+        int fileMaxSizeMB = properties.getInt(FILE_MAX_SIZE_MB);
+        if (fileMaxSizeMB <= 0 || fileMaxSizeMB >= 2048) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer less than 2048.", FILE_MAX_SIZE_MB));
+        }
+
+        this.fileMaxSize = fileMaxSizeMB * 1024 * 1024;
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<FileSystemLogConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, FileSystemLogConfig::new);
+    }
+
+    //endregion
+}
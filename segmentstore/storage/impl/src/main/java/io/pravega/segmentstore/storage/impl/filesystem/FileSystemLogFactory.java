@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filesystem;
+
+import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.DurableDataLogFactory;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Factory for FileSystemLogs.
+ * <p>
+ * Each log is stored in its own subdirectory of the configured root directory. The Factory holds an exclusive (OS-level)
+ * lock on the root directory while it is initialized, which ensures that only one process may use it at any given time.
+ * Within this process, all the FileSystemLogs for the same log share the same LogState, which is what they use for
+ * fencing each other out.
+ */
+@Slf4j
+public class FileSystemLogFactory implements DurableDataLogFactory {
+    //region Members
+
+    private static final String LOCK_FILE_NAME = ".lock";
+    private final FileSystemLogConfig config;
+    private final ScheduledExecutorService executor;
+    private final File rootDirectory;
+    private final ConcurrentHashMap<Integer, LogState> logStates;
+    private final AtomicReference<FileLock> rootLock;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileSystemLogFactory class.
+     *
+     * @param config   The configuration to use for all instances created.
+     * @param executor An executor to use for async operations.
+     */
+    public FileSystemLogFactory(FileSystemLogConfig config, ScheduledExecutorService executor) {
+        this.config = Preconditions.checkNotNull(config, "config");
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.rootDirectory = new File(this.config.getLogDir());
+        this.logStates = new ConcurrentHashMap<>();
+        this.rootLock = new AtomicReference<>();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        FileLock lock = this.rootLock.getAndSet(null);
+        if (lock != null) {
+            try {
+                lock.release();
+                lock.channel().close();
+            } catch (IOException ex) {
+                log.error("Unable to release lock on '{}'.", this.rootDirectory.getAbsolutePath(), ex);
+            }
+        }
+    }
+
+    //endregion
+
+    //region DurableDataLogFactory Implementation
+
+    @Override
+    public void initialize() throws DurableDataLogException {
+        Preconditions.checkState(this.rootLock.get() == null, "FileSystemLogFactory is already initialized.");
+        FileChannel channel = null;
+        try {
+            Files.createDirectories(this.rootDirectory.toPath());
+            channel = FileChannel.open(new File(this.rootDirectory, LOCK_FILE_NAME).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException ex) {
+                // Another Factory in this process holds the lock.
+                lock = null;
+            }
+
+            if (lock == null) {
+                throw new DataLogNotAvailableException(String.format("Directory '%s' is already in use.",
+                        this.rootDirectory.getAbsolutePath()));
+            }
+
+            this.rootLock.set(lock);
+        } catch (IOException ex) {
+            throw new DataLogNotAvailableException(String.format("Unable to initialize directory '%s'.",
+                    this.rootDirectory.getAbsolutePath()), ex);
+        } finally {
+            if (channel != null && this.rootLock.get() == null) {
+                closeQuietly(channel);
+            }
+        }
+
+        log.info("Initialized FileSystemLogFactory in '{}'.", this.rootDirectory.getAbsolutePath());
+    }
+
+    @Override
+    public DurableDataLog createDurableDataLog(int logId) {
+        Preconditions.checkState(this.rootLock.get() != null, "FileSystemLogFactory is not initialized.");
+        LogState state = this.logStates.computeIfAbsent(logId, id -> new LogState(new File(this.rootDirectory, Integer.toString(id))));
+        return new FileSystemLog(logId, state, this.config, this.executor);
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Unable to close lock file in '{}'.", this.rootDirectory.getAbsolutePath(), ex);
+        }
+    }
+
+    //endregion
+}
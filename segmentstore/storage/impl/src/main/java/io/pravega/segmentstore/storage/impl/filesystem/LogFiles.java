@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filesystem;
+
+import io.pravega.common.util.ArrayView;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * General utilities pertaining to the files that make up a FileSystemLog.
+ * <p>
+ * Each file is a sequence of records. Every record has a header made up of the length of its payload (4 bytes) and a
+ * CRC32 checksum of the length and of the payload (4 bytes), followed by the payload itself.
+ */
+@Slf4j
+final class LogFiles {
+    /**
+     * The length of a record header.
+     */
+    static final int HEADER_LENGTH = Integer.BYTES * 2;
+    private static final String FILE_PREFIX = "log_";
+
+    //region File Management
+
+    /**
+     * Gets the File for the given File Id.
+     *
+     * @param directory The directory of the log.
+     * @param fileId    The Id of the file.
+     * @return The File.
+     */
+    static File getFile(File directory, int fileId) {
+        return new File(directory, FILE_PREFIX + fileId);
+    }
+
+    /**
+     * Lists all the log files in the given directory.
+     *
+     * @param directory The directory of the log.
+     * @return A TreeMap of File Ids to Files, ordered by File Id.
+     */
+    static TreeMap<Integer, File> list(File directory) {
+        TreeMap<Integer, File> result = new TreeMap<>();
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(FILE_PREFIX));
+        if (files != null) {
+            for (File f : files) {
+                try {
+                    result.put(Integer.parseInt(f.getName().substring(FILE_PREFIX.length())), f);
+                } catch (NumberFormatException ex) {
+                    log.warn("Ignoring unrecognized file '{}'.", f.getAbsolutePath());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Memory-maps the given file for reading.
+     *
+     * @param file   The file to map.
+     * @param length The number of bytes to map, starting from the beginning of the file.
+     * @return A read-only ByteBuffer with the contents of the file.
+     * @throws IOException If an IO Exception occurred.
+     */
+    static ByteBuffer map(File file, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping remains valid after the channel is closed.
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+    }
+
+    /**
+     * Syncs the given directory to disk. This makes the creation, renaming or deletion of any of its files durable; none
+     * of these is guaranteed to survive a crash until the directory containing the file has been synced.
+     *
+     * @param directory The directory to sync.
+     * @throws IOException If an IO Exception occurred.
+     */
+    static void syncDirectory(File directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Seals the given file, which may have been left with a partially written record at its end (if its writer crashed
+     * or got fenced out while writing to it). Any such record is removed from the file.
+     * <p>
+     * Only a torn tail is ever removed (see isTornTail()). An invalid record that is followed by any other data means the
+     * file is corrupted, and this file is left untouched, since truncating it would lose acknowledged entries.
+     *
+     * @param file The file to seal.
+     * @return The length of the file, after sealing.
+     * @throws IOException             If an IO Exception occurred.
+     * @throws DurableDataLogException If the file is corrupted.
+     */
+    static long seal(File file) throws IOException, DurableDataLogException {
+        long length = file.length();
+        ByteBuffer contents = map(file, length);
+        while (readRecord(contents) != null) {
+            // Skip over every valid record.
+        }
+
+        long validLength = contents.position();
+        if (validLength < length) {
+            if (!isTornTail(contents)) {
+                throw new DurableDataLogException(String.format("File '%s' is corrupted: invalid entry at offset %d (Length = %d).",
+                        file.getAbsolutePath(), validLength, length));
+            }
+
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+
+            log.info("Sealed file '{}' (Length = {}, Removed = {}).", file.getAbsolutePath(), validLength, length - validLength);
+        }
+
+        return validLength;
+    }
+
+    /**
+     * Determines whether the data between the current position of the given ByteBuffer (which is not the beginning of a
+     * valid record) and its limit is what an interrupted (and therefore not yet acknowledged) write may leave behind: an
+     * incomplete header, a single record that runs up to the end of the file, or zeros (space allocated for data that
+     * never made it to disk).
+     *
+     * @param buffer The ByteBuffer to check. Its position is not changed.
+     * @return True if a torn tail, false otherwise.
+     */
+    private static boolean isTornTail(ByteBuffer buffer) {
+        int position = buffer.position();
+        if (buffer.remaining() < HEADER_LENGTH) {
+            return true;
+        }
+
+        int length = buffer.getInt(position);
+        if (length >= 0 && (long) position + HEADER_LENGTH + length >= buffer.limit()) {
+            return true;
+        }
+
+        for (int i = position; i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    //endregion
+
+    //region Records
+
+    /**
+     * Creates a record header for the given data.
+     *
+     * @param data The payload of the record.
+     * @return A ByteBuffer containing the header.
+     */
+    static ByteBuffer createHeader(ArrayView data) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(data.getLength());
+        header.putInt(getChecksum(data.getLength(), ByteBuffer.wrap(data.array(), data.arrayOffset(), data.getLength())));
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Reads the record at the current position of the given ByteBuffer.
+     *
+     * @param buffer The ByteBuffer to read from. If a valid record is found, the position of this ByteBuffer is advanced
+     *               past it; otherwise it is left unchanged.
+     * @return A ByteBuffer containing the payload of the record, or null if there is no valid record at the current
+     * position (no more data, or a partially written or corrupted record).
+     */
+    static ByteBuffer readRecord(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_LENGTH) {
+            return null;
+        }
+
+        int position = buffer.position();
+        int length = buffer.getInt(position);
+        int checksum = buffer.getInt(position + Integer.BYTES);
+        if (length < 0 || length > buffer.remaining() - HEADER_LENGTH) {
+            return null;
+        }
+
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(position + HEADER_LENGTH).limit(position + HEADER_LENGTH + length);
+        payload = payload.slice();
+        if (getChecksum(length, payload.duplicate()) != checksum) {
+            return null;
+        }
+
+        buffer.position(position + HEADER_LENGTH + length);
+        return payload;
+    }
+
+    private static int getChecksum(int length, ByteBuffer payload) {
+        // Including the length means that a zero-filled region is never mistaken for a valid (empty) record.
+        CRC32 crc = new CRC32();
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        lengthBuffer.putInt(length).flip();
+        crc.update(lengthBuffer);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    //endregion
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filesystem;
+
+import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.storage.DataLogDisabledException;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DataLogWriterNotPrimaryException;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The persisted state of a FileSystemLog: its Epoch, whether it is enabled and its Truncation Address. There is exactly
+ * one instance of this class per log directory (held by the FileSystemLogFactory), which is shared by all the
+ * FileSystemLog instances for that log.
+ * <p>
+ * Every change is persisted by writing a new metadata file, atomically renaming it over the old one and syncing the
+ * directory (which makes the rename durable). All operations are synchronized on this object. The FileSystemLog also
+ * synchronizes on it while it writes to its files, which makes the fencing check (the Epoch comparison) and the write
+ * itself atomic with respect to other instances' initialization.
+ */
+@Slf4j
+@ThreadSafe
+class LogState {
+    //region Members
+
+    private static final String METADATA_FILE_NAME = "metadata";
+    private static final String METADATA_TEMP_FILE_NAME = "metadata.tmp";
+    private static final byte SERIALIZATION_VERSION = 0;
+    @Getter
+    private final File directory;
+    @GuardedBy("this")
+    private boolean loaded;
+    @GuardedBy("this")
+    private boolean exists;
+    @GuardedBy("this")
+    private long epoch;
+    @GuardedBy("this")
+    private boolean enabled;
+    @GuardedBy("this")
+    private long truncationSequence;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the LogState class. The state is loaded from the given directory upon first use.
+     *
+     * @param directory The directory of the log.
+     */
+    LogState(File directory) {
+        this.directory = Preconditions.checkNotNull(directory, "directory");
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Acquires ownership of the log by incrementing and persisting its Epoch. Any FileSystemLog instance using the previous
+     * Epoch will be fenced out.
+     *
+     * @return The new Epoch.
+     * @throws DataLogDisabledException     If the log is disabled.
+     * @throws DataLogNotAvailableException If the state could not be loaded or persisted.
+     */
+    synchronized long acquire() throws DurableDataLogException {
+        load();
+        if (!this.enabled) {
+            throw new DataLogDisabledException("FileSystemLog is disabled. Cannot initialize.");
+        }
+
+        this.epoch++;
+        persist();
+        return this.epoch;
+    }
+
+    /**
+     * Verifies that the given Epoch is the current one.
+     *
+     * @param epoch The Epoch to verify.
+     * @throws DataLogWriterNotPrimaryException If the given Epoch is not the current one.
+     */
+    synchronized void checkEpoch(long epoch) throws DataLogWriterNotPrimaryException {
+        if (this.epoch != epoch) {
+            throw new DataLogWriterNotPrimaryException(String.format("FileSystemLog has been fenced out (Epoch = %d, CurrentEpoch = %d).",
+                    epoch, this.epoch));
+        }
+    }
+
+    /**
+     * Enables the log.
+     *
+     * @throws DataLogNotAvailableException If the state could not be loaded or persisted.
+     * @throws IllegalStateException        If the log is already enabled.
+     */
+    synchronized void enable() throws DurableDataLogException {
+        load();
+        Preconditions.checkState(this.exists && !this.enabled, "FileSystemLog is already enabled.");
+        this.enabled = true;
+        persist();
+    }
+
+    /**
+     * Disables the log.
+     *
+     * @param epoch The Epoch of the FileSystemLog requesting this.
+     * @throws DataLogWriterNotPrimaryException If the given Epoch is not the current one.
+     * @throws DataLogNotAvailableException     If the state could not be persisted.
+     * @throws IllegalStateException            If the log is already disabled.
+     */
+    synchronized void disable(long epoch) throws DurableDataLogException {
+        checkEpoch(epoch);
+        Preconditions.checkState(this.enabled, "FileSystemLog is already disabled.");
+        this.enabled = false;
+        persist();
+    }
+
+    /**
+     * Records a new Truncation Address. Entries at or before this address will no longer be returned by readers.
+     *
+     * @param epoch       The Epoch of the FileSystemLog requesting this.
+     * @param upToAddress The address to truncate at.
+     * @throws DataLogWriterNotPrimaryException If the given Epoch is not the current one.
+     * @throws DataLogNotAvailableException     If the state could not be persisted.
+     */
+    synchronized void truncate(long epoch, FileAddress upToAddress) throws DurableDataLogException {
+        checkEpoch(epoch);
+        if (upToAddress.getSequence() > this.truncationSequence) {
+            this.truncationSequence = upToAddress.getSequence();
+            persist();
+        }
+    }
+
+    /**
+     * Gets the Sequence of the current Truncation Address, or a negative value if the log was never truncated.
+     *
+     * @return The result.
+     */
+    synchronized long getTruncationSequence() {
+        return this.truncationSequence;
+    }
+
+    //endregion
+
+    //region Persistence
+
+    @GuardedBy("this")
+    private void load() throws DataLogNotAvailableException {
+        if (this.loaded) {
+            return;
+        }
+
+        File file = new File(this.directory, METADATA_FILE_NAME);
+        if (file.exists()) {
+            try (DataInputStream input = new DataInputStream(new FileInputStream(file))) {
+                byte version = input.readByte();
+                if (version != SERIALIZATION_VERSION) {
+                    throw new IOException(String.format("Unsupported version %d.", version));
+                }
+
+                this.epoch = input.readLong();
+                this.enabled = input.readBoolean();
+                this.truncationSequence = input.readLong();
+                this.exists = true;
+            } catch (IOException ex) {
+                throw new DataLogNotAvailableException(String.format("Unable to load metadata from '%s'.", file.getAbsolutePath()), ex);
+            }
+        } else {
+            // Inexistent metadata means the log has never been used, and is therefore enabled by default.
+            this.epoch = 0;
+            this.enabled = true;
+            this.truncationSequence = -1;
+            this.exists = false;
+        }
+
+        this.loaded = true;
+    }
+
+    @GuardedBy("this")
+    private void persist() throws DataLogNotAvailableException {
+        File tempFile = new File(this.directory, METADATA_TEMP_FILE_NAME);
+        File file = new File(this.directory, METADATA_FILE_NAME);
+        try {
+            Files.createDirectories(this.directory.toPath());
+            try (FileOutputStream stream = new FileOutputStream(tempFile);
+                 DataOutputStream output = new DataOutputStream(stream)) {
+                output.writeByte(SERIALIZATION_VERSION);
+                output.writeLong(this.epoch);
+                output.writeBoolean(this.enabled);
+                output.writeLong(this.truncationSequence);
+                output.flush();
+                stream.getFD().sync();
+            }
+
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            LogFiles.syncDirectory(this.directory);
+            if (!this.exists && this.directory.getParentFile() != null) {
+                // The directory itself may have just been created.
+                LogFiles.syncDirectory(this.directory.getParentFile());
+            }
+
+            this.exists = true;
+        } catch (IOException ex) {
+            // We may or may not have persisted the change. Reload upon next access to find out.
+            this.loaded = false;
+            throw new DataLogNotAvailableException(String.format("Unable to persist metadata to '%s'.", file.getAbsolutePath()), ex);
+        }
+
+        log.debug("Persisted metadata for '{}' (Epoch = {}, Enabled = {}, TruncationSequence = {}).",
+                this.directory.getAbsolutePath(), this.epoch, this.enabled, this.truncationSequence);
+    }
+
+    //endregion
+}
@@ -19,6 +19,8 @@ import io.pravega.segmentstore.storage.Cache;
 import io.pravega.segmentstore.storage.CacheException;
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -28,6 +30,7 @@ import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
 /**
@@ -189,6 +192,30 @@ class RocksDBCache implements Cache {
         insert(key, data.getCopy());
     }
 
+    @Override
+    public void insertAll(Map<? extends Key, ByteArraySegment> entries) {
+        ensureInitializedAndNotClosed();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Timer timer = new Timer();
+        long totalSize = 0;
+        try (WriteBatch batch = new WriteBatch()) {
+            for (Map.Entry<? extends Key, ByteArraySegment> e : entries.entrySet()) {
+                byte[] serializedKey = e.getKey().serialize();
+                batch.put(serializedKey, e.getValue().getCopy());
+                totalSize += serializedKey.length + e.getValue().getLength();
+            }
+
+            this.database.get().write(this.writeOptions, batch);
+        } catch (RocksDBException ex) {
+            throw convert(ex, "insert %d keys", entries.size());
+        }
+
+        RocksDBMetrics.insert(timer.getElapsedMillis(), totalSize);
+    }
+
     @Override
     public byte[] get(Key key) {
         ensureInitializedAndNotClosed();
@@ -215,6 +242,24 @@ class RocksDBCache implements Cache {
         }
     }
 
+    @Override
+    public void removeAll(Collection<? extends Key> keys) {
+        ensureInitializedAndNotClosed();
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        try (WriteBatch batch = new WriteBatch()) {
+            for (Key key : keys) {
+                batch.remove(key.serialize());
+            }
+
+            this.database.get().write(this.writeOptions, batch);
+        } catch (RocksDBException ex) {
+            throw convert(ex, "remove %d keys", keys.size());
+        }
+    }
+
     //endregion
 
     //region Helpers
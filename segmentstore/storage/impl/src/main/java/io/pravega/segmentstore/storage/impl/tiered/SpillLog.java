@@ -0,0 +1,301 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.tiered;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.io.FileHelpers;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The spill tier of a {@link TieredCache}: a set of append-only files on the local disk.
+ * <p>
+ * Data is always appended to the active file; once that file reaches its maximum size, it is sealed and a new one is
+ * started. Removing an entry only marks it as dead. A sealed file is deleted once it no longer contains any live entries,
+ * and it is compacted (its live entries are moved to the active file) once its live entries make up less than
+ * {@link #COMPACTION_THRESHOLD} of it.
+ * <p>
+ * This class is thread safe, however all its operations (which may perform disk IO) are serialized. Callers should not
+ * invoke them while holding locks that are needed to access data that is not in this SpillLog.
+ */
+@Slf4j
+@ThreadSafe
+class SpillLog implements AutoCloseable {
+    //region Members
+
+    private static final String FILE_PREFIX = "spill_";
+    private static final double COMPACTION_THRESHOLD = 0.25;
+    private final File directory;
+    private final int maxFileSize;
+    private final TierCapacity capacity;
+    private final String logId;
+    @GuardedBy("this")
+    private final HashSet<SpillFile> files;
+    @GuardedBy("this")
+    private SpillFile activeFile;
+    @GuardedBy("this")
+    private long nextFileId;
+    @GuardedBy("this")
+    private boolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the SpillLog class. Any existing contents of the given directory are deleted.
+     *
+     * @param directory   The directory to store the files in.
+     * @param maxFileSize The maximum size of each file.
+     * @param capacity    A {@link TierCapacity} to account for the disk space used by this SpillLog.
+     * @param logId       An identifier to use for logging purposes.
+     */
+    SpillLog(File directory, int maxFileSize, TierCapacity capacity, String logId) {
+        Preconditions.checkArgument(maxFileSize > 0, "maxFileSize must be a positive integer.");
+        this.directory = Preconditions.checkNotNull(directory, "directory");
+        this.maxFileSize = maxFileSize;
+        this.capacity = Preconditions.checkNotNull(capacity, "capacity");
+        this.logId = logId;
+        this.files = new HashSet<>();
+        if (FileHelpers.deleteFileOrDirectory(this.directory)) {
+            log.debug("{}: Deleted existing spill directory '{}'.", this.logId, this.directory.getAbsolutePath());
+        }
+
+        if (this.directory.mkdirs()) {
+            log.info("{}: Created empty spill directory '{}'.", this.logId, this.directory.getAbsolutePath());
+        }
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public synchronized void close() {
+        if (!this.closed) {
+            for (SpillFile file : this.files) {
+                closeChannel(file);
+                this.capacity.release(file.size);
+            }
+
+            this.files.clear();
+            this.activeFile = null;
+            FileHelpers.deleteFileOrDirectory(this.directory);
+            this.closed = true;
+        }
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Appends the given data to the active file.
+     *
+     * @param array       The array containing the data to append.
+     * @param arrayOffset The offset within the array where the data begins.
+     * @param length      The length of the data.
+     * @return A {@link Location} that can be used to read or remove the data, or null if there is not enough capacity left
+     * to accommodate the data.
+     * @throws IOException If an IO Exception occurred.
+     */
+    synchronized Location append(byte[] array, int arrayOffset, int length) throws IOException {
+        Preconditions.checkState(!this.closed, "SpillLog is closed.");
+        if (!this.capacity.tryReserve(length)) {
+            return null;
+        }
+
+        Location location = new Location(length);
+        try {
+            write(location, ByteBuffer.wrap(array, arrayOffset, length));
+        } catch (IOException ex) {
+            this.capacity.release(length);
+            throw ex;
+        }
+
+        return location;
+    }
+
+    /**
+     * Reads the data at the given Location.
+     *
+     * @param location The Location to read from. This must have been returned by {@link #append} and not removed yet.
+     * @return A new byte array containing the data.
+     * @throws IOException If an IO Exception occurred.
+     */
+    synchronized byte[] read(Location location) throws IOException {
+        Preconditions.checkState(!this.closed, "SpillLog is closed.");
+        ByteBuffer buffer = ByteBuffer.allocate(location.length);
+        while (buffer.hasRemaining()) {
+            int count = location.file.channel.read(buffer, location.offset + buffer.position());
+            if (count < 0) {
+                throw new EOFException(String.format("Unexpected end of file '%s' at offset %d.", location.file.path, location.offset + buffer.position()));
+            }
+        }
+
+        return buffer.array();
+    }
+
+    /**
+     * Removes the data at the given Location. This may cause its file to be deleted or compacted. This has no effect
+     * if the SpillLog is closed (all of its files have already been deleted).
+     *
+     * @param location The Location to remove. This must have been returned by {@link #append} and not removed yet.
+     * @throws IOException If an IO Exception occurred.
+     */
+    synchronized void remove(Location location) throws IOException {
+        if (this.closed) {
+            return;
+        }
+        SpillFile file = location.file;
+        if (file.entries.remove(location)) {
+            file.liveBytes -= location.length;
+            if (file != this.activeFile) {
+                if (file.liveBytes == 0) {
+                    delete(file);
+                } else if (file.liveBytes < file.size * COMPACTION_THRESHOLD) {
+                    compact(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of files currently in use.
+     */
+    synchronized int getFileCount() {
+        return this.files.size();
+    }
+
+    //endregion
+
+    //region Helpers
+
+    @GuardedBy("this")
+    private void write(Location location, ByteBuffer data) throws IOException {
+        int length = data.remaining();
+        if (this.activeFile == null || (this.activeFile.size > 0 && this.activeFile.size + length > this.maxFileSize)) {
+            rollover();
+        }
+
+        SpillFile file = this.activeFile;
+        long offset = file.size;
+        while (data.hasRemaining()) {
+            file.channel.write(data, offset + length - data.remaining());
+        }
+
+        file.size += length;
+        file.liveBytes += length;
+        file.entries.add(location);
+        location.file = file;
+        location.offset = offset;
+    }
+
+    @GuardedBy("this")
+    private void rollover() throws IOException {
+        SpillFile previous = this.activeFile;
+        File path = new File(this.directory, FILE_PREFIX + this.nextFileId++);
+        FileChannel channel = FileChannel.open(path.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.activeFile = new SpillFile(path, channel);
+        this.files.add(this.activeFile);
+        log.debug("{}: Created spill file '{}'.", this.logId, path.getName());
+        if (previous != null && previous.liveBytes == 0) {
+            delete(previous);
+        }
+    }
+
+    @GuardedBy("this")
+    private void compact(SpillFile file) throws IOException {
+        // Move all live entries to the active file. The Location objects are updated in place, so the owner need not
+        // be aware of this.
+        for (Location location : new ArrayList<>(file.entries)) {
+            if (!this.capacity.tryReserve(location.length)) {
+                log.debug("{}: Insufficient capacity to compact spill file '{}'.", this.logId, file.path.getName());
+                return;
+            }
+
+            byte[] data = read(location);
+            file.entries.remove(location);
+            file.liveBytes -= location.length;
+            write(location, ByteBuffer.wrap(data));
+        }
+
+        delete(file);
+    }
+
+    @GuardedBy("this")
+    private void delete(SpillFile file) {
+        closeChannel(file);
+        this.files.remove(file);
+        this.capacity.release(file.size);
+        if (!file.path.delete()) {
+            log.warn("{}: Unable to delete spill file '{}'.", this.logId, file.path.getAbsolutePath());
+        }
+    }
+
+    private void closeChannel(SpillFile file) {
+        try {
+            file.channel.close();
+        } catch (IOException ex) {
+            log.warn("{}: Unable to close spill file '{}'.", this.logId, file.path.getName(), ex);
+        }
+    }
+
+    //endregion
+
+    //region Location
+
+    /**
+     * The location of an entry within the SpillLog.
+     */
+    static final class Location {
+        private final int length;
+        private SpillFile file;
+        private long offset;
+
+        private Location(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s:%d (Length = %d)", this.file == null ? null : this.file.path.getName(), this.offset, this.length);
+        }
+    }
+
+    //endregion
+
+    //region SpillFile
+
+    private static final class SpillFile {
+        private final File path;
+        private final FileChannel channel;
+        private final HashSet<Location> entries;
+        private long size;
+        private long liveBytes;
+
+        SpillFile(File path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+            this.entries = new HashSet<>();
+        }
+    }
+
+    //endregion
+}
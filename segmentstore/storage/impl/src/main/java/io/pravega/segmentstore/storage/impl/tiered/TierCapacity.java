@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.tiered;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+
+/**
+ * Keeps track of the number of bytes used in a Cache Tier, which may be shared by multiple Caches.
+ */
+@ThreadSafe
+class TierCapacity {
+    @Getter
+    private final long maxBytes;
+    private final AtomicLong usedBytes;
+
+    /**
+     * Creates a new instance of the TierCapacity class.
+     *
+     * @param maxBytes The maximum number of bytes that can be used in the Tier.
+     */
+    TierCapacity(long maxBytes) {
+        Preconditions.checkArgument(maxBytes > 0, "maxBytes must be a positive number.");
+        this.maxBytes = maxBytes;
+        this.usedBytes = new AtomicLong();
+    }
+
+    /**
+     * Unconditionally records the given number of bytes as used. This may cause the Tier to exceed its maximum capacity.
+     *
+     * @param bytes The number of bytes to record. May be negative (which is equivalent to calling {@link #release}).
+     */
+    void add(long bytes) {
+        this.usedBytes.addAndGet(bytes);
+    }
+
+    /**
+     * Records the given number of bytes as used, but only if that would not exceed the maximum capacity.
+     *
+     * @param bytes The number of bytes to reserve.
+     * @return True if the bytes were reserved, false otherwise (in which case nothing is recorded).
+     */
+    boolean tryReserve(long bytes) {
+        long used;
+        do {
+            used = this.usedBytes.get();
+            if (used + bytes > this.maxBytes) {
+                return false;
+            }
+        } while (!this.usedBytes.compareAndSet(used, used + bytes));
+        return true;
+    }
+
+    /**
+     * Records the given number of bytes as no longer used.
+     *
+     * @param bytes The number of bytes to release.
+     */
+    void release(long bytes) {
+        this.usedBytes.addAndGet(-bytes);
+    }
+
+    /**
+     * Gets a value indicating whether the Tier uses more than its maximum capacity.
+     */
+    boolean isExceeded() {
+        return this.usedBytes.get() > this.maxBytes;
+    }
+
+    /**
+     * Gets the number of bytes currently used in the Tier.
+     */
+    long getUsedBytes() {
+        return this.usedBytes.get();
+    }
+}
@@ -0,0 +1,507 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.tiered;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache that stores its entries in two tiers: a (fast) memory tier, which is backed by another {@link Cache} implementation,
+ * and a (large) spill tier, which is backed by append-only files on the local disk (see {@link SpillLog}).
+ * <p>
+ * All new entries are inserted into the memory tier. Whenever the memory tier exceeds its capacity, the least recently
+ * used entries are demoted to the spill tier. Since the ReadIndex reads (and thus touches) the entries it promotes to
+ * newer generations, the order in which entries are demoted follows the order of the CacheManager's generations. Entries
+ * in the spill tier are promoted back to the memory tier as soon as they are accessed. The CacheManager remains in charge
+ * of evicting entries out of the cache altogether, regardless of the tier they are in.
+ * <p>
+ * No disk IO is performed while holding this Cache's lock, so spills and promotions do not block access to other entries.
+ * Each entry goes through the following states: IN_MEMORY, SPILLING (while its data is being written to disk; it can
+ * still be read from memory) and SPILLED. The move from SPILLING to SPILLED is done atomically (under the lock) once
+ * the data has been written, and only if the entry has not been replaced or removed in the meantime.
+ */
+@Slf4j
+@ThreadSafe
+class TieredCache implements Cache {
+    //region Members
+
+    @Getter
+    private final String id;
+    private final Cache memoryTier;
+    private final TierCapacity memoryCapacity;
+    private final SpillLog spillTier;
+    private final Consumer<String> closeCallback;
+    private final AtomicBoolean closed;
+    private final String logId;
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private final LinkedHashMap<Key, Entry> memoryEntries; // IN_MEMORY and SPILLING entries, in access order.
+    @GuardedBy("lock")
+    private final HashMap<Key, Entry> spilledEntries;
+    @GuardedBy("lock")
+    private long spillingBytes;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the TieredCache class.
+     *
+     * @param id             The Cache Id.
+     * @param memoryTier     The {@link Cache} to use as a memory tier. This Cache will be owned by this instance.
+     * @param memoryCapacity A {@link TierCapacity} to account for the data stored in the memory tier.
+     * @param spillTier      The {@link SpillLog} to use as a spill tier. This will be owned by this instance.
+     * @param closeCallback  A callback to invoke when the cache is closed.
+     */
+    TieredCache(String id, Cache memoryTier, TierCapacity memoryCapacity, SpillLog spillTier, Consumer<String> closeCallback) {
+        Exceptions.checkNotNullOrEmpty(id, "id");
+        this.id = id;
+        this.memoryTier = Preconditions.checkNotNull(memoryTier, "memoryTier");
+        this.memoryCapacity = Preconditions.checkNotNull(memoryCapacity, "memoryCapacity");
+        this.spillTier = Preconditions.checkNotNull(spillTier, "spillTier");
+        this.closeCallback = closeCallback;
+        this.closed = new AtomicBoolean();
+        this.logId = String.format("TieredCache[%s]", id);
+        this.memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+        this.spilledEntries = new HashMap<>();
+        log.info("{}: Initialized.", this.logId);
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            synchronized (this.lock) {
+                this.memoryTier.close();
+                this.memoryEntries.values().forEach(e -> {
+                    e.discarded = true;
+                    this.memoryCapacity.release(e.length);
+                });
+                this.memoryEntries.clear();
+                this.spilledEntries.values().forEach(e -> e.discarded = true);
+                this.spilledEntries.clear();
+            }
+
+            this.spillTier.close();
+            log.info("{}: Closed.", this.logId);
+            Consumer<String> callback = this.closeCallback;
+            if (callback != null) {
+                Callbacks.invokeSafely(callback, this.id, null);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Cache Implementation
+
+    @Override
+    public void insert(Key key, byte[] data) {
+        insert(key, new ByteArraySegment(data == null ? new byte[0] : data));
+    }
+
+    @Override
+    public void insert(Key key, ByteArraySegment data) {
+        ArrayList<SpillLog.Location> obsoleteLocations = new ArrayList<>();
+        List<Demotion> demotions;
+        synchronized (this.lock) {
+            Exceptions.checkNotClosed(this.closed.get(), this);
+            this.memoryTier.insert(key, data);
+            onInsertedInMemory(key, data.getLength(), obsoleteLocations);
+            demotions = beginDemotion();
+        }
+
+        removeFromSpillTier(obsoleteLocations);
+        demote(demotions);
+    }
+
+    @Override
+    public void insertAll(Map<? extends Key, ByteArraySegment> entries) {
+        ArrayList<SpillLog.Location> obsoleteLocations = new ArrayList<>();
+        List<Demotion> demotions;
+        synchronized (this.lock) {
+            Exceptions.checkNotClosed(this.closed.get(), this);
+            this.memoryTier.insertAll(entries);
+            for (Map.Entry<? extends Key, ByteArraySegment> e : entries.entrySet()) {
+                onInsertedInMemory(e.getKey(), e.getValue().getLength(), obsoleteLocations);
+            }
+
+            demotions = beginDemotion();
+        }
+
+        removeFromSpillTier(obsoleteLocations);
+        demote(demotions);
+    }
+
+    @Override
+    public byte[] get(Key key) {
+        return get(key, this.memoryTier::get, data -> data);
+    }
+
+    @Override
+    public ArrayView getView(Key key) {
+        return get(key, this.memoryTier::getView, data -> new ByteArraySegment(data, 0, data.length, true));
+    }
+
+    @Override
+    public void remove(Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        SpillLog.Location obsoleteLocation;
+        synchronized (this.lock) {
+            Entry entry = this.memoryEntries.remove(key);
+            if (entry != null) {
+                this.memoryTier.remove(key);
+                discardMemoryEntry(entry);
+                obsoleteLocation = null;
+            } else {
+                obsoleteLocation = discardSpilledEntry(key);
+            }
+        }
+
+        if (obsoleteLocation != null) {
+            removeFromSpillTier(Collections.singletonList(obsoleteLocation));
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<? extends Key> keys) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        ArrayList<SpillLog.Location> obsoleteLocations = new ArrayList<>();
+        synchronized (this.lock) {
+            ArrayList<Key> memoryKeys = new ArrayList<>();
+            for (Key key : keys) {
+                Entry entry = this.memoryEntries.remove(key);
+                if (entry != null) {
+                    memoryKeys.add(key);
+                    discardMemoryEntry(entry);
+                } else {
+                    SpillLog.Location location = discardSpilledEntry(key);
+                    if (location != null) {
+                        obsoleteLocations.add(location);
+                    }
+                }
+            }
+
+            this.memoryTier.removeAll(memoryKeys);
+        }
+
+        removeFromSpillTier(obsoleteLocations);
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Gets the entry with the given Key, promoting it into the memory tier if it has been spilled.
+     *
+     * @param key          The Key to get.
+     * @param memoryGetter A Function that gets the entry from the memory tier.
+     * @param wrapSpilled  A Function that converts data read from the spill tier into the result.
+     * @param <T>          Type of the result.
+     * @return The result, or null if no such entry exists.
+     */
+    private <T> T get(Key key, Function<Key, T> memoryGetter, Function<byte[], T> wrapSpilled) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        while (true) {
+            Entry spilled;
+            synchronized (this.lock) {
+                if (this.memoryEntries.get(key) != null) {
+                    // This also marks the entry as the most recently used one.
+                    return memoryGetter.apply(key);
+                }
+
+                spilled = this.spilledEntries.get(key);
+                if (spilled == null) {
+                    return null;
+                }
+            }
+
+            byte[] data = promote(key, spilled);
+            if (data != null) {
+                return wrapSpilled.apply(data);
+            }
+
+            // The entry has been replaced or removed while we were reading it. Try again.
+        }
+    }
+
+    /**
+     * Reads the given spilled entry from the spill tier and moves it into the memory tier.
+     *
+     * @param key   The Key of the entry.
+     * @param entry The Entry to promote. Must be in the SPILLED state.
+     * @return The entry's data, or null if the entry has been replaced or removed while it was being read.
+     */
+    private byte[] promote(Key key, Entry entry) {
+        byte[] data;
+        try {
+            data = this.spillTier.read(entry.location);
+        } catch (IOException | RuntimeException ex) {
+            synchronized (this.lock) {
+                if (entry.discarded) {
+                    // Its Location may have been removed from the spill tier while we were reading it.
+                    return null;
+                }
+            }
+
+            throw new CacheException(String.format("Unable to promote key '%s' (CacheId=%s).", key, this.id), ex);
+        }
+
+        ArrayList<SpillLog.Location> obsoleteLocations = new ArrayList<>();
+        List<Demotion> demotions;
+        synchronized (this.lock) {
+            if (entry.discarded) {
+                return null;
+            }
+
+            // Insert into the memory tier first; if that fails, the spilled entry is left untouched.
+            Exceptions.checkNotClosed(this.closed.get(), this);
+            this.memoryTier.insert(key, data);
+            onInsertedInMemory(key, data.length, obsoleteLocations);
+            demotions = beginDemotion();
+        }
+
+        TieredCacheMetrics.promote(data.length);
+        removeFromSpillTier(obsoleteLocations);
+        demote(demotions);
+        return data;
+    }
+
+    /**
+     * Updates the internal state to reflect that an entry has been inserted in the memory tier. Any previous version of
+     * the entry is discarded.
+     *
+     * @param key               The Key of the entry.
+     * @param length            The length of the entry.
+     * @param obsoleteLocations A List to collect the spill tier Locations that need to be removed as a result.
+     */
+    @GuardedBy("lock")
+    private void onInsertedInMemory(Key key, int length, List<SpillLog.Location> obsoleteLocations) {
+        Entry oldEntry = this.memoryEntries.put(key, new Entry(length));
+        if (oldEntry != null) {
+            discardMemoryEntry(oldEntry);
+        } else {
+            SpillLog.Location location = discardSpilledEntry(key);
+            if (location != null) {
+                obsoleteLocations.add(location);
+            }
+        }
+
+        this.memoryCapacity.add(length);
+    }
+
+    /**
+     * Marks the given entry (which must have already been removed from memoryEntries) as discarded and releases its
+     * memory tier capacity. If it is SPILLING, its data will be removed from the spill tier once written.
+     */
+    @GuardedBy("lock")
+    private void discardMemoryEntry(Entry entry) {
+        entry.discarded = true;
+        this.memoryCapacity.release(entry.length);
+    }
+
+    /**
+     * Removes the spilled entry with the given Key, if any, and marks it as discarded.
+     *
+     * @return The Location of the spilled entry (which needs to be removed from the spill tier), or null if none.
+     */
+    @GuardedBy("lock")
+    private SpillLog.Location discardSpilledEntry(Key key) {
+        Entry entry = this.spilledEntries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+
+        entry.discarded = true;
+        return entry.location;
+    }
+
+    /**
+     * Picks the least recently used entries that need to be demoted in order for the memory tier to get within its
+     * capacity (taking into account entries that are already being demoted), marks them as SPILLING and takes a copy of
+     * their data. The actual demotion must be done using {@link #demote}, outside of the lock.
+     *
+     * @return A List of Demotions to execute.
+     */
+    @GuardedBy("lock")
+    private List<Demotion> beginDemotion() {
+        long excess = this.memoryCapacity.getUsedBytes() - this.memoryCapacity.getMaxBytes() - this.spillingBytes;
+        if (excess <= 0) {
+            return Collections.emptyList();
+        }
+
+        ArrayList<Demotion> result = new ArrayList<>();
+        Iterator<Map.Entry<Key, Entry>> iterator = this.memoryEntries.entrySet().iterator();
+        while (excess > 0 && iterator.hasNext()) {
+            Map.Entry<Key, Entry> e = iterator.next();
+            Entry entry = e.getValue();
+            if (entry.state != State.IN_MEMORY) {
+                continue;
+            }
+
+            byte[] data = this.memoryTier.get(e.getKey());
+            if (data == null) {
+                // Nothing to demote; this entry no longer exists in the memory tier.
+                iterator.remove();
+                discardMemoryEntry(entry);
+            } else {
+                entry.state = State.SPILLING;
+                this.spillingBytes += entry.length;
+                result.add(new Demotion(e.getKey(), entry, data));
+            }
+
+            excess -= entry.length;
+        }
+
+        return result;
+    }
+
+    /**
+     * Writes the given Demotions to the spill tier and then (atomically) moves their entries from the SPILLING state
+     * to the SPILLED state. Entries that have been replaced or removed in the meantime are removed from the spill tier,
+     * and entries that could not be written are moved back to the IN_MEMORY state. This method must not be invoked
+     * while holding the lock.
+     *
+     * @param demotions The Demotions to execute.
+     */
+    private void demote(List<Demotion> demotions) {
+        if (demotions.isEmpty()) {
+            return;
+        }
+
+        Throwable failure = null;
+        for (Demotion d : demotions) {
+            try {
+                d.location = this.spillTier.append(d.data, 0, d.data.length);
+            } catch (IOException | RuntimeException ex) {
+                failure = ex;
+            }
+
+            if (d.location == null) {
+                if (failure == null) {
+                    log.debug("{}: Spill tier is full; unable to demote further entries.", this.logId);
+                }
+
+                break;
+            }
+        }
+
+        ArrayList<SpillLog.Location> obsoleteLocations = new ArrayList<>();
+        ArrayList<Key> demotedKeys = new ArrayList<>();
+        long demotedBytes = 0;
+        synchronized (this.lock) {
+            for (Demotion d : demotions) {
+                this.spillingBytes -= d.entry.length;
+                if (d.entry.discarded) {
+                    // Replaced or removed while being written.
+                    if (d.location != null) {
+                        obsoleteLocations.add(d.location);
+                    }
+                } else if (d.location == null) {
+                    // Not written; leave it in memory.
+                    d.entry.state = State.IN_MEMORY;
+                } else {
+                    d.entry.state = State.SPILLED;
+                    d.entry.location = d.location;
+                    this.memoryEntries.remove(d.key);
+                    this.spilledEntries.put(d.key, d.entry);
+                    this.memoryCapacity.release(d.entry.length);
+                    demotedKeys.add(d.key);
+                    demotedBytes += d.entry.length;
+                }
+            }
+
+            if (!this.closed.get()) {
+                this.memoryTier.removeAll(demotedKeys);
+            }
+        }
+
+        TieredCacheMetrics.demote(demotedBytes);
+        removeFromSpillTier(obsoleteLocations);
+        if (failure != null && !this.closed.get()) {
+            throw new CacheException(String.format("Unable to demote entries (CacheId=%s).", this.id), failure);
+        }
+    }
+
+    /**
+     * Removes the given Locations from the spill tier. This method must not be invoked while holding the lock.
+     */
+    private void removeFromSpillTier(List<SpillLog.Location> locations) {
+        for (SpillLog.Location location : locations) {
+            try {
+                this.spillTier.remove(location);
+            } catch (IOException ex) {
+                throw new CacheException(String.format("Unable to remove spilled entry %s (CacheId=%s).", location, this.id), ex);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Entry
+
+    private enum State {
+        IN_MEMORY,
+        SPILLING,
+        SPILLED
+    }
+
+    private static final class Entry {
+        private final int length;
+        @GuardedBy("lock")
+        private State state;
+        @GuardedBy("lock")
+        private SpillLog.Location location;
+        @GuardedBy("lock")
+        private boolean discarded;
+
+        Entry(int length) {
+            this.length = length;
+            this.state = State.IN_MEMORY;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Demotion {
+        private final Key key;
+        private final Entry entry;
+        private final byte[] data;
+        private SpillLog.Location location;
+    }
+
+    //endregion
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.tiered;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import lombok.Getter;
+
+/**
+ * Configuration for the Tiered Cache.
+ */
+public class TieredCacheConfig {
+    //region Config Names
+
+    public static final Property<Integer> MEMORY_TIER_MAX_SIZE_MB = Property.named("memoryTierMaxSizeMB", 512);
+    public static final Property<String> SPILL_DIR = Property.named("spillDir", "/tmp/pravega/cache-spill");
+    public static final Property<Integer> SPILL_FILE_SIZE_MB = Property.named("spillFileSizeMB", 64);
+    public static final Property<Integer> SPILL_MAX_SIZE_MB = Property.named("spillMaxSizeMB", 16 * 1024);
+    private static final String COMPONENT_CODE = "tieredcache";
+
+    //endregion
+
+    //region Members
+
+    /**
+     * The maximum amount of data (in MB) to keep in the memory tier, shared by all the Caches created by the same Factory.
+     * Once this limit is exceeded, the least recently used entries are demoted to the spill tier. This value should be
+     * smaller than the capacity of the memory tier's own Cache implementation.
+     */
+    @Getter
+    private final int memoryTierMaxSizeMB;
+
+    /**
+     * The directory where the spill tier files are stored. Each Cache uses its own subdirectory, which is cleared when
+     * the Cache is opened or closed.
+     */
+    @Getter
+    private final String spillDir;
+
+    /**
+     * The maximum size (in MB) of each spill tier file. Spill files are append-only; once a file reaches this size, a new
+     * one is started. Files are deleted (or compacted) once most of their contents have been removed or promoted.
+     */
+    @Getter
+    private final int spillFileSizeMB;
+
+    /**
+     * The maximum amount of local disk space (in MB) that the spill tier may use, shared by all the Caches created by the
+     * same Factory. Once this limit is reached, entries are no longer demoted out of the memory tier.
+     */
+    @Getter
+    private final int spillMaxSizeMB;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the TieredCacheConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private TieredCacheConfig(TypedProperties properties) throws ConfigurationException {
+        this.memoryTierMaxSizeMB = properties.getInt(MEMORY_TIER_MAX_SIZE_MB);
+        if (this.memoryTierMaxSizeMB <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", MEMORY_TIER_MAX_SIZE_MB));
+        }
+
+        this.spillDir = properties.get(SPILL_DIR);
+        this.spillFileSizeMB = properties.getInt(SPILL_FILE_SIZE_MB);
+        if (this.spillFileSizeMB <= 0 || this.spillFileSizeMB >= 2048) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer less than 2048.", SPILL_FILE_SIZE_MB));
+        }
+
+        this.spillMaxSizeMB = properties.getInt(SPILL_MAX_SIZE_MB);
+        if (this.spillMaxSizeMB < this.spillFileSizeMB) {
+            throw new ConfigurationException(String.format("Property '%s' must be at least the value of Property '%s'.", SPILL_MAX_SIZE_MB, SPILL_FILE_SIZE_MB));
+        }
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<TieredCacheConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, TieredCacheConfig::new);
+    }
+
+    //endregion
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.tiered;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.concurrent.GuardedBy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache Factory for the Tiered Cache implementation. All Caches created by the same instance of this class share the
+ * same memory tier and spill tier capacities.
+ */
+@Slf4j
+public class TieredCacheFactory implements CacheFactory {
+    //region Members
+
+    private static final String LOG_ID = "TieredCacheFactory";
+    private static final String FILE_PREFIX = "cache_";
+    private final TieredCacheConfig config;
+    private final CacheFactory memoryTierFactory;
+    private final TierCapacity memoryCapacity;
+    private final TierCapacity spillCapacity;
+    @GuardedBy("caches")
+    private final HashMap<String, TieredCache> caches;
+    private final AtomicBoolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the TieredCacheFactory class.
+     *
+     * @param config            The configuration to use.
+     * @param memoryTierFactory A {@link CacheFactory} to create the memory tier Caches with. This will be owned by this
+     *                          instance (it will be closed when this instance is closed).
+     */
+    public TieredCacheFactory(TieredCacheConfig config, CacheFactory memoryTierFactory) {
+        this.config = Preconditions.checkNotNull(config, "config");
+        this.memoryTierFactory = Preconditions.checkNotNull(memoryTierFactory, "memoryTierFactory");
+        this.memoryCapacity = new TierCapacity(config.getMemoryTierMaxSizeMB() * 1024L * 1024L);
+        this.spillCapacity = new TierCapacity(config.getSpillMaxSizeMB() * 1024L * 1024L);
+        this.caches = new HashMap<>();
+        this.closed = new AtomicBoolean();
+        log.info("{}: Initialized (MemoryTierMaxSizeMB = {}, SpillDir = {}, SpillMaxSizeMB = {}).", LOG_ID,
+                config.getMemoryTierMaxSizeMB(), config.getSpillDir(), config.getSpillMaxSizeMB());
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            ArrayList<TieredCache> toClose;
+            synchronized (this.caches) {
+                toClose = new ArrayList<>(this.caches.values());
+            }
+
+            toClose.forEach(TieredCache::close);
+            this.memoryTierFactory.close();
+            log.info("{}: Closed.", LOG_ID);
+        }
+    }
+
+    //endregion
+
+    //region CacheFactory Implementation
+
+    @Override
+    public Cache getCache(String id) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.caches) {
+            return this.caches.computeIfAbsent(id, this::createCache);
+        }
+    }
+
+    @GuardedBy("caches")
+    private TieredCache createCache(String id) {
+        File spillDir = new File(this.config.getSpillDir(), FILE_PREFIX + id);
+        SpillLog spillTier = new SpillLog(spillDir, this.config.getSpillFileSizeMB() * 1024 * 1024, this.spillCapacity,
+                String.format("TieredCache[%s]", id));
+        return new TieredCache(id, this.memoryTierFactory.getCache(id), this.memoryCapacity, spillTier, this::cacheClosed);
+    }
+
+    private void cacheClosed(String cacheId) {
+        synchronized (this.caches) {
+            this.caches.remove(cacheId);
+        }
+    }
+
+    //endregion
+}
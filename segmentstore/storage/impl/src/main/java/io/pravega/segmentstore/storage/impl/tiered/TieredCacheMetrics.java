@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.tiered;
+
+import io.pravega.shared.MetricsNames;
+import io.pravega.shared.metrics.DynamicLogger;
+import io.pravega.shared.metrics.MetricsProvider;
+
+/**
+ * Metrics for the Tiered Cache. Only movements between the tiers are recorded here; inserts and gets (along with their
+ * latencies and sizes) are already recorded by the memory tier's own metrics.
+ */
+final class TieredCacheMetrics {
+    private static final DynamicLogger DYNAMIC_LOGGER = MetricsProvider.getDynamicLogger();
+
+    static void promote(long promotedBytes) {
+        DYNAMIC_LOGGER.incCounterValue(MetricsNames.CACHE_PROMOTED_BYTES, promotedBytes);
+    }
+
+    static void demote(long demotedBytes) {
+        if (demotedBytes > 0) {
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.CACHE_DEMOTED_BYTES, demotedBytes);
+        }
+    }
+}
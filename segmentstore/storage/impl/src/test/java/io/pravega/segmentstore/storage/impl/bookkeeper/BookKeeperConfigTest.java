@@ -36,6 +36,10 @@ public class BookKeeperConfigTest {
         Assert.assertEquals(5000, cfg.getBkWriteTimeoutMillis());
         Assert.assertEquals(5000, cfg.getBkReadTimeoutMillis());
         Assert.assertEquals(1024 * 1024 * 1024, cfg.getBkLedgerMaxSize());
+        Assert.assertEquals(1, cfg.getBkWriteStripeCount());
+        Assert.assertFalse(cfg.isBkStandbyLedgerEnabled());
+        Assert.assertEquals(64, cfg.getBkReadBatchSize());
+        Assert.assertEquals(4, cfg.getBkReadAheadBatchCount());
         Assert.assertEquals(0, cfg.getBKPassword().length);
         Assert.assertEquals("", cfg.getBkLedgerPath());
         Assert.assertEquals(false, cfg.isTLSEnabled());
@@ -81,4 +85,27 @@ public class BookKeeperConfigTest {
                         .build(),
                 ex -> ex instanceof InvalidPropertyValueException);
     }
+
+    @Test
+    public void testWriteStripeCount() {
+        AssertExtensions.assertThrows("BookKeeperConfig did not throw InvalidPropertyValueException",
+                () -> BookKeeperConfig.builder()
+                        .with(BookKeeperConfig.BK_WRITE_STRIPE_COUNT, 0)
+                        .build(),
+                ex -> ex instanceof InvalidPropertyValueException);
+    }
+
+    @Test
+    public void testReadAhead() {
+        AssertExtensions.assertThrows("BookKeeperConfig did not throw InvalidPropertyValueException",
+                () -> BookKeeperConfig.builder()
+                        .with(BookKeeperConfig.BK_READ_BATCH_SIZE, 0)
+                        .build(),
+                ex -> ex instanceof InvalidPropertyValueException);
+        AssertExtensions.assertThrows("BookKeeperConfig did not throw InvalidPropertyValueException",
+                () -> BookKeeperConfig.builder()
+                        .with(BookKeeperConfig.BK_READ_AHEAD_BATCH_COUNT, 0)
+                        .build(),
+                ex -> ex instanceof InvalidPropertyValueException);
+    }
 }
@@ -145,6 +145,8 @@ public abstract class BookKeeperLogTests extends DurableDataLogTestBase {
                 .with(BookKeeperConfig.BK_ACK_QUORUM_SIZE, BOOKIE_COUNT)
                 .with(BookKeeperConfig.BK_TLS_ENABLED, isSecure())
                 .with(BookKeeperConfig.BK_WRITE_TIMEOUT, 1000) // This is the minimum we can set anyway.
+                .with(BookKeeperConfig.BK_WRITE_STRIPE_COUNT, getWriteStripeCount())
+                .with(BookKeeperConfig.BK_STANDBY_LEDGER_ENABLED, true)
                 .build());
 
         // Create default factory.
@@ -316,9 +318,13 @@ public abstract class BookKeeperLogTests extends DurableDataLogTestBase {
         final int count = 100;
         final int writeEvery = count / 10;
         final Predicate<Integer> shouldAppendAnything = i -> i % writeEvery == 0;
+
+        // Every initialization creates a new ledger (or stripe), followed by a standby ledger (or stripe).
+        final int ledgersPerInitialization = getWriteStripeCount() * (this.config.get().isBkStandbyLedgerEnabled() ? 2 : 1);
         val allLedgers = new ArrayList<Map.Entry<Long, LedgerMetadata.Status>>();
-        final Predicate<Integer> shouldExist = index -> (index >= allLedgers.size() - Ledgers.MIN_FENCE_LEDGER_COUNT)
-                || (allLedgers.get(index).getValue() != LedgerMetadata.Status.Empty);
+        final Predicate<Integer> shouldExist = index ->
+                (index >= allLedgers.size() - Math.max(Ledgers.MIN_FENCE_LEDGER_COUNT, ledgersPerInitialization))
+                        || (allLedgers.get(index).getValue() != LedgerMetadata.Status.Empty);
 
         for (int i = 0; i < count; i++) {
             try (BookKeeperLog log = (BookKeeperLog) createDurableDataLog()) {
@@ -326,9 +332,14 @@ public abstract class BookKeeperLogTests extends DurableDataLogTestBase {
 
                 boolean shouldAppend = shouldAppendAnything.test(i);
                 val currentMetadata = log.loadMetadata();
-                val lastLedger = currentMetadata.getLedgers().get(currentMetadata.getLedgers().size() - 1);
-                allLedgers.add(new AbstractMap.SimpleImmutableEntry<>(lastLedger.getLedgerId(),
-                        shouldAppend ? LedgerMetadata.Status.NotEmpty : LedgerMetadata.Status.Empty));
+                val ledgers = currentMetadata.getLedgers();
+                for (int j = ledgers.size() - ledgersPerInitialization; j < ledgers.size(); j++) {
+                    // We only append once, so only the first Ledger in the active stripe will have any data.
+                    boolean nonEmpty = shouldAppend && j == ledgers.size() - ledgersPerInitialization;
+                    allLedgers.add(new AbstractMap.SimpleImmutableEntry<>(ledgers.get(j).getLedgerId(),
+                            nonEmpty ? LedgerMetadata.Status.NotEmpty : LedgerMetadata.Status.Empty));
+                }
+
                 val metadataLedgers = currentMetadata.getLedgers().stream().map(LedgerMetadata::getLedgerId).collect(Collectors.toSet());
 
                 // Verify Log Metadata does not contain old empty ledgers.
@@ -362,6 +373,75 @@ public abstract class BookKeeperLogTests extends DurableDataLogTestBase {
         }
     }
 
+    /**
+     * Tests the fact that standby ledgers are created and registered upon initialization, and that they are not written
+     * to until they become active.
+     */
+    @Test
+    public void testStandbyLedgers() throws Exception {
+        final int stripeCount = getWriteStripeCount();
+        List<Long> standbyLedgerIds;
+        try (BookKeeperLog log = (BookKeeperLog) createDurableDataLog()) {
+            log.initialize(TIMEOUT);
+            val ledgers = log.loadMetadata().getLedgers();
+            AssertExtensions.assertGreaterThanOrEqual("Expected active and standby ledgers.", 2 * stripeCount, ledgers.size());
+            standbyLedgerIds = ledgers.subList(ledgers.size() - stripeCount, ledgers.size()).stream()
+                                      .map(LedgerMetadata::getLedgerId).collect(Collectors.toList());
+
+            // A few small writes will not trigger a rollover, so the standby ledgers must remain empty.
+            for (int i = 0; i < 10; i++) {
+                log.append(new ByteArraySegment(getWriteData()), TIMEOUT).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        for (long ledgerId : standbyLedgerIds) {
+            val handle = Ledgers.openFence(ledgerId, this.factory.get().getBookKeeperClient(), this.config.get());
+            Assert.assertEquals("Standby ledger was written to.", Ledgers.NO_ENTRY_ID, handle.getLastAddConfirmed());
+            Ledgers.close(handle);
+        }
+    }
+
+    /**
+     * Tests the ability to read the log using small read batches and little read-ahead, which forces many batch
+     * boundaries within each ledger and across ledger boundaries.
+     */
+    @Test
+    public void testReadAheadSmallBatches() throws Exception {
+        TreeMap<LogAddress, byte[]> writeData;
+        try (DurableDataLog log = createDurableDataLog()) {
+            log.initialize(TIMEOUT);
+            writeData = populate(log, getWriteCount());
+        }
+
+        BookKeeperConfig bkConfig = BookKeeperConfig
+                .builder()
+                .with(BookKeeperConfig.ZK_ADDRESS, "localhost:" + BK_PORT.get())
+                .with(BookKeeperConfig.ZK_METADATA_PATH, this.zkClient.get().getNamespace())
+                .with(BookKeeperConfig.BK_LEDGER_PATH, "/pravega/bookkeeper/ledgers")
+                .with(BookKeeperConfig.BK_ENSEMBLE_SIZE, BOOKIE_COUNT)
+                .with(BookKeeperConfig.BK_WRITE_QUORUM_SIZE, BOOKIE_COUNT)
+                .with(BookKeeperConfig.BK_ACK_QUORUM_SIZE, BOOKIE_COUNT)
+                .with(BookKeeperConfig.BK_TLS_ENABLED, isSecure())
+                .with(BookKeeperConfig.BK_WRITE_STRIPE_COUNT, getWriteStripeCount())
+                .with(BookKeeperConfig.BK_READ_BATCH_SIZE, 3)
+                .with(BookKeeperConfig.BK_READ_AHEAD_BATCH_COUNT, 2)
+                .build();
+        @Cleanup
+        val factory = new BookKeeperLogFactory(bkConfig, this.zkClient.get(), executorService());
+        factory.initialize();
+        try (DurableDataLog log = factory.createDurableDataLog(CONTAINER_ID)) {
+            log.initialize(TIMEOUT);
+            verifyReads(log, writeData);
+        }
+    }
+
+    /**
+     * Gets the number of Ledgers to write to concurrently (see BookKeeperConfig.BK_WRITE_STRIPE_COUNT).
+     */
+    protected int getWriteStripeCount() {
+        return 1;
+    }
+
     @Override
     protected int getThreadPoolSize() {
         return THREAD_POOL_SIZE;
@@ -423,4 +503,16 @@ public abstract class BookKeeperLogTests extends DurableDataLogTestBase {
             setUpBookKeeper(false);
         }
     }
+
+    public static class StripedBookKeeperLogTests extends BookKeeperLogTests {
+        @BeforeClass
+        public static void startUp() throws Exception {
+            setUpBookKeeper(false);
+        }
+
+        @Override
+        protected int getWriteStripeCount() {
+            return 3;
+        }
+    }
 }
\ No newline at end of file
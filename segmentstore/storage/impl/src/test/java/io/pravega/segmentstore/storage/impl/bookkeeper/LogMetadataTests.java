@@ -218,6 +218,50 @@ public class LogMetadataTests {
                 (l1, l2) -> l1.getSequence() == l2.getSequence() && l1.getLedgerId() == l2.getLedgerId() && l1.getStatus() == l2.getStatus());
     }
 
+    /**
+     * Tests addStripe(), getStripe() and truncate() with striped ledgers, as well as their serialization.
+     */
+    @Test(timeout = 5000)
+    public void testStripes() throws Exception {
+        final int stripeLength = 3;
+        Supplier<Long> nextLedgerId = new AtomicLong()::incrementAndGet;
+        val expectedLedgerIds = new ArrayList<Long>();
+        LogMetadata metadata = null;
+        for (int i = 0; i < LEDGER_COUNT; i++) {
+            val stripeIds = new ArrayList<Long>();
+            for (int j = 0; j < stripeLength; j++) {
+                stripeIds.add(nextLedgerId.get());
+            }
+
+            expectedLedgerIds.addAll(stripeIds);
+            metadata = metadata == null ? new LogMetadata(stripeIds) : metadata.addStripe(stripeIds);
+            Assert.assertEquals("Unexpected epoch.", i + 1, metadata.getEpoch());
+            checkLedgerIds(expectedLedgerIds, metadata);
+
+            // All the ledgers in a stripe share the sequence of the first ledger in it.
+            val stripe = metadata.getStripe(metadata.getLedgers().get(metadata.getLedgers().size() - 1).getStripeSequence());
+            Assert.assertEquals("Unexpected stripe length.", stripeLength, stripe.size());
+            for (int j = 0; j < stripe.size(); j++) {
+                Assert.assertTrue("Expected ledger to be striped.", stripe.get(j).isStriped());
+                Assert.assertEquals("Unexpected ledger in stripe.", stripeIds.get(j), (Long) stripe.get(j).getLedgerId());
+                Assert.assertEquals("Unexpected stripe sequence.", stripe.get(0).getSequence(), stripe.get(j).getStripeSequence());
+            }
+        }
+
+        // Serialization.
+        val m2 = LogMetadata.SERIALIZER.deserialize(LogMetadata.SERIALIZER.serialize(metadata));
+        AssertExtensions.assertListEquals("Unexpected ledgers after deserialization.", metadata.getLedgers(), m2.getLedgers(),
+                (l1, l2) -> l1.getSequence() == l2.getSequence() && l1.getLedgerId() == l2.getLedgerId()
+                        && l1.getStripeSequence() == l2.getStripeSequence());
+
+        // Truncate to an address in the last ledger of a stripe. All the ledgers in that stripe must be kept, since the
+        // entries after the address may be in any of them.
+        val stripe = metadata.getStripe(metadata.getLedgers().get(stripeLength * 2).getStripeSequence());
+        val lastLedger = stripe.get(stripe.size() - 1);
+        metadata = metadata.truncate(new LedgerAddress(lastLedger.getStripeSequence(), lastLedger.getLedgerId(), 1));
+        checkLedgerIds(expectedLedgerIds.subList(stripeLength * 2, expectedLedgerIds.size()), metadata);
+    }
+
     private void checkLedgerIds(List<Long> expectedLedgerIds, LogMetadata metadata) {
         val actualLedgerIds = metadata.getLedgers().stream().map(LedgerMetadata::getLedgerId).collect(Collectors.toList());
         AssertExtensions.assertListEquals("Unexpected ledger ids.", expectedLedgerIds, actualLedgerIds, Long::equals);
@@ -16,9 +16,13 @@ import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.IntentionalException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import lombok.val;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -103,6 +107,53 @@ public class WriteQueueTests {
                 ex -> ex instanceof ObjectClosedException);
     }
 
+    /**
+     * Tests the ability to add Writes from multiple threads concurrently, as well as to close the queue while doing so.
+     * Every Write must either be rejected by add() or be returned by close(), but not both.
+     */
+    @Test
+    public void testConcurrentAddClose() throws Exception {
+        final int threadCount = 4;
+        val q = new WriteQueue();
+        val added = Collections.synchronizedList(new ArrayList<List<Write>>());
+        val rejected = Collections.synchronizedList(new ArrayList<Write>());
+        val threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; t++) {
+            val threadWrites = new ArrayList<Write>();
+            added.add(threadWrites);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < ITEM_COUNT * 10; i++) {
+                    val w = new Write(new ByteArraySegment(new byte[1]), new TestWriteLedger(0), new CompletableFuture<>());
+                    try {
+                        q.add(w);
+                        threadWrites.add(w);
+                    } catch (ObjectClosedException ex) {
+                        rejected.add(w);
+                    }
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        Thread.sleep(1);
+        val closedWrites = q.close();
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        // Writes from the same thread must be in the queue in the order in which they were added.
+        for (val threadWrites : added) {
+            val expected = new HashSet<Write>(threadWrites);
+            val actual = closedWrites.stream().filter(expected::contains).collect(Collectors.toList());
+            AssertExtensions.assertListEquals("Unexpected order of writes from the same thread.", threadWrites, actual, Object::equals);
+        }
+
+        int addedCount = added.stream().mapToInt(List::size).sum();
+        Assert.assertEquals("Unexpected number of writes returned by close().", addedCount, closedWrites.size());
+        Assert.assertEquals("Unexpected total number of writes.", threadCount * ITEM_COUNT * 10, addedCount + rejected.size());
+        Assert.assertEquals("Unexpected getSize after close().", 0, q.getStatistics().getSize());
+    }
+
     /**
      * Tests the removeFinishedWrites() method.
      */
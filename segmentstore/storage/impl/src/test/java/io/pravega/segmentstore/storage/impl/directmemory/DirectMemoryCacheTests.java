@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheException;
+import io.pravega.segmentstore.storage.CacheTestBase;
+import io.pravega.test.common.AssertExtensions;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Cleanup;
+import lombok.RequiredArgsConstructor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the DirectMemoryCache class.
+ */
+public class DirectMemoryCacheTests extends CacheTestBase {
+    private static final int BLOCK_SIZE = 64;
+    private static final int SLAB_SIZE_MB = 1;
+    private static final int MAX_SIZE_MB = 16;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(30);
+    private final AtomicReference<DirectMemoryCacheFactory> factory = new AtomicReference<>();
+
+    @Before
+    public void setUp() {
+        this.factory.set(new DirectMemoryCacheFactory(createConfig(MAX_SIZE_MB)));
+    }
+
+    @After
+    public void tearDown() {
+        this.factory.getAndSet(null).close();
+    }
+
+    @Override
+    protected Cache createCache(String cacheId) {
+        return this.factory.get().getCache(cacheId);
+    }
+
+    /**
+     * Tests the ability to store and retrieve entries that span multiple Blocks, as well as overwriting existing entries.
+     */
+    @Test
+    public void testMultiBlockEntries() {
+        @Cleanup
+        Cache cache = createCache("multi");
+        Random rnd = new Random(0);
+        for (int length = 0; length < BLOCK_SIZE * 10; length += 7) {
+            TestKey key = new TestKey(length % 13);
+            byte[] data = new byte[length];
+            rnd.nextBytes(data);
+            cache.insert(key, data);
+            Assert.assertArrayEquals("Unexpected contents for multi-block entry.", data, cache.get(key));
+        }
+
+        cache.remove(new TestKey(1));
+        Assert.assertNull("Not expecting removed entry to be returned.", cache.get(new TestKey(1)));
+    }
+
+    /**
+     * Tests the behavior when the maximum capacity has been reached and that Blocks are reused after being freed.
+     */
+    @Test
+    public void testCapacity() {
+        this.factory.getAndSet(new DirectMemoryCacheFactory(createConfig(SLAB_SIZE_MB))).close();
+        @Cleanup
+        Cache cache = createCache("capacity");
+        byte[] data = new byte[SLAB_SIZE_MB * 1024 * 1024 / 4];
+        for (int i = 0; i < 3; i++) {
+            cache.insert(new TestKey(i), data);
+        }
+
+        AssertExtensions.assertThrows(
+                "Insert did not fail when capacity exceeded.",
+                () -> cache.insert(new TestKey(3), data),
+                ex -> ex instanceof CacheException);
+
+        cache.remove(new TestKey(0));
+        cache.insert(new TestKey(3), data);
+        Assert.assertArrayEquals("Unexpected contents after reusing freed Blocks.", data, cache.get(new TestKey(3)));
+    }
+
+    /**
+     * Tests that a failed replace (due to insufficient capacity) leaves the existing entry untouched.
+     */
+    @Test
+    public void testFailedReplace() {
+        this.factory.getAndSet(new DirectMemoryCacheFactory(createConfig(SLAB_SIZE_MB))).close();
+        @Cleanup
+        Cache cache = createCache("replace");
+        byte[] data = new byte[SLAB_SIZE_MB * 1024 * 1024 / 4];
+        new Random(0).nextBytes(data);
+        for (int i = 0; i < 3; i++) {
+            cache.insert(new TestKey(i), data);
+        }
+
+        byte[] largerData = new byte[data.length * 2];
+        AssertExtensions.assertThrows(
+                "Replace did not fail when capacity exceeded.",
+                () -> cache.insert(new TestKey(0), largerData),
+                ex -> ex instanceof CacheException);
+        Assert.assertArrayEquals("Existing entry was modified by a failed replace.", data, cache.get(new TestKey(0)));
+
+        // Once there is enough capacity, the replace should work.
+        cache.remove(new TestKey(1));
+        cache.remove(new TestKey(2));
+        cache.insert(new TestKey(0), largerData);
+        Assert.assertArrayEquals("Unexpected contents after replace.", largerData, cache.get(new TestKey(0)));
+    }
+
+    private DirectMemoryCacheConfig createConfig(int maxSizeMB) {
+        return DirectMemoryCacheConfig.builder()
+                .with(DirectMemoryCacheConfig.BLOCK_SIZE_BYTES, BLOCK_SIZE)
+                .with(DirectMemoryCacheConfig.SLAB_SIZE_MB, SLAB_SIZE_MB)
+                .with(DirectMemoryCacheConfig.MAX_SIZE_MB, maxSizeMB)
+                .build();
+    }
+
+    @RequiredArgsConstructor
+    private static class TestKey extends Cache.Key {
+        private final int id;
+
+        @Override
+        public byte[] serialize() {
+            return new byte[]{(byte) this.id};
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TestKey && ((TestKey) obj).id == this.id;
+        }
+    }
+}
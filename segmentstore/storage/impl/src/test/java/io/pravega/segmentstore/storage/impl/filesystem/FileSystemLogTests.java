@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filesystem;
+
+import com.google.common.io.Files;
+import io.pravega.common.io.FileHelpers;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.DurableDataLogTestBase;
+import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.test.common.AssertExtensions;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Cleanup;
+import lombok.val;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the FileSystemLog class.
+ */
+public class FileSystemLogTests extends DurableDataLogTestBase {
+    private static final int CONTAINER_ID = 9999;
+    private static final int WRITE_COUNT = 500;
+    private static final int FILE_MAX_SIZE_MB = 1;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(TIMEOUT.getSeconds());
+    private final AtomicReference<File> tempDir = new AtomicReference<>();
+    private final AtomicReference<FileSystemLogConfig> config = new AtomicReference<>();
+    private final AtomicReference<FileSystemLogFactory> factory = new AtomicReference<>();
+
+    @Before
+    public void setUp() throws Exception {
+        this.tempDir.set(Files.createTempDir());
+        this.config.set(FileSystemLogConfig
+                .builder()
+                .with(FileSystemLogConfig.LOG_DIR, this.tempDir.get().getAbsolutePath())
+                .with(FileSystemLogConfig.FILE_MAX_SIZE_MB, FILE_MAX_SIZE_MB)
+                .build());
+        val factory = new FileSystemLogFactory(this.config.get(), executorService());
+        factory.initialize();
+        this.factory.set(factory);
+    }
+
+    @After
+    public void tearDown() {
+        val factory = this.factory.getAndSet(null);
+        if (factory != null) {
+            factory.close();
+        }
+
+        FileHelpers.deleteFileOrDirectory(this.tempDir.getAndSet(null));
+    }
+
+    /**
+     * Tests the FileSystemLogFactory and its initialization.
+     */
+    @Test
+    public void testFactoryInitialize() throws Exception {
+        // The directory is already in use by the default factory.
+        @Cleanup
+        val factory = new FileSystemLogFactory(this.config.get(), executorService());
+        AssertExtensions.assertThrows(
+                "initialize() worked on a directory that is already in use.",
+                factory::initialize,
+                ex -> ex instanceof DataLogNotAvailableException);
+        AssertExtensions.assertThrows(
+                "createDurableDataLog() worked on a non-initialized factory.",
+                () -> factory.createDurableDataLog(CONTAINER_ID),
+                ex -> ex instanceof IllegalStateException);
+
+        // Once the default factory is closed, the directory can be reused.
+        this.factory.get().close();
+        factory.initialize();
+        try (DurableDataLog log = factory.createDurableDataLog(CONTAINER_ID)) {
+            log.initialize(TIMEOUT);
+        }
+    }
+
+    /**
+     * Tests the ability to roll over to new files once they are full, and to delete them upon truncation.
+     */
+    @Test
+    public void testRolloverAndTruncate() throws Exception {
+        final int writeLength = 100 * 1024;
+        final int writeCount = 30;
+        TreeMap<LogAddress, byte[]> writeData = new TreeMap<>(Comparator.comparingLong(LogAddress::getSequence));
+        try (DurableDataLog log = createDurableDataLog()) {
+            log.initialize(TIMEOUT);
+            for (int i = 0; i < writeCount; i++) {
+                byte[] data = new byte[writeLength];
+                data[0] = (byte) i;
+                writeData.put(log.append(new ByteArraySegment(data), TIMEOUT).join(), data);
+            }
+
+            int fileCount = getLogFiles().size();
+            AssertExtensions.assertGreaterThan("Expected the log to roll over.", 1, fileCount);
+
+            // Truncate at an address in the middle of the log. All the files before it should be deleted.
+            val addresses = new ArrayList<LogAddress>(writeData.keySet());
+            FileAddress truncationAddress = (FileAddress) addresses.get(addresses.size() / 2);
+            log.truncate(truncationAddress, TIMEOUT).join();
+            writeData.headMap(truncationAddress, true).clear();
+            Assert.assertEquals("Unexpected files after truncation.",
+                    truncationAddress.getFileId(), (int) getLogFiles().firstKey());
+            verifyReads(log, writeData);
+        }
+
+        // Verify the same upon recovery.
+        try (DurableDataLog log = createDurableDataLog()) {
+            log.initialize(TIMEOUT);
+            verifyReads(log, writeData);
+        }
+    }
+
+    /**
+     * Tests the ability to recover from a partially written entry at the end of the log (i.e., a crash in the middle of
+     * a write).
+     */
+    @Test
+    public void testPartialWriteRecovery() throws Exception {
+        TreeMap<LogAddress, byte[]> writeData;
+        try (DurableDataLog log = createDurableDataLog()) {
+            log.initialize(TIMEOUT);
+            writeData = populate(log, getWriteCount());
+        }
+
+        // Simulate a partially written entry: a header claiming a longer payload than what's actually there.
+        File lastFile = getLogFiles().lastEntry().getValue();
+        long validLength = lastFile.length();
+        try (FileOutputStream stream = new FileOutputStream(lastFile, true)) {
+            stream.write(new byte[]{0, 0, 1, 0, 1, 2, 3, 4, 5, 6, 7});
+        }
+
+        try (DurableDataLog log = createDurableDataLog()) {
+            log.initialize(TIMEOUT);
+            Assert.assertEquals("Expected the partial entry to be removed upon initialization.", validLength, lastFile.length());
+            verifyReads(log, writeData);
+            writeData.putAll(populate(log, getWriteCount()));
+        }
+
+        try (DurableDataLog log = createDurableDataLog()) {
+            log.initialize(TIMEOUT);
+            verifyReads(log, writeData);
+        }
+    }
+
+    /**
+     * Tests that an invalid entry in the middle of the last file (i.e., corruption, as opposed to a partial write) is not
+     * truncated away upon initialization.
+     */
+    @Test
+    public void testCorruptionInLastFile() throws Exception {
+        try (DurableDataLog log = createDurableDataLog()) {
+            log.initialize(TIMEOUT);
+            for (int i = 0; i < 3; i++) {
+                log.append(new ByteArraySegment(new byte[]{1, 2, 3, 4, 5}), TIMEOUT).join();
+            }
+        }
+
+        // Corrupt the payload of the first entry in the last file, which is followed by other (valid) entries.
+        File lastFile = getLogFiles().lastEntry().getValue();
+        long length = lastFile.length();
+        try (RandomAccessFile file = new RandomAccessFile(lastFile, "rw")) {
+            file.seek(LogFiles.HEADER_LENGTH);
+            int b = file.read();
+            file.seek(LogFiles.HEADER_LENGTH);
+            file.write(b ^ 0xFF);
+        }
+
+        try (DurableDataLog log = createDurableDataLog()) {
+            AssertExtensions.assertThrows(
+                    "initialize() succeeded with a corrupted file.",
+                    () -> log.initialize(TIMEOUT),
+                    ex -> ex instanceof DurableDataLogException);
+        }
+
+        Assert.assertEquals("Not expecting the corrupted file to be truncated.", length, lastFile.length());
+    }
+
+    private TreeMap<Integer, File> getLogFiles() {
+        return LogFiles.list(new File(this.tempDir.get(), Integer.toString(CONTAINER_ID)));
+    }
+
+    //region DurableDataLogTestBase implementation
+
+    @Override
+    protected DurableDataLog createDurableDataLog() {
+        return this.factory.get().createDurableDataLog(CONTAINER_ID);
+    }
+
+    @Override
+    protected DurableDataLog createDurableDataLog(Object sharedContext) {
+        return createDurableDataLog(); // All logs with the same id share their state via the factory.
+    }
+
+    @Override
+    protected Object createSharedContext() {
+        return null; // No need for shared context.
+    }
+
+    @Override
+    protected LogAddress createLogAddress(long seqNo) {
+        return new FileAddress(seqNo);
+    }
+
+    @Override
+    protected int getWriteCount() {
+        return WRITE_COUNT;
+    }
+
+    //endregion
+}
@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.tiered;
+
+import com.google.common.io.Files;
+import io.pravega.common.io.FileHelpers;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheTestBase;
+import io.pravega.segmentstore.storage.impl.directmemory.DirectMemoryCacheConfig;
+import io.pravega.segmentstore.storage.impl.directmemory.DirectMemoryCacheFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Cleanup;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the TieredCache class.
+ */
+public class TieredCacheTests extends CacheTestBase {
+    private static final int MEMORY_TIER_MAX_SIZE_MB = 1;
+    private static final int SPILL_FILE_SIZE_MB = 1;
+    private static final int SPILL_MAX_SIZE_MB = 16;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(30);
+    private final AtomicReference<File> tempDir = new AtomicReference<>();
+    private final AtomicReference<TieredCacheFactory> factory = new AtomicReference<>();
+
+    @Before
+    public void setUp() {
+        this.tempDir.set(Files.createTempDir());
+        TieredCacheConfig config = TieredCacheConfig
+                .builder()
+                .with(TieredCacheConfig.MEMORY_TIER_MAX_SIZE_MB, MEMORY_TIER_MAX_SIZE_MB)
+                .with(TieredCacheConfig.SPILL_DIR, this.tempDir.get().getAbsolutePath())
+                .with(TieredCacheConfig.SPILL_FILE_SIZE_MB, SPILL_FILE_SIZE_MB)
+                .with(TieredCacheConfig.SPILL_MAX_SIZE_MB, SPILL_MAX_SIZE_MB)
+                .build();
+        DirectMemoryCacheConfig memoryTierConfig = DirectMemoryCacheConfig
+                .builder()
+                .with(DirectMemoryCacheConfig.SLAB_SIZE_MB, 1)
+                .with(DirectMemoryCacheConfig.MAX_SIZE_MB, 4 * MEMORY_TIER_MAX_SIZE_MB)
+                .build();
+        this.factory.set(new TieredCacheFactory(config, new DirectMemoryCacheFactory(memoryTierConfig)));
+    }
+
+    @After
+    public void tearDown() {
+        this.factory.getAndSet(null).close();
+        FileHelpers.deleteFileOrDirectory(this.tempDir.getAndSet(null));
+    }
+
+    @Override
+    protected Cache createCache(String cacheId) {
+        return this.factory.get().getCache(cacheId);
+    }
+
+    /**
+     * Tests the ability to demote entries to the spill tier once the memory tier is full, and to promote them back when
+     * accessed.
+     */
+    @Test
+    public void testDemoteAndPromote() {
+        final int entrySize = 256 * 1024;
+        final int entryCount = 4 * MEMORY_TIER_MAX_SIZE_MB * 1024 * 1024 / entrySize;
+        @Cleanup
+        Cache cache = createCache("tiering");
+        File spillDir = new File(this.tempDir.get(), "cache_tiering");
+        Random rnd = new Random(0);
+        ArrayList<byte[]> contents = new ArrayList<>();
+        for (int i = 0; i < entryCount; i++) {
+            byte[] data = new byte[entrySize];
+            rnd.nextBytes(data);
+            contents.add(data);
+            cache.insert(new TestKey(i), data);
+        }
+
+        Assert.assertTrue("Expected some entries to be demoted to the spill tier.", getTotalFileSize(spillDir) > 0);
+
+        // Read all the entries (twice); this will promote (and demote) them repeatedly.
+        for (int iteration = 0; iteration < 2; iteration++) {
+            for (int i = 0; i < entryCount; i++) {
+                Assert.assertArrayEquals("Unexpected contents for entry " + i, contents.get(i), cache.get(new TestKey(i)));
+                val view = cache.getView(new TestKey(i));
+                Assert.assertArrayEquals("Unexpected view contents for entry " + i, contents.get(i), view.getCopy());
+            }
+        }
+
+        // Overwrite and remove entries.
+        for (int i = 0; i < entryCount; i++) {
+            if (i % 2 == 0) {
+                cache.remove(new TestKey(i));
+                Assert.assertNull("Not expecting removed entry to be returned.", cache.get(new TestKey(i)));
+            } else {
+                byte[] data = Arrays.copyOf(contents.get(i), entrySize / 2);
+                cache.insert(new TestKey(i), data);
+                Assert.assertArrayEquals("Unexpected contents for overwritten entry " + i, data, cache.get(new TestKey(i)));
+            }
+        }
+
+        cache.close();
+        Assert.assertFalse("Expected the spill directory to be deleted when the cache is closed.", spillDir.exists());
+    }
+
+    /**
+     * Tests concurrent access to the TieredCache while entries are being demoted and promoted. Each worker uses its own
+     * set of keys, so the contents of each entry is known at all times.
+     */
+    @Test
+    public void testConcurrentAccess() {
+        final int workerCount = 4;
+        final int keysPerWorker = 16;
+        final int entrySize = 64 * 1024;
+        final int iterationCount = 5;
+        @Cleanup
+        Cache cache = createCache("concurrent");
+        ArrayList<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int w = 0; w < workerCount; w++) {
+            final int firstKey = w * keysPerWorker;
+            workers.add(CompletableFuture.runAsync(() -> {
+                Random rnd = new Random(firstKey);
+                HashMap<Integer, byte[]> contents = new HashMap<>();
+                for (int iteration = 0; iteration < iterationCount; iteration++) {
+                    for (int i = firstKey; i < firstKey + keysPerWorker; i++) {
+                        byte[] data = new byte[entrySize];
+                        rnd.nextBytes(data);
+                        cache.insert(new TestKey(i), data);
+                        contents.put(i, data);
+                    }
+
+                    for (int i = firstKey; i < firstKey + keysPerWorker; i++) {
+                        Assert.assertArrayEquals("Unexpected contents for entry " + i, contents.get(i), cache.get(new TestKey(i)));
+                        if (i % 3 == iteration % 3) {
+                            cache.remove(new TestKey(i));
+                            Assert.assertNull("Not expecting removed entry to be returned.", cache.get(new TestKey(i)));
+                        }
+                    }
+                }
+            }));
+        }
+
+        CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Tests the fact that sealed spill files are deleted when empty and compacted when sparse.
+     */
+    @Test
+    public void testSpillCompaction() throws Exception {
+        final int entrySize = 10;
+        final int entriesPerFile = 10;
+        TierCapacity capacity = new TierCapacity(1024 * 1024);
+        @Cleanup
+        SpillLog spillLog = new SpillLog(new File(this.tempDir.get(), "compaction"), entrySize * entriesPerFile, capacity, "Test");
+        ArrayList<SpillLog.Location> locations = new ArrayList<>();
+        for (int i = 0; i < entriesPerFile; i++) {
+            byte[] data = new byte[entrySize];
+            Arrays.fill(data, (byte) i);
+            locations.add(spillLog.append(data, 0, data.length));
+        }
+
+        // The second file contains a single large entry, and the third (active) one a single small entry.
+        val largeEntry = spillLog.append(new byte[entrySize * entriesPerFile], 0, entrySize * entriesPerFile);
+        spillLog.append(new byte[entrySize], 0, entrySize);
+        Assert.assertEquals("Unexpected file count after appends.", 3, spillLog.getFileCount());
+        Assert.assertEquals("Unexpected used capacity after appends.", entrySize * (2 * entriesPerFile + 1), capacity.getUsedBytes());
+
+        // Remove the entry in the second file. It should be deleted.
+        spillLog.remove(largeEntry);
+        Assert.assertEquals("Expected empty file to be deleted.", 2, spillLog.getFileCount());
+        Assert.assertEquals("Unexpected used capacity after file deletion.", entrySize * (entriesPerFile + 1), capacity.getUsedBytes());
+
+        // Remove most entries in the first file. It should be compacted into the last (active) one.
+        final int keepCount = 2;
+        for (int i = 0; i < entriesPerFile - keepCount; i++) {
+            spillLog.remove(locations.get(i));
+        }
+
+        Assert.assertEquals("Expected sparse file to be compacted.", 1, spillLog.getFileCount());
+        Assert.assertEquals("Unexpected used capacity after compaction.", entrySize * (keepCount + 1), capacity.getUsedBytes());
+        for (int i = entriesPerFile - keepCount; i < entriesPerFile; i++) {
+            byte[] expected = new byte[entrySize];
+            Arrays.fill(expected, (byte) i);
+            Assert.assertArrayEquals("Unexpected contents for relocated entry " + i, expected, spillLog.read(locations.get(i)));
+        }
+
+        spillLog.close();
+        Assert.assertEquals("Expected all capacity to be released after closing.", 0, capacity.getUsedBytes());
+    }
+
+    private long getTotalFileSize(File dir) {
+        File[] files = dir.listFiles();
+        return files == null ? 0 : Arrays.stream(files).mapToLong(File::length).sum();
+    }
+
+    @RequiredArgsConstructor
+    private static class TestKey extends Cache.Key {
+        private final int id;
+
+        @Override
+        public byte[] serialize() {
+            return new byte[]{(byte) this.id};
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TestKey && ((TestKey) obj).id == this.id;
+        }
+    }
+}
@@ -9,7 +9,10 @@
  */
 package io.pravega.segmentstore.storage;
 
+import io.pravega.common.util.ArrayView;
 import io.pravega.common.util.ByteArraySegment;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Defines a Cache that can be used by the ReadIndex.
@@ -36,6 +39,16 @@ public interface Cache extends AutoCloseable {
      */
     void insert(Key key, ByteArraySegment data);
 
+    /**
+     * Inserts multiple entries into the cache. This is equivalent to invoking {@link #insert(Key, ByteArraySegment)} for
+     * each entry, but implementations may apply them as a single batch, which is considerably more efficient.
+     *
+     * @param entries A Map of Keys to the payloads to associate with them.
+     */
+    default void insertAll(Map<? extends Key, ByteArraySegment> entries) {
+        entries.forEach((key, data) -> insert(key, data));
+    }
+
     /**
      * Retrieves a cache entry with given key.
      *
@@ -44,6 +57,20 @@ public interface Cache extends AutoCloseable {
      */
     byte[] get(Key key);
 
+    /**
+     * Retrieves a read-only view of the cache entry with given key. Unlike {@link #get}, implementations are not required
+     * to make a defensive copy of the data, so this should be preferred on read paths that only need to read the payload
+     * (such as serving reads from the ReadIndex).
+     *
+     * @param key The key to search by.
+     * @return A read-only {@link ArrayView} wrapping the payload associated with the key, or null if no such entry exists.
+     * The contents of the backing array must not be modified.
+     */
+    default ArrayView getView(Key key) {
+        byte[] data = get(key);
+        return data == null ? null : new ByteArraySegment(data, 0, data.length, true);
+    }
+
     /**
      * Removes any cache entry that is associated with the given key.
      *
@@ -51,6 +78,16 @@ public interface Cache extends AutoCloseable {
      */
     void remove(Key key);
 
+    /**
+     * Removes any cache entries associated with the given keys. This is equivalent to invoking {@link #remove} for each
+     * key, but implementations may apply them as a single batch, which is considerably more efficient.
+     *
+     * @param keys A Collection of Keys of the entries to remove.
+     */
+    default void removeAll(Collection<? extends Key> keys) {
+        keys.forEach(this::remove);
+    }
+
     /**
      * Closes this cache and releases all resources owned by it.
      */
@@ -165,6 +165,16 @@ public interface DurableDataLog extends AutoCloseable {
          */
         InputStream getPayload();
 
+        /**
+         * Gets an ArrayView representing the payload associated with this ReadItem, if the payload is already available
+         * in memory. Consumers should prefer this over getPayload(), since it allows direct access to the data.
+         *
+         * @return The payload, or null if not available (in which case getPayload() should be used).
+         */
+        default ArrayView getPayloadArray() {
+            return null;
+        }
+
         /**
          * Gets a value representing the Length of this ReadItem.
          */
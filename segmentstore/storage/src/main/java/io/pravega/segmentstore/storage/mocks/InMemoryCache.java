@@ -11,6 +11,7 @@ package io.pravega.segmentstore.storage.mocks;
 
 import io.pravega.common.Exceptions;
 import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.ArrayView;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.storage.Cache;
 import java.util.Arrays;
@@ -97,6 +98,15 @@ public class InMemoryCache implements Cache {
         return data == null ? null : Arrays.copyOf(data, data.length);
     }
 
+    @Override
+    public ArrayView getView(Cache.Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+
+        // No need to copy here; a read-only view will prevent external modifications.
+        byte[] data = this.map.get(key);
+        return data == null ? null : new ByteArraySegment(data, 0, data.length, true);
+    }
+
     @Override
     public void remove(Cache.Key key) {
         Exceptions.checkNotClosed(this.closed.get(), this);
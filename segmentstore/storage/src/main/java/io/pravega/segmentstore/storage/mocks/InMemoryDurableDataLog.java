@@ -13,6 +13,7 @@ import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.common.util.CloseableIterator;
 import io.pravega.common.util.SequencedItemList;
 import io.pravega.segmentstore.storage.DataLogDisabledException;
@@ -236,6 +237,11 @@ class InMemoryDurableDataLog implements DurableDataLog {
             return new ByteArrayInputStream(this.payload);
         }
 
+        @Override
+        public ArrayView getPayloadArray() {
+            return new ByteArraySegment(this.payload);
+        }
+
         @Override
         public int getLength() {
             return this.payload.length;
@@ -9,7 +9,12 @@
  */
 package io.pravega.segmentstore.storage;
 
+import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.ByteArraySegment;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.function.Consumer;
 import lombok.Cleanup;
 import lombok.EqualsAndHashCode;
@@ -44,6 +49,8 @@ public abstract class CacheTestBase {
             byte[] expectedData = getData(key);
             byte[] actualData = cache.get(key);
             Assert.assertArrayEquals("Unexpected cache contents after insertion.", expectedData, actualData);
+            ArrayView view = cache.getView(key);
+            Assert.assertArrayEquals("Unexpected cache contents from getView() after insertion.", expectedData, view.getCopy());
         });
     }
 
@@ -62,6 +69,47 @@ public abstract class CacheTestBase {
         forAllCombinations(key -> {
             cache.remove(key);
             Assert.assertNull("Cache still had contents after removing key.", cache.get(key));
+            Assert.assertNull("Cache still had contents after removing key.", cache.getView(key));
+        });
+    }
+
+    /**
+     * Tests the batch operations (insertAll and removeAll).
+     */
+    @Test
+    public void testBatchOperations() {
+        @Cleanup
+        Cache cache = createCache(CACHE_ID);
+
+        // Populate the cache in batches (one per segment).
+        HashMap<CacheKey, ByteArraySegment> batch = new HashMap<>();
+        forAllCombinations(key -> {
+            batch.put(key, new ByteArraySegment(getData(key)));
+            if (batch.size() == OFFSET_COUNT) {
+                cache.insertAll(batch);
+                batch.clear();
+            }
+        });
+        cache.insertAll(Collections.emptyMap());
+
+        forAllCombinations(key -> Assert.assertArrayEquals("Unexpected cache contents after batch insertion.", getData(key), cache.get(key)));
+
+        // Remove every other key in a single batch.
+        ArrayList<CacheKey> toRemove = new ArrayList<>();
+        forAllCombinations(key -> {
+            if (key.offset % (2 * OFFSET_MULTIPLIER) == 0) {
+                toRemove.add(key);
+            }
+        });
+        cache.removeAll(toRemove);
+        cache.removeAll(Collections.emptyList());
+
+        forAllCombinations(key -> {
+            if (key.offset % (2 * OFFSET_MULTIPLIER) == 0) {
+                Assert.assertNull("Cache still had contents after removing key in batch.", cache.get(key));
+            } else {
+                Assert.assertArrayEquals("Unexpected cache contents after batch removal.", getData(key), cache.get(key));
+            }
         });
     }
 
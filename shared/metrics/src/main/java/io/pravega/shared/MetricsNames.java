@@ -97,6 +97,9 @@ public final class MetricsNames {
     public static final String STORAGE_READ_BYTES = PREFIX + "segmentstore.storage.read_bytes";          // Counter
     public static final String STORAGE_WRITE_BYTES = PREFIX + "segmentstore.storage.write_bytes";        // Counter
     public static final String STORAGE_CREATE_COUNT = PREFIX + "segmentstore.storage.create_count";      // Counter
+    public static final String STORAGE_READ_REQUEST_COUNT = PREFIX + "segmentstore.storage.read_request_count";      // Per-container Event Counter
+    public static final String STORAGE_READ_COALESCED_COUNT = PREFIX + "segmentstore.storage.read_coalesced_count";  // Per-container Event Counter
+    public static final String STORAGE_READ_COALESCING_RATIO = PREFIX + "segmentstore.storage.read_coalescing_ratio"; // Histogram
 
     // Cache (RocksDB) stats
     public static final String CACHE_INSERT_LATENCY = PREFIX + "segmentstore.cache.insert_latency_ms";   // Histogram
@@ -105,14 +108,20 @@ public final class MetricsNames {
     public static final String CACHE_READ_BYTES = PREFIX + "segmentstore.cache.read_bytes";              // Counter
     public static final String CACHE_TOTAL_SIZE_BYTES = PREFIX + "segmentstore.cache.size_bytes";        // Gauge
     public static final String CACHE_GENERATION_SPREAD = PREFIX + "segmentstore.cache.gen";              // Histogram
+    public static final String CACHE_PROMOTED_BYTES = PREFIX + "segmentstore.cache.promoted_bytes";      // Counter
+    public static final String CACHE_DEMOTED_BYTES = PREFIX + "segmentstore.cache.demoted_bytes";        // Counter
 
     // DurableDataLog (Tier1) stats
     public static final String BK_TOTAL_WRITE_LATENCY = PREFIX + "segmentstore.bookkeeper.total_write_latency_ms";   // Including Queue. Per-container Histogram
     public static final String BK_WRITE_LATENCY = PREFIX + "segmentstore.bookkeeper.write_latency_ms";               // Exclusively the write to BK. Per-container Histogram
+    public static final String BK_WRITE_QUEUE_LATENCY = PREFIX + "segmentstore.bookkeeper.write_queue_latency_ms";   // Until the last attempt began. Per-container Histogram
+    public static final String BK_WRITE_CALLBACK_LATENCY = PREFIX + "segmentstore.bookkeeper.write_callback_latency_ms"; // From BK ack to completion. Per-container Histogram
     public static final String BK_WRITE_BYTES = PREFIX + "segmentstore.bookkeeper.write_bytes";                      // Counter
     public static final String BK_WRITE_QUEUE_SIZE = PREFIX + "segmentstore.bookkeeper.write_queue_size";            // Per-container Histogram
     public static final String BK_WRITE_QUEUE_FILL_RATE = PREFIX + "segmentstore.bookkeeper.write_queue_fill";       // Per-container Histogram
     public static final String BK_LEDGER_COUNT = PREFIX + "segmentstore.bookkeeper.ledger_count";                    // Per-container Gauge
+    public static final String BK_ROLLOVER_LATENCY = PREFIX + "segmentstore.bookkeeper.rollover_latency_ms";         // Per-container Histogram
+    public static final String BK_WRITE_QUEUE_BLOCKED_LATENCY = PREFIX + "segmentstore.bookkeeper.write_queue_blocked_ms"; // Per-container Histogram
 
     // Segment container metrics
     public static final String CONTAINER_APPEND_COUNT = PREFIX + "segmentstore.container.append_count";                          // Per-container Event Counter
@@ -14,11 +14,13 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import io.pravega.shared.protocol.netty.WireCommands.AppendBlock;
 import io.pravega.shared.protocol.netty.WireCommands.AppendBlockEnd;
 import io.pravega.shared.protocol.netty.WireCommands.Padding;
 import io.pravega.shared.protocol.netty.WireCommands.PartialEvent;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
 import io.pravega.shared.protocol.netty.WireCommands.SetupAppend;
 import java.io.IOException;
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -58,6 +60,9 @@ import static io.pravega.shared.protocol.netty.WireCommands.TYPE_SIZE;
  * need to be parsed out of individual messages. Notably this includes the event number of the last
  * event in the block, so that it can be acknowledged.
  *
+ * SegmentReads are also handled differently: they are written out as a composite of their header, their data and
+ * their trailer (see {@link SegmentRead#getAsByteBuf()}), so that their (potentially large) data is not copied into
+ * the encoder's output buffer.
  */
 @NotThreadSafe
 @RequiredArgsConstructor
@@ -80,6 +85,18 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
         private final long requestId;
     }
 
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof SegmentRead && bytesLeftInBlock == 0) {
+            // We are not in the middle of an append block, so there is nothing to break from.
+            segmentBeingAppendedTo = null;
+            writerIdPerformingAppends = null;
+            ctx.write(((SegmentRead) msg).getAsByteBuf(), promise);
+        } else {
+            super.write(ctx, msg, promise);
+        }
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
         log.trace("Encoding message to send over the wire {}", msg);
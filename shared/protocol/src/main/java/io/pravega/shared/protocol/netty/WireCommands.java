@@ -12,6 +12,7 @@ package io.pravega.shared.protocol.netty;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.CorruptedFrameException;
 import io.pravega.shared.segment.ScaleType;
@@ -21,7 +22,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.BufferOverflowException;
-import java.nio.ByteBuffer;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
 import lombok.Data;
+import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
 
 import static io.netty.buffer.Unpooled.EMPTY_BUFFER;
@@ -760,6 +761,16 @@ public final class WireCommands {
         final int suggestedLength;
         final String delegationToken;
         final long requestId;
+        /**
+         * The minimum number of bytes the server should accumulate before responding, if the read is at the tail of
+         * the segment. If 0, the server responds as soon as any data is available.
+         */
+        final int minBytes;
+        /**
+         * The maximum amount of time (in milliseconds) the server may wait for minBytes to accumulate. Once this has
+         * elapsed, the server responds with whatever data it has (if any).
+         */
+        final long maxWaitMillis;
 
         @Override
         public void process(RequestProcessor cp) {
@@ -773,6 +784,8 @@ public final class WireCommands {
             out.writeInt(suggestedLength);
             out.writeUTF(delegationToken == null ? "" : delegationToken);
             out.writeLong(requestId);
+            out.writeInt(minBytes);
+            out.writeLong(maxWaitMillis);
         }
 
         public static WireCommand readFrom(ByteBufInputStream in, int length) throws IOException {
@@ -781,7 +794,9 @@ public final class WireCommands {
             int suggestedLength = in.readInt();
             String delegationToken = in.readUTF();
             long requestId = in.available()  >= Long.BYTES ? in.readLong() : -1L;
-            return new ReadSegment(segment, offset, suggestedLength, delegationToken, requestId);
+            int minBytes = in.available() >= Integer.BYTES ? in.readInt() : 0;
+            long maxWaitMillis = in.available() >= Long.BYTES ? in.readLong() : 0L;
+            return new ReadSegment(segment, offset, suggestedLength, delegationToken, requestId, minBytes, maxWaitMillis);
         }
 
         @Override
@@ -797,7 +812,7 @@ public final class WireCommands {
         final long offset;
         final boolean atTail; //TODO: Is sometimes false when actual state is unknown.
         final boolean endOfSegment;
-        final ByteBuffer data;
+        final ByteBuf data;
         final long requestId;
 
         @Override
@@ -811,12 +826,37 @@ public final class WireCommands {
             out.writeLong(offset);
             out.writeBoolean(atTail);
             out.writeBoolean(endOfSegment);
-            int dataLength = data.remaining();
+            int dataLength = data.readableBytes();
             out.writeInt(dataLength);
-            out.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            data.getBytes(data.readerIndex(), (OutputStream) out, dataLength);
             out.writeLong(requestId);
         }
 
+        /**
+         * Gets this command fully serialized (including its type and length) as a composite ByteBuf made up of a header,
+         * the data and a trailer, without copying the data. The returned ByteBuf holds its own reference to the data.
+         *
+         * @return A ByteBuf that can be written directly to the connection.
+         */
+        @SneakyThrows(IOException.class)
+        public ByteBuf getAsByteBuf() {
+            ByteBuf header = Unpooled.buffer();
+            ByteBufOutputStream headerOut = new ByteBufOutputStream(header);
+            headerOut.writeInt(type.getCode());
+            headerOut.writeInt(0); // Placeholder for the length.
+            headerOut.writeUTF(segment);
+            headerOut.writeLong(offset);
+            headerOut.writeBoolean(atTail);
+            headerOut.writeBoolean(endOfSegment);
+            headerOut.writeInt(data.readableBytes());
+            headerOut.close();
+
+            ByteBuf trailer = Unpooled.buffer(Long.BYTES, Long.BYTES);
+            trailer.writeLong(requestId);
+            header.setInt(TYPE_SIZE, header.readableBytes() - TYPE_PLUS_LENGTH_SIZE + data.readableBytes() + trailer.readableBytes());
+            return Unpooled.wrappedBuffer(header, data.retainedSlice(), trailer);
+        }
+
         public static WireCommand readFrom(ByteBufInputStream in, int length) throws IOException {
             String segment = in.readUTF();
             long offset = in.readLong();
@@ -829,7 +869,7 @@ public final class WireCommands {
             byte[] data = new byte[dataLength];
             in.readFully(data);
             long requestId =  in.available() >= Long.BYTES ? in.readLong() : -1L;
-            return new SegmentRead(segment, offset, atTail, endOfSegment, ByteBuffer.wrap(data), requestId);
+            return new SegmentRead(segment, offset, atTail, endOfSegment, wrappedBuffer(data), requestId);
         }
 
         @Override
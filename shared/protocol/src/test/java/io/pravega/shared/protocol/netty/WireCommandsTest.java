@@ -459,12 +459,30 @@ public class WireCommandsTest {
 
     @Test
     public void testReadSegment() throws IOException {
-        testCommand(new WireCommands.ReadSegment(testString1, l, i, "", l));
+        testCommand(new WireCommands.ReadSegment(testString1, l, i, "", l, i, l));
     }
 
     @Test
     public void testSegmentRead() throws IOException {
-        testCommand(new WireCommands.SegmentRead(testString1, l, true, false, buffer, l));
+        testCommand(new WireCommands.SegmentRead(testString1, l, true, false, Unpooled.wrappedBuffer(buffer), l));
+    }
+
+    @Test
+    public void testSegmentReadAsByteBuf() throws IOException {
+        WireCommands.SegmentRead command = new WireCommands.SegmentRead(testString1, l, true, false, Unpooled.wrappedBuffer(buffer), l);
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bout);
+        out.writeInt(command.getType().getCode());
+        out.writeInt(0);
+        command.writeFields(out);
+        byte[] expected = bout.toByteArray();
+        ByteBuf expectedBuf = wrappedBuffer(expected);
+        expectedBuf.setInt(WireCommands.TYPE_SIZE, expected.length - WireCommands.TYPE_PLUS_LENGTH_SIZE);
+
+        ByteBuf actual = command.getAsByteBuf();
+        assertEquals(expectedBuf, actual);
+        actual.release();
+        assertEquals("Releasing the encoded form should not affect the command's data.", buffer.remaining(), command.getData().readableBytes());
     }
     
     @Test
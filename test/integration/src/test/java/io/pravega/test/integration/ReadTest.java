@@ -147,12 +147,12 @@ public class ReadTest {
 
         ByteBuffer actual = ByteBuffer.allocate(entries * data.length);
         while (actual.position() < actual.capacity()) {
-            SegmentRead result = (SegmentRead) AppendTest.sendRequest(channel, new ReadSegment(segmentName, actual.position(), 10000, "", 1L));
+            SegmentRead result = (SegmentRead) AppendTest.sendRequest(channel, new ReadSegment(segmentName, actual.position(), 10000, "", 1L, 0, 0L));
             assertEquals(segmentName, result.getSegment());
             assertEquals(result.getOffset(), actual.position());
             assertTrue(result.isAtTail());
             assertFalse(result.isEndOfSegment());
-            actual.put(result.getData());
+            actual.put(result.getData().nioBuffer());
             if (actual.position() < actual.capacity()) {
                 // Prevent entering a tight loop by giving the store a bit of time to process al the appends internally
                 // before trying again.